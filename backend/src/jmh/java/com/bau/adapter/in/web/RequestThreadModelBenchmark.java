@@ -0,0 +1,146 @@
+package com.bau.adapter.in.web;
+
+import com.bau.BauApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Load comparison of Tomcat's platform thread pool with virtual threads
+ * ({@code spring.threads.virtual.enabled}) on the application itself: the full context, the
+ * bedarf list endpoint with its page and count queries, an embedded PostgreSQL with twenty
+ * thousand bedarfs, and the Hikari pool as configured for production. Every invocation sends a
+ * burst of concurrent requests and waits for all responses. In both models every request needs
+ * one of the pool's connections, so a burst larger than the pool queues on Hikari either way; the
+ * comparison shows what is left of the platform model's queueing in front of Tomcat's threads
+ * once the pool is the limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RequestThreadModelBenchmark {
+
+    private static final int BETRIEBE = 2_000;
+    private static final int BEDARFE = 20_000;
+
+    @Param({"platform", "virtual"})
+    private String threadModel;
+
+    @Param({"50", "500"})
+    private int concurrentRequests;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(BauApplication.class)
+                // Anonymous access and no JWT decoder, so requests reach the controllers unauthenticated
+                .profiles("local")
+                .run("--server.port=0",
+                        "--management.server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=none",
+                        "--spring.h2.console.enabled=false",
+                        "--bau.search.provider=postgres",
+                        "--spring.threads.virtual.enabled=" + "virtual".equals(threadModel),
+                        // Tomcat's defaults, so the platform model is measured as it runs today
+                        "--server.tomcat.threads.max=200",
+                        "--server.tomcat.max-connections=8192",
+                        "--server.tomcat.accept-count=1000",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.bau=WARN",
+                        "--logging.level.org.springframework=WARN");
+        seed(context.getBean(DataSource.class));
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                + "/api/v1/bedarfe?status=AKTIV&size=20&includeTotal=true")).build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("Bedarf list answered " + status);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public long burst() {
+        CompletableFuture<?>[] responses = IntStream.range(0, concurrentRequests)
+                .mapToObj(i -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+
+    private static void seed(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO betrieb (id, name, adresse, email, status, created_at, updated_at)
+                    SELECT gen_random_uuid(), 'Betrieb ' || i, 'Strasse ' || i, 'betrieb' || i || '@example.com',
+                           'AKTIV', now(), now()
+                    FROM generate_series(1, %d) i
+                    """.formatted(BETRIEBE));
+            // One bedarf in twenty is active, as most bedarfe are completed over time
+            statement.execute("""
+                    INSERT INTO bedarf (id, betrieb_id, holzbau_anzahl, zimmermann_anzahl, datum_von, datum_bis,
+                                        adresse, mit_werkzeug, mit_fahrzeug, status, created_at, updated_at)
+                    SELECT gen_random_uuid(), betriebe.ids[1 + i %% %d], 1 + i %% 4, i %% 3,
+                           date '2024-01-01' + i %% 700, date '2024-01-01' + i %% 700 + 14,
+                           'Strasse ' || i, i %% 2 = 0, i %% 5 = 0,
+                           CASE WHEN i %% 20 = 0 THEN 'AKTIV' ELSE 'ABGESCHLOSSEN' END,
+                           timestamp '2024-01-01' + i * interval '1 minute',
+                           timestamp '2024-01-01' + i * interval '1 minute'
+                    FROM generate_series(1, %d) i,
+                         (SELECT array_agg(id) AS ids FROM betrieb) betriebe
+                    """.formatted(BETRIEBE, BEDARFE));
+            statement.execute("VACUUM ANALYZE");
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.bau.adapter.out.persistence.bedarf;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catch-all {@code (? IS NULL OR ...)} list queries against the statements the bedarf
+ * specifications emit, on an embedded PostgreSQL with one million bedarfs.
+ * Each statement is prepared once and executed repeatedly, as with a pooled connection, so
+ * after a few executions PostgreSQL plans it generically. The catch-all statement then has to
+ * serve every combination of criteria with one plan; the specific statement keeps its index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BedarfFilterQueryBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private static final String CATCH_ALL = "SELECT b.* FROM bedarf b WHERE "
+            + "(CAST(? AS varchar) IS NULL OR b.status = ?) AND (CAST(? AS uuid) IS NULL OR b.betrieb_id = ?) "
+            + "AND (CAST(? AS date) IS NULL OR b.datum_von >= ?) AND (CAST(? AS date) IS NULL OR b.datum_bis <= ?) "
+            + "AND (CAST(? AS boolean) IS NULL OR b.mit_fahrzeug = ?) "
+            + "ORDER BY b.created_at DESC, b.id DESC OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY";
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private UUID betriebId;
+
+    private PreparedStatement catchAllActive;
+    private PreparedStatement specificActive;
+    private PreparedStatement catchAllBetrieb;
+    private PreparedStatement specificBetrieb;
+    private PreparedStatement catchAllWindow;
+    private PreparedStatement specificWindow;
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        connection = postgres.getPostgresDatabase().getConnection();
+        seed();
+
+        LocalDate from = LocalDate.of(2024, 6, 1);
+        LocalDate to = LocalDate.of(2024, 6, 30);
+
+        catchAllActive = connection.prepareStatement(CATCH_ALL);
+        bindCatchAll(catchAllActive, "AKTIV", null, null, null, null);
+        specificActive = connection.prepareStatement("SELECT b.* FROM bedarf b WHERE b.status = ? "
+                + "ORDER BY b.created_at DESC, b.id DESC OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY");
+        specificActive.setString(1, "AKTIV");
+
+        catchAllBetrieb = connection.prepareStatement(CATCH_ALL);
+        bindCatchAll(catchAllBetrieb, null, betriebId, null, null, true);
+        specificBetrieb = connection.prepareStatement("SELECT b.* FROM bedarf b WHERE b.betrieb_id = ? "
+                + "AND b.mit_fahrzeug = ? "
+                + "ORDER BY b.created_at DESC, b.id DESC OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY");
+        specificBetrieb.setObject(1, betriebId);
+        specificBetrieb.setBoolean(2, true);
+
+        catchAllWindow = connection.prepareStatement(CATCH_ALL);
+        bindCatchAll(catchAllWindow, "AKTIV", null, from, to, null);
+        specificWindow = connection.prepareStatement("SELECT b.* FROM bedarf b WHERE b.status = ? "
+                + "AND b.datum_von >= ? AND b.datum_bis <= ? "
+                + "ORDER BY b.created_at DESC, b.id DESC OFFSET 0 ROWS FETCH FIRST 20 ROWS ONLY");
+        specificWindow.setString(1, "AKTIV");
+        specificWindow.setDate(2, Date.valueOf(from));
+        specificWindow.setDate(3, Date.valueOf(to));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int catchAllActivePage() throws SQLException {
+        return count(catchAllActive);
+    }
+
+    @Benchmark
+    public int specificActivePage() throws SQLException {
+        return count(specificActive);
+    }
+
+    @Benchmark
+    public int catchAllBetriebPage() throws SQLException {
+        return count(catchAllBetrieb);
+    }
+
+    @Benchmark
+    public int specificBetriebPage() throws SQLException {
+        return count(specificBetrieb);
+    }
+
+    @Benchmark
+    public int catchAllDateWindowPage() throws SQLException {
+        return count(catchAllWindow);
+    }
+
+    @Benchmark
+    public int specificDateWindowPage() throws SQLException {
+        return count(specificWindow);
+    }
+
+    private void seed() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO betrieb (id, name, adresse, email, status, created_at, updated_at)
+                    SELECT gen_random_uuid(), 'Betrieb ' || i, 'Strasse ' || i, 'betrieb' || i || '@example.com',
+                           'AKTIV', now(), now()
+                    FROM generate_series(1, 50000) i
+                    """);
+            statement.execute("""
+                    INSERT INTO bedarf (id, betrieb_id, holzbau_anzahl, zimmermann_anzahl, datum_von, datum_bis,
+                                        adresse, mit_werkzeug, mit_fahrzeug, status, created_at, updated_at)
+                    SELECT gen_random_uuid(), betriebe.ids[1 + i % 50000], 1 + i % 4, i % 3,
+                           date '2024-01-01' + i % 700, date '2024-01-01' + i % 700 + 14,
+                           'Strasse ' || i, i % 2 = 0, i % 5 = 0,
+                           CASE WHEN i % 20 = 0 THEN 'AKTIV' ELSE 'ABGESCHLOSSEN' END,
+                           timestamp '2024-01-01' + i * interval '1 minute',
+                           timestamp '2024-01-01' + i * interval '1 minute'
+                    FROM generate_series(1, %d) i,
+                         (SELECT array_agg(id) AS ids FROM betrieb) betriebe
+                    """.formatted(ROWS));
+            statement.execute("VACUUM ANALYZE");
+            try (ResultSet resultSet = statement.executeQuery("SELECT betrieb_id FROM bedarf LIMIT 1")) {
+                resultSet.next();
+                betriebId = resultSet.getObject(1, UUID.class);
+            }
+        }
+    }
+
+    private static void bindCatchAll(PreparedStatement statement, String status, UUID betriebId,
+                                     LocalDate datumVon, LocalDate datumBis, Boolean mitFahrzeug)
+            throws SQLException {
+        bindTwice(statement, 1, status, Types.VARCHAR);
+        bindTwice(statement, 3, betriebId, Types.OTHER);
+        bindTwice(statement, 5, datumVon != null ? Date.valueOf(datumVon) : null, Types.DATE);
+        bindTwice(statement, 7, datumBis != null ? Date.valueOf(datumBis) : null, Types.DATE);
+        bindTwice(statement, 9, mitFahrzeug, Types.BOOLEAN);
+    }
+
+    private static void bindTwice(PreparedStatement statement, int index, Object value, int sqlType)
+            throws SQLException {
+        statement.setObject(index, value, sqlType);
+        statement.setObject(index + 1, value, sqlType);
+    }
+
+    private static int count(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
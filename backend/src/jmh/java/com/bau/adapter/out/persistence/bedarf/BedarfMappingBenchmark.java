@@ -0,0 +1,83 @@
+package com.bau.adapter.out.persistence.bedarf;
+
+import com.bau.adapter.in.web.bedarf.mapper.BedarfWebMapper;
+import com.bau.adapter.in.web.dto.BedarfResponse;
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping a single bedarf between domain, JPA entity and web DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BedarfMappingBenchmark {
+
+    private final BedarfMapper mapper = new BedarfMapper();
+    private final BedarfWebMapper webMapper = new BedarfWebMapper();
+
+    private Bedarf bedarf;
+    private BedarfEntity entity;
+
+    @Setup
+    public void setUp() {
+        bedarf = Bedarf.builder()
+                .id(UUID.randomUUID())
+                .betriebId(UUID.randomUUID())
+                .holzbauAnzahl(2)
+                .zimmermannAnzahl(3)
+                .datumVon(LocalDate.of(2024, 1, 1))
+                .datumBis(LocalDate.of(2024, 1, 31))
+                .adresse("Musterstrasse 123, 8001 Zürich")
+                .latitude(47.3769)
+                .longitude(8.5417)
+                .mitWerkzeug(true)
+                .mitFahrzeug(false)
+                .status(BedarfStatus.AKTIV)
+                .build();
+        entity = mapper.toEntity(bedarf);
+        entity.setCreatedAt(LocalDateTime.of(2024, 1, 1, 8, 0));
+        entity.setUpdatedAt(entity.getCreatedAt());
+    }
+
+    @Benchmark
+    public BedarfEntity domainToEntity() {
+        return mapper.toEntity(bedarf);
+    }
+
+    @Benchmark
+    public Bedarf entityToDomain() {
+        return mapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public BedarfResponse domainToResponse() {
+        return webMapper.toResponse(bedarf);
+    }
+
+    /**
+     * Read path of a request: loaded entity to domain object to response DTO.
+     */
+    @Benchmark
+    public BedarfResponse entityToResponse() {
+        return webMapper.toResponse(mapper.toDomain(entity));
+    }
+}
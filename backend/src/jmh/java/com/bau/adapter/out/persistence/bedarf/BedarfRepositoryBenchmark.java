@@ -0,0 +1,120 @@
+package com.bau.adapter.out.persistence.bedarf;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfFilter;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.port.out.BedarfRepository;
+import com.bau.shared.config.JpaConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of the paginated bedarf list query against an in-memory H2 database, including
+ * the count query and entity to domain mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BedarfRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private BedarfRepository repository;
+    private int middlePage;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--logging.level.com.bau=WARN",
+                        "--logging.level.org.springframework=WARN");
+        repository = context.getBean(BedarfRepositoryImpl.class);
+
+        BedarfMapper mapper = context.getBean(BedarfMapper.class);
+        List<BedarfEntity> entities = IntStream.range(0, rows)
+                .mapToObj(i -> mapper.toEntity(createBedarf(i)))
+                .toList();
+        context.getBean(BedarfJpaRepository.class).saveAll(entities);
+        middlePage = rows / PAGE_SIZE / 2;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BedarfRepository.BedarfPageResult firstPage() {
+        return repository.findWithPagination(0, PAGE_SIZE, BedarfFilter.none());
+    }
+
+    @Benchmark
+    public BedarfRepository.BedarfPageResult middlePage() {
+        return repository.findWithPagination(middlePage, PAGE_SIZE, BedarfFilter.none());
+    }
+
+    @Benchmark
+    public BedarfRepository.BedarfPageResult filteredFirstPage() {
+        return repository.findWithPagination(0, PAGE_SIZE, BedarfFilter.of(BedarfStatus.AKTIV,
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 9, 30)));
+    }
+
+    private static Bedarf createBedarf(int i) {
+        LocalDate von = LocalDate.of(2024, 1, 1).plusDays(i % 365);
+        return Bedarf.builder()
+                .betriebId(UUID.randomUUID())
+                .holzbauAnzahl(1 + i % 4)
+                .zimmermannAnzahl(i % 3)
+                .datumVon(von)
+                .datumBis(von.plusDays(5 + i % 20))
+                .adresse("Musterstrasse " + i + ", 8001 Zürich")
+                .mitWerkzeug(i % 2 == 0)
+                .mitFahrzeug(i % 5 == 0)
+                .status(i % 4 == 0 ? BedarfStatus.ABGESCHLOSSEN : BedarfStatus.AKTIV)
+                .build();
+    }
+
+    /**
+     * Persistence slice of the application: JPA, the bedarf adapter and auditing, no web or security.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = BedarfEntity.class)
+    @EnableJpaRepositories(basePackageClasses = BedarfJpaRepository.class)
+    @Import({BedarfRepositoryImpl.class, BedarfMapper.class, JpaConfig.class})
+    static class BenchmarkConfig {
+    }
+}
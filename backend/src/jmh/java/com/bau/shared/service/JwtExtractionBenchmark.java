@@ -0,0 +1,98 @@
+package com.bau.shared.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.bau.application.domain.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning Cognito JWT claims into a {@link User}: the lookup for the authenticated
+ * principal and the full decoding of a raw token string.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtExtractionBenchmark {
+
+    private final AuthenticationContextService service = new AuthenticationContextService();
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        String sub = UUID.randomUUID().toString();
+        String betriebId = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+
+        Jwt jwt = Jwt.withTokenValue("benchmark-token")
+                .header("alg", "RS256")
+                .subject(sub)
+                .claim("email", "max@holzbau-muster.ch")
+                .claim("cognito:username", "max")
+                .claim("given_name", "Max")
+                .claim("family_name", "Muster")
+                .claim("email_verified", true)
+                .claim("cognito:groups", List.of("betrieb"))
+                .claim("custom:betrieb_id", betriebId)
+                .claim("custom:betrieb_name", "Holzbau Muster AG")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+
+        token = JWT.create()
+                .withSubject(sub)
+                .withClaim("email", "max@holzbau-muster.ch")
+                .withClaim("cognito:username", "max")
+                .withClaim("given_name", "Max")
+                .withClaim("family_name", "Muster")
+                .withClaim("email_verified", true)
+                .withClaim("cognito:groups", List.of("betrieb"))
+                .withClaim("custom:betrieb_id", betriebId)
+                .withClaim("custom:betrieb_name", "Holzbau Muster AG")
+                .sign(Algorithm.none());
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Lookup for the authenticated principal, as done by getCurrentUser() outside of a request.
+     */
+    @Benchmark
+    public Optional<User> currentUserFromJwt() {
+        return service.getCurrentUser();
+    }
+
+    /**
+     * Decoding and extraction from the raw token string.
+     */
+    @Benchmark
+    public User userFromJwtString() {
+        return service.extractUserFromJwtString(token);
+    }
+}
@@ -0,0 +1,54 @@
+package com.bau.adapter.in.scheduling;
+
+import com.bau.application.port.in.BedarfArchiveUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Moves closed bedarfs to the archive on a schedule.
+ * Every instance triggers the job; the use case makes sure only one of them does the work.
+ * Archived bedarfs are counted in {@code bedarf.archived}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bau.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BedarfArchiveJob {
+
+    private final BedarfArchiveUseCase bedarfArchiveUseCase;
+    private final Clock clock;
+    private final Counter archived;
+
+    @Autowired
+    public BedarfArchiveJob(BedarfArchiveUseCase bedarfArchiveUseCase, MeterRegistry meterRegistry) {
+        this(bedarfArchiveUseCase, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    BedarfArchiveJob(BedarfArchiveUseCase bedarfArchiveUseCase, MeterRegistry meterRegistry, Clock clock) {
+        this.bedarfArchiveUseCase = bedarfArchiveUseCase;
+        this.clock = clock;
+        this.archived = Counter.builder("bedarf.archived")
+                .description("Closed bedarfe moved to the archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives all closed bedarfs past the retention.
+     */
+    @Scheduled(cron = "${bau.archive.cron:0 30 3 * * *}")
+    public void run() {
+        try {
+            archived.increment(bedarfArchiveUseCase.archiveBedarfs(LocalDate.now(clock)));
+        } catch (RuntimeException e) {
+            // Batches committed so far stay archived; the next run picks up the rest
+            log.error("Bedarf archiving failed", e);
+        }
+    }
+}
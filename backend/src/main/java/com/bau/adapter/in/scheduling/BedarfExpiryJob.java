@@ -0,0 +1,54 @@
+package com.bau.adapter.in.scheduling;
+
+import com.bau.application.port.in.BedarfExpiryUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Closes bedarfs whose period has passed on a schedule.
+ * Every instance triggers the job; the use case makes sure only one of them does the work.
+ * Closed bedarfs are counted in {@code bedarf.expired}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bau.expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class BedarfExpiryJob {
+
+    private final BedarfExpiryUseCase bedarfExpiryUseCase;
+    private final Clock clock;
+    private final Counter expired;
+
+    @Autowired
+    public BedarfExpiryJob(BedarfExpiryUseCase bedarfExpiryUseCase, MeterRegistry meterRegistry) {
+        this(bedarfExpiryUseCase, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    BedarfExpiryJob(BedarfExpiryUseCase bedarfExpiryUseCase, MeterRegistry meterRegistry, Clock clock) {
+        this.bedarfExpiryUseCase = bedarfExpiryUseCase;
+        this.clock = clock;
+        this.expired = Counter.builder("bedarf.expired")
+                .description("Bedarfe set to ABGESCHLOSSEN because their period has passed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Expires all bedarfs that ended before today.
+     */
+    @Scheduled(cron = "${bau.expiry.cron:0 5 * * * *}")
+    public void run() {
+        try {
+            expired.increment(bedarfExpiryUseCase.expireBedarfs(LocalDate.now(clock)));
+        } catch (RuntimeException e) {
+            // Batches committed so far stay closed; the next run picks up the rest
+            log.error("Bedarf expiry failed", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.bau.adapter.in.scheduling;
+
+import com.bau.application.port.in.BedarfIndexUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reloads the in-memory bedarf indexes of this instance on a schedule.
+ * Unlike the expiry and archive jobs, this runs on every instance, as each holds its own indexes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bau.index.refresh", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class BedarfIndexRefreshJob {
+
+    private final BedarfIndexUseCase bedarfIndexUseCase;
+
+    /**
+     * Replaces the index content with the active bedarfs currently stored.
+     */
+    @Scheduled(fixedDelayString = "${bau.index.refresh.interval:PT5M}",
+            initialDelayString = "${bau.index.refresh.interval:PT5M}")
+    public void run() {
+        try {
+            int indexed = bedarfIndexUseCase.rebuildIndexes();
+            log.debug("Reloaded bedarf indexes with {} active bedarfs", indexed);
+        } catch (RuntimeException e) {
+            // The indexes keep their content; the next run tries again
+            log.error("Bedarf index refresh failed", e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.bau.adapter.in.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Validators for conditional requests on API resources, derived from the persisted row version and
+ * modification time. Controllers evaluate them before mapping any DTO, so an unchanged resource is
+ * answered with 304 and a stale update with 412 at the cost of the lookup alone.
+ * A single resource is tagged with its row version, the same number clients send back with an
+ * update, and also carries Last-Modified. A list is tagged with a digest over the IDs and versions
+ * of its items plus the page metadata; it carries no Last-Modified, as a removed item leaves the
+ * latest modification time unchanged.
+ * @param etag the strong entity tag, quoted, or null if not applicable
+ * @param lastModified the modification time in epoch milliseconds, or -1 if not applicable
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    private static final int DIGEST_BYTES = 16;
+
+    /**
+     * Version of a single resource.
+     * @param version the persisted row version, null if not known
+     * @param updatedAt the persisted modification time, null if not known
+     * @return the version of the resource, without the validators that are not known
+     */
+    public static ResourceVersion of(Long version, LocalDateTime updatedAt) {
+        return new ResourceVersion(version != null ? quote(version.toString()) : null,
+                updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1);
+    }
+
+    /**
+     * Starts the version of a list representation.
+     * @return an empty digest
+     */
+    public static Digest digest() {
+        return new Digest();
+    }
+
+    /**
+     * Evaluates the conditional headers of the request against this version, as
+     * {@link WebRequest#checkNotModified(String, long)} does. Sets ETag and Last-Modified on reads.
+     * If the response is complete its status is already set, and the handler returns null.
+     * @param request the current request
+     * @return true if the response is complete: 304 for a read, 412 for a write whose precondition failed
+     */
+    public boolean checkNotModified(WebRequest request) {
+        return request.checkNotModified(etag, lastModified);
+    }
+
+    /**
+     * Validators to send along with a representation that was not produced by a read, such as
+     * the result of an update.
+     * @return ETag and Last-Modified, as far as applicable
+     */
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        if (lastModified >= 0) {
+            headers.setLastModified(lastModified);
+        }
+        return headers;
+    }
+
+    /**
+     * Checks if the request makes an update conditional on the current version.
+     * @param request the current request
+     * @return true if If-Match or If-Unmodified-Since is present
+     */
+    public static boolean isConditionalUpdate(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_UNMODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Reads the row version an update is based on from If-Match, for the versioned save that
+     * closes the window between the precondition check and the write.
+     * @param request the current request
+     * @return the version named by a single strong entity tag, empty for none, a wildcard or a list
+     */
+    public static Optional<Long> ifMatchVersion(WebRequest request) {
+        String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+        if (ifMatch == null) {
+            return Optional.empty();
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.valueOf(tag.substring(1, tag.length() - 1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * Accumulates the parts of a list representation into one entity tag.
+     */
+    public static final class Digest {
+
+        private final MessageDigest digest;
+
+        private Digest() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        /**
+         * Adds an item of the list.
+         * @param id the item ID
+         * @param version the persisted row version of the item
+         * @return this digest
+         */
+        public Digest add(UUID id, Long version) {
+            return add(id).add(version);
+        }
+
+        /**
+         * Adds a value that shapes the representation, such as page metadata or an expansion.
+         * @param value the value, may be null
+         * @return this digest
+         */
+        public Digest add(Object value) {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return this;
+        }
+
+        /**
+         * Completes the digest.
+         * @return the version of the list, without a modification time
+         */
+        public ResourceVersion build() {
+            return new ResourceVersion(quote(HexFormat.of().formatHex(digest.digest(), 0, DIGEST_BYTES)), -1);
+        }
+    }
+}
@@ -1,11 +1,22 @@
 package com.bau.adapter.in.web.bedarf;
 
+import com.bau.adapter.in.web.ResourceVersion;
 import com.bau.adapter.in.web.api.BedarfApi;
 import com.bau.adapter.in.web.dto.*;
 import com.bau.adapter.in.web.bedarf.mapper.BedarfWebMapper;
 import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfBulkItemResult;
+import com.bau.application.domain.bedarf.BedarfCursor;
+import com.bau.application.domain.bedarf.BedarfFilter;
 import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.bedarf.DateRangeMatch;
+import com.bau.application.domain.bedarf.NearbyBedarf;
+import com.bau.application.domain.betrieb.Betrieb;
+import com.bau.application.domain.geo.GeoPoint;
+import com.bau.application.domain.matching.BedarfMatch;
 import com.bau.application.port.in.BedarfUseCase;
+import com.bau.application.port.in.BetriebUseCase;
+import com.bau.application.port.in.MatchingUseCase;
 import com.bau.shared.service.AuthenticationContextService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,15 +24,21 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * REST controller for Bedarf API endpoints.
+ * Reads of a single bedarf and of lists are conditional on their {@link ResourceVersion}, and
+ * updates honour If-Match against the current version.
  */
 @RestController
 @RequestMapping("/api/v1")
@@ -29,9 +46,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BedarfApiController implements BedarfApi {
     
+    private static final int DEFAULT_MATCH_LIMIT = 20;
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final String EXPAND_BETRIEB = "betrieb";
+    
     private final BedarfUseCase bedarfUseCase;
+    private final MatchingUseCase matchingUseCase;
+    private final BetriebUseCase betriebUseCase;
     private final BedarfWebMapper mapper;
     private final AuthenticationContextService authContextService;
+    private final WebRequest webRequest;
     
     @Override
     @PreAuthorize("hasRole('BETRIEB')")
@@ -56,14 +80,63 @@ public class BedarfApiController implements BedarfApi {
     }
     
     @Override
-    public ResponseEntity<BedarfListResponse> listBedarfe(@Valid Integer page, @Valid Integer size) {
-        log.info("Retrieving bedarfs - page: {}, size: {}", page, size);
+    @PreAuthorize("hasRole('BETRIEB')")
+    public ResponseEntity<BulkBedarfResponse> createBedarfeBulk(@Valid @RequestBody BulkCreateBedarfRequest bulkCreateBedarfRequest) {
+        log.info("Creating {} bedarfs in bulk", bulkCreateBedarfRequest.getItems().size());
         
-        BedarfUseCase.BedarfPageResult result = bedarfUseCase.getBedarfs(page, size, null, null, null);
+        Optional<UUID> currentUserBetriebId = authContextService.getCurrentUserBetriebId();
+        if (currentUserBetriebId.isEmpty()) {
+            log.warn("User has no betrieb ID - cannot create bedarfs");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         
-        List<BedarfResponse> content = result.getContent().stream()
-                .map(mapper::toResponse)
+        List<Bedarf> bedarfs = bulkCreateBedarfRequest.getItems().stream()
+                .map(mapper::toDomain)
                 .collect(Collectors.toList());
+        bedarfs.forEach(bedarf -> bedarf.setBetriebId(currentUserBetriebId.get()));
+        List<BedarfBulkItemResult> results = bedarfUseCase.createBedarfs(bedarfs);
+        return ResponseEntity.ok(mapper.toBulkResponse(results));
+    }
+    
+    @Override
+    public ResponseEntity<BedarfListResponse> listBedarfe(Integer page, Integer size, String cursor, Boolean includeTotal,
+                                                          LocalDate datumVon, LocalDate datumBis, String dateMatch,
+                                                          String expand, String status, UUID betriebId,
+                                                          Integer minHolzbauAnzahl, Integer minZimmermannAnzahl,
+                                                          Boolean mitWerkzeug, Boolean mitFahrzeug) {
+        BedarfFilter filter = BedarfFilter.builder()
+                .status(status != null ? BedarfStatus.valueOf(status) : null)
+                .betriebId(betriebId)
+                .datumVon(datumVon)
+                .datumBis(datumBis)
+                .dateRangeMatch(dateMatch != null ? DateRangeMatch.valueOf(dateMatch) : DateRangeMatch.CONTAINED)
+                .minHolzbauAnzahl(minHolzbauAnzahl)
+                .minZimmermannAnzahl(minZimmermannAnzahl)
+                .mitWerkzeug(mitWerkzeug)
+                .mitFahrzeug(mitFahrzeug)
+                .build();
+        if (cursor != null) {
+            if (filter.dateRangeMatch() == DateRangeMatch.OVERLAPPING) {
+                throw new IllegalArgumentException("Overlap matching is not supported with cursor pagination");
+            }
+            return listBedarfeByCursor(size, cursor, Boolean.TRUE.equals(includeTotal), filter, expand);
+        }
+        
+        log.info("Retrieving bedarfs - page: {}, size: {}, filter: {}", page, size, filter);
+        
+        BedarfUseCase.BedarfPageResult result = bedarfUseCase.getBedarfs(page, size, filter);
+        
+        Map<UUID, Betrieb> betriebe = expandBetriebe(result.getContent(), expand);
+        ResourceVersion version = digest(result.getContent(), betriebe)
+                .add(result.getTotalElements())
+                .add(result.getCurrentPage())
+                .add(result.getPageSize())
+                .build();
+        if (version.checkNotModified(webRequest)) {
+            return null;
+        }
+        
+        List<BedarfResponse> content = toResponses(result.getContent(), betriebe);
         
         BedarfListResponse response = new BedarfListResponse()
                 .content((List<Object>) (List<?>) content)
@@ -76,6 +149,72 @@ public class BedarfApiController implements BedarfApi {
         
         return ResponseEntity.ok(response);
     }
+    
+    private ResponseEntity<BedarfListResponse> listBedarfeByCursor(Integer size, String cursor, boolean includeTotal,
+                                                                   BedarfFilter filter, String expand) {
+        log.info("Retrieving bedarfs by cursor - size: {}, includeTotal: {}", size, includeTotal);
+        
+        BedarfCursor position = cursor.isBlank() ? null : BedarfCursor.decode(cursor);
+        BedarfUseCase.BedarfSliceResult result = bedarfUseCase.getBedarfsByCursor(
+                position, size, filter, includeTotal);
+        
+        Map<UUID, Betrieb> betriebe = expandBetriebe(result.getContent(), expand);
+        ResourceVersion version = digest(result.getContent(), betriebe)
+                .add(result.getPageSize())
+                .add(result.isHasNext())
+                .add(position != null)
+                .add(result.getTotalElements().orElse(null))
+                .build();
+        if (version.checkNotModified(webRequest)) {
+            return null;
+        }
+        
+        List<BedarfResponse> content = toResponses(result.getContent(), betriebe);
+        
+        BedarfListResponse response = new BedarfListResponse()
+                .content((List<Object>) (List<?>) content)
+                .pageSize(result.getPageSize())
+                .hasNext(result.isHasNext())
+                .hasPrevious(position != null)
+                .nextCursor(result.getNextCursor().map(BedarfCursor::encode).orElse(null));
+        result.getTotalElements().ifPresent(response::totalElements);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<List<BedarfResponse>> findNearbyBedarfe(Double latitude, Double longitude, Double radiusKm,
+                                                                  String status, LocalDate datumVon, LocalDate datumBis) {
+        log.info("Finding bedarfs within {} km of {}, {}", radiusKm, latitude, longitude);
+        BedarfStatus statusFilter = status != null ? BedarfStatus.valueOf(status) : null;
+        List<NearbyBedarf> nearby = bedarfUseCase.findNearbyBedarfs(
+                new GeoPoint(latitude, longitude), radiusKm, statusFilter, datumVon, datumBis);
+        List<BedarfResponse> responses = nearby.stream()
+                .map(mapper::toNearbyResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responses);
+    }
+
+    @Override
+    public ResponseEntity<List<BedarfResponse>> searchBedarfe(String q, Integer limit) {
+        log.info("Searching bedarfs for: {}", q);
+        List<BedarfResponse> responses = bedarfUseCase.searchBedarfs(q, limit != null ? limit : DEFAULT_SEARCH_LIMIT)
+                .stream()
+                .map(mapper::toResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responses);
+    }
+
+    @Override
+    public ResponseEntity<List<BedarfResponse>> matchBedarfe(@Valid @RequestBody CrewOfferRequest crewOfferRequest) {
+        log.info("Matching crew offer from {} to {}", crewOfferRequest.getDatumVon(), crewOfferRequest.getDatumBis());
+        int limit = crewOfferRequest.getLimit() != null ? crewOfferRequest.getLimit() : DEFAULT_MATCH_LIMIT;
+        List<BedarfMatch> matches = matchingUseCase.findMatches(mapper.toDomain(crewOfferRequest), limit);
+        List<BedarfResponse> responses = matches.stream()
+                .map(mapper::toMatchResponse)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responses);
+    }
 
     @Override
     public ResponseEntity<BedarfResponse> getBedarfById(@PathVariable UUID id) {
@@ -84,6 +223,9 @@ public class BedarfApiController implements BedarfApi {
         if (bedarfOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        if (ResourceVersion.of(bedarfOpt.get().getVersion(), bedarfOpt.get().getUpdatedAt()).checkNotModified(webRequest)) {
+            return null;
+        }
         BedarfResponse response = mapper.toResponse(bedarfOpt.get());
         return ResponseEntity.ok(response);
     }
@@ -92,13 +234,47 @@ public class BedarfApiController implements BedarfApi {
     @PreAuthorize("hasRole('BETRIEB')")
     public ResponseEntity<BedarfResponse> updateBedarf(@PathVariable UUID id, @Valid @RequestBody UpdateBedarfRequest updateBedarfRequest) {
         log.info("Updating bedarf with id: {}", id);
+        Long basedOnVersion = null;
+        if (ResourceVersion.isConditionalUpdate(webRequest)) {
+            Optional<Bedarf> currentOpt = bedarfUseCase.getBedarfById(id);
+            if (currentOpt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (ResourceVersion.of(currentOpt.get().getVersion(), currentOpt.get().getUpdatedAt()).checkNotModified(webRequest)) {
+                log.info("Rejecting update of bedarf {} based on an outdated version", id);
+                return null;
+            }
+            // Saving at this version fails with 409 if the row changes after the check above
+            basedOnVersion = ResourceVersion.ifMatchVersion(webRequest).orElse(currentOpt.get().getVersion());
+        }
         Bedarf bedarf = mapper.toDomain(updateBedarfRequest);
+        if (basedOnVersion != null) {
+            bedarf.setVersion(basedOnVersion);
+        }
         Optional<Bedarf> updatedBedarfOpt = bedarfUseCase.updateBedarf(id, bedarf);
         if (updatedBedarfOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         BedarfResponse response = mapper.toResponse(updatedBedarfOpt.get());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .headers(ResourceVersion.of(updatedBedarfOpt.get().getVersion(),
+                        updatedBedarfOpt.get().getUpdatedAt()).headers())
+                .body(response);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('BETRIEB')")
+    public ResponseEntity<BulkBedarfResponse> updateBedarfeBulk(@Valid @RequestBody BulkUpdateBedarfRequest bulkUpdateBedarfRequest) {
+        log.info("Updating {} bedarfs in bulk", bulkUpdateBedarfRequest.getItems().size());
+        Map<UUID, Bedarf> bedarfs = new LinkedHashMap<>();
+        for (BulkUpdateBedarfItem item : bulkUpdateBedarfRequest.getItems()) {
+            if (bedarfs.containsKey(item.getId())) {
+                throw new IllegalArgumentException("Duplicate bedarf ID in bulk update: " + item.getId());
+            }
+            bedarfs.put(item.getId(), mapper.toDomain(item.getBedarf()));
+        }
+        List<BedarfBulkItemResult> results = bedarfUseCase.updateBedarfs(bedarfs);
+        return ResponseEntity.ok(mapper.toBulkResponse(results));
     }
 
     @Override
@@ -117,7 +293,8 @@ public class BedarfApiController implements BedarfApi {
     public ResponseEntity<BedarfResponse> updateBedarfStatus(@PathVariable UUID id, @Valid @RequestBody UpdateBedarfStatusRequest updateBedarfStatusRequest) {
         log.info("Updating bedarf status for id: {} to status: {}", id, updateBedarfStatusRequest.getStatus());
         BedarfStatus newStatus = BedarfStatus.valueOf(updateBedarfStatusRequest.getStatus().getValue());
-        Optional<Bedarf> updatedBedarfOpt = bedarfUseCase.updateBedarfStatus(id, newStatus);
+        Optional<Bedarf> updatedBedarfOpt = bedarfUseCase.updateBedarfStatus(
+                id, newStatus, updateBedarfStatusRequest.getVersion());
         if (updatedBedarfOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -126,12 +303,88 @@ public class BedarfApiController implements BedarfApi {
     }
 
     @Override
-    public ResponseEntity<List<BedarfResponse>> getBedarfsByBetrieb(@PathVariable UUID betriebId) {
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkBedarfStatusResponse> updateBedarfStatusBulk(@Valid @RequestBody BulkUpdateBedarfStatusRequest bulkUpdateBedarfStatusRequest) {
+        log.info("Updating bedarf status for {} bedarfs to status: {}", 
+                bulkUpdateBedarfStatusRequest.getIds().size(), bulkUpdateBedarfStatusRequest.getStatus());
+        BedarfStatus newStatus = BedarfStatus.valueOf(bulkUpdateBedarfStatusRequest.getStatus().getValue());
+        int updated = bedarfUseCase.updateBedarfStatuses(bulkUpdateBedarfStatusRequest.getIds(), newStatus);
+        return ResponseEntity.ok(new BulkBedarfStatusResponse().updated(updated));
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkBedarfDeleteResponse> deleteBedarfeBulk(@Valid @RequestBody BulkDeleteBedarfRequest bulkDeleteBedarfRequest) {
+        log.info("Deleting {} bedarfs in bulk", bulkDeleteBedarfRequest.getIds().size());
+        int deleted = bedarfUseCase.deleteBedarfs(bulkDeleteBedarfRequest.getIds());
+        return ResponseEntity.ok(new BulkBedarfDeleteResponse().deleted(deleted));
+    }
+
+    @Override
+    public ResponseEntity<List<BedarfResponse>> getBedarfsByBetrieb(@PathVariable UUID betriebId, String expand,
+                                                                    Boolean includeArchived) {
         log.info("Retrieving bedarfs for betrieb: {}", betriebId);
-        List<Bedarf> bedarfs = bedarfUseCase.getBedarfsByBetriebId(betriebId);
-        List<BedarfResponse> responses = bedarfs.stream()
-                .map(mapper::toResponse)
+        List<Bedarf> bedarfs = bedarfUseCase.getBedarfsByBetriebId(betriebId, Boolean.TRUE.equals(includeArchived));
+        Map<UUID, Betrieb> betriebe = expandBetriebe(bedarfs, expand);
+        if (digest(bedarfs, betriebe).build().checkNotModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok(toResponses(bedarfs, betriebe));
+    }
+    
+    /**
+     * Resolves the related data requested for embedding.
+     * All betriebs referenced by the bedarfs are resolved with a single lookup.
+     * @param bedarfs the bedarfs to expand
+     * @param expand the requested expansion, or null for none
+     * @return the referenced betriebs by ID, or null if no expansion is requested
+     * @throws IllegalArgumentException if the expansion is not supported
+     */
+    private Map<UUID, Betrieb> expandBetriebe(List<Bedarf> bedarfs, String expand) {
+        if (expand == null) {
+            return null;
+        }
+        if (!EXPAND_BETRIEB.equals(expand)) {
+            throw new IllegalArgumentException("Unsupported expansion: " + expand);
+        }
+        return betriebUseCase.getBetriebeByIds(bedarfs.stream()
+                .map(Bedarf::getBetriebId)
+                .collect(Collectors.toSet()));
+    }
+    
+    /**
+     * Starts the version of a list of bedarfs, covering embedded betriebs as well.
+     * @param bedarfs the listed bedarfs
+     * @param betriebe the embedded betriebs by ID, or null if not expanded
+     * @return the digest, to be completed with the list metadata
+     */
+    private static ResourceVersion.Digest digest(List<Bedarf> bedarfs, Map<UUID, Betrieb> betriebe) {
+        ResourceVersion.Digest digest = ResourceVersion.digest().add(betriebe != null);
+        for (Bedarf bedarf : bedarfs) {
+            digest.add(bedarf.getId(), bedarf.getVersion());
+            if (betriebe != null) {
+                Betrieb betrieb = bedarf.getBetriebId() != null ? betriebe.get(bedarf.getBetriebId()) : null;
+                digest.add(betrieb != null ? betrieb.getVersion() : null);
+            }
+        }
+        return digest;
+    }
+    
+    /**
+     * Maps bedarfs to responses, embedding the given betriebs.
+     * @param bedarfs the bedarfs to map
+     * @param betriebe the betriebs to embed by ID, or null for none
+     * @return the responses in the order of the bedarfs
+     */
+    private List<BedarfResponse> toResponses(List<Bedarf> bedarfs, Map<UUID, Betrieb> betriebe) {
+        if (betriebe == null) {
+            return bedarfs.stream()
+                    .map(mapper::toResponse)
+                    .collect(Collectors.toList());
+        }
+        return bedarfs.stream()
+                .map(bedarf -> mapper.toResponse(bedarf,
+                        bedarf.getBetriebId() != null ? betriebe.get(bedarf.getBetriebId()) : null))
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
     }
 } 
\ No newline at end of file
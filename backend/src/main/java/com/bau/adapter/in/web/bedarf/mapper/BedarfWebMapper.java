@@ -1,11 +1,24 @@
 package com.bau.adapter.in.web.bedarf.mapper;
 
 import com.bau.adapter.in.web.dto.BedarfResponse;
+import com.bau.adapter.in.web.dto.BulkBedarfItemResult;
+import com.bau.adapter.in.web.dto.BulkBedarfResponse;
+import com.bau.adapter.in.web.dto.BetriebContact;
 import com.bau.adapter.in.web.dto.CreateBedarfRequest;
+import com.bau.adapter.in.web.dto.CrewOfferRequest;
 import com.bau.adapter.in.web.dto.UpdateBedarfRequest;
 import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfBulkItemResult;
+import com.bau.application.domain.bedarf.NearbyBedarf;
+import com.bau.application.domain.betrieb.Betrieb;
+import com.bau.application.domain.geo.GeoPoint;
+import com.bau.application.domain.matching.BedarfMatch;
+import com.bau.application.domain.matching.CrewOffer;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Mapper for converting between Bedarf domain objects and web DTOs.
  */
@@ -51,6 +64,34 @@ public class BedarfWebMapper {
                 .adresse(request.getAdresse())
                 .mitWerkzeug(request.getMitWerkzeug())
                 .mitFahrzeug(request.getMitFahrzeug())
+                .version(request.getVersion())
+                .build();
+    }
+    
+    /**
+     * Converts a CrewOfferRequest to a CrewOffer domain object.
+     * @param request the crew offer request
+     * @return the domain object
+     */
+    public CrewOffer toDomain(CrewOfferRequest request) {
+        if (request == null) {
+            return null;
+        }
+        
+        GeoPoint location = request.getLatitude() != null && request.getLongitude() != null
+                ? new GeoPoint(request.getLatitude(), request.getLongitude())
+                : null;
+        
+        return CrewOffer.builder()
+                .holzbauAnzahl(request.getHolzbauAnzahl())
+                .zimmermannAnzahl(request.getZimmermannAnzahl())
+                .datumVon(request.getDatumVon())
+                .datumBis(request.getDatumBis())
+                .adresse(request.getAdresse())
+                .location(location)
+                .maxDistanceKm(request.getRadiusKm() != null ? request.getRadiusKm() : 0)
+                .mitWerkzeug(Boolean.TRUE.equals(request.getMitWerkzeug()))
+                .mitFahrzeug(Boolean.TRUE.equals(request.getMitFahrzeug()))
                 .build();
     }
     
@@ -72,8 +113,11 @@ public class BedarfWebMapper {
                 .datumVon(bedarf.getDatumVon())
                 .datumBis(bedarf.getDatumBis())
                 .adresse(bedarf.getAdresse())
+                .latitude(bedarf.getLatitude())
+                .longitude(bedarf.getLongitude())
                 .mitWerkzeug(bedarf.getMitWerkzeug())
-                .mitFahrzeug(bedarf.getMitFahrzeug());
+                .mitFahrzeug(bedarf.getMitFahrzeug())
+                .version(bedarf.getVersion());
         
         if (bedarf.getStatus() != null) {
             response.status(BedarfResponse.StatusEnum.fromValue(bedarf.getStatus().name()));
@@ -81,4 +125,74 @@ public class BedarfWebMapper {
         
         return response;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Converts a Bedarf domain object to a BedarfResponse with the owning company's contact data.
+     * @param bedarf the domain object
+     * @param betrieb the owning company, or null if it was not found
+     * @return the response DTO
+     */
+    public BedarfResponse toResponse(Bedarf bedarf, Betrieb betrieb) {
+        BedarfResponse response = toResponse(bedarf);
+        if (response == null || betrieb == null) {
+            return response;
+        }
+        
+        return response
+                .betriebName(betrieb.getName())
+                .betrieb(new BetriebContact()
+                        .id(betrieb.getId())
+                        .name(betrieb.getName())
+                        .adresse(betrieb.getAdresse())
+                        .email(betrieb.getEmail())
+                        .telefon(betrieb.getTelefon()));
+    }
+    
+    /**
+     * Converts the per-item results of a bulk operation to a BulkBedarfResponse.
+     * @param results the item results, in request order
+     * @return the response DTO
+     */
+    public BulkBedarfResponse toBulkResponse(List<BedarfBulkItemResult> results) {
+        int succeeded = (int) results.stream().filter(BedarfBulkItemResult::isSuccess).count();
+        return new BulkBedarfResponse()
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .results(results.stream()
+                        .map(result -> new BulkBedarfItemResult()
+                                .index(result.index())
+                                .success(result.isSuccess())
+                                .bedarf(toResponse(result.bedarf()))
+                                .error(result.error()))
+                        .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Converts a proximity search hit to a BedarfResponse including its distance.
+     * @param nearby the search hit
+     * @return the response DTO
+     */
+    public BedarfResponse toNearbyResponse(NearbyBedarf nearby) {
+        if (nearby == null) {
+            return null;
+        }
+        
+        return toResponse(nearby.bedarf())
+                .distanceKm(nearby.distanceKm());
+    }
+    
+    /**
+     * Converts a matching result to a BedarfResponse including score and distance.
+     * @param match the matching result
+     * @return the response DTO
+     */
+    public BedarfResponse toMatchResponse(BedarfMatch match) {
+        if (match == null) {
+            return null;
+        }
+        
+        return toResponse(match.bedarf())
+                .matchScore(match.score())
+                .distanceKm(match.distanceKm());
+    }
+}
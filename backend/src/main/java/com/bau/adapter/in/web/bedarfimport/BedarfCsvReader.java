@@ -0,0 +1,252 @@
+package com.bau.adapter.in.web.bedarfimport;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfImportRow;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads bedarfe from RFC 4180 CSV one record at a time.
+ * Columns are matched by the names in the header line, in any order; unknown columns are ignored.
+ * Values that cannot be parsed turn their row into an invalid row; checking the parsed values is
+ * left to the bedarf validation. Quoted fields may span lines; a record longer than
+ * {@link #MAX_RECORD_LENGTH} characters aborts reading, since it usually means an unclosed quote.
+ */
+class BedarfCsvReader implements Iterator<BedarfImportRow> {
+    
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+    
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("holzbauAnzahl", "zimmermannAnzahl", "datumVon", "datumBis", "adresse");
+    
+    private final Reader in;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private long recordLine;
+    private int recordLength;
+    private int pushedBack = -2;
+    private List<String> next;
+    private boolean exhausted;
+    
+    /**
+     * Reads the header line.
+     * @param in the CSV source, preferably buffered
+     * @throws IllegalArgumentException if the header is missing or lacks a required column
+     * @throws UncheckedIOException if reading fails
+     */
+    BedarfCsvReader(Reader in) {
+        this.in = in;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            columns.putIfAbsent(name, i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+    }
+    
+    /**
+     * Returns the remaining rows as a sequential stream.
+     * @param onClose called when the stream is closed, e.g. to release the source
+     * @return the rows
+     */
+    Stream<BedarfImportRow> stream(Runnable onClose) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(onClose);
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (next == null && !exhausted) {
+            next = readRecord();
+            exhausted = next == null;
+        }
+        return next != null;
+    }
+    
+    @Override
+    public BedarfImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<String> values = next;
+        next = null;
+        return toRow(recordLine, values);
+    }
+    
+    private BedarfImportRow toRow(long rowNumber, List<String> values) {
+        String column = null;
+        try {
+            Bedarf bedarf = new Bedarf();
+            column = "holzbauAnzahl";
+            bedarf.setHolzbauAnzahl(parseInteger(value(values, column)));
+            column = "zimmermannAnzahl";
+            bedarf.setZimmermannAnzahl(parseInteger(value(values, column)));
+            column = "datumVon";
+            bedarf.setDatumVon(parseDate(value(values, column)));
+            column = "datumBis";
+            bedarf.setDatumBis(parseDate(value(values, column)));
+            column = "adresse";
+            bedarf.setAdresse(value(values, column));
+            column = "mitWerkzeug";
+            bedarf.setMitWerkzeug(parseBoolean(value(values, column)));
+            column = "mitFahrzeug";
+            bedarf.setMitFahrzeug(parseBoolean(value(values, column)));
+            column = "latitude";
+            bedarf.setLatitude(parseDouble(value(values, column)));
+            column = "longitude";
+            bedarf.setLongitude(parseDouble(value(values, column)));
+            return BedarfImportRow.parsed(rowNumber, bedarf);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return BedarfImportRow.invalid(rowNumber, column + ": invalid value '" + value(values, column) + "'");
+        }
+    }
+    
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    private static Integer parseInteger(String value) {
+        return value != null ? Integer.valueOf(value) : null;
+    }
+    
+    private static Double parseDouble(String value) {
+        return value != null ? Double.valueOf(value) : null;
+    }
+    
+    private static LocalDate parseDate(String value) {
+        return value != null ? LocalDate.parse(value) : null;
+    }
+    
+    private static Boolean parseBoolean(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.toLowerCase()) {
+            case "true", "1", "ja", "yes" -> true;
+            case "false", "0", "nein", "no" -> false;
+            default -> throw new IllegalArgumentException(value);
+        };
+    }
+    
+    /**
+     * Reads the next record, skipping blank lines.
+     * @return the fields, or null at the end of the input
+     */
+    private List<String> readRecord() {
+        try {
+            List<String> record;
+            do {
+                record = readFields();
+            } while (record != null && record.size() == 1 && record.get(0).isEmpty());
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private List<String> readFields() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        recordLength = 0;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unclosed quote in record starting at line " + recordLine);
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                append((char) c);
+            }
+            c = read();
+        }
+    }
+    
+    private void append(char c) {
+        if (++recordLength > MAX_RECORD_LENGTH) {
+            throw new IllegalArgumentException("Record starting at line " + recordLine + " is longer than "
+                    + MAX_RECORD_LENGTH + " characters");
+        }
+        field.append(c);
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return in.read();
+    }
+    
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,118 @@
+package com.bau.adapter.in.web.bedarfimport;
+
+import com.bau.adapter.in.web.api.BedarfImportApi;
+import com.bau.adapter.in.web.bedarfimport.mapper.BedarfImportWebMapper;
+import com.bau.adapter.in.web.dto.BedarfImportJobResponse;
+import com.bau.application.domain.bedarf.BedarfImportJob;
+import com.bau.application.domain.bedarf.BedarfImportRow;
+import com.bau.application.port.in.BedarfImportUseCase;
+import com.bau.shared.service.AuthenticationContextService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * REST controller for importing bedarfe from CSV files.
+ * The upload is moved to a temporary file and read from there by the import job, so the file
+ * never has to fit into memory and the request returns as soon as the header is checked.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+@Slf4j
+public class BedarfImportController implements BedarfImportApi {
+    
+    private final BedarfImportUseCase bedarfImportUseCase;
+    private final BedarfImportWebMapper mapper;
+    private final AuthenticationContextService authContextService;
+    
+    @Override
+    @PreAuthorize("hasRole('BETRIEB')")
+    public ResponseEntity<BedarfImportJobResponse> startBedarfImport(@RequestPart(value = "file") MultipartFile file) {
+        log.info("Starting bedarf import of {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        
+        Optional<UUID> currentUserBetriebId = authContextService.getCurrentUserBetriebId();
+        if (currentUserBetriebId.isEmpty()) {
+            log.warn("User has no betrieb ID - cannot import bedarfs");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        Stream<BedarfImportRow> rows = openRows(file);
+        BedarfImportJob job;
+        try {
+            job = bedarfImportUseCase.startImport(currentUserBetriebId.get(), rows);
+        } catch (RuntimeException e) {
+            rows.close();
+            throw e;
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(mapper.toResponse(job));
+    }
+    
+    @Override
+    @PreAuthorize("hasRole('BETRIEB')")
+    public ResponseEntity<BedarfImportJobResponse> getBedarfImport(@PathVariable("id") UUID id) {
+        log.debug("Getting bedarf import: {}", id);
+        
+        Optional<UUID> currentUserBetriebId = authContextService.getCurrentUserBetriebId();
+        return bedarfImportUseCase.getImportJob(id)
+                .filter(job -> currentUserBetriebId.filter(job.getBetriebId()::equals).isPresent())
+                .map(job -> ResponseEntity.ok(mapper.toResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Moves the upload to a temporary file and reads its header.
+     * The returned stream deletes the file when it is closed.
+     * @param file the uploaded CSV file
+     * @return the data rows
+     * @throws IllegalArgumentException if the file is empty or its header is invalid
+     */
+    private Stream<BedarfImportRow> openRows(MultipartFile file) {
+        Path path = null;
+        BufferedReader reader = null;
+        try {
+            path = Files.createTempFile("bedarf-import-", ".csv");
+            file.transferTo(path);
+            reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+            BufferedReader source = reader;
+            Path sourcePath = path;
+            return new BedarfCsvReader(reader).stream(() -> release(source, sourcePath));
+        } catch (IOException e) {
+            release(reader, path);
+            throw new UncheckedIOException("Could not store uploaded file", e);
+        } catch (RuntimeException e) {
+            release(reader, path);
+            throw e;
+        }
+    }
+    
+    private static void release(BufferedReader reader, Path path) {
+        try {
+            if (reader != null) {
+                reader.close();
+            }
+            if (path != null) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete uploaded file {}", path, e);
+        }
+    }
+}
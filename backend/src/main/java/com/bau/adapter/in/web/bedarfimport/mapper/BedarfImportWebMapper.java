@@ -0,0 +1,42 @@
+package com.bau.adapter.in.web.bedarfimport.mapper;
+
+import com.bau.adapter.in.web.dto.BedarfImportErrorResponse;
+import com.bau.adapter.in.web.dto.BedarfImportJobResponse;
+import com.bau.application.domain.bedarf.BedarfImportJob;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.stream.Collectors;
+
+/**
+ * Mapper for converting bedarf import jobs to web DTOs.
+ */
+@Component
+public class BedarfImportWebMapper {
+    
+    /**
+     * Converts a BedarfImportJob domain object to a BedarfImportJobResponse.
+     * @param job the domain object
+     * @return the response DTO
+     */
+    public BedarfImportJobResponse toResponse(BedarfImportJob job) {
+        if (job == null) {
+            return null;
+        }
+        
+        return new BedarfImportJobResponse()
+                .id(job.getId())
+                .status(BedarfImportJobResponse.StatusEnum.fromValue(job.getStatus().name()))
+                .processedRows(job.getProcessedRows())
+                .importedRows(job.getImportedRows())
+                .failedRows(job.getFailedRows())
+                .failureReason(job.getFailureReason())
+                .startedAt(job.getStartedAt() != null ? job.getStartedAt().atOffset(ZoneOffset.UTC) : null)
+                .finishedAt(job.getFinishedAt() != null ? job.getFinishedAt().atOffset(ZoneOffset.UTC) : null)
+                .errors(job.getErrors().stream()
+                        .map(error -> new BedarfImportErrorResponse()
+                                .row(error.rowNumber())
+                                .message(error.message()))
+                        .collect(Collectors.toList()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.bau.adapter.in.web.betrieb;
 
+import com.bau.adapter.in.web.ResourceVersion;
 import com.bau.adapter.in.web.api.BetriebApi;
 import com.bau.adapter.in.web.dto.*;
 import com.bau.adapter.in.web.betrieb.mapper.BetriebWebMapper;
@@ -12,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -20,6 +22,8 @@ import java.util.UUID;
 
 /**
  * REST controller for Betrieb API endpoints.
+ * Reads are conditional on their {@link ResourceVersion}, and updates honour If-Match against
+ * the current version.
  */
 @RestController
 @RequiredArgsConstructor
@@ -28,6 +32,7 @@ public class BetriebApiController implements BetriebApi {
     
     private final BetriebUseCase betriebUseCase;
     private final BetriebWebMapper mapper;
+    private final WebRequest webRequest;
     
     @Override
     @PostMapping("/betriebe")
@@ -47,6 +52,16 @@ public class BetriebApiController implements BetriebApi {
         // Convert from 1-based API page to 0-based internal page
         int internalPage = page - 1;
         BetriebUseCase.BetriebPageResult result = betriebUseCase.getBetriebs(internalPage, size, null);
+        ResourceVersion.Digest digest = ResourceVersion.digest();
+        result.getContent().forEach(betrieb -> digest.add(betrieb.getId(), betrieb.getVersion()));
+        ResourceVersion version = digest
+                .add(result.getTotalElements())
+                .add(result.getCurrentPage())
+                .add(result.getPageSize())
+                .build();
+        if (version.checkNotModified(webRequest)) {
+            return null;
+        }
         List<BetriebResponse> content = result.getContent().stream()
                 .map(mapper::toResponse)
                 .toList();
@@ -69,6 +84,9 @@ public class BetriebApiController implements BetriebApi {
         if (betriebOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        if (ResourceVersion.of(betriebOpt.get().getVersion(), betriebOpt.get().getUpdatedAt()).checkNotModified(webRequest)) {
+            return null;
+        }
         BetriebResponse response = mapper.toResponse(betriebOpt.get());
         return ResponseEntity.ok(response);
     }
@@ -78,13 +96,32 @@ public class BetriebApiController implements BetriebApi {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<BetriebResponse> updateBetrieb(@PathVariable UUID id, @Valid @RequestBody UpdateBetriebRequest updateBetriebRequest) {
         log.info("Updating betrieb with id: {}", id);
+        Long basedOnVersion = null;
+        if (ResourceVersion.isConditionalUpdate(webRequest)) {
+            Optional<Betrieb> currentOpt = betriebUseCase.getBetriebById(id);
+            if (currentOpt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (ResourceVersion.of(currentOpt.get().getVersion(), currentOpt.get().getUpdatedAt()).checkNotModified(webRequest)) {
+                log.info("Rejecting update of betrieb {} based on an outdated version", id);
+                return null;
+            }
+            // Saving at this version fails with 409 if the row changes after the check above
+            basedOnVersion = ResourceVersion.ifMatchVersion(webRequest).orElse(currentOpt.get().getVersion());
+        }
         Betrieb betrieb = mapper.toDomain(updateBetriebRequest);
+        if (basedOnVersion != null) {
+            betrieb.setVersion(basedOnVersion);
+        }
         Optional<Betrieb> updatedBetriebOpt = betriebUseCase.updateBetrieb(id, betrieb);
         if (updatedBetriebOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         BetriebResponse response = mapper.toResponse(updatedBetriebOpt.get());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .headers(ResourceVersion.of(updatedBetriebOpt.get().getVersion(),
+                        updatedBetriebOpt.get().getUpdatedAt()).headers())
+                .body(response);
     }
 
     @Override
@@ -99,13 +136,23 @@ public class BetriebApiController implements BetriebApi {
         return ResponseEntity.noContent().build();
     }
 
+    @Override
+    @PostMapping("/betriebe/bulk/delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkBetriebDeleteResponse> deleteBetriebeBulk(@Valid @RequestBody BulkDeleteBetriebRequest bulkDeleteBetriebRequest) {
+        log.info("Deleting {} betriebs in bulk", bulkDeleteBetriebRequest.getIds().size());
+        int deleted = betriebUseCase.deleteBetriebs(bulkDeleteBetriebRequest.getIds());
+        return ResponseEntity.ok(new BulkBetriebDeleteResponse().deleted(deleted));
+    }
+
     @Override
     @PatchMapping("/betriebe/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<BetriebResponse> updateBetriebStatus(@PathVariable UUID id, @Valid @RequestBody UpdateBetriebStatusRequest updateBetriebStatusRequest) {
         log.info("Updating betrieb status for id: {} to status: {}", id, updateBetriebStatusRequest.getStatus());
         BetriebStatus newStatus = BetriebStatus.valueOf(updateBetriebStatusRequest.getStatus().getValue());
-        Optional<Betrieb> updatedBetriebOpt = betriebUseCase.updateBetriebStatus(id, newStatus);
+        Optional<Betrieb> updatedBetriebOpt = betriebUseCase.updateBetriebStatus(
+                id, newStatus, updateBetriebStatusRequest.getVersion());
         if (updatedBetriebOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
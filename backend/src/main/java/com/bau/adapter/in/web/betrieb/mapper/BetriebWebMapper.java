@@ -45,6 +45,7 @@ public class BetriebWebMapper {
                 .adresse(request.getAdresse())
                 .email(request.getEmail())
                 .telefon(request.getTelefon())
+                .version(request.getVersion())
                 .build();
     }
     
@@ -62,8 +63,11 @@ public class BetriebWebMapper {
                 .id(betrieb.getId())
                 .name(betrieb.getName())
                 .adresse(betrieb.getAdresse())
+                .latitude(betrieb.getLatitude())
+                .longitude(betrieb.getLongitude())
                 .email(betrieb.getEmail())
-                .telefon(betrieb.getTelefon());
+                .telefon(betrieb.getTelefon())
+                .version(betrieb.getVersion());
         
         if (betrieb.getStatus() != null) {
             response.status(BetriebResponse.StatusEnum.fromValue(betrieb.getStatus().name()));
@@ -0,0 +1,51 @@
+package com.bau.adapter.in.web.export;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes RFC 4180 CSV rows to a writer.
+ * Text that a spreadsheet would evaluate as a formula is prefixed with an apostrophe.
+ */
+class CsvWriter {
+    
+    private static final String LINE_END = "\r\n";
+    
+    private final Writer out;
+    
+    CsvWriter(Writer out) {
+        this.out = out;
+    }
+    
+    /**
+     * Writes one row. Null values are written as empty fields.
+     * @param values the field values
+     * @throws IOException if writing fails
+     */
+    void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(values[i]);
+        }
+        out.write(LINE_END);
+    }
+    
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        out.write(text.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
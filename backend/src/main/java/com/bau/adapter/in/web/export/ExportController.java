@@ -0,0 +1,192 @@
+package com.bau.adapter.in.web.export;
+
+import com.bau.adapter.in.web.bedarf.mapper.BedarfWebMapper;
+import com.bau.adapter.in.web.betrieb.mapper.BetriebWebMapper;
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.betrieb.Betrieb;
+import com.bau.application.domain.betrieb.BetriebStatus;
+import com.bau.application.port.in.BedarfUseCase;
+import com.bau.application.port.in.BetriebUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Streams all bedarfe or betriebe as CSV or NDJSON for administrators.
+ * Rows are read through a database cursor and written as they arrive, so memory use does not
+ * grow with the export size. The response is flushed regularly so that proxies and load
+ * balancers see traffic during long exports.
+ * Not part of the generated API because the generated interfaces cannot return a streaming body.
+ */
+@RestController
+@RequestMapping("/api/v1/export")
+@RequiredArgsConstructor
+@Slf4j
+public class ExportController {
+
+    static final int FLUSH_INTERVAL = 1000;
+
+    private final BedarfUseCase bedarfUseCase;
+    private final BetriebUseCase betriebUseCase;
+    private final BedarfWebMapper bedarfMapper;
+    private final BetriebWebMapper betriebMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Exports bedarfe, oldest first.
+     * @param format csv or ndjson
+     * @param status filter by status (optional)
+     * @return the streamed file
+     */
+    @GetMapping("/bedarfe")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBedarfe(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "status", required = false) String status) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        BedarfStatus statusFilter = status != null ? BedarfStatus.valueOf(status) : null;
+        log.info("Exporting bedarfs as {} with status: {}", exportFormat, statusFilter);
+
+        return stream(exportFormat, "bedarfe", writer -> {
+            RowWriter<Bedarf> rows = exportFormat == ExportFormat.CSV
+                    ? csvRows(writer, new Object[]{"id", "betriebId", "holzbauAnzahl", "zimmermannAnzahl",
+                            "datumVon", "datumBis", "adresse", "latitude", "longitude",
+                            "mitWerkzeug", "mitFahrzeug", "status"},
+                            bedarf -> new Object[]{bedarf.getId(), bedarf.getBetriebId(), bedarf.getHolzbauAnzahl(),
+                                    bedarf.getZimmermannAnzahl(), bedarf.getDatumVon(), bedarf.getDatumBis(),
+                                    bedarf.getAdresse(), bedarf.getLatitude(), bedarf.getLongitude(),
+                                    bedarf.getMitWerkzeug(), bedarf.getMitFahrzeug(), bedarf.getStatus()})
+                    : jsonRows(writer, bedarfMapper::toResponse);
+            bedarfUseCase.exportBedarfs(statusFilter, rows);
+            return rows.count();
+        });
+    }
+
+    /**
+     * Exports betriebe, ordered by name.
+     * @param format csv or ndjson
+     * @param status filter by status (optional)
+     * @return the streamed file
+     */
+    @GetMapping("/betriebe")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBetriebe(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "status", required = false) String status) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        BetriebStatus statusFilter = status != null ? BetriebStatus.valueOf(status) : null;
+        log.info("Exporting betriebs as {} with status: {}", exportFormat, statusFilter);
+
+        return stream(exportFormat, "betriebe", writer -> {
+            RowWriter<Betrieb> rows = exportFormat == ExportFormat.CSV
+                    ? csvRows(writer, new Object[]{"id", "name", "adresse", "latitude", "longitude",
+                            "email", "telefon", "status"},
+                            betrieb -> new Object[]{betrieb.getId(), betrieb.getName(), betrieb.getAdresse(),
+                                    betrieb.getLatitude(), betrieb.getLongitude(), betrieb.getEmail(),
+                                    betrieb.getTelefon(), betrieb.getStatus()})
+                    : jsonRows(writer, betriebMapper::toResponse);
+            betriebUseCase.exportBetriebs(statusFilter, rows);
+            return rows.count();
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(ExportFormat format, String baseName, Export export) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try {
+                long count = export.writeTo(writer);
+                log.info("Exported {} {}", count, baseName);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(format.fileName(baseName))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    private <T> RowWriter<T> csvRows(Writer writer, Object[] header, Function<T, Object[]> columns)
+            throws IOException {
+        CsvWriter csv = new CsvWriter(writer);
+        csv.writeRow(header);
+        return new RowWriter<>(writer, item -> csv.writeRow(columns.apply(item)));
+    }
+
+    private <T> RowWriter<T> jsonRows(Writer writer, Function<T, ?> toResponse) {
+        return new RowWriter<>(writer, item -> {
+            writer.write(objectMapper.writeValueAsString(toResponse.apply(item)));
+            writer.write('\n');
+        });
+    }
+
+    /**
+     * Writes the content of an export and returns the number of rows written.
+     */
+    @FunctionalInterface
+    private interface Export {
+        long writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * Writes one row.
+     */
+    @FunctionalInterface
+    private interface Row<T> {
+        void write(T item) throws IOException;
+    }
+
+    /**
+     * Consumer that writes each item as a row and flushes every {@link #FLUSH_INTERVAL} rows.
+     */
+    private static final class RowWriter<T> implements Consumer<T> {
+
+        private final Writer writer;
+        private final Row<T> row;
+        private long count;
+
+        RowWriter(Writer writer, Row<T> row) {
+            this.writer = writer;
+            this.row = row;
+        }
+
+        @Override
+        public void accept(T item) {
+            try {
+                row.write(item);
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long count() {
+            return count;
+        }
+    }
+}
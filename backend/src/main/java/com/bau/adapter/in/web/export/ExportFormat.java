@@ -0,0 +1,44 @@
+package com.bau.adapter.in.web.export;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * File formats supported by the export endpoints.
+ */
+enum ExportFormat {
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+    
+    private final MediaType mediaType;
+    private final String extension;
+    
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+    
+    MediaType mediaType() {
+        return mediaType;
+    }
+    
+    String fileName(String baseName) {
+        return baseName + "." + extension;
+    }
+    
+    /**
+     * Resolves the format requested by a query parameter.
+     * @param value the parameter value, case-insensitive
+     * @return the format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    static ExportFormat of(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
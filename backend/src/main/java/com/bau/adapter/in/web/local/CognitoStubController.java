@@ -0,0 +1,115 @@
+package com.bau.adapter.in.web.local;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Minimal stand-in for the AWS Cognito Identity Provider API, active in the local profile.
+ * Speaks the AWS JSON 1.1 protocol for the operations used by
+ * {@link com.bau.shared.service.CognitoUserService}, so the real SDK clients can be pointed at it
+ * via {@code aws.cognito.endpoint} to log in without network access.
+ * Issued tokens are unsigned and only meant for local development.
+ */
+@RestController
+@Profile("local")
+@RequiredArgsConstructor
+@Slf4j
+public class CognitoStubController {
+    
+    static final String TARGET_PREFIX = "AWSCognitoIdentityProviderService.";
+    static final MediaType AMZ_JSON = MediaType.parseMediaType("application/x-amz-json-1.1");
+    private static final int EXPIRES_IN_SECONDS = 3600;
+    
+    private final ObjectMapper objectMapper;
+    
+    @Value("${bau.local.cognito.password:local}")
+    private String password;
+    
+    /**
+     * Dispatches a Cognito API call by its {@code X-Amz-Target} header.
+     * 
+     * @param target the operation, e.g. AWSCognitoIdentityProviderService.InitiateAuth
+     * @param body the JSON request body (sent as application/x-amz-json-1.1)
+     * @return the JSON response or a Cognito error
+     * @throws JsonProcessingException if the body is not valid JSON
+     */
+    @PostMapping(path = {"/local/cognito", "/local/cognito/"})
+    public ResponseEntity<String> handle(@RequestHeader("X-Amz-Target") String target,
+                                         @RequestBody String body) throws JsonProcessingException {
+        JsonNode request = objectMapper.readTree(body);
+        String operation = target.startsWith(TARGET_PREFIX) ? target.substring(TARGET_PREFIX.length()) : target;
+        log.debug("Cognito stub call: {}", operation);
+        
+        return switch (operation) {
+            case "InitiateAuth" -> initiateAuth(request);
+            case "ChangePassword", "UpdateUserAttributes", "GlobalSignOut" -> respond(HttpStatus.OK, Map.of());
+            default -> error("InvalidParameterException", "Operation not supported by the local stub: " + operation);
+        };
+    }
+    
+    private ResponseEntity<String> initiateAuth(JsonNode request) throws JsonProcessingException {
+        String username = request.path("AuthParameters").path("USERNAME").asText("");
+        String givenPassword = request.path("AuthParameters").path("PASSWORD").asText("");
+        if (username.isBlank() || !password.equals(givenPassword)) {
+            return error("NotAuthorizedException", "Incorrect username or password.");
+        }
+        
+        String idToken = createToken(username, "id");
+        return respond(HttpStatus.OK, Map.of("AuthenticationResult", Map.of(
+                "AccessToken", createToken(username, "access"),
+                "IdToken", idToken,
+                "RefreshToken", UUID.randomUUID().toString(),
+                "ExpiresIn", EXPIRES_IN_SECONDS,
+                "TokenType", "Bearer")));
+    }
+    
+    /**
+     * Creates an unsigned token carrying the claims Cognito would put into it.
+     * Usernames starting with "admin" are placed in the admin group.
+     */
+    private String createToken(String username, String tokenUse) {
+        Instant now = Instant.now();
+        String email = username.contains("@") ? username : username + "@local.test";
+        return JWT.create()
+                .withSubject(UUID.nameUUIDFromBytes(username.getBytes(StandardCharsets.UTF_8)).toString())
+                .withClaim("token_use", tokenUse)
+                .withClaim("cognito:username", username)
+                .withClaim("email", email)
+                .withClaim("email_verified", true)
+                .withClaim("cognito:groups", List.of(username.startsWith("admin") ? "admin" : "betrieb"))
+                .withIssuedAt(now)
+                .withExpiresAt(now.plusSeconds(EXPIRES_IN_SECONDS))
+                .sign(Algorithm.none());
+    }
+    
+    private ResponseEntity<String> error(String type, String message) throws JsonProcessingException {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(AMZ_JSON)
+                .header("x-amzn-ErrorType", type)
+                .body(objectMapper.writeValueAsString(Map.of("__type", type, "message", message)));
+    }
+    
+    private ResponseEntity<String> respond(HttpStatus status, Map<String, Object> body) throws JsonProcessingException {
+        return ResponseEntity.status(status).contentType(AMZ_JSON).body(objectMapper.writeValueAsString(body));
+    }
+}
@@ -0,0 +1,85 @@
+package com.bau.adapter.out.geocoding;
+
+import com.bau.application.domain.geo.GeoPoint;
+import com.bau.application.port.out.Geocoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Offline geocoder resolving Swiss addresses by postal code or place name.
+ * Uses a bundled table of place centroids, so no external service is needed
+ * for local development, tests and deployments without a geocoding provider.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bau.geocoding", name = "provider", havingValue = "offline", matchIfMissing = true)
+@Slf4j
+public class OfflineGeocoder implements Geocoder {
+    
+    private static final String PLACES_RESOURCE = "geocoding/ch-places.csv";
+    private static final Pattern POSTAL_CODE = Pattern.compile("\\b(\\d{4})\\b");
+    
+    private final Map<String, GeoPoint> byPostalCode = new HashMap<>();
+    private final Map<String, GeoPoint> byPlace = new HashMap<>();
+    
+    public OfflineGeocoder() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(PLACES_RESOURCE).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(";");
+                GeoPoint point = new GeoPoint(Double.parseDouble(columns[2]), Double.parseDouble(columns[3]));
+                byPostalCode.put(columns[0], point);
+                byPlace.putIfAbsent(normalize(columns[1]), point);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load " + PLACES_RESOURCE, e);
+        }
+        log.debug("Loaded {} postal codes for offline geocoding", byPostalCode.size());
+    }
+    
+    @Override
+    public Optional<GeoPoint> geocode(String adresse) {
+        if (adresse == null || adresse.isBlank()) {
+            return Optional.empty();
+        }
+        
+        Matcher matcher = POSTAL_CODE.matcher(adresse);
+        while (matcher.find()) {
+            GeoPoint point = byPostalCode.get(matcher.group(1));
+            if (point != null) {
+                return Optional.of(point);
+            }
+        }
+        
+        for (String token : normalize(adresse).split("[,\\s]+")) {
+            GeoPoint point = byPlace.get(token);
+            if (point != null) {
+                return Optional.of(point);
+            }
+        }
+        
+        log.debug("Could not geocode address: {}", adresse);
+        return Optional.empty();
+    }
+    
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
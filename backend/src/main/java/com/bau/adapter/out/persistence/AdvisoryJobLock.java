@@ -0,0 +1,60 @@
+package com.bau.adapter.out.persistence;
+
+import com.bau.application.port.out.JobLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Job lock backed by PostgreSQL session-level advisory locks, so all instances sharing the
+ * database elect one runner without a lock table. The lock is held on a dedicated connection
+ * for as long as the task runs; if the instance dies, the database releases it with the session.
+ * Other databases (H2 in tests) have no advisory locks, so the task always runs there.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdvisoryJobLock implements JobLock {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final DataSource dataSource;
+
+    @Override
+    public boolean runExclusively(String name, Runnable task) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())) {
+                task.run();
+                return true;
+            }
+            if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(hashtext(?))", name)) {
+                log.debug("Job lock {} is held by another instance", name);
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                advisoryLock(connection, "SELECT pg_advisory_unlock(hashtext(?))", name);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Job lock " + name + " not available", e);
+        }
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
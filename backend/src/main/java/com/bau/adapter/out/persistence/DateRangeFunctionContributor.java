@@ -0,0 +1,29 @@
+package com.bau.adapter.out.persistence;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the {@code date_range_overlaps(von, bis, windowVon, windowBis)} query function.
+ * On PostgreSQL it renders as an inclusive {@code daterange} overlap, which is answered by the
+ * GiST index on {@code daterange(datum_von, datum_bis, '[]')}. Other databases (H2) fall back
+ * to the equivalent comparison of the bounds.
+ */
+public class DateRangeFunctionContributor implements FunctionContributor {
+    
+    public static final String DATE_RANGE_OVERLAPS = "date_range_overlaps";
+    
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? "(daterange(?1, ?2, '[]') && daterange(?3, ?4, '[]'))"
+                : "(?1 <= ?4 and ?2 >= ?3)";
+        functionContributions.getFunctionRegistry().registerPattern(
+                DATE_RANGE_OVERLAPS,
+                pattern,
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
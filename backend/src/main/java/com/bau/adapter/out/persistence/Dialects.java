@@ -0,0 +1,27 @@
+package com.bau.adapter.out.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Tells native statements which database they run on, for the few clauses that PostgreSQL
+ * and the H2 test database spell differently.
+ */
+public final class Dialects {
+
+    private Dialects() {
+    }
+
+    /**
+     * Checks if the entity manager talks to PostgreSQL.
+     * @param entityManager the entity manager
+     * @return true for PostgreSQL, false for any other database
+     */
+    public static boolean isPostgres(EntityManager entityManager) {
+        return entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+}
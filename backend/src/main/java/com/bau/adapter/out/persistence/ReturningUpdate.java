@@ -0,0 +1,46 @@
+package com.bau.adapter.out.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a native UPDATE that hands back the changed rows in the same round trip.
+ * On PostgreSQL the statement gets a {@code RETURNING *} clause. Other databases (H2) select
+ * from the {@code FINAL TABLE} of the update, which yields the rows as they are after it.
+ */
+public final class ReturningUpdate {
+
+    private ReturningUpdate() {
+    }
+
+    /**
+     * Runs the update and maps the changed rows to entities.
+     * Like a bulk update, the statement bypasses entity listeners and version checks. The
+     * persistence context is flushed and cleared first, so a returned row is not resolved to
+     * an instance that is still managed with its old values. Must run in a transaction.
+     * @param entityManager the entity manager
+     * @param entityClass the entity mapped to the updated table
+     * @param update the UPDATE statement with named parameters, without a RETURNING clause
+     * @param parameters the parameter values by name
+     * @param <T> the entity type
+     * @return the changed rows with their new values
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> execute(EntityManager entityManager, Class<T> entityClass, String update,
+                                      Map<String, Object> parameters) {
+        entityManager.flush();
+        entityManager.clear();
+        Query query = entityManager.createNativeQuery(returning(entityManager, update), entityClass);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    private static String returning(EntityManager entityManager, String update) {
+        return Dialects.isPostgres(entityManager)
+                ? update + " RETURNING *"
+                : "SELECT * FROM FINAL TABLE (" + update + ")";
+    }
+}
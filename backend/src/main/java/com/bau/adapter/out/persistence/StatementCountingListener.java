@@ -0,0 +1,26 @@
+package com.bau.adapter.out.persistence;
+
+import com.bau.shared.monitoring.StatementCounter;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Records every statement executed on the DataSource with the {@link StatementCounter} of the
+ * current thread. Hibernate queries, {@link ReturningUpdate}s and SQL run on the DataSource
+ * directly, such as the advisory job lock, are counted once per execution, whether or not the
+ * statement was prepared before; a batch counts with every statement it carries.
+ */
+public class StatementCountingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        StatementCounter.record(execInfo.isBatch() ? execInfo.getBatchSize() : 1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.bau.adapter.out.persistence.bedarf;
+
+import com.bau.application.domain.bedarf.BedarfStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity for an archived bedarf. Rows are only written by {@link BedarfArchiveImpl}, which
+ * copies them from the bedarf table with their timestamps and version unchanged.
+ */
+@Entity
+@Table(name = "bedarf_archive")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BedarfArchiveEntity {
+    
+    @Id
+    private UUID id;
+    
+    @Column(name = "betrieb_id", nullable = false)
+    private UUID betriebId;
+    
+    @Column(name = "holzbau_anzahl", nullable = false)
+    private Integer holzbauAnzahl;
+    
+    @Column(name = "zimmermann_anzahl", nullable = false)
+    private Integer zimmermannAnzahl;
+    
+    @Column(name = "datum_von", nullable = false)
+    private LocalDate datumVon;
+    
+    @Column(name = "datum_bis", nullable = false)
+    private LocalDate datumBis;
+    
+    @Column(name = "adresse", nullable = false, length = 1000)
+    private String adresse;
+    
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
+    @Column(name = "geohash", length = 12)
+    private String geohash;
+    
+    @Column(name = "mit_werkzeug")
+    private Boolean mitWerkzeug;
+    
+    @Column(name = "mit_fahrzeug")
+    private Boolean mitFahrzeug;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private BedarfStatus status;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,111 @@
+package com.bau.adapter.out.persistence.bedarf;
+
+import com.bau.adapter.out.persistence.Dialects;
+import com.bau.application.port.out.BedarfArchive;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of BedarfArchive that moves rows from the bedarf table to bedarf_archive.
+ * A batch is selected and locked first, then copied and deleted by ID in the same transaction,
+ * so a row is either in the hot table or in the archive.
+ * The yearly partitions of bedarf_archive are created here too, ahead of the years they hold.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class BedarfArchiveImpl implements BedarfArchive {
+    
+    private static final String COLUMNS = "id, betrieb_id, holzbau_anzahl, zimmermann_anzahl, datum_von, datum_bis, "
+            + "adresse, latitude, longitude, geohash, mit_werkzeug, mit_fahrzeug, status, created_at, updated_at, version";
+    
+    private static final String SELECT_CLOSED = "SELECT id FROM bedarf "
+            + "WHERE status IN ('ABGESCHLOSSEN', 'STORNIERT') AND datum_bis < :endedBefore LIMIT :limit";
+    
+    private static final String COPY = "INSERT INTO bedarf_archive (" + COLUMNS + ", archived_at) "
+            + "SELECT " + COLUMNS + ", :archivedAt FROM bedarf WHERE id IN (:ids)";
+    
+    private static final String PARTITION_EXISTS = "SELECT to_regclass(:name) IS NOT NULL";
+    
+    private final BedarfJpaRepository jpaRepository;
+    private final BedarfArchiveJpaRepository archiveJpaRepository;
+    private final DateTimeProvider auditingDateTimeProvider;
+    private final EntityManager entityManager;
+    
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<UUID> archiveClosed(LocalDate endedBefore, int limit) {
+        // Only PostgreSQL skips locked rows; the H2 test database never runs two jobs at once
+        String select = Dialects.isPostgres(entityManager) ? SELECT_CLOSED + " FOR UPDATE SKIP LOCKED" : SELECT_CLOSED;
+        List<UUID> ids = entityManager.createNativeQuery(select, UUID.class)
+                .setParameter("endedBefore", endedBefore)
+                .setParameter("limit", limit)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        entityManager.createNativeQuery(COPY)
+                .setParameter("archivedAt", now())
+                .setParameter("ids", ids)
+                .executeUpdate();
+        jpaRepository.deleteByIdIn(ids);
+        log.debug("Archived {} bedarfs that ended before {}", ids.size(), endedBefore);
+        return ids;
+    }
+    
+    @Override
+    @Transactional
+    public boolean ensurePartition(Year year) {
+        // The H2 test database has a plain bedarf_archive table
+        if (!Dialects.isPostgres(entityManager)) {
+            return false;
+        }
+        String partition = "bedarf_archive_" + year.getValue();
+        if ((Boolean) entityManager.createNativeQuery(PARTITION_EXISTS)
+                .setParameter("name", partition)
+                .getSingleResult()) {
+            return false;
+        }
+        // Attaching a range the default partition already holds rows of fails, so those rows
+        // are moved to the new table before it is attached
+        String from = "'" + year.atDay(1) + "'";
+        String to = "'" + year.plusYears(1).atDay(1) + "'";
+        String range = "datum_bis >= " + from + " AND datum_bis < " + to;
+        entityManager.createNativeQuery("CREATE TABLE " + partition
+                + " (LIKE bedarf_archive INCLUDING DEFAULTS INCLUDING CONSTRAINTS)").executeUpdate();
+        int moved = entityManager.createNativeQuery("WITH moved AS (DELETE FROM bedarf_archive_default WHERE "
+                + range + " RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved").executeUpdate();
+        entityManager.createNativeQuery("ALTER TABLE bedarf_archive ATTACH PARTITION " + partition
+                + " FOR VALUES FROM (" + from + ") TO (" + to + ")").executeUpdate();
+        log.info("Created archive partition {} and moved {} bedarfs into it from the default partition",
+                partition, moved);
+        return true;
+    }
+    
+    @Override
+    @Transactional
+    public int deleteByBetriebIds(Collection<UUID> betriebIds) {
+        if (betriebIds.isEmpty()) {
+            return 0;
+        }
+        return archiveJpaRepository.deleteByBetriebIdIn(betriebIds);
+    }
+    
+    private LocalDateTime now() {
+        return auditingDateTimeProvider.getNow()
+                .map(LocalDateTime::from)
+                .orElseGet(LocalDateTime::now);
+    }
+}
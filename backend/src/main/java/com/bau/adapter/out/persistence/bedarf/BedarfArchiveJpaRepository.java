@@ -0,0 +1,35 @@
+package com.bau.adapter.out.persistence.bedarf;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for BedarfArchiveEntity.
+ * Rows are written by {@link BedarfArchiveImpl}; here they are only read, or deleted with their betrieb.
+ */
+@Repository
+public interface BedarfArchiveJpaRepository extends JpaRepository<BedarfArchiveEntity, UUID> {
+    
+    /**
+     * Finds the archived bedarfs of a betrieb.
+     * @param betriebId the betrieb ID
+     * @return the archived bedarfs
+     */
+    List<BedarfArchiveEntity> findByBetriebId(UUID betriebId);
+    
+    /**
+     * Deletes the archived bedarfs of the given betriebs in one statement.
+     * @param betriebIds the betrieb IDs
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BedarfArchiveEntity b WHERE b.betriebId IN :betriebIds")
+    int deleteByBetriebIdIn(@Param("betriebIds") Collection<UUID> betriebIds);
+}
@@ -48,6 +48,15 @@ public class BedarfEntity {
     @Column(name = "adresse", nullable = false, length = 1000)
     private String adresse;
     
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
+    @Column(name = "geohash", length = 12)
+    private String geohash;
+    
     @Column(name = "mit_werkzeug")
     private Boolean mitWerkzeug;
     
@@ -65,4 +74,8 @@ public class BedarfEntity {
     @LastModifiedDate
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+    
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 } 
\ No newline at end of file
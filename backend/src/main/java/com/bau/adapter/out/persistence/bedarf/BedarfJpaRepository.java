@@ -1,23 +1,28 @@
 package com.bau.adapter.out.persistence.bedarf;
 
 import com.bau.application.domain.bedarf.BedarfStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for BedarfEntity.
  * Provides database operations for bedarf table.
  */
 @Repository
-public interface BedarfJpaRepository extends JpaRepository<BedarfEntity, UUID> {
+public interface BedarfJpaRepository extends JpaRepository<BedarfEntity, UUID>, JpaSpecificationExecutor<BedarfEntity> {
     
     /**
      * Finds all bedarfs by betrieb ID.
@@ -34,22 +39,89 @@ public interface BedarfJpaRepository extends JpaRepository<BedarfEntity, UUID> {
     List<BedarfEntity> findByStatus(BedarfStatus status);
     
     /**
-     * Finds bedarfs with pagination and filtering.
-     * @param status filter by status (optional)
-     * @param datumVon filter by start date (optional)
-     * @param datumBis filter by end date (optional)
-     * @param pageable pagination parameters
-     * @return paginated list of bedarfs
+     * Streams all bedarfs through a server-side cursor, oldest first.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return stream of bedarfs, fetched in chunks
      */
-    @Query("SELECT b FROM BedarfEntity b WHERE " +
-           "(:status IS NULL OR b.status = :status) AND " +
-           "(:datumVon IS NULL OR b.datumVon >= :datumVon) AND " +
-           "(:datumBis IS NULL OR b.datumBis <= :datumBis) " +
-           "ORDER BY b.createdAt DESC")
-    Page<BedarfEntity> findWithFilters(
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM BedarfEntity b ORDER BY b.createdAt ASC, b.id ASC")
+    Stream<BedarfEntity> streamAll();
+    
+    /**
+     * Streams bedarfs with the given status through a server-side cursor, oldest first.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @param status the status to filter by
+     * @return stream of bedarfs, fetched in chunks
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM BedarfEntity b WHERE b.status = :status ORDER BY b.createdAt ASC, b.id ASC")
+    Stream<BedarfEntity> streamByStatus(@Param("status") BedarfStatus status);
+    
+    /**
+     * Sets the status of all given bedarfs in one statement and increments their versions.
+     * Bypasses entity listeners, so the modification time is passed in, and clears the
+     * persistence context so later reads see the new status.
+     * @param ids the bedarf IDs
+     * @param status the new status
+     * @param updatedAt the modification time to record
+     * @return the number of updated rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BedarfEntity b SET b.status = :status, b.updatedAt = :updatedAt, b.version = b.version + 1 "
+            + "WHERE b.id IN :ids")
+    int updateStatusByIdIn(
+            @Param("ids") Collection<UUID> ids,
             @Param("status") BedarfStatus status,
-            @Param("datumVon") LocalDate datumVon,
-            @Param("datumBis") LocalDate datumBis,
-            Pageable pageable
+            @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    /**
+     * Deletes all given bedarfs in one statement, without loading them first.
+     * Clears the persistence context so later reads do not see the deleted rows.
+     * @param ids the bedarf IDs
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BedarfEntity b WHERE b.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+    
+    /**
+     * Full-text search over active bedarfs by address and company name (PostgreSQL only).
+     * Each side is answered by its own GIN indexes: the {@code simple} text search vector for
+     * prefix matches and the trigram index for approximate word matches. Matching companies are
+     * joined to their bedarfs through the betrieb_id index rather than probed against a scan of
+     * all bedarfs. Results are ranked by trigram word similarity of the query to the address or
+     * company name.
+     * @param query the search text, for approximate matching
+     * @param prefixQuery the search words as a {@code to_tsquery} prefix expression
+     * @param limit maximum number of results
+     * @return matching bedarfs, best match first
+     */
+    @Query(value = "SELECT b.* FROM (" +
+           "  SELECT m.id FROM bedarf m " +
+           "  WHERE m.status = 'AKTIV' " +
+           "    AND (to_tsvector('simple', m.adresse) @@ to_tsquery('simple', :prefixQuery) " +
+           "         OR m.adresse %> :query) " +
+           "  UNION " +
+           "  SELECT m.id FROM betrieb c JOIN bedarf m ON m.betrieb_id = c.id " +
+           "  WHERE m.status = 'AKTIV' " +
+           "    AND (to_tsvector('simple', c.name) @@ to_tsquery('simple', :prefixQuery) " +
+           "         OR c.name %> :query)" +
+           ") hit " +
+           "JOIN bedarf b ON b.id = hit.id " +
+           "JOIN betrieb bt ON bt.id = b.betrieb_id " +
+           "ORDER BY greatest(word_similarity(:query, b.adresse), word_similarity(:query, bt.name)) DESC, b.id " +
+           "LIMIT :limit",
+           nativeQuery = true)
+    List<BedarfEntity> searchActive(
+            @Param("query") String query,
+            @Param("prefixQuery") String prefixQuery,
+            @Param("limit") int limit
     );
-} 
\ No newline at end of file
+}
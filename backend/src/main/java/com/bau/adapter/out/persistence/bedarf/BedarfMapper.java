@@ -2,6 +2,7 @@ package com.bau.adapter.out.persistence.bedarf;
 
 import com.bau.application.domain.bedarf.Bedarf;
 import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.geo.GeoHash;
 import org.springframework.stereotype.Component;
 
 /**
@@ -28,9 +29,41 @@ public class BedarfMapper {
                 .datumVon(entity.getDatumVon())
                 .datumBis(entity.getDatumBis())
                 .adresse(entity.getAdresse())
+                .latitude(entity.getLatitude())
+                .longitude(entity.getLongitude())
                 .mitWerkzeug(entity.getMitWerkzeug())
                 .mitFahrzeug(entity.getMitFahrzeug())
                 .status(entity.getStatus())
+                .updatedAt(entity.getUpdatedAt())
+                .version(entity.getVersion())
+                .build();
+    }
+    
+    /**
+     * Converts an archived bedarf to a Bedarf domain object.
+     * @param entity the JPA entity
+     * @return the domain object
+     */
+    public Bedarf toDomain(BedarfArchiveEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        
+        return Bedarf.builder()
+                .id(entity.getId())
+                .betriebId(entity.getBetriebId())
+                .holzbauAnzahl(entity.getHolzbauAnzahl())
+                .zimmermannAnzahl(entity.getZimmermannAnzahl())
+                .datumVon(entity.getDatumVon())
+                .datumBis(entity.getDatumBis())
+                .adresse(entity.getAdresse())
+                .latitude(entity.getLatitude())
+                .longitude(entity.getLongitude())
+                .mitWerkzeug(entity.getMitWerkzeug())
+                .mitFahrzeug(entity.getMitFahrzeug())
+                .status(entity.getStatus())
+                .updatedAt(entity.getUpdatedAt())
+                .version(entity.getVersion())
                 .build();
     }
     
@@ -52,9 +85,15 @@ public class BedarfMapper {
                 .datumVon(bedarf.getDatumVon())
                 .datumBis(bedarf.getDatumBis())
                 .adresse(bedarf.getAdresse())
+                .latitude(bedarf.getLatitude())
+                .longitude(bedarf.getLongitude())
+                .geohash(bedarf.getLocation()
+                        .map(location -> GeoHash.encode(location, GeoHash.STORED_PRECISION))
+                        .orElse(null))
                 .mitWerkzeug(bedarf.getMitWerkzeug())
                 .mitFahrzeug(bedarf.getMitFahrzeug())
                 .status(bedarf.getStatus())
+                .version(bedarf.getVersion())
                 .build();
     }
 } 
\ No newline at end of file
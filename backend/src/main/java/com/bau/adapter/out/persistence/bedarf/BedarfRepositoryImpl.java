@@ -1,18 +1,40 @@
 package com.bau.adapter.out.persistence.bedarf;
 
+import com.bau.adapter.out.persistence.Dialects;
+import com.bau.adapter.out.persistence.ReturningUpdate;
+import com.bau.application.domain.VersionConflictException;
 import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfCursor;
+import com.bau.application.domain.bedarf.BedarfFilter;
 import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.bedarf.NearbyBedarf;
+import com.bau.application.domain.geo.GeoHash;
+import com.bau.application.domain.geo.GeoPoint;
 import com.bau.application.port.out.BedarfRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of BedarfRepository using JPA.
@@ -22,14 +44,96 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BedarfRepositoryImpl implements BedarfRepository {
     
+    /**
+     * Sorts after every geohash character, so [cell, cell + END) covers all hashes with that prefix.
+     */
+    private static final String GEOHASH_PREFIX_END = "~";
+    
+    private static final String UPDATE_STATUS = "UPDATE bedarf "
+            + "SET status = :status, updated_at = :updatedAt, version = version + 1 WHERE id = :id";
+    
+    private static final String CLOSE_EXPIRED = "UPDATE bedarf "
+            + "SET status = 'ABGESCHLOSSEN', updated_at = :updatedAt, version = version + 1 "
+            + "WHERE id IN (SELECT id FROM bedarf WHERE status = 'AKTIV' AND datum_bis < :today LIMIT :limit%s)";
+    
     private final BedarfJpaRepository jpaRepository;
+    private final BedarfArchiveJpaRepository archiveJpaRepository;
     private final BedarfMapper mapper;
+    private final DateTimeProvider auditingDateTimeProvider;
+    private final EntityManager entityManager;
     
     @Override
     public Bedarf save(Bedarf bedarf) {
         BedarfEntity entity = mapper.toEntity(bedarf);
-        BedarfEntity savedEntity = jpaRepository.save(entity);
-        return mapper.toDomain(savedEntity);
+        try {
+            BedarfEntity savedEntity = jpaRepository.save(entity);
+            return mapper.toDomain(savedEntity);
+        } catch (OptimisticLockingFailureException e) {
+            throw new VersionConflictException("Bedarf", bedarf.getId());
+        }
+    }
+    
+    @Override
+    @Transactional
+    public List<Bedarf> saveAll(List<Bedarf> bedarfs) {
+        List<BedarfEntity> entities = bedarfs.stream()
+                .map(mapper::toEntity)
+                .collect(Collectors.toList());
+        
+        // Load existing rows with one query so merging them does not select each row on its own
+        List<UUID> existingIds = entities.stream()
+                .map(BedarfEntity::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (!existingIds.isEmpty()) {
+            jpaRepository.findAllById(existingIds);
+        }
+        
+        // IDs are generated client-side, so Hibernate can group the inserts into JDBC batches
+        return jpaRepository.saveAll(entities)
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional
+    public int updateStatus(Collection<UUID> ids, BedarfStatus status) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jpaRepository.updateStatusByIdIn(ids, status, now());
+    }
+    
+    @Override
+    @Transactional
+    public Optional<Bedarf> updateStatus(UUID id, BedarfStatus status, Long version) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("id", id);
+        parameters.put("status", status.name());
+        parameters.put("updatedAt", now());
+        String update = UPDATE_STATUS;
+        if (version != null) {
+            update += " AND version = :version";
+            parameters.put("version", version);
+        }
+        return ReturningUpdate.execute(entityManager, BedarfEntity.class, update, parameters).stream()
+                .findFirst()
+                .map(mapper::toDomain);
+    }
+    
+    @Override
+    @Transactional
+    public List<UUID> closeExpired(LocalDate today, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("today", today);
+        parameters.put("limit", limit);
+        parameters.put("updatedAt", now());
+        // Only PostgreSQL skips locked rows; the H2 test database never runs two jobs at once
+        String update = CLOSE_EXPIRED.formatted(Dialects.isPostgres(entityManager) ? " FOR UPDATE SKIP LOCKED" : "");
+        return ReturningUpdate.execute(entityManager, BedarfEntity.class, update, parameters).stream()
+                .map(BedarfEntity::getId)
+                .collect(Collectors.toList());
     }
     
     @Override
@@ -38,6 +142,29 @@ public class BedarfRepositoryImpl implements BedarfRepository {
                 .map(mapper::toDomain);
     }
     
+    @Override
+    public Optional<Bedarf> findByIdIncludingArchive(UUID id) {
+        // Hot table first: only IDs that are not found there go on to the archive partitions
+        return findById(id)
+                .or(() -> archiveJpaRepository.findById(id).map(mapper::toDomain));
+    }
+    
+    @Override
+    public List<Bedarf> findAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findAllById(ids)
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public boolean isArchived(UUID id) {
+        return archiveJpaRepository.existsById(id);
+    }
+    
     @Override
     public List<Bedarf> findByBetriebId(UUID betriebId) {
         return jpaRepository.findByBetriebId(betriebId)
@@ -46,6 +173,14 @@ public class BedarfRepositoryImpl implements BedarfRepository {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public List<Bedarf> findByBetriebIdIncludingArchive(UUID betriebId) {
+        return Stream.concat(
+                        jpaRepository.findByBetriebId(betriebId).stream().map(mapper::toDomain),
+                        archiveJpaRepository.findByBetriebId(betriebId).stream().map(mapper::toDomain))
+                .collect(Collectors.toList());
+    }
+    
     @Override
     public List<Bedarf> findByStatus(BedarfStatus status) {
         return jpaRepository.findByStatus(status)
@@ -55,11 +190,10 @@ public class BedarfRepositoryImpl implements BedarfRepository {
     }
     
     @Override
-    public BedarfPageResult findWithPagination(int page, int size, BedarfStatus status, 
-                                             LocalDate datumVon, LocalDate datumBis) {
-        PageRequest pageRequest = PageRequest.of(page, size);
+    public BedarfPageResult findWithPagination(int page, int size, BedarfFilter filter) {
+        PageRequest pageRequest = PageRequest.of(page, size, BedarfSpecifications.NEWEST_FIRST);
         
-        var pageResult = jpaRepository.findWithFilters(status, datumVon, datumBis, pageRequest);
+        var pageResult = jpaRepository.findAll(BedarfSpecifications.matching(filter), pageRequest);
         
         List<Bedarf> content = pageResult.getContent()
                 .stream()
@@ -76,16 +210,100 @@ public class BedarfRepositoryImpl implements BedarfRepository {
     }
     
     @Override
+    public BedarfSliceResult findWithCursor(BedarfCursor cursor, int size, BedarfFilter filter, boolean includeTotal) {
+        Specification<BedarfEntity> matching = BedarfSpecifications.matching(filter);
+        Specification<BedarfEntity> slice = cursor == null
+                ? matching
+                : matching.and(BedarfSpecifications.after(cursor));
+        
+        // Fetch one extra row to find out whether another slice follows
+        List<BedarfEntity> entities = jpaRepository.findBy(slice, query -> query
+                .sortBy(BedarfSpecifications.NEWEST_FIRST)
+                .limit(size + 1)
+                .all());
+        
+        boolean hasNext = entities.size() > size;
+        List<BedarfEntity> sliceContent = hasNext ? entities.subList(0, size) : entities;
+        
+        BedarfCursor nextCursor = null;
+        if (hasNext) {
+            BedarfEntity last = sliceContent.get(sliceContent.size() - 1);
+            nextCursor = new BedarfCursor(last.getCreatedAt(), last.getId());
+        }
+        
+        Integer totalElements = includeTotal
+                ? (int) jpaRepository.count(matching)
+                : null;
+        
+        List<Bedarf> content = sliceContent.stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+        
+        return new BedarfSliceResult(content, nextCursor, totalElements);
+    }
+    
+    @Override
+    public List<NearbyBedarf> findNearby(GeoPoint center, double radiusKm, BedarfStatus status,
+                                         LocalDate datumVon, LocalDate datumBis) {
+        // Narrow down by geohash prefix ranges on the index, then apply the exact distance
+        Specification<BedarfEntity> cells = (root, query, cb) -> cb.or(GeoHash.coveringCells(center, radiusKm).stream()
+                .map(cell -> cb.and(
+                        cb.greaterThanOrEqualTo(root.get("geohash"), cell),
+                        cb.lessThan(root.get("geohash"), cell + GEOHASH_PREFIX_END)))
+                .toArray(Predicate[]::new));
+        Specification<BedarfEntity> specification =
+                cells.and(BedarfSpecifications.matching(BedarfFilter.of(status, datumVon, datumBis)));
+        
+        return jpaRepository.findAll(specification)
+                .stream()
+                .map(mapper::toDomain)
+                .map(bedarf -> new NearbyBedarf(bedarf, center.distanceKm(bedarf.getLocation().orElseThrow())))
+                .filter(nearby -> nearby.distanceKm() <= radiusKm)
+                .sorted(Comparator.comparingDouble(NearbyBedarf::distanceKm))
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(BedarfStatus status, Consumer<Bedarf> consumer) {
+        // Separate statements with and without the status keep both on their best plan
+        try (Stream<BedarfEntity> entities = status == null
+                ? jpaRepository.streamAll()
+                : jpaRepository.streamByStatus(status)) {
+            entities.forEach(entity -> {
+                consumer.accept(mapper.toDomain(entity));
+                // Keep the persistence context from growing with every row read
+                entityManager.detach(entity);
+            });
+        }
+    }
+    
+    @Override
+    @Transactional
     public boolean deleteById(UUID id) {
-        if (!jpaRepository.existsById(id)) {
-            return false;
+        return jpaRepository.deleteByIdIn(List.of(id)) > 0;
+    }
+    
+    @Override
+    @Transactional
+    public int deleteAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
         }
-        jpaRepository.deleteById(id);
-        return true;
+        return jpaRepository.deleteByIdIn(ids);
     }
     
     @Override
     public boolean existsById(UUID id) {
         return jpaRepository.existsById(id);
     }
+    
+    /**
+     * Modification time for statements that bypass the auditing entity listener.
+     */
+    private LocalDateTime now() {
+        return auditingDateTimeProvider.getNow()
+                .map(LocalDateTime::from)
+                .orElseGet(LocalDateTime::now);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.bau.adapter.out.persistence.bedarf;
+
+import com.bau.adapter.out.persistence.DateRangeFunctionContributor;
+import com.bau.application.domain.bedarf.BedarfCursor;
+import com.bau.application.domain.bedarf.BedarfFilter;
+import com.bau.application.domain.bedarf.DateRangeMatch;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the WHERE clause of bedarf list queries from a filter.
+ * Only the criteria actually set become predicates, so every combination of criteria is its
+ * own statement with its own plan. A catch-all {@code (:param IS NULL OR ...)} query shares one
+ * statement between all combinations, and once PostgreSQL switches it to a generic plan that
+ * plan must work for any of them, which in practice means no index on the filtered columns.
+ */
+final class BedarfSpecifications {
+
+    /**
+     * List order, newest first. The ID breaks ties so keyset slices are stable.
+     */
+    static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    private BedarfSpecifications() {
+    }
+
+    /**
+     * Predicates for the criteria set on the filter.
+     * @param filter the filter criteria
+     * @return specification matching bedarfs that meet all criteria
+     */
+    static Specification<BedarfEntity> matching(BedarfFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status()));
+            }
+            if (filter.betriebId() != null) {
+                predicates.add(cb.equal(root.get("betriebId"), filter.betriebId()));
+            }
+            if (filter.dateRangeMatch() == DateRangeMatch.OVERLAPPING
+                    && filter.datumVon() != null && filter.datumBis() != null) {
+                predicates.add(cb.isTrue(cb.function(DateRangeFunctionContributor.DATE_RANGE_OVERLAPS, Boolean.class,
+                        root.get("datumVon"), root.get("datumBis"),
+                        cb.literal(filter.datumVon()), cb.literal(filter.datumBis()))));
+            } else {
+                if (filter.datumVon() != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(root.get("datumVon"), filter.datumVon()));
+                }
+                if (filter.datumBis() != null) {
+                    predicates.add(cb.lessThanOrEqualTo(root.get("datumBis"), filter.datumBis()));
+                }
+            }
+            if (filter.minHolzbauAnzahl() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("holzbauAnzahl"), filter.minHolzbauAnzahl()));
+            }
+            if (filter.minZimmermannAnzahl() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("zimmermannAnzahl"), filter.minZimmermannAnzahl()));
+            }
+            if (filter.mitWerkzeug() != null) {
+                predicates.add(cb.equal(root.get("mitWerkzeug"), filter.mitWerkzeug()));
+            }
+            if (filter.mitFahrzeug() != null) {
+                predicates.add(cb.equal(root.get("mitFahrzeug"), filter.mitFahrzeug()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Keyset predicate for the rows following the cursor in {@link #NEWEST_FIRST} order.
+     * @param cursor the last row of the previous slice
+     * @return specification matching the rows after the cursor
+     */
+    static Specification<BedarfEntity> after(BedarfCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.createdAt()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
+}
@@ -0,0 +1,75 @@
+package com.bau.adapter.out.persistence.bedarf;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.port.out.BedarfSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Search index backed by the PostgreSQL text search and trigram indexes on the bedarf and
+ * betrieb tables (see V6 migration). The database keeps these indexes current, so writes
+ * need no extra work here.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "bau.search", name = "provider", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresBedarfSearchIndex implements BedarfSearchIndex {
+    
+    private final BedarfJpaRepository jpaRepository;
+    private final BedarfMapper mapper;
+    
+    @Override
+    public List<Bedarf> search(String query, int limit) {
+        String prefixQuery = toPrefixQuery(query);
+        if (prefixQuery.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.searchActive(query, prefixQuery, limit)
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void upsert(Bedarf bedarf) {
+        // Maintained by the database
+    }
+    
+    @Override
+    public void remove(UUID id) {
+        // Maintained by the database
+    }
+    
+    @Override
+    public void beginRebuild() {
+        // Maintained by the database
+    }
+    
+    @Override
+    public void rebuild(Collection<Bedarf> activeBedarfs) {
+        // Maintained by the database
+    }
+    
+    /**
+     * Builds a {@code to_tsquery} expression requiring a prefix match of every word.
+     * Only letters and digits are kept, so user input cannot inject tsquery operators.
+     * @param query the search text
+     * @return e.g. {@code bahnhof:* & grabs:*}, empty if the query has no words
+     */
+    static String toPrefixQuery(String query) {
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,34 @@
+package com.bau.adapter.out.persistence.bedarfimport;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * JPA Entity for a row rejected by a bedarf import.
+ */
+@Entity
+@Table(name = "bedarf_import_error")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BedarfImportErrorEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+    
+    @Column(name = "csv_row", nullable = false)
+    private long rowNumber;
+    
+    @Column(name = "message", nullable = false, length = 1000)
+    private String message;
+}
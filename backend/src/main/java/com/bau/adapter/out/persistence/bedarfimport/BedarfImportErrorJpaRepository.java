@@ -0,0 +1,21 @@
+package com.bau.adapter.out.persistence.bedarfimport;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for rows rejected by bedarf imports.
+ */
+@Repository
+public interface BedarfImportErrorJpaRepository extends JpaRepository<BedarfImportErrorEntity, UUID> {
+    
+    /**
+     * Find the rejected rows of a job in row order.
+     * @param jobId the job ID
+     * @return the rejected rows
+     */
+    List<BedarfImportErrorEntity> findByJobIdOrderByRowNumberAsc(UUID jobId);
+}
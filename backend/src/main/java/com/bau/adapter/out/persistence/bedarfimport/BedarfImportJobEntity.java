@@ -0,0 +1,54 @@
+package com.bau.adapter.out.persistence.bedarfimport;
+
+import com.bau.application.domain.bedarf.BedarfImportStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity for bedarf import job persistence.
+ */
+@Entity
+@Table(name = "bedarf_import_job")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BedarfImportJobEntity {
+    
+    @Id
+    private UUID id;
+    
+    @Column(name = "betrieb_id", nullable = false)
+    private UUID betriebId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private BedarfImportStatus status;
+    
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+    
+    @Column(name = "imported_rows", nullable = false)
+    private long importedRows;
+    
+    @Column(name = "failed_rows", nullable = false)
+    private long failedRows;
+    
+    @Column(name = "failure_reason", length = 1000)
+    private String failureReason;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,59 @@
+package com.bau.adapter.out.persistence.bedarfimport;
+
+import com.bau.application.domain.bedarf.BedarfImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for bedarf import jobs.
+ */
+@Repository
+public interface BedarfImportJobJpaRepository extends JpaRepository<BedarfImportJobEntity, UUID> {
+    
+    /**
+     * Fails the given jobs that are still running, in one statement.
+     * @param ids the job IDs
+     * @param running the running status
+     * @param failed the failed status
+     * @param reason the failure reason to record
+     * @param now the finish and modification time to record
+     * @return the number of failed jobs
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BedarfImportJobEntity j SET j.status = :failed, j.failureReason = :reason, "
+            + "j.finishedAt = :now, j.updatedAt = :now WHERE j.id IN :ids AND j.status = :running")
+    int failRunningByIdIn(
+            @Param("ids") Collection<UUID> ids,
+            @Param("running") BedarfImportStatus running,
+            @Param("failed") BedarfImportStatus failed,
+            @Param("reason") String reason,
+            @Param("now") LocalDateTime now
+    );
+    
+    /**
+     * Fails all running jobs without progress since the given time, in one statement.
+     * @param updatedBefore jobs last updated before this time are failed
+     * @param running the running status
+     * @param failed the failed status
+     * @param reason the failure reason to record
+     * @param now the finish and modification time to record
+     * @return the number of failed jobs
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BedarfImportJobEntity j SET j.status = :failed, j.failureReason = :reason, "
+            + "j.finishedAt = :now, j.updatedAt = :now WHERE j.status = :running AND j.updatedAt < :updatedBefore")
+    int failRunningUpdatedBefore(
+            @Param("updatedBefore") LocalDateTime updatedBefore,
+            @Param("running") BedarfImportStatus running,
+            @Param("failed") BedarfImportStatus failed,
+            @Param("reason") String reason,
+            @Param("now") LocalDateTime now
+    );
+}
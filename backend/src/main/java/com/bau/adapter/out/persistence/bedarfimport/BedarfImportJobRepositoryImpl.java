@@ -0,0 +1,101 @@
+package com.bau.adapter.out.persistence.bedarfimport;
+
+import com.bau.application.domain.bedarf.BedarfImportError;
+import com.bau.application.domain.bedarf.BedarfImportJob;
+import com.bau.application.domain.bedarf.BedarfImportStatus;
+import com.bau.application.port.out.BedarfImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of BedarfImportJobRepository using JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BedarfImportJobRepositoryImpl implements BedarfImportJobRepository {
+    
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    
+    private final BedarfImportJobJpaRepository jobJpaRepository;
+    private final BedarfImportErrorJpaRepository errorJpaRepository;
+    
+    @Override
+    public BedarfImportJob save(BedarfImportJob job) {
+        jobJpaRepository.save(BedarfImportJobEntity.builder()
+                .id(job.getId())
+                .betriebId(job.getBetriebId())
+                .status(job.getStatus())
+                .processedRows(job.getProcessedRows())
+                .importedRows(job.getImportedRows())
+                .failedRows(job.getFailedRows())
+                .failureReason(truncate(job.getFailureReason()))
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        return job;
+    }
+    
+    @Override
+    @Transactional
+    public int failRunningJobs(Collection<UUID> ids, String reason) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jobJpaRepository.failRunningByIdIn(ids, BedarfImportStatus.RUNNING, BedarfImportStatus.FAILED,
+                truncate(reason), LocalDateTime.now());
+    }
+    
+    @Override
+    @Transactional
+    public int failRunningJobsUpdatedBefore(LocalDateTime updatedBefore, String reason) {
+        return jobJpaRepository.failRunningUpdatedBefore(updatedBefore, BedarfImportStatus.RUNNING,
+                BedarfImportStatus.FAILED, truncate(reason), LocalDateTime.now());
+    }
+    
+    @Override
+    @Transactional
+    public void addErrors(UUID jobId, List<BedarfImportError> errors) {
+        errorJpaRepository.saveAll(errors.stream()
+                .map(error -> BedarfImportErrorEntity.builder()
+                        .jobId(jobId)
+                        .rowNumber(error.rowNumber())
+                        .message(truncate(error.message()))
+                        .build())
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<BedarfImportJob> findById(UUID id) {
+        return jobJpaRepository.findById(id)
+                .map(entity -> BedarfImportJob.builder()
+                        .id(entity.getId())
+                        .betriebId(entity.getBetriebId())
+                        .status(entity.getStatus())
+                        .processedRows(entity.getProcessedRows())
+                        .importedRows(entity.getImportedRows())
+                        .failedRows(entity.getFailedRows())
+                        .failureReason(entity.getFailureReason())
+                        .startedAt(entity.getStartedAt())
+                        .finishedAt(entity.getFinishedAt())
+                        .errors(errorJpaRepository.findByJobIdOrderByRowNumberAsc(id).stream()
+                                .map(error -> new BedarfImportError(error.getRowNumber(), error.getMessage()))
+                                .collect(Collectors.toList()))
+                        .build());
+    }
+    
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_MESSAGE_LENGTH
+                ? message.substring(0, MAX_MESSAGE_LENGTH)
+                : message;
+    }
+}
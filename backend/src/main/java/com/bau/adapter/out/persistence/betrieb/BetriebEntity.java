@@ -35,6 +35,12 @@ public class BetriebEntity {
     @Column(name = "adresse", nullable = false)
     private String adresse;
     
+    @Column(name = "latitude")
+    private Double latitude;
+    
+    @Column(name = "longitude")
+    private Double longitude;
+    
     @Column(name = "email", nullable = false, unique = true)
     private String email;
     
@@ -53,6 +59,10 @@ public class BetriebEntity {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         if (status == null) {
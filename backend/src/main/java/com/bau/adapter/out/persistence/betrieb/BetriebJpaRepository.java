@@ -1,23 +1,28 @@
 package com.bau.adapter.out.persistence.betrieb;
 
 import com.bau.application.domain.betrieb.BetriebStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * JPA repository for BetriebEntity.
  * Provides database operations for betrieb table.
  */
 @Repository
-public interface BetriebJpaRepository extends JpaRepository<BetriebEntity, UUID> {
+public interface BetriebJpaRepository extends JpaRepository<BetriebEntity, UUID>, JpaSpecificationExecutor<BetriebEntity> {
     
     /**
      * Finds a betrieb by email.
@@ -34,18 +39,39 @@ public interface BetriebJpaRepository extends JpaRepository<BetriebEntity, UUID>
     List<BetriebEntity> findByStatus(BetriebStatus status);
     
     /**
-     * Finds betriebs with pagination and filtering.
-     * @param status filter by status (optional)
-     * @param pageable pagination parameters
-     * @return paginated list of betriebs
+     * Streams all betriebs through a server-side cursor, ordered by name.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return stream of betriebs, fetched in chunks
      */
-    @Query("SELECT b FROM BetriebEntity b WHERE " +
-           "(:status IS NULL OR b.status = :status) " +
-           "ORDER BY b.name ASC")
-    Page<BetriebEntity> findWithFilters(
-            @Param("status") BetriebStatus status,
-            Pageable pageable
-    );
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM BetriebEntity b ORDER BY b.name ASC, b.id ASC")
+    Stream<BetriebEntity> streamAll();
+    
+    /**
+     * Streams betriebs with the given status through a server-side cursor, ordered by name.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @param status the status to filter by
+     * @return stream of betriebs, fetched in chunks
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM BetriebEntity b WHERE b.status = :status ORDER BY b.name ASC, b.id ASC")
+    Stream<BetriebEntity> streamByStatus(@Param("status") BetriebStatus status);
+    
+    /**
+     * Deletes all given betriebs in one statement, without loading them first.
+     * Clears the persistence context so later reads do not see the deleted rows.
+     * @param ids the betrieb IDs
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BetriebEntity b WHERE b.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
     
     /**
      * Checks if a betrieb exists by email.
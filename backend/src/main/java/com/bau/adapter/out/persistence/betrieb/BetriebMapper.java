@@ -24,9 +24,13 @@ public class BetriebMapper {
                 .id(entity.getId())
                 .name(entity.getName())
                 .adresse(entity.getAdresse())
+                .latitude(entity.getLatitude())
+                .longitude(entity.getLongitude())
                 .email(entity.getEmail())
                 .telefon(entity.getTelefon())
                 .status(entity.getStatus())
+                .updatedAt(entity.getUpdatedAt())
+                .version(entity.getVersion())
                 .build();
     }
     
@@ -44,9 +48,12 @@ public class BetriebMapper {
                 .id(betrieb.getId())
                 .name(betrieb.getName())
                 .adresse(betrieb.getAdresse())
+                .latitude(betrieb.getLatitude())
+                .longitude(betrieb.getLongitude())
                 .email(betrieb.getEmail())
                 .telefon(betrieb.getTelefon())
                 .status(betrieb.getStatus())
+                .version(betrieb.getVersion())
                 .build();
     }
 } 
\ No newline at end of file
@@ -1,16 +1,30 @@
 package com.bau.adapter.out.persistence.betrieb;
 
+import com.bau.adapter.out.persistence.ReturningUpdate;
+import com.bau.application.domain.VersionConflictException;
 import com.bau.application.domain.betrieb.Betrieb;
 import com.bau.application.domain.betrieb.BetriebStatus;
 import com.bau.application.port.out.BetriebRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
 /**
@@ -21,14 +35,28 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BetriebRepositoryImpl implements BetriebRepository {
     
+    /**
+     * List order. The ID breaks ties between equal names so pages do not overlap.
+     */
+    private static final Sort BY_NAME = Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id"));
+    
+    private static final String UPDATE_STATUS = "UPDATE betrieb "
+            + "SET status = :status, updated_at = :updatedAt, version = version + 1 WHERE id = :id";
+    
     private final BetriebJpaRepository jpaRepository;
     private final BetriebMapper mapper;
+    private final DateTimeProvider auditingDateTimeProvider;
+    private final EntityManager entityManager;
     
     @Override
     public Betrieb save(Betrieb betrieb) {
         BetriebEntity entity = mapper.toEntity(betrieb);
-        BetriebEntity savedEntity = jpaRepository.save(entity);
-        return mapper.toDomain(savedEntity);
+        try {
+            BetriebEntity savedEntity = jpaRepository.save(entity);
+            return mapper.toDomain(savedEntity);
+        } catch (OptimisticLockingFailureException e) {
+            throw new VersionConflictException("Betrieb", betrieb.getId());
+        }
     }
     
     @Override
@@ -43,6 +71,17 @@ public class BetriebRepositoryImpl implements BetriebRepository {
                 .map(mapper::toDomain);
     }
     
+    @Override
+    public List<Betrieb> findAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findAllById(ids)
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     public List<Betrieb> findByStatus(BetriebStatus status) {
         return jpaRepository.findByStatus(status)
@@ -53,9 +92,13 @@ public class BetriebRepositoryImpl implements BetriebRepository {
     
     @Override
     public BetriebPageResult findWithPagination(int page, int size, BetriebStatus status) {
-        PageRequest pageRequest = PageRequest.of(page, size);
+        PageRequest pageRequest = PageRequest.of(page, size, BY_NAME);
         
-        var pageResult = jpaRepository.findWithFilters(status, pageRequest);
+        // Only a given status becomes a predicate, so both list shapes get their own plan
+        Specification<BetriebEntity> hasStatus = (root, query, cb) -> cb.equal(root.get("status"), status);
+        var pageResult = status == null
+                ? jpaRepository.findAll(pageRequest)
+                : jpaRepository.findAll(hasStatus, pageRequest);
         
         List<Betrieb> content = pageResult.getContent()
                 .stream()
@@ -72,12 +115,51 @@ public class BetriebRepositoryImpl implements BetriebRepository {
     }
     
     @Override
+    @Transactional
+    public Optional<Betrieb> updateStatus(UUID id, BetriebStatus status, Long version) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("id", id);
+        parameters.put("status", status.name());
+        parameters.put("updatedAt", auditingDateTimeProvider.getNow()
+                .map(LocalDateTime::from)
+                .orElseGet(LocalDateTime::now));
+        String update = UPDATE_STATUS;
+        if (version != null) {
+            update += " AND version = :version";
+            parameters.put("version", version);
+        }
+        return ReturningUpdate.execute(entityManager, BetriebEntity.class, update, parameters).stream()
+                .findFirst()
+                .map(mapper::toDomain);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(BetriebStatus status, Consumer<Betrieb> consumer) {
+        try (Stream<BetriebEntity> entities = status == null
+                ? jpaRepository.streamAll()
+                : jpaRepository.streamByStatus(status)) {
+            entities.forEach(entity -> {
+                consumer.accept(mapper.toDomain(entity));
+                // Keep the persistence context from growing with every row read
+                entityManager.detach(entity);
+            });
+        }
+    }
+    
+    @Override
+    @Transactional
     public boolean deleteById(UUID id) {
-        if (!jpaRepository.existsById(id)) {
-            return false;
+        return jpaRepository.deleteByIdIn(List.of(id)) > 0;
+    }
+    
+    @Override
+    @Transactional
+    public int deleteAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return 0;
         }
-        jpaRepository.deleteById(id);
-        return true;
+        return jpaRepository.deleteByIdIn(ids);
     }
     
     @Override
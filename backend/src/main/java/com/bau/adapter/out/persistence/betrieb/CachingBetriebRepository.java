@@ -0,0 +1,243 @@
+package com.bau.adapter.out.persistence.betrieb;
+
+import com.bau.application.domain.VersionConflictException;
+import com.bau.application.domain.betrieb.Betrieb;
+import com.bau.application.domain.betrieb.BetriebStatus;
+import com.bau.application.port.out.BetriebRepository;
+import com.bau.shared.cache.CacheInvalidationChannel;
+import com.bau.shared.cache.ExpiringCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache in front of {@link BetriebRepositoryImpl} for lookups by ID and email.
+ * Batch lookups by ID only load the entries that are not cached.
+ * Entries are bounded in number and age; writes through this repository invalidate them.
+ * In near-cache mode, writes are also broadcast so other instances drop their copies;
+ * without it, changes made by another instance become visible once the entry expires.
+ * List and page queries are not cached.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "bau.cache.betrieb.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CachingBetriebRepository implements BetriebRepository {
+
+    static final String CACHE_NAME = "betrieb";
+
+    private final BetriebRepository delegate;
+    private final CacheInvalidationChannel invalidationChannel;
+    private final boolean nearCache;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ExpiringCache<UUID, Betrieb> byId;
+    private final ExpiringCache<String, UUID> idByEmail;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    @Autowired
+    public CachingBetriebRepository(
+            BetriebRepositoryImpl delegate,
+            CacheInvalidationChannel invalidationChannel,
+            MeterRegistry meterRegistry,
+            @Value("${bau.cache.betrieb.max-size:1000}") int maxSize,
+            @Value("${bau.cache.betrieb.ttl:10m}") Duration ttl,
+            @Value("${bau.cache.betrieb.near-cache:false}") boolean nearCache) {
+        this(delegate, invalidationChannel, meterRegistry, maxSize, ttl, nearCache, Clock.systemUTC());
+    }
+
+    CachingBetriebRepository(BetriebRepository delegate, CacheInvalidationChannel invalidationChannel,
+                             MeterRegistry meterRegistry, int maxSize, Duration ttl, boolean nearCache,
+                             Clock clock) {
+        this.delegate = delegate;
+        this.invalidationChannel = invalidationChannel;
+        this.nearCache = nearCache;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.byId = new ExpiringCache<>(maxSize, clock);
+        this.idByEmail = new ExpiringCache<>(maxSize, clock);
+        this.hits = getsCounter(meterRegistry, "hit");
+        this.misses = getsCounter(meterRegistry, "miss");
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        Gauge.builder("cache.size", byId, ExpiringCache::size)
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        if (nearCache) {
+            invalidationChannel.subscribe(CACHE_NAME, key -> invalidate(UUID.fromString(key)));
+        }
+    }
+
+    @Override
+    public Betrieb save(Betrieb betrieb) {
+        Betrieb saved;
+        try {
+            saved = delegate.save(betrieb);
+        } catch (VersionConflictException e) {
+            // The version may have come from a stale entry; the retry has to see the current row
+            invalidate(betrieb.getId());
+            throw e;
+        }
+        invalidateAfterCommit(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public Optional<Betrieb> findById(UUID id) {
+        Optional<Betrieb> cached = byId.get(id);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached.map(this::copy);
+        }
+        misses.increment();
+        return delegate.findById(id).map(this::store);
+    }
+
+    @Override
+    public Optional<Betrieb> findByEmail(String email) {
+        Optional<Betrieb> cached = idByEmail.get(email)
+                .flatMap(byId::get)
+                .filter(betrieb -> email.equals(betrieb.getEmail()));
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached.map(this::copy);
+        }
+        misses.increment();
+        return delegate.findByEmail(email).map(this::store);
+    }
+
+    @Override
+    public List<Betrieb> findAllById(Collection<UUID> ids) {
+        List<Betrieb> found = new ArrayList<>(ids.size());
+        Set<UUID> missing = new LinkedHashSet<>();
+        for (UUID id : ids) {
+            byId.get(id).ifPresentOrElse(betrieb -> found.add(copy(betrieb)), () -> missing.add(id));
+        }
+        hits.increment(ids.size() - missing.size());
+        misses.increment(missing.size());
+        if (!missing.isEmpty()) {
+            delegate.findAllById(missing).forEach(betrieb -> found.add(store(betrieb)));
+        }
+        return found;
+    }
+
+    @Override
+    public List<Betrieb> findByStatus(BetriebStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public BetriebPageResult findWithPagination(int page, int size, BetriebStatus status) {
+        return delegate.findWithPagination(page, size, status);
+    }
+
+    @Override
+    public Optional<Betrieb> updateStatus(UUID id, BetriebStatus status, Long version) {
+        Optional<Betrieb> updated = delegate.updateStatus(id, status, version);
+        invalidateAfterCommit(id);
+        return updated;
+    }
+
+    @Override
+    public void forEach(BetriebStatus status, Consumer<Betrieb> consumer) {
+        delegate.forEach(status, consumer);
+    }
+
+    @Override
+    public boolean deleteById(UUID id) {
+        boolean deleted = delegate.deleteById(id);
+        invalidateAfterCommit(id);
+        return deleted;
+    }
+
+    @Override
+    public int deleteAllById(Collection<UUID> ids) {
+        int deleted = delegate.deleteAllById(ids);
+        ids.forEach(this::invalidateAfterCommit);
+        return deleted;
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    /**
+     * Drops the entry now and again once the surrounding transaction commits, so a read that
+     * loaded the old row before the commit cannot leave it in the cache.
+     * Other instances are notified after the commit.
+     */
+    private void invalidateAfterCommit(UUID id) {
+        invalidate(id);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            broadcast(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(id);
+                broadcast(id);
+            }
+        });
+    }
+
+    private void broadcast(UUID id) {
+        if (nearCache) {
+            invalidationChannel.publish(CACHE_NAME, id.toString());
+        }
+    }
+
+    private void invalidate(UUID id) {
+        byId.invalidate(id);
+        invalidations.increment();
+        log.debug("Invalidated cached betrieb {}", id);
+    }
+
+    private Betrieb store(Betrieb betrieb) {
+        var expiresAt = clock.instant().plus(ttl);
+        byId.put(betrieb.getId(), copy(betrieb), expiresAt);
+        if (betrieb.getEmail() != null) {
+            idByEmail.put(betrieb.getEmail(), betrieb.getId(), expiresAt);
+        }
+        return betrieb;
+    }
+
+    private Betrieb copy(Betrieb betrieb) {
+        return betrieb.toBuilder().build();
+    }
+
+    private static Counter getsCounter(MeterRegistry registry, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .register(registry);
+    }
+}
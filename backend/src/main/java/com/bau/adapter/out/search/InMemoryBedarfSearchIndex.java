@@ -0,0 +1,259 @@
+package com.bau.adapter.out.search;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.betrieb.Betrieb;
+import com.bau.application.port.out.BedarfSearchIndex;
+import com.bau.application.port.out.BetriebRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index of active bedarfe for H2 and local development.
+ * Words of the address and the company name are folded (lower case, accents and umlauts
+ * removed, ß as ss) and mapped to the bedarfe containing them. A query word matches words it
+ * is a prefix of, or failing that, words within a small edit distance. Reads are lock-free and see
+ * one consistent snapshot; writes are serialized. A rebuild fills a new snapshot and swaps it in,
+ * replaying the writes made since {@link #beginRebuild()}. Renamed companies are picked up when
+ * their bedarfe are next saved.
+ * The index is loaded and periodically reloaded by {@link com.bau.application.usecase.BedarfIndexService};
+ * writes through other instances show up after the next reload.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bau.search", name = "provider", havingValue = "memory")
+@Slf4j
+public class InMemoryBedarfSearchIndex implements BedarfSearchIndex {
+    
+    private static final double EXACT_SCORE = 1.0;
+    private static final double PREFIX_SCORE = 0.8;
+    private static final double FUZZY_SCORE = 0.5;
+    
+    /**
+     * Query words shorter than this only match as prefix, since edits would match almost anything.
+     */
+    private static final int MIN_FUZZY_LENGTH = 4;
+    
+    /**
+     * An indexed bedarf with the words it is found by.
+     */
+    private record Entry(Bedarf bedarf, Set<String> words) {}
+    
+    /**
+     * Index content, replaced as a whole on rebuild.
+     */
+    private record Snapshot(Map<UUID, Entry> byId, ConcurrentNavigableMap<String, Set<UUID>> byWord) {
+        
+        Snapshot() {
+            this(new ConcurrentHashMap<>(), new ConcurrentSkipListMap<>());
+        }
+        
+        void put(Entry entry) {
+            UUID id = entry.bedarf().getId();
+            remove(id);
+            byId.put(id, entry);
+            for (String word : entry.words()) {
+                byWord.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+        
+        void remove(UUID id) {
+            Entry previous = byId.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String word : previous.words()) {
+                byWord.computeIfPresent(word, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+    
+    private final BetriebRepository betriebRepository;
+    private volatile Snapshot snapshot = new Snapshot();
+    
+    /**
+     * Writes made since {@link #beginRebuild()} by bedarf ID, null values for removals;
+     * null while no rebuild is running. Guarded by this.
+     */
+    private Map<UUID, Entry> pendingWrites;
+    
+    public InMemoryBedarfSearchIndex(BetriebRepository betriebRepository) {
+        this.betriebRepository = betriebRepository;
+    }
+    
+    @Override
+    public synchronized void beginRebuild() {
+        pendingWrites = new LinkedHashMap<>();
+    }
+    
+    @Override
+    public void rebuild(Collection<Bedarf> bedarfs) {
+        Map<UUID, String> names = betriebRepository.findAllById(bedarfs.stream()
+                        .map(Bedarf::getBetriebId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Betrieb::getId, Betrieb::getName, (first, second) -> first));
+        Snapshot rebuilt = new Snapshot();
+        bedarfs.forEach(bedarf -> rebuilt.put(entry(bedarf, names.get(bedarf.getBetriebId()))));
+        synchronized (this) {
+            if (pendingWrites != null) {
+                pendingWrites.forEach((id, entry) -> apply(rebuilt, id, entry));
+                pendingWrites = null;
+            }
+            snapshot = rebuilt;
+        }
+        log.debug("Search index rebuilt with {} active bedarfs", rebuilt.byId().size());
+    }
+    
+    @Override
+    public List<Bedarf> search(String query, int limit) {
+        Snapshot current = snapshot;
+        Map<UUID, Double> scores = null;
+        for (String word : words(query)) {
+            Map<UUID, Double> matches = match(current, word);
+            if (scores == null) {
+                scores = matches;
+            } else {
+                scores.keySet().retainAll(matches.keySet());
+                scores.replaceAll((id, score) -> score + matches.get(id));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        if (scores == null) {
+            return List.of();
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(entry -> current.byId().get(entry.getKey()))
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .map(entry -> entry.bedarf().toBuilder().build())
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void upsert(Bedarf bedarf) {
+        if (bedarf.getId() == null) {
+            return;
+        }
+        String betriebName = bedarf.getStatus() == BedarfStatus.AKTIV && bedarf.getBetriebId() != null
+                ? betriebRepository.findById(bedarf.getBetriebId()).map(Betrieb::getName).orElse(null)
+                : null;
+        Entry entry = bedarf.getStatus() == BedarfStatus.AKTIV ? entry(bedarf, betriebName) : null;
+        synchronized (this) {
+            if (pendingWrites != null) {
+                pendingWrites.put(bedarf.getId(), entry);
+            }
+            apply(snapshot, bedarf.getId(), entry);
+        }
+    }
+    
+    @Override
+    public synchronized void remove(UUID id) {
+        if (pendingWrites != null) {
+            pendingWrites.put(id, null);
+        }
+        snapshot.remove(id);
+    }
+    
+    private static Entry entry(Bedarf bedarf, String betriebName) {
+        Set<String> words = new LinkedHashSet<>(words(bedarf.getAdresse()));
+        words.addAll(words(betriebName));
+        return new Entry(bedarf.toBuilder().build(), words);
+    }
+    
+    private static void apply(Snapshot target, UUID id, Entry entry) {
+        if (entry == null) {
+            target.remove(id);
+        } else {
+            target.put(entry);
+        }
+    }
+    
+    /**
+     * Finds the bedarfe containing a word the query word matches, with the best score per bedarf.
+     */
+    private static Map<UUID, Double> match(Snapshot snapshot, String queryWord) {
+        Map<UUID, Double> matches = new HashMap<>();
+        for (Map.Entry<String, Set<UUID>> entry : snapshot.byWord().subMap(queryWord, queryWord + Character.MAX_VALUE).entrySet()) {
+            double score = entry.getKey().equals(queryWord) ? EXACT_SCORE : PREFIX_SCORE;
+            entry.getValue().forEach(id -> matches.merge(id, score, Math::max));
+        }
+        if (matches.isEmpty() && queryWord.length() >= MIN_FUZZY_LENGTH) {
+            int maxDistance = queryWord.length() >= 8 ? 2 : 1;
+            for (Map.Entry<String, Set<UUID>> entry : snapshot.byWord().entrySet()) {
+                if (withinDistance(queryWord, entry.getKey(), maxDistance)) {
+                    entry.getValue().forEach(id -> matches.put(id, FUZZY_SCORE));
+                }
+            }
+        }
+        return matches;
+    }
+    
+    /**
+     * Checks whether the Levenshtein distance of two words is at most the given bound.
+     */
+    static boolean withinDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return false;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxDistance;
+    }
+    
+    /**
+     * Splits text into folded words.
+     */
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text.toLowerCase(Locale.ROOT).replace("ß", "ss"), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        return Arrays.stream(folded.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
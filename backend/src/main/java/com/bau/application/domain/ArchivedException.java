@@ -0,0 +1,19 @@
+package com.bau.application.domain;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a change targets an object that has been moved to the archive.
+ * Archived objects can still be read but no longer be changed or deleted.
+ */
+public class ArchivedException extends RuntimeException {
+    
+    /**
+     * Creates the exception for the given object.
+     * @param type the kind of object, as shown to the client
+     * @param id the object ID
+     */
+    public ArchivedException(String type, UUID id) {
+        super(type + " " + id + " is archived and can no longer be changed");
+    }
+}
@@ -0,0 +1,19 @@
+package com.bau.application.domain;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a change is based on a version of an object that has since been modified.
+ * The client has to read the current version and decide again.
+ */
+public class VersionConflictException extends RuntimeException {
+    
+    /**
+     * Creates the exception for the given object.
+     * @param type the kind of object, as shown to the client
+     * @param id the object ID
+     */
+    public VersionConflictException(String type, UUID id) {
+        super(type + " " + id + " has been modified concurrently");
+    }
+}
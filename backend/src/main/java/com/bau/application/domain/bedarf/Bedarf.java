@@ -1,9 +1,12 @@
 package com.bau.application.domain.bedarf;
 
+import com.bau.application.domain.geo.GeoPoint;
 import lombok.*;
 import lombok.experimental.Accessors;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -24,9 +27,13 @@ public class Bedarf {
     private LocalDate datumVon;
     private LocalDate datumBis;
     private String adresse;
+    private Double latitude;
+    private Double longitude;
     private Boolean mitWerkzeug;
     private Boolean mitFahrzeug;
     private BedarfStatus status;
+    private LocalDateTime updatedAt;
+    private Long version;
     
     /**
      * Sets the ID if not already set.
@@ -56,6 +63,17 @@ public class Bedarf {
         return datumVon != null && datumBis != null && datumBis.isAfter(datumVon);
     }
     
+    /**
+     * Checks if this bedarf shares at least one day with the given window (bounds inclusive).
+     * @param von start of the window
+     * @param bis end of the window
+     * @return true if the periods overlap
+     */
+    public boolean overlaps(LocalDate von, LocalDate bis) {
+        return datumVon != null && datumBis != null
+                && !datumVon.isAfter(bis) && !datumBis.isBefore(von);
+    }
+    
     /**
      * Checks if tools are required for this bedarf.
      * @return true if tools are required
@@ -88,4 +106,15 @@ public class Bedarf {
     public boolean hasWorkersSpecified() {
         return getTotalWorkers() > 0;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Gets the geocoded location of the work address.
+     * @return the location if the address has been geocoded
+     */
+    public Optional<GeoPoint> getLocation() {
+        if (latitude == null || longitude == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new GeoPoint(latitude, longitude));
+    }
+}
@@ -0,0 +1,22 @@
+package com.bau.application.domain.bedarf;
+
+/**
+ * Outcome of one item of a bulk operation on bedarfe.
+ * @param index position of the item in the request
+ * @param bedarf the saved bedarf, null if the item was rejected
+ * @param error why the item was rejected, null on success
+ */
+public record BedarfBulkItemResult(int index, Bedarf bedarf, String error) {
+
+    public static BedarfBulkItemResult success(int index, Bedarf bedarf) {
+        return new BedarfBulkItemResult(index, bedarf, null);
+    }
+
+    public static BedarfBulkItemResult failure(int index, String error) {
+        return new BedarfBulkItemResult(index, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bau.application.domain.bedarf;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Criteria for listing bedarfs. Every criterion is optional, a null value does not filter.
+ * @param status only bedarfs with this status
+ * @param betriebId only bedarfs of this betrieb
+ * @param datumVon start of the date window
+ * @param datumBis end of the date window
+ * @param dateRangeMatch how the date window is matched, containment if not given
+ * @param minHolzbauAnzahl only bedarfs asking for at least this many Holzbau workers
+ * @param minZimmermannAnzahl only bedarfs asking for at least this many Zimmermann workers
+ * @param mitWerkzeug only bedarfs with or without tools
+ * @param mitFahrzeug only bedarfs with or without a vehicle
+ */
+@Builder(toBuilder = true)
+public record BedarfFilter(BedarfStatus status,
+                           UUID betriebId,
+                           LocalDate datumVon,
+                           LocalDate datumBis,
+                           DateRangeMatch dateRangeMatch,
+                           Integer minHolzbauAnzahl,
+                           Integer minZimmermannAnzahl,
+                           Boolean mitWerkzeug,
+                           Boolean mitFahrzeug) {
+
+    public BedarfFilter {
+        if (dateRangeMatch == null) {
+            dateRangeMatch = DateRangeMatch.CONTAINED;
+        }
+    }
+
+    /**
+     * Filter that matches all bedarfs.
+     * @return the empty filter
+     */
+    public static BedarfFilter none() {
+        return BedarfFilter.builder().build();
+    }
+
+    /**
+     * Filter on status and a contained date window, the criteria of the original list query.
+     * @param status filter by status
+     * @param datumVon filter by start date
+     * @param datumBis filter by end date
+     * @return the filter
+     */
+    public static BedarfFilter of(BedarfStatus status, LocalDate datumVon, LocalDate datumBis) {
+        return BedarfFilter.builder()
+                .status(status)
+                .datumVon(datumVon)
+                .datumBis(datumBis)
+                .build();
+    }
+}
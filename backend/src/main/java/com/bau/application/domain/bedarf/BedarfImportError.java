@@ -0,0 +1,9 @@
+package com.bau.application.domain.bedarf;
+
+/**
+ * A row of a bedarf import that was rejected.
+ * @param rowNumber position of the row in the file, starting at 1 for the first data row
+ * @param message why the row was rejected
+ */
+public record BedarfImportError(long rowNumber, String message) {
+}
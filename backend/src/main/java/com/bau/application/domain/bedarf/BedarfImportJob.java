@@ -0,0 +1,73 @@
+package com.bau.application.domain.bedarf;
+
+import lombok.*;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Domain object tracking the progress of a bedarf import.
+ * Only the first rejected rows are kept; the counters cover all of them.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(chain = true, fluent = false)
+public class BedarfImportJob {
+    
+    private UUID id;
+    private UUID betriebId;
+    private BedarfImportStatus status;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private String failureReason;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    @Builder.Default
+    private List<BedarfImportError> errors = new ArrayList<>();
+    
+    /**
+     * Creates a running job for the given betrieb.
+     * @param betriebId the betrieb the imported bedarfs belong to
+     * @return the new job
+     */
+    public static BedarfImportJob start(UUID betriebId) {
+        return BedarfImportJob.builder()
+                .id(UUID.randomUUID())
+                .betriebId(betriebId)
+                .status(BedarfImportStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build();
+    }
+    
+    /**
+     * Marks the job as finished successfully. Rejected rows do not fail the job.
+     */
+    public void complete() {
+        status = BedarfImportStatus.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Marks the job as aborted.
+     * @param reason why the job could not continue
+     */
+    public void fail(String reason) {
+        status = BedarfImportStatus.FAILED;
+        failureReason = reason;
+        finishedAt = LocalDateTime.now();
+    }
+    
+    /**
+     * Checks whether the job has stopped.
+     * @return true if completed or failed
+     */
+    public boolean isFinished() {
+        return status != BedarfImportStatus.RUNNING;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bau.application.domain.bedarf;
+
+/**
+ * One parsed row of a bedarf import.
+ * @param rowNumber line of the file on which the row starts, the header being line 1
+ * @param bedarf the parsed bedarf, null if the row could not be parsed
+ * @param error why the row could not be parsed, null if it was parsed
+ */
+public record BedarfImportRow(long rowNumber, Bedarf bedarf, String error) {
+
+    public static BedarfImportRow parsed(long rowNumber, Bedarf bedarf) {
+        return new BedarfImportRow(rowNumber, bedarf, null);
+    }
+
+    public static BedarfImportRow invalid(long rowNumber, String error) {
+        return new BedarfImportRow(rowNumber, null, error);
+    }
+}
@@ -0,0 +1,10 @@
+package com.bau.application.domain.bedarf;
+
+/**
+ * Status of a bedarf import job.
+ */
+public enum BedarfImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
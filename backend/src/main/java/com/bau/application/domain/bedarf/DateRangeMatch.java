@@ -0,0 +1,15 @@
+package com.bau.application.domain.bedarf;
+
+/**
+ * How a date filter window is matched against the period of a bedarf.
+ */
+public enum DateRangeMatch {
+    /**
+     * The bedarf period lies completely within the filter window.
+     */
+    CONTAINED,
+    /**
+     * The bedarf period shares at least one day with the filter window.
+     */
+    OVERLAPPING
+}
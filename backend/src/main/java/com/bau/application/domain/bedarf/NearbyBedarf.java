@@ -0,0 +1,7 @@
+package com.bau.application.domain.bedarf;
+
+/**
+ * A bedarf found by a proximity search together with its distance to the search center.
+ */
+public record NearbyBedarf(Bedarf bedarf, double distanceKm) {
+}
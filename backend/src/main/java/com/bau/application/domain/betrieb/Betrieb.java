@@ -1,8 +1,11 @@
 package com.bau.application.domain.betrieb;
 
+import com.bau.application.domain.geo.GeoPoint;
 import lombok.*;
 import lombok.experimental.Accessors;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -19,9 +22,13 @@ public class Betrieb {
     private UUID id;
     private String name;
     private String adresse;
+    private Double latitude;
+    private Double longitude;
     private String email;
     private String telefon;
     private BetriebStatus status;
+    private LocalDateTime updatedAt;
+    private Long version;
     
     /**
      * Sets the ID if not already set.
@@ -32,4 +39,15 @@ public class Betrieb {
             this.id = id;
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Gets the geocoded location of the company address.
+     * @return the location if the address has been geocoded
+     */
+    public Optional<GeoPoint> getLocation() {
+        if (latitude == null || longitude == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new GeoPoint(latitude, longitude));
+    }
+}
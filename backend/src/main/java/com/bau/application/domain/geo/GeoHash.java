@@ -0,0 +1,116 @@
+package com.bau.application.domain.geo;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash encoding used to answer radius queries with a prefix lookup on an ordinary index.
+ * Points that are close to each other share a common geohash prefix.
+ */
+public final class GeoHash {
+
+    /**
+     * Precision stored per row, roughly 5 m x 5 m.
+     */
+    public static final int STORED_PRECISION = 9;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private GeoHash() {
+    }
+
+    /**
+     * Encodes a point as geohash.
+     * @param point the point to encode
+     * @param precision number of characters
+     * @return the geohash
+     */
+    public static String encode(GeoPoint point, int precision) {
+        double[] latRange = {-90, 90};
+        double[] lonRange = {-180, 180};
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        
+        while (hash.length() < precision) {
+            double[] range = evenBit ? lonRange : latRange;
+            double value = evenBit ? point.longitude() : point.latitude();
+            double mid = (range[0] + range[1]) / 2;
+            if (value >= mid) {
+                ch = (ch << 1) | 1;
+                range[0] = mid;
+            } else {
+                ch = ch << 1;
+                range[1] = mid;
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Returns the geohash prefixes whose cells together cover the circle around a point.
+     * The precision is chosen so that each cell is at least as large as the radius,
+     * which keeps the result at no more than nine prefixes.
+     * @param center the circle center
+     * @param radiusKm the circle radius in kilometres
+     * @return the covering prefixes
+     */
+    public static Set<String> coveringCells(GeoPoint center, double radiusKm) {
+        int precision = precisionFor(center, radiusKm);
+        if (precision == 0) {
+            return Set.of("");
+        }
+        
+        double dLat = Math.min(radiusKm / KM_PER_DEGREE_LAT, 90);
+        double dLon = Math.min(radiusKm / (KM_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(center.latitude())), 0.01)), 180);
+        double[] lats = {clamp(center.latitude() - dLat, 90), center.latitude(), clamp(center.latitude() + dLat, 90)};
+        double[] lons = {wrap(center.longitude() - dLon), center.longitude(), wrap(center.longitude() + dLon)};
+        
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat : lats) {
+            for (double lon : lons) {
+                cells.add(encode(new GeoPoint(lat, lon), precision));
+            }
+        }
+        return cells;
+    }
+
+    private static int precisionFor(GeoPoint center, double radiusKm) {
+        double cosLat = Math.cos(Math.toRadians(center.latitude()));
+        int precision = 0;
+        for (int candidate = 1; candidate <= STORED_PRECISION; candidate++) {
+            int totalBits = candidate * 5;
+            int lonBits = (totalBits + 1) / 2;
+            int latBits = totalBits / 2;
+            double cellHeightKm = 180.0 / (1L << latBits) * KM_PER_DEGREE_LAT;
+            double cellWidthKm = 360.0 / (1L << lonBits) * KM_PER_DEGREE_LAT * cosLat;
+            if (cellHeightKm < radiusKm || cellWidthKm < radiusKm) {
+                break;
+            }
+            precision = candidate;
+        }
+        return precision;
+    }
+
+    private static double clamp(double value, double limit) {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+
+    private static double wrap(double longitude) {
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude;
+    }
+}
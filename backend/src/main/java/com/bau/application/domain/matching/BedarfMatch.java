@@ -0,0 +1,12 @@
+package com.bau.application.domain.matching;
+
+import com.bau.application.domain.bedarf.Bedarf;
+
+/**
+ * A bedarf ranked against a crew offer.
+ * @param bedarf the matching bedarf
+ * @param score relevance between 0 (poor) and 1 (perfect fit)
+ * @param distanceKm distance between offer and bedarf, null if either is not geocoded
+ */
+public record BedarfMatch(Bedarf bedarf, double score, Double distanceKm) {
+}
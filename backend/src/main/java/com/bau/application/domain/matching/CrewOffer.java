@@ -0,0 +1,42 @@
+package com.bau.application.domain.matching;
+
+import com.bau.application.domain.geo.GeoPoint;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Workers a betrieb can lend out over a period, used to search for matching bedarfe.
+ */
+@Value
+@Builder(toBuilder = true)
+public class CrewOffer {
+    
+    int holzbauAnzahl;
+    int zimmermannAnzahl;
+    LocalDate datumVon;
+    LocalDate datumBis;
+    String adresse;
+    GeoPoint location;
+    double maxDistanceKm;
+    boolean mitWerkzeug;
+    boolean mitFahrzeug;
+    
+    /**
+     * Gets the total number of workers offered.
+     * @return total number of workers
+     */
+    public int getTotalWorkers() {
+        return holzbauAnzahl + zimmermannAnzahl;
+    }
+    
+    /**
+     * Gets the location the crew starts from.
+     * @return the location if known
+     */
+    public Optional<GeoPoint> getLocation() {
+        return Optional.ofNullable(location);
+    }
+}
@@ -0,0 +1,18 @@
+package com.bau.application.port.in;
+
+import java.time.LocalDate;
+
+/**
+ * Inbound port for archiving closed bedarfs.
+ */
+public interface BedarfArchiveUseCase {
+
+    /**
+     * Moves all completed and cancelled bedarfs whose period ended more than the retention before
+     * the given day to the archive. Bedarfs are moved in batches, each in its own transaction, and
+     * the run is skipped while another instance is archiving.
+     * @param today the current day
+     * @return the number of archived bedarfs, 0 if another instance is running
+     */
+    int archiveBedarfs(LocalDate today);
+}
@@ -0,0 +1,18 @@
+package com.bau.application.port.in;
+
+import java.time.LocalDate;
+
+/**
+ * Inbound port for closing bedarfs whose period has passed.
+ */
+public interface BedarfExpiryUseCase {
+
+    /**
+     * Sets all active bedarfs that ended before the given day to ABGESCHLOSSEN.
+     * Bedarfs are closed in batches, each in its own transaction, and the run is skipped while
+     * another instance is expiring.
+     * @param today the current day; bedarfs whose datumBis is before it are expired
+     * @return the number of expired bedarfs, 0 if another instance is running
+     */
+    int expireBedarfs(LocalDate today);
+}
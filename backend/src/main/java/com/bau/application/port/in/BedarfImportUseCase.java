@@ -0,0 +1,32 @@
+package com.bau.application.port.in;
+
+import com.bau.application.domain.bedarf.BedarfImportJob;
+import com.bau.application.domain.bedarf.BedarfImportRow;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Inbound port for importing bedarfs in bulk.
+ * Imports run in the background and are tracked as jobs.
+ */
+public interface BedarfImportUseCase {
+    
+    /**
+     * Starts importing the given rows for a betrieb.
+     * The rows are read lazily on a background thread and the stream is closed when the import ends.
+     * Invalid rows are recorded on the job and skipped.
+     * @param betriebId the betrieb the imported bedarfs belong to
+     * @param rows the parsed rows, in file order
+     * @return the started job
+     */
+    BedarfImportJob startImport(UUID betriebId, Stream<BedarfImportRow> rows);
+    
+    /**
+     * Retrieves an import job with its progress and first rejected rows.
+     * @param id the job ID
+     * @return the job if found
+     */
+    Optional<BedarfImportJob> getImportJob(UUID id);
+}
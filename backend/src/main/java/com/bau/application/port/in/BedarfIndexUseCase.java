@@ -0,0 +1,14 @@
+package com.bau.application.port.in;
+
+/**
+ * Inbound port for reloading the in-memory bedarf indexes of this instance from the database.
+ */
+public interface BedarfIndexUseCase {
+
+    /**
+     * Replaces the content of the match index and of the search index with the active bedarfs
+     * currently stored, so writes made through other instances become visible here.
+     * @return the number of active bedarfs indexed
+     */
+    int rebuildIndexes();
+}
@@ -1,12 +1,20 @@
 package com.bau.application.port.in;
 
 import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfBulkItemResult;
+import com.bau.application.domain.bedarf.BedarfCursor;
+import com.bau.application.domain.bedarf.BedarfFilter;
 import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.bedarf.NearbyBedarf;
+import com.bau.application.domain.geo.GeoPoint;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Inbound port for Bedarf use cases.
@@ -23,22 +31,54 @@ public interface BedarfUseCase {
     
     /**
      * Updates an existing bedarf.
+     * If the data carries a version, the update only applies to that version.
      * @param id the bedarf ID
      * @param bedarf the updated bedarf data
      * @return the updated bedarf
+     * @throws com.bau.application.domain.VersionConflictException if the bedarf was modified in the meantime
+     * @throws com.bau.application.domain.ArchivedException if the bedarf has been archived
      */
     Optional<Bedarf> updateBedarf(UUID id, Bedarf bedarf);
     
     /**
-     * Updates the status of a bedarf.
+     * Updates the status of a bedarf in a single statement that also returns the updated bedarf.
      * @param id the bedarf ID
      * @param status the new status
+     * @param version the version the change is based on, or null to change the current version
      * @return the updated bedarf
+     * @throws com.bau.application.domain.VersionConflictException if the bedarf has another version
+     * @throws com.bau.application.domain.ArchivedException if the bedarf has been archived
      */
-    Optional<Bedarf> updateBedarfStatus(UUID id, BedarfStatus status);
+    Optional<Bedarf> updateBedarfStatus(UUID id, BedarfStatus status, Long version);
     
     /**
-     * Retrieves a bedarf by ID.
+     * Creates several bedarfs, validating each one on its own.
+     * Valid bedarfs are stored in batched inserts; invalid ones are reported and skipped.
+     * @param bedarfs the bedarfs to create
+     * @return one result per bedarf, in request order
+     */
+    List<BedarfBulkItemResult> createBedarfs(List<Bedarf> bedarfs);
+    
+    /**
+     * Updates several existing bedarfs, validating each one on its own.
+     * Unknown IDs, invalid bedarfs and bedarfs whose version differs from the given one are
+     * reported and skipped.
+     * @param bedarfs the updated bedarf data keyed by bedarf ID, iterated in request order
+     * @return one result per bedarf, in request order
+     */
+    List<BedarfBulkItemResult> updateBedarfs(Map<UUID, Bedarf> bedarfs);
+    
+    /**
+     * Sets the status of several bedarfs in one statement.
+     * Unknown IDs are ignored.
+     * @param ids the bedarf IDs
+     * @param status the new status
+     * @return the number of updated bedarfs
+     */
+    int updateBedarfStatuses(Collection<UUID> ids, BedarfStatus status);
+    
+    /**
+     * Retrieves a bedarf by ID, also if it has been archived.
      * @param id the bedarf ID
      * @return the bedarf if found
      */
@@ -47,9 +87,10 @@ public interface BedarfUseCase {
     /**
      * Retrieves all bedarfs for a specific betrieb.
      * @param betriebId the betrieb ID
-     * @return list of bedarfs
+     * @param includeArchived whether to append the betrieb's archived bedarfs
+     * @return list of bedarfs, archived ones last
      */
-    List<Bedarf> getBedarfsByBetriebId(UUID betriebId);
+    List<Bedarf> getBedarfsByBetriebId(UUID betriebId, boolean includeArchived);
     
     /**
      * Retrieves all active bedarfs.
@@ -59,23 +100,67 @@ public interface BedarfUseCase {
     
     /**
      * Retrieves bedarfs with pagination and filtering.
+     * Overlap matching of the date window requires both window bounds.
      * @param page page number (0-based)
      * @param size page size
+     * @param filter the filter criteria
+     * @return paginated list of bedarfs
+     */
+    BedarfPageResult getBedarfs(int page, int size, BedarfFilter filter);
+    
+    /**
+     * Retrieves bedarfs with keyset pagination and filtering.
+     * @param cursor position to continue after, or null for the first slice
+     * @param size slice size
+     * @param filter the filter criteria, overlap matching is not supported
+     * @param includeTotal whether the total number of matches should be counted
+     * @return slice of bedarfs with the cursor for the next slice
+     */
+    BedarfSliceResult getBedarfsByCursor(BedarfCursor cursor, int size, BedarfFilter filter, boolean includeTotal);
+    
+    /**
+     * Retrieves geocoded bedarfs within a radius around a point.
+     * @param center the search center
+     * @param radiusKm the search radius in kilometres
      * @param status filter by status
      * @param datumVon filter by start date
      * @param datumBis filter by end date
-     * @return paginated list of bedarfs
+     * @return bedarfs with their distance, nearest first
      */
-    BedarfPageResult getBedarfs(int page, int size, BedarfStatus status, 
-                               LocalDate datumVon, LocalDate datumBis);
+    List<NearbyBedarf> findNearbyBedarfs(GeoPoint center, double radiusKm, BedarfStatus status,
+                                         LocalDate datumVon, LocalDate datumBis);
+    
+    /**
+     * Searches active bedarfs by address and company name.
+     * @param query the search text, at least two characters
+     * @param limit maximum number of results
+     * @return matching bedarfs, best match first
+     */
+    List<Bedarf> searchBedarfs(String query, int limit);
+    
+    /**
+     * Passes all bedarfs matching the filter to the consumer without loading them all at once.
+     * @param status filter by status
+     * @param consumer receives each bedarf, oldest first
+     */
+    void exportBedarfs(BedarfStatus status, Consumer<Bedarf> consumer);
     
     /**
      * Deletes a bedarf.
      * @param id the bedarf ID
      * @return true if deleted successfully
+     * @throws com.bau.application.domain.ArchivedException if the bedarf has been archived
      */
     boolean deleteBedarf(UUID id);
     
+    /**
+     * Deletes several bedarfs in one statement.
+     * Unknown IDs are ignored.
+     * @param ids the bedarf IDs
+     * @return the number of deleted bedarfs
+     */
+    int deleteBedarfs(Collection<UUID> ids);
+    
     /**
      * Result class for paginated bedarf queries.
      */
@@ -108,4 +193,29 @@ public interface BedarfUseCase {
         public boolean isHasNext() { return hasNext; }
         public boolean isHasPrevious() { return hasPrevious; }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Result class for keyset-paginated bedarf queries.
+     */
+    class BedarfSliceResult {
+        private final List<Bedarf> content;
+        private final BedarfCursor nextCursor;
+        private final Integer totalElements;
+        private final int pageSize;
+        
+        public BedarfSliceResult(List<Bedarf> content, BedarfCursor nextCursor, 
+                               Integer totalElements, int pageSize) {
+            this.content = content;
+            this.nextCursor = nextCursor;
+            this.totalElements = totalElements;
+            this.pageSize = pageSize;
+        }
+        
+        // Getters
+        public List<Bedarf> getContent() { return content; }
+        public Optional<BedarfCursor> getNextCursor() { return Optional.ofNullable(nextCursor); }
+        public Optional<Integer> getTotalElements() { return Optional.ofNullable(totalElements); }
+        public int getPageSize() { return pageSize; }
+        public boolean isHasNext() { return nextCursor != null; }
+    }
+}
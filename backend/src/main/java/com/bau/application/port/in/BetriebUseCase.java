@@ -3,9 +3,12 @@ package com.bau.application.port.in;
 import com.bau.application.domain.betrieb.Betrieb;
 import com.bau.application.domain.betrieb.BetriebStatus;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Inbound port for Betrieb use cases.
@@ -22,19 +25,23 @@ public interface BetriebUseCase {
     
     /**
      * Updates an existing betrieb.
+     * If the data carries a version, the update only applies to that version.
      * @param id the betrieb ID
      * @param betrieb the updated betrieb data
      * @return the updated betrieb
+     * @throws com.bau.application.domain.VersionConflictException if the betrieb was modified in the meantime
      */
     Optional<Betrieb> updateBetrieb(UUID id, Betrieb betrieb);
     
     /**
-     * Updates the status of a betrieb.
+     * Updates the status of a betrieb in a single statement that also returns the updated betrieb.
      * @param id the betrieb ID
      * @param status the new status
+     * @param version the version the change is based on, or null to change the current version
      * @return the updated betrieb
+     * @throws com.bau.application.domain.VersionConflictException if the betrieb has another version
      */
-    Optional<Betrieb> updateBetriebStatus(UUID id, BetriebStatus status);
+    Optional<Betrieb> updateBetriebStatus(UUID id, BetriebStatus status, Long version);
     
     /**
      * Retrieves a betrieb by ID.
@@ -50,6 +57,14 @@ public interface BetriebUseCase {
      */
     Optional<Betrieb> getBetriebByEmail(String email);
     
+    /**
+     * Retrieves the betriebs with the given IDs in one lookup.
+     * Duplicate IDs are resolved once, unknown IDs are missing from the result.
+     * @param ids the betrieb IDs
+     * @return the betriebs found, keyed by ID
+     */
+    Map<UUID, Betrieb> getBetriebeByIds(Collection<UUID> ids);
+    
     /**
      * Retrieves all active betriebs.
      * @return list of active betriebs
@@ -66,12 +81,27 @@ public interface BetriebUseCase {
     BetriebPageResult getBetriebs(int page, int size, BetriebStatus status);
     
     /**
-     * Deletes a betrieb.
+     * Passes all betriebs matching the filter to the consumer without loading them all at once.
+     * @param status filter by status
+     * @param consumer receives each betrieb, ordered by name
+     */
+    void exportBetriebs(BetriebStatus status, Consumer<Betrieb> consumer);
+    
+    /**
+     * Deletes a betrieb together with its archived bedarfs.
      * @param id the betrieb ID
      * @return true if deleted successfully
      */
     boolean deleteBetrieb(UUID id);
     
+    /**
+     * Deletes several betriebs in one statement, together with their archived bedarfs.
+     * Unknown IDs are ignored.
+     * @param ids the betrieb IDs
+     * @return the number of deleted betriebs
+     */
+    int deleteBetriebs(Collection<UUID> ids);
+    
     /**
      * Result class for paginated betrieb queries.
      */
@@ -0,0 +1,20 @@
+package com.bau.application.port.in;
+
+import com.bau.application.domain.matching.BedarfMatch;
+import com.bau.application.domain.matching.CrewOffer;
+
+import java.util.List;
+
+/**
+ * Inbound port for pairing offered crews with open bedarfe.
+ */
+public interface MatchingUseCase {
+    
+    /**
+     * Finds the active bedarfe that best fit a crew offer.
+     * @param offer the offered crew
+     * @param limit maximum number of matches to return
+     * @return matches ordered by descending score
+     */
+    List<BedarfMatch> findMatches(CrewOffer offer, int limit);
+}
@@ -0,0 +1,41 @@
+package com.bau.application.port.out;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbound port for moving closed bedarfs out of the active bedarf storage.
+ * Archived bedarfs are no longer listed, matched or searched, and can no longer be changed;
+ * {@link BedarfRepository#findByIdIncludingArchive} and
+ * {@link BedarfRepository#findByBetriebIdIncludingArchive} still find them. They are deleted
+ * together with their betrieb.
+ */
+public interface BedarfArchive {
+
+    /**
+     * Moves a batch of completed and cancelled bedarfs that ended before the given day to the
+     * archive, in its own transaction. Rows locked by another transaction are skipped.
+     * @param endedBefore the day before which bedarfs must have ended
+     * @param limit the maximum number of bedarfs to move
+     * @return the IDs of the archived bedarfs; fewer than the limit once no such bedarf is left
+     */
+    List<UUID> archiveClosed(LocalDate endedBefore, int limit);
+    
+    /**
+     * Makes sure the archive has a partition of its own for bedarfs ending in the given year.
+     * Bedarfs of that year already archived into the default partition are moved to the new one.
+     * @param year the year
+     * @return true if the partition was created, false if it already existed or the storage is not partitioned
+     */
+    boolean ensurePartition(Year year);
+    
+    /**
+     * Deletes the archived bedarfs of the given betriebs.
+     * @param betriebIds the betrieb IDs
+     * @return the number of deleted bedarfs
+     */
+    int deleteByBetriebIds(Collection<UUID> betriebIds);
+}
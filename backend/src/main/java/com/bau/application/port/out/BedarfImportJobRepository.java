@@ -0,0 +1,55 @@
+package com.bau.application.port.out;
+
+import com.bau.application.domain.bedarf.BedarfImportError;
+import com.bau.application.domain.bedarf.BedarfImportJob;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Outbound port for persisting bedarf import jobs.
+ * Jobs are stored so that any application instance can report their progress.
+ */
+public interface BedarfImportJobRepository {
+    
+    /**
+     * Saves the job's status and counters and records the time as its last progress.
+     * Rejected rows are stored separately.
+     * @param job the job to save
+     * @return the saved job
+     */
+    BedarfImportJob save(BedarfImportJob job);
+    
+    /**
+     * Appends rejected rows to a job.
+     * @param jobId the job ID
+     * @param errors the rejected rows
+     */
+    void addErrors(UUID jobId, List<BedarfImportError> errors);
+    
+    /**
+     * Fails those of the given jobs that are still running.
+     * @param ids the job IDs
+     * @param reason the failure reason to record
+     * @return the number of failed jobs
+     */
+    int failRunningJobs(Collection<UUID> ids, String reason);
+    
+    /**
+     * Fails all running jobs, of any instance, without progress since the given time.
+     * @param updatedBefore jobs last saved before this time are failed
+     * @param reason the failure reason to record
+     * @return the number of failed jobs
+     */
+    int failRunningJobsUpdatedBefore(LocalDateTime updatedBefore, String reason);
+    
+    /**
+     * Finds a job by ID, including its rejected rows in row order.
+     * @param id the job ID
+     * @return the job if found
+     */
+    Optional<BedarfImportJob> findById(UUID id);
+}
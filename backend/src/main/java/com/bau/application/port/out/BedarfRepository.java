@@ -1,12 +1,18 @@
 package com.bau.application.port.out;
 
 import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfCursor;
+import com.bau.application.domain.bedarf.BedarfFilter;
 import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.bedarf.NearbyBedarf;
+import com.bau.application.domain.geo.GeoPoint;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Outbound port for Bedarf persistence operations.
@@ -22,19 +28,83 @@ public interface BedarfRepository {
     Bedarf save(Bedarf bedarf);
     
     /**
-     * Finds a bedarf by ID.
+     * Saves several bedarfs in batched statements within one transaction.
+     * @param bedarfs the bedarfs to save
+     * @return the saved bedarfs with IDs, in the given order
+     */
+    List<Bedarf> saveAll(List<Bedarf> bedarfs);
+    
+    /**
+     * Sets the status of all given bedarfs in one statement.
+     * @param ids the bedarf IDs
+     * @param status the new status
+     * @return the number of updated bedarfs
+     */
+    int updateStatus(Collection<UUID> ids, BedarfStatus status);
+    
+    /**
+     * Sets the status of a bedarf in one statement that also returns the changed row, without
+     * loading it first.
+     * @param id the bedarf ID
+     * @param status the new status
+     * @param version the version the change is based on, or null to change the current version
+     * @return the updated bedarf, empty if it does not exist or has another version
+     */
+    Optional<Bedarf> updateStatus(UUID id, BedarfStatus status, Long version);
+    
+    /**
+     * Sets a batch of active bedarfs that ended before the given day to ABGESCHLOSSEN, in one
+     * statement and its own transaction. Rows locked by another transaction are skipped rather
+     * than waited for, so concurrent runs close disjoint batches.
+     * @param today the current day
+     * @param limit the maximum number of bedarfs to close
+     * @return the IDs of the closed bedarfs; fewer than the limit once no expired bedarf is left
+     */
+    List<UUID> closeExpired(LocalDate today, int limit);
+    
+    /**
+     * Finds a bedarf by ID. Archived bedarfs are not found.
      * @param id the bedarf ID
      * @return the bedarf if found
      */
     Optional<Bedarf> findById(UUID id);
     
     /**
-     * Finds all bedarfs for a specific betrieb.
+     * Finds a bedarf by ID, falling back to the archive if it is no longer in the active storage.
+     * @param id the bedarf ID
+     * @return the bedarf if found in either
+     */
+    Optional<Bedarf> findByIdIncludingArchive(UUID id);
+    
+    /**
+     * Finds all bedarfs with the given IDs in one query.
+     * Unknown IDs are skipped.
+     * @param ids the bedarf IDs
+     * @return the bedarfs found, in no particular order
+     */
+    List<Bedarf> findAllById(Collection<UUID> ids);
+    
+    /**
+     * Checks whether a bedarf has been moved to the archive.
+     * @param id the bedarf ID
+     * @return true if the archive holds the bedarf
+     */
+    boolean isArchived(UUID id);
+    
+    /**
+     * Finds all bedarfs for a specific betrieb. Archived bedarfs are not found.
      * @param betriebId the betrieb ID
      * @return list of bedarfs
      */
     List<Bedarf> findByBetriebId(UUID betriebId);
     
+    /**
+     * Finds all bedarfs for a specific betrieb, followed by its archived bedarfs.
+     * @param betriebId the betrieb ID
+     * @return list of bedarfs
+     */
+    List<Bedarf> findByBetriebIdIncludingArchive(UUID betriebId);
+    
     /**
      * Finds all bedarfs with the given status.
      * @param status the status to filter by
@@ -43,24 +113,60 @@ public interface BedarfRepository {
     List<Bedarf> findByStatus(BedarfStatus status);
     
     /**
-     * Finds bedarfs with pagination and filtering.
+     * Finds bedarfs with pagination and filtering, newest first.
+     * Only the criteria set on the filter become part of the query.
      * @param page page number (0-based)
      * @param size page size
+     * @param filter the filter criteria
+     * @return paginated list of bedarfs
+     */
+    BedarfPageResult findWithPagination(int page, int size, BedarfFilter filter);
+    
+    /**
+     * Finds bedarfs by seeking past a keyset cursor instead of using OFFSET.
+     * Results are ordered by creation time and ID, newest first.
+     * @param cursor position to continue after, or null for the first slice
+     * @param size slice size
+     * @param filter the filter criteria
+     * @param includeTotal whether to run the additional count query
+     * @return slice of bedarfs with the cursor for the next slice
+     */
+    BedarfSliceResult findWithCursor(BedarfCursor cursor, int size, BedarfFilter filter, boolean includeTotal);
+    
+    /**
+     * Finds geocoded bedarfs within a radius around a point.
+     * @param center the search center
+     * @param radiusKm the search radius in kilometres
      * @param status filter by status
      * @param datumVon filter by start date
      * @param datumBis filter by end date
-     * @return paginated list of bedarfs
+     * @return bedarfs with their distance, nearest first
      */
-    BedarfPageResult findWithPagination(int page, int size, BedarfStatus status, 
-                                      LocalDate datumVon, LocalDate datumBis);
+    List<NearbyBedarf> findNearby(GeoPoint center, double radiusKm, BedarfStatus status,
+                                  LocalDate datumVon, LocalDate datumBis);
     
     /**
-     * Deletes a bedarf by ID.
+     * Passes all bedarfs matching the filter to the consumer, oldest first.
+     * Rows are read with a server-side cursor and not kept after the consumer has seen them.
+     * @param status filter by status
+     * @param consumer receives each bedarf
+     */
+    void forEach(BedarfStatus status, Consumer<Bedarf> consumer);
+    
+    /**
+     * Deletes a bedarf by ID in one statement, without checking for it first.
      * @param id the bedarf ID
-     * @return true if deleted successfully
+     * @return true if deleted, false if the bedarf does not exist
      */
     boolean deleteById(UUID id);
     
+    /**
+     * Deletes all given bedarfs in one statement.
+     * @param ids the bedarf IDs
+     * @return the number of deleted bedarfs
+     */
+    int deleteAllById(Collection<UUID> ids);
+    
     /**
      * Checks if a bedarf exists by ID.
      * @param id the bedarf ID
@@ -94,4 +200,24 @@ public interface BedarfRepository {
         public int getCurrentPage() { return currentPage; }
         public int getPageSize() { return pageSize; }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Result class for keyset-paginated bedarf queries.
+     */
+    class BedarfSliceResult {
+        private final List<Bedarf> content;
+        private final BedarfCursor nextCursor;
+        private final Integer totalElements;
+        
+        public BedarfSliceResult(List<Bedarf> content, BedarfCursor nextCursor, Integer totalElements) {
+            this.content = content;
+            this.nextCursor = nextCursor;
+            this.totalElements = totalElements;
+        }
+        
+        // Getters
+        public List<Bedarf> getContent() { return content; }
+        public Optional<BedarfCursor> getNextCursor() { return Optional.ofNullable(nextCursor); }
+        public Optional<Integer> getTotalElements() { return Optional.ofNullable(totalElements); }
+    }
+}
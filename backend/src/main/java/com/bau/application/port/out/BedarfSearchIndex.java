@@ -0,0 +1,47 @@
+package com.bau.application.port.out;
+
+import com.bau.application.domain.bedarf.Bedarf;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbound port for full-text search over active bedarfe by address and company name.
+ * Every word of the query must match a word of the address or of the company name, either as
+ * a prefix (for type-ahead) or approximately (for misspelled place names).
+ */
+public interface BedarfSearchIndex {
+    
+    /**
+     * Searches active bedarfe.
+     * @param query the search text
+     * @param limit maximum number of results
+     * @return matching bedarfe, best match first
+     */
+    List<Bedarf> search(String query, int limit);
+    
+    /**
+     * Adds or replaces a saved bedarf. Indexes that read the bedarf table directly ignore this.
+     * @param bedarf the saved bedarf
+     */
+    void upsert(Bedarf bedarf);
+    
+    /**
+     * Removes a bedarf. Indexes that read the bedarf table directly ignore this.
+     * @param id the bedarf ID
+     */
+    void remove(UUID id);
+    
+    /**
+     * Starts recording writes so that {@link #rebuild(Collection)} keeps those made after its
+     * bedarfe were loaded. Call before loading them. Indexes that read the bedarf table directly ignore this.
+     */
+    void beginRebuild();
+    
+    /**
+     * Replaces the whole index content, keeping writes made since {@link #beginRebuild()}. Indexes that read the bedarf table directly ignore this.
+     * @param activeBedarfs all active bedarfe
+     */
+    void rebuild(Collection<Bedarf> activeBedarfs);
+}
@@ -3,9 +3,11 @@ package com.bau.application.port.out;
 import com.bau.application.domain.betrieb.Betrieb;
 import com.bau.application.domain.betrieb.BetriebStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Outbound port for Betrieb persistence operations.
@@ -34,6 +36,14 @@ public interface BetriebRepository {
      */
     Optional<Betrieb> findByEmail(String email);
     
+    /**
+     * Finds all betriebs with the given IDs in one query.
+     * Unknown IDs are skipped.
+     * @param ids the betrieb IDs
+     * @return the betriebs found, in no particular order
+     */
+    List<Betrieb> findAllById(Collection<UUID> ids);
+    
     /**
      * Finds all betriebs with the given status.
      * @param status the status to filter by
@@ -51,12 +61,37 @@ public interface BetriebRepository {
     BetriebPageResult findWithPagination(int page, int size, BetriebStatus status);
     
     /**
-     * Deletes a betrieb by ID.
+     * Sets the status of a betrieb in one statement that also returns the changed row, without
+     * loading it first.
+     * @param id the betrieb ID
+     * @param status the new status
+     * @param version the version the change is based on, or null to change the current version
+     * @return the updated betrieb, empty if it does not exist or has another version
+     */
+    Optional<Betrieb> updateStatus(UUID id, BetriebStatus status, Long version);
+    
+    /**
+     * Passes all betriebs matching the filter to the consumer, ordered by name.
+     * Rows are read with a server-side cursor and not kept after the consumer has seen them.
+     * @param status filter by status
+     * @param consumer receives each betrieb
+     */
+    void forEach(BetriebStatus status, Consumer<Betrieb> consumer);
+    
+    /**
+     * Deletes a betrieb by ID in one statement, without checking for it first.
      * @param id the betrieb ID
-     * @return true if deleted successfully
+     * @return true if deleted, false if the betrieb does not exist
      */
     boolean deleteById(UUID id);
     
+    /**
+     * Deletes all given betriebs in one statement.
+     * @param ids the betrieb IDs
+     * @return the number of deleted betriebs
+     */
+    int deleteAllById(Collection<UUID> ids);
+    
     /**
      * Checks if a betrieb exists by ID.
      * @param id the betrieb ID
@@ -0,0 +1,18 @@
+package com.bau.application.port.out;
+
+import com.bau.application.domain.geo.GeoPoint;
+
+import java.util.Optional;
+
+/**
+ * Outbound port for resolving free-text addresses to coordinates.
+ */
+public interface Geocoder {
+    
+    /**
+     * Resolves an address to coordinates.
+     * @param adresse the free-text address
+     * @return the coordinates if the address could be resolved
+     */
+    Optional<GeoPoint> geocode(String adresse);
+}
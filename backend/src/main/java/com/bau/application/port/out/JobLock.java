@@ -0,0 +1,17 @@
+package com.bau.application.port.out;
+
+/**
+ * Outbound port for a lock shared by all application instances, so that a scheduled job
+ * started on every instance runs on only one of them at a time.
+ */
+public interface JobLock {
+
+    /**
+     * Runs the task if no other instance holds the lock of the given name.
+     * The lock is released when the task ends, also if it fails.
+     * @param name the lock name, one per job
+     * @param task the task to run
+     * @return true if the task ran, false if another instance holds the lock
+     */
+    boolean runExclusively(String name, Runnable task);
+}
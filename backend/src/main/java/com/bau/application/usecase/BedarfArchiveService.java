@@ -0,0 +1,68 @@
+package com.bau.application.usecase;
+
+import com.bau.application.port.in.BedarfArchiveUseCase;
+import com.bau.application.port.out.BedarfArchive;
+import com.bau.application.port.out.JobLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.Year;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the Bedarf archive use case.
+ * Closed bedarfs stay in the active storage for the retention period, so recent ones can still
+ * be listed by status, and are moved to the archive afterwards. Like the expiry, the run works in
+ * bounded batches under a job lock shared by all instances. Closed bedarfs are not in the match
+ * and search indexes, so archiving leaves those untouched. Each run first makes sure the archive
+ * has partitions up to the next year, so archived bedarfs never pile up in the default partition.
+ */
+@Service
+@Slf4j
+public class BedarfArchiveService implements BedarfArchiveUseCase {
+
+    static final String LOCK_NAME = "bedarf-archive";
+
+    private final BedarfArchive bedarfArchive;
+    private final JobLock jobLock;
+    private final Period retention;
+    private final int batchSize;
+
+    public BedarfArchiveService(BedarfArchive bedarfArchive,
+                                JobLock jobLock,
+                                @Value("${bau.archive.retention:P90D}") Period retention,
+                                @Value("${bau.archive.batch-size:500}") int batchSize) {
+        this.bedarfArchive = bedarfArchive;
+        this.jobLock = jobLock;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int archiveBedarfs(LocalDate today) {
+        LocalDate endedBefore = today.minus(retention);
+        AtomicInteger archived = new AtomicInteger();
+        boolean ran = jobLock.runExclusively(LOCK_NAME, () -> {
+            Year lastYear = Year.from(today).plusYears(1);
+            for (Year year = Year.from(endedBefore); !year.isAfter(lastYear); year = year.plusYears(1)) {
+                bedarfArchive.ensurePartition(year);
+            }
+            List<UUID> batch;
+            do {
+                batch = bedarfArchive.archiveClosed(endedBefore, batchSize);
+                archived.addAndGet(batch.size());
+            } while (batch.size() == batchSize);
+        });
+        if (!ran) {
+            log.debug("Skipping bedarf archiving - running on another instance");
+            return 0;
+        }
+        log.info("Archived {} bedarfs that ended before {}", archived.get(), endedBefore);
+        return archived.get();
+    }
+}
@@ -0,0 +1,60 @@
+package com.bau.application.usecase;
+
+import com.bau.application.port.in.BedarfExpiryUseCase;
+import com.bau.application.port.out.BedarfRepository;
+import com.bau.application.port.out.JobLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the Bedarf expiry use case.
+ * Expired bedarfs are closed in bounded batches, each committed on its own, so a large backlog
+ * neither holds row locks for long nor gets rolled back as a whole. The run holds a job lock
+ * shared by all instances, so only one of them expires at a time.
+ * The in-memory indexes of the instances are not touched here, as only the instance holding the
+ * lock would see the change: closed bedarfs are dropped from match results when
+ * {@link MatchingService} re-reads them, and from all indexes on the next reload by
+ * {@link BedarfIndexService}.
+ */
+@Service
+@Slf4j
+public class BedarfExpiryService implements BedarfExpiryUseCase {
+
+    static final String LOCK_NAME = "bedarf-expiry";
+
+    private final BedarfRepository bedarfRepository;
+    private final JobLock jobLock;
+    private final int batchSize;
+
+    public BedarfExpiryService(BedarfRepository bedarfRepository,
+                               JobLock jobLock,
+                               @Value("${bau.expiry.batch-size:500}") int batchSize) {
+        this.bedarfRepository = bedarfRepository;
+        this.jobLock = jobLock;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int expireBedarfs(LocalDate today) {
+        AtomicInteger expired = new AtomicInteger();
+        boolean ran = jobLock.runExclusively(LOCK_NAME, () -> {
+            List<UUID> batch;
+            do {
+                batch = bedarfRepository.closeExpired(today, batchSize);
+                expired.addAndGet(batch.size());
+            } while (batch.size() == batchSize);
+        });
+        if (!ran) {
+            log.debug("Skipping bedarf expiry - running on another instance");
+            return 0;
+        }
+        log.info("Expired {} bedarfs that ended before {}", expired.get(), today);
+        return expired.get();
+    }
+}
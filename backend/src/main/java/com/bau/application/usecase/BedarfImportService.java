@@ -0,0 +1,242 @@
+package com.bau.application.usecase;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfBulkItemResult;
+import com.bau.application.domain.bedarf.BedarfImportError;
+import com.bau.application.domain.bedarf.BedarfImportJob;
+import com.bau.application.domain.bedarf.BedarfImportRow;
+import com.bau.application.port.in.BedarfImportUseCase;
+import com.bau.application.port.in.BedarfUseCase;
+import com.bau.application.port.out.BedarfImportJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the Bedarf import use case.
+ * Rows are pulled from the source one batch at a time on a small worker pool, so reading never
+ * runs ahead of writing. Each batch goes through {@link BedarfUseCase#createBedarfs} and is
+ * stored in one transaction; the job is saved after every batch so its progress can be polled.
+ * A job never stays RUNNING after its import ended: failures of any kind fail the job, jobs still
+ * queued or running on shutdown are failed, and jobs without progress for longer than the stale
+ * timeout, whose instance died, are failed when an instance starts.
+ */
+@Service
+@Slf4j
+public class BedarfImportService implements BedarfImportUseCase {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final BedarfUseCase bedarfUseCase;
+    private final BedarfImportJobRepository jobRepository;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxErrors;
+    private final Duration staleAfter;
+    private final Set<UUID> unfinishedJobs = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public BedarfImportService(BedarfUseCase bedarfUseCase,
+                               BedarfImportJobRepository jobRepository,
+                               @Value("${bau.import.concurrency:2}") int concurrency,
+                               @Value("${bau.import.queue-capacity:10}") int queueCapacity,
+                               @Value("${bau.import.batch-size:500}") int batchSize,
+                               @Value("${bau.import.max-errors:1000}") int maxErrors,
+                               @Value("${bau.import.stale-after:PT10M}") Duration staleAfter,
+                               @Value("${spring.threads.virtual.enabled:true}") boolean virtualThreads) {
+        this(bedarfUseCase, jobRepository, newWorkerPool(concurrency, queueCapacity, virtualThreads),
+                batchSize, maxErrors, staleAfter);
+    }
+
+    BedarfImportService(BedarfUseCase bedarfUseCase, BedarfImportJobRepository jobRepository,
+                        ExecutorService executor, int batchSize, int maxErrors, Duration staleAfter) {
+        this.bedarfUseCase = bedarfUseCase;
+        this.jobRepository = jobRepository;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.staleAfter = staleAfter;
+    }
+
+    @Override
+    public BedarfImportJob startImport(UUID betriebId, Stream<BedarfImportRow> rows) {
+        log.debug("Starting bedarf import for betrieb: {}", betriebId);
+        BedarfImportJob job = jobRepository.save(BedarfImportJob.start(betriebId));
+        BedarfImportJob running = job.toBuilder().build();
+        unfinishedJobs.add(job.getId());
+        try {
+            executor.execute(() -> run(running, rows));
+        } catch (RejectedExecutionException e) {
+            log.warn("Rejected bedarf import {} - too many imports in progress", job.getId());
+            unfinishedJobs.remove(job.getId());
+            rows.close();
+            job.fail("Too many imports in progress, please try again later");
+            return jobRepository.save(job);
+        }
+        return job;
+    }
+
+    @Override
+    public Optional<BedarfImportJob> getImportJob(UUID id) {
+        log.debug("Retrieving bedarf import job: {}", id);
+        return jobRepository.findById(id);
+    }
+
+    /**
+     * Fails running jobs left behind by instances that stopped without finishing them,
+     * once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failStaleJobs() {
+        int failed = jobRepository.failRunningJobsUpdatedBefore(LocalDateTime.now().minus(staleAfter),
+                "Import interrupted, no progress for " + staleAfter);
+        if (failed > 0) {
+            log.warn("Failed {} bedarf imports without progress for {}", failed, staleAfter);
+        }
+    }
+
+    /**
+     * Stops accepting imports and interrupts running ones. Jobs that are still queued or have not
+     * finished shortly after are failed, as far as the database is still reachable.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (unfinishedJobs.isEmpty()) {
+            return;
+        }
+        try {
+            int failed = jobRepository.failRunningJobs(Set.copyOf(unfinishedJobs), "Import interrupted by shutdown");
+            log.warn("Failed {} bedarf imports interrupted by shutdown", failed);
+        } catch (RuntimeException e) {
+            log.error("Could not fail {} bedarf imports on shutdown", unfinishedJobs.size(), e);
+        }
+    }
+
+    /**
+     * Imports all rows of a job and records the outcome.
+     * @param job the running job, owned by the worker thread
+     * @param rows the rows to import
+     */
+    void run(BedarfImportJob job, Stream<BedarfImportRow> rows) {
+        log.info("Importing bedarfs for job {}", job.getId());
+        try (rows) {
+            Iterator<BedarfImportRow> iterator = rows.iterator();
+            List<BedarfImportRow> batch = new ArrayList<>(batchSize);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    importBatch(job, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(job, batch);
+            }
+            job.complete();
+        } catch (RuntimeException e) {
+            log.error("Bedarf import {} failed after {} rows", job.getId(), job.getProcessedRows(), e);
+            job.fail(e.getMessage());
+        } finally {
+            if (!job.isFinished()) {
+                log.error("Bedarf import {} aborted after {} rows", job.getId(), job.getProcessedRows());
+                job.fail("Import aborted");
+            }
+            try {
+                jobRepository.save(job);
+            } finally {
+                unfinishedJobs.remove(job.getId());
+            }
+        }
+        log.info("Bedarf import {} finished - imported: {}, failed: {}",
+                job.getId(), job.getImportedRows(), job.getFailedRows());
+    }
+
+    /**
+     * Validates and stores one batch, then records its progress on the job.
+     * @param job the running job
+     * @param batch the rows of the batch
+     */
+    private void importBatch(BedarfImportJob job, List<BedarfImportRow> batch) {
+        List<BedarfImportError> errors = new ArrayList<>();
+        List<Bedarf> bedarfs = new ArrayList<>(batch.size());
+        List<Long> rowNumbers = new ArrayList<>(batch.size());
+        for (BedarfImportRow row : batch) {
+            if (row.error() != null) {
+                errors.add(new BedarfImportError(row.rowNumber(), row.error()));
+                continue;
+            }
+            row.bedarf().setBetriebId(job.getBetriebId());
+            bedarfs.add(row.bedarf());
+            rowNumbers.add(row.rowNumber());
+        }
+
+        if (!bedarfs.isEmpty()) {
+            for (BedarfBulkItemResult result : bedarfUseCase.createBedarfs(bedarfs)) {
+                if (!result.isSuccess()) {
+                    errors.add(new BedarfImportError(rowNumbers.get(result.index()), result.error()));
+                }
+            }
+        }
+        errors.sort((a, b) -> Long.compare(a.rowNumber(), b.rowNumber()));
+
+        // Only the first rejected rows are kept, the counters cover all of them
+        long storedErrors = Math.min(job.getFailedRows(), maxErrors);
+        int room = (int) Math.max(0, maxErrors - storedErrors);
+        if (room > 0 && !errors.isEmpty()) {
+            jobRepository.addErrors(job.getId(), errors.subList(0, Math.min(room, errors.size())));
+        }
+
+        job.setProcessedRows(job.getProcessedRows() + batch.size());
+        job.setFailedRows(job.getFailedRows() + errors.size());
+        job.setImportedRows(job.getImportedRows() + batch.size() - errors.size());
+        jobRepository.save(job);
+    }
+
+    /**
+     * Creates the worker pool. With virtual threads the pool still bounds how many imports run at
+     * once, as each holds a database connection for its batches.
+     */
+    private static ExecutorService newWorkerPool(int concurrency, int queueCapacity, boolean virtualThreads) {
+        ThreadFactory threadFactory;
+        if (virtualThreads) {
+            threadFactory = Thread.ofVirtual().name("bedarf-import-", 1).factory();
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "bedarf-import-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        return new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+    }
+}
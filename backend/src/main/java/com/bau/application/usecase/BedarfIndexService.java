@@ -0,0 +1,51 @@
+package com.bau.application.usecase;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.port.in.BedarfIndexUseCase;
+import com.bau.application.port.out.BedarfRepository;
+import com.bau.application.port.out.BedarfSearchIndex;
+import com.bau.application.usecase.matching.BedarfMatchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of the bedarf index use case.
+ * Each instance keeps its own match index, and with the memory provider its own search index.
+ * Writes through this instance update them directly; writes through other instances, the expiry
+ * and the archive job reach them when the indexes are reloaded, once on startup and then on
+ * the schedule of {@code BedarfIndexRefreshJob}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BedarfIndexService implements BedarfIndexUseCase {
+
+    private final BedarfRepository bedarfRepository;
+    private final BedarfMatchIndex matchIndex;
+    private final BedarfSearchIndex searchIndex;
+
+    /**
+     * Loads all active bedarfs into the indexes once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndexes() {
+        log.info("Indexed {} active bedarfs", rebuildIndexes());
+    }
+
+    @Override
+    public int rebuildIndexes() {
+        // Record writes from here on, so those the snapshot below misses are replayed
+        matchIndex.beginRebuild();
+        searchIndex.beginRebuild();
+        List<Bedarf> active = bedarfRepository.findByStatus(BedarfStatus.AKTIV);
+        matchIndex.rebuild(active);
+        searchIndex.rebuild(active);
+        return active.size();
+    }
+}
@@ -1,17 +1,37 @@
 package com.bau.application.usecase;
 
+import com.bau.application.domain.ArchivedException;
+import com.bau.application.domain.VersionConflictException;
 import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfBulkItemResult;
+import com.bau.application.domain.bedarf.BedarfCursor;
+import com.bau.application.domain.bedarf.BedarfFilter;
 import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.bedarf.DateRangeMatch;
+import com.bau.application.domain.bedarf.NearbyBedarf;
+import com.bau.application.domain.geo.GeoPoint;
 import com.bau.application.port.in.BedarfUseCase;
 import com.bau.application.port.out.BedarfRepository;
+import com.bau.application.port.out.BedarfSearchIndex;
+import com.bau.application.port.out.Geocoder;
+import com.bau.application.usecase.matching.BedarfMatchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of Bedarf use cases.
@@ -22,7 +42,14 @@ import java.util.UUID;
 @Slf4j
 public class BedarfService implements BedarfUseCase {
     
+    private static final double MAX_RADIUS_KM = 200;
+    private static final int MIN_SEARCH_LENGTH = 2;
+    private static final int MAX_SEARCH_LIMIT = 50;
+    
     private final BedarfRepository bedarfRepository;
+    private final Geocoder geocoder;
+    private final BedarfMatchIndex matchIndex;
+    private final BedarfSearchIndex searchIndex;
     
     @Override
     public Bedarf createBedarf(Bedarf bedarf) {
@@ -33,42 +60,134 @@ public class BedarfService implements BedarfUseCase {
         if (bedarf.getStatus() == null) {
             bedarf.setStatus(BedarfStatus.AKTIV);
         }
+        resolveLocation(bedarf);
         
-        return bedarfRepository.save(bedarf);
+        return updateIndexes(bedarfRepository.save(bedarf));
     }
     
     @Override
     public Optional<Bedarf> updateBedarf(UUID id, Bedarf bedarf) {
         log.debug("Updating bedarf with id: {}", id);
-        return bedarfRepository.findById(id)
+        Optional<Bedarf> existing = bedarfRepository.findById(id);
+        if (existing.isEmpty()) {
+            checkNotArchived(id);
+        }
+        return existing
                 .map(existingBedarf -> {
                     bedarf.setId(id);
                     bedarf.setBetriebId(existingBedarf.getBetriebId());
+                    checkVersion(bedarf, existingBedarf);
                     validateBedarf(bedarf);
+                    resolveLocation(bedarf);
                     return bedarfRepository.save(bedarf);
-                });
+                })
+                .map(this::updateIndexes);
     }
     
     @Override
-    public Optional<Bedarf> updateBedarfStatus(UUID id, BedarfStatus status) {
-        log.debug("Updating bedarf status to {} for id: {}", status, id);
-        return bedarfRepository.findById(id)
-                .map(bedarf -> {
-                    bedarf.setStatus(status);
-                    return bedarfRepository.save(bedarf);
-                });
+    public Optional<Bedarf> updateBedarfStatus(UUID id, BedarfStatus status, Long version) {
+        log.debug("Updating bedarf status to {} for id: {} at version: {}", status, id, version);
+        Optional<Bedarf> updated = bedarfRepository.updateStatus(id, status, version);
+        // Only a failed update needs a second look, to tell a conflict or an archived bedarf from a missing one
+        if (updated.isEmpty()) {
+            if (version != null && bedarfRepository.existsById(id)) {
+                throw new VersionConflictException("Bedarf", id);
+            }
+            checkNotArchived(id);
+        }
+        return updated.map(this::updateIndexes);
+    }
+    
+    @Override
+    public List<BedarfBulkItemResult> createBedarfs(List<Bedarf> bedarfs) {
+        log.debug("Creating {} bedarfs in bulk", bedarfs.size());
+        BedarfBulkItemResult[] results = new BedarfBulkItemResult[bedarfs.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Bedarf> valid = new ArrayList<>();
+        for (int i = 0; i < bedarfs.size(); i++) {
+            Bedarf bedarf = bedarfs.get(i);
+            try {
+                validateBedarf(bedarf);
+            } catch (IllegalArgumentException e) {
+                results[i] = BedarfBulkItemResult.failure(i, e.getMessage());
+                continue;
+            }
+            if (bedarf.getStatus() == null) {
+                bedarf.setStatus(BedarfStatus.AKTIV);
+            }
+            resolveLocation(bedarf);
+            validIndexes.add(i);
+            valid.add(bedarf);
+        }
+        
+        saveValid(valid, validIndexes, results);
+        return List.of(results);
+    }
+    
+    @Override
+    public List<BedarfBulkItemResult> updateBedarfs(Map<UUID, Bedarf> bedarfs) {
+        log.debug("Updating {} bedarfs in bulk", bedarfs.size());
+        Map<UUID, Bedarf> existing = bedarfRepository.findAllById(bedarfs.keySet()).stream()
+                .collect(Collectors.toMap(Bedarf::getId, Function.identity()));
+        
+        BedarfBulkItemResult[] results = new BedarfBulkItemResult[bedarfs.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        List<Bedarf> valid = new ArrayList<>();
+        Iterator<Map.Entry<UUID, Bedarf>> entries = bedarfs.entrySet().iterator();
+        for (int i = 0; entries.hasNext(); i++) {
+            Map.Entry<UUID, Bedarf> entry = entries.next();
+            Bedarf existingBedarf = existing.get(entry.getKey());
+            if (existingBedarf == null) {
+                results[i] = BedarfBulkItemResult.failure(i, "Bedarf not found: " + entry.getKey());
+                continue;
+            }
+            Bedarf bedarf = entry.getValue();
+            bedarf.setId(entry.getKey());
+            bedarf.setBetriebId(existingBedarf.getBetriebId());
+            try {
+                checkVersion(bedarf, existingBedarf);
+                validateBedarf(bedarf);
+            } catch (IllegalArgumentException | VersionConflictException e) {
+                results[i] = BedarfBulkItemResult.failure(i, e.getMessage());
+                continue;
+            }
+            resolveLocation(bedarf);
+            validIndexes.add(i);
+            valid.add(bedarf);
+        }
+        
+        saveValid(valid, validIndexes, results);
+        return List.of(results);
+    }
+    
+    @Override
+    public int updateBedarfStatuses(Collection<UUID> ids, BedarfStatus status) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        log.debug("Updating bedarf status to {} for {} bedarfs", status, distinctIds.size());
+        if (distinctIds.isEmpty()) {
+            return 0;
+        }
+        int updated = bedarfRepository.updateStatus(distinctIds, status);
+        if (status == BedarfStatus.AKTIV) {
+            bedarfRepository.findAllById(distinctIds).forEach(this::updateIndexes);
+        } else {
+            distinctIds.forEach(this::removeFromIndexes);
+        }
+        return updated;
     }
     
     @Override
     public Optional<Bedarf> getBedarfById(UUID id) {
         log.debug("Retrieving bedarf by id: {}", id);
-        return bedarfRepository.findById(id);
+        return bedarfRepository.findByIdIncludingArchive(id);
     }
     
     @Override
-    public List<Bedarf> getBedarfsByBetriebId(UUID betriebId) {
-        log.debug("Retrieving bedarfs for betrieb: {}", betriebId);
-        return bedarfRepository.findByBetriebId(betriebId);
+    public List<Bedarf> getBedarfsByBetriebId(UUID betriebId, boolean includeArchived) {
+        log.debug("Retrieving bedarfs for betrieb: {} (including archived: {})", betriebId, includeArchived);
+        return includeArchived
+                ? bedarfRepository.findByBetriebIdIncludingArchive(betriebId)
+                : bedarfRepository.findByBetriebId(betriebId);
     }
     
     @Override
@@ -78,12 +197,19 @@ public class BedarfService implements BedarfUseCase {
     }
     
     @Override
-    public BedarfPageResult getBedarfs(int page, int size, BedarfStatus status, 
-                                     LocalDate datumVon, LocalDate datumBis) {
-        log.debug("Retrieving bedarfs with pagination - page: {}, size: {}, status: {}", 
-                page, size, status);
-        BedarfRepository.BedarfPageResult result = bedarfRepository.findWithPagination(
-                page, size, status, datumVon, datumBis);
+    public BedarfPageResult getBedarfs(int page, int size, BedarfFilter filter) {
+        log.debug("Retrieving bedarfs with pagination - page: {}, size: {}, filter: {}", 
+                page, size, filter);
+        validateFilter(filter);
+        if (filter.dateRangeMatch() == DateRangeMatch.OVERLAPPING) {
+            if (filter.datumVon() == null || filter.datumBis() == null) {
+                throw new IllegalArgumentException("Overlap matching requires a start and end date");
+            }
+            if (filter.datumBis().isBefore(filter.datumVon())) {
+                throw new IllegalArgumentException("End date must be after start date");
+            }
+        }
+        BedarfRepository.BedarfPageResult result = bedarfRepository.findWithPagination(page, size, filter);
         
         return new BedarfPageResult(
                 result.getContent(),
@@ -94,14 +220,155 @@ public class BedarfService implements BedarfUseCase {
         );
     }
     
+    @Override
+    public BedarfSliceResult getBedarfsByCursor(BedarfCursor cursor, int size, BedarfFilter filter,
+                                                boolean includeTotal) {
+        log.debug("Retrieving bedarfs with cursor - cursor: {}, size: {}, filter: {}", 
+                cursor, size, filter);
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        validateFilter(filter);
+        if (filter.dateRangeMatch() == DateRangeMatch.OVERLAPPING) {
+            throw new IllegalArgumentException("Overlap matching is not supported with cursor pagination");
+        }
+        BedarfRepository.BedarfSliceResult result = bedarfRepository.findWithCursor(
+                cursor, size, filter, includeTotal);
+        
+        return new BedarfSliceResult(
+                result.getContent(),
+                result.getNextCursor().orElse(null),
+                result.getTotalElements().orElse(null),
+                size
+        );
+    }
+    
+    @Override
+    public List<NearbyBedarf> findNearbyBedarfs(GeoPoint center, double radiusKm, BedarfStatus status,
+                                                LocalDate datumVon, LocalDate datumBis) {
+        log.debug("Retrieving bedarfs within {} km of {}", radiusKm, center);
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+        return bedarfRepository.findNearby(center, radiusKm, status, datumVon, datumBis);
+    }
+    
+    @Override
+    public List<Bedarf> searchBedarfs(String query, int limit) {
+        log.debug("Searching bedarfs for: {}", query);
+        if (query == null || query.trim().length() < MIN_SEARCH_LENGTH) {
+            throw new IllegalArgumentException("Search query must have at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return searchIndex.search(query.trim(), limit);
+    }
+    
+    @Override
+    public void exportBedarfs(BedarfStatus status, Consumer<Bedarf> consumer) {
+        log.debug("Exporting bedarfs with status: {}", status);
+        bedarfRepository.forEach(status, consumer);
+    }
+    
     @Override
     public boolean deleteBedarf(UUID id) {
         log.debug("Deleting bedarf with id: {}", id);
-        if (!bedarfRepository.existsById(id)) {
+        if (!bedarfRepository.deleteById(id)) {
+            checkNotArchived(id);
             log.warn("Attempted to delete non-existent bedarf with id: {}", id);
             return false;
         }
-        return bedarfRepository.deleteById(id);
+        removeFromIndexes(id);
+        return true;
+    }
+    
+    @Override
+    public int deleteBedarfs(Collection<UUID> ids) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        log.debug("Deleting {} bedarfs", distinctIds.size());
+        if (distinctIds.isEmpty()) {
+            return 0;
+        }
+        int deleted = bedarfRepository.deleteAllById(distinctIds);
+        distinctIds.forEach(this::removeFromIndexes);
+        return deleted;
+    }
+    
+    /**
+     * Saves the valid items of a bulk request in one batch and records their results.
+     * @param valid the validated bedarfs
+     * @param validIndexes request positions of the validated bedarfs
+     * @param results the results to fill in, indexed by request position
+     */
+    private void saveValid(List<Bedarf> valid, List<Integer> validIndexes, BedarfBulkItemResult[] results) {
+        if (valid.isEmpty()) {
+            return;
+        }
+        List<Bedarf> saved = bedarfRepository.saveAll(valid);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = validIndexes.get(i);
+            results[index] = BedarfBulkItemResult.success(index, updateIndexes(saved.get(i)));
+        }
+    }
+    
+    /**
+     * Keeps the match and search indexes in line with a saved bedarf.
+     * @param savedBedarf the saved bedarf
+     * @return the same bedarf
+     */
+    private Bedarf updateIndexes(Bedarf savedBedarf) {
+        matchIndex.upsert(savedBedarf);
+        searchIndex.upsert(savedBedarf);
+        return savedBedarf;
+    }
+    
+    /**
+     * Removes a bedarf from the match and search indexes.
+     * @param id the bedarf ID
+     */
+    private void removeFromIndexes(UUID id) {
+        matchIndex.remove(id);
+        searchIndex.remove(id);
+    }
+    
+    /**
+     * Geocodes the address unless coordinates were provided explicitly.
+     * @param bedarf the bedarf to locate
+     */
+    private void resolveLocation(Bedarf bedarf) {
+        if (bedarf.getLocation().isPresent()) {
+            return;
+        }
+        geocoder.geocode(bedarf.getAdresse()).ifPresent(location -> {
+            bedarf.setLatitude(location.latitude());
+            bedarf.setLongitude(location.longitude());
+        });
+    }
+    
+    /**
+     * Bases an update on the stored version of the bedarf. Saving it then fails if the row
+     * has been changed since it was read.
+     * @param bedarf the updated bedarf data, with the version it is based on if known
+     * @param existingBedarf the stored bedarf
+     * @throws VersionConflictException if the update is based on another version
+     */
+    private void checkVersion(Bedarf bedarf, Bedarf existingBedarf) {
+        if (bedarf.getVersion() != null && !bedarf.getVersion().equals(existingBedarf.getVersion())) {
+            throw new VersionConflictException("Bedarf", existingBedarf.getId());
+        }
+        bedarf.setVersion(existingBedarf.getVersion());
+    }
+    
+    /**
+     * Tells an archived bedarf from a missing one after a change found no row to apply to.
+     * @param id the bedarf ID
+     * @throws ArchivedException if the bedarf has been archived
+     */
+    private void checkNotArchived(UUID id) {
+        if (bedarfRepository.isArchived(id)) {
+            throw new ArchivedException("Bedarf", id);
+        }
     }
     
     /**
@@ -135,4 +402,18 @@ public class BedarfService implements BedarfUseCase {
             throw new IllegalArgumentException("Address is required");
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Validates the filter criteria that do not depend on the kind of pagination.
+     * @param filter the filter to validate
+     * @throws IllegalArgumentException if validation fails
+     */
+    private void validateFilter(BedarfFilter filter) {
+        if (filter.minHolzbauAnzahl() != null && filter.minHolzbauAnzahl() < 0) {
+            throw new IllegalArgumentException("Minimum Holzbau Anzahl must be non-negative");
+        }
+        if (filter.minZimmermannAnzahl() != null && filter.minZimmermannAnzahl() < 0) {
+            throw new IllegalArgumentException("Minimum Zimmermann Anzahl must be non-negative");
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package com.bau.application.usecase;
 
+import com.bau.application.domain.VersionConflictException;
 import com.bau.application.domain.betrieb.Betrieb;
 import com.bau.application.domain.betrieb.BetriebStatus;
 import com.bau.application.port.in.BetriebUseCase;
+import com.bau.application.port.out.BedarfArchive;
 import com.bau.application.port.out.BetriebRepository;
+import com.bau.application.port.out.Geocoder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of Betrieb use cases.
@@ -21,7 +33,11 @@ import java.util.UUID;
 @Slf4j
 public class BetriebService implements BetriebUseCase {
     
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+    
     private final BetriebRepository betriebRepository;
+    private final Geocoder geocoder;
+    private final BedarfArchive bedarfArchive;
     
     @Override
     public Betrieb createBetrieb(Betrieb betrieb) {
@@ -32,6 +48,7 @@ public class BetriebService implements BetriebUseCase {
             log.warn("Attempted to create betrieb with existing email: {}", betrieb.getEmail());
             throw new IllegalArgumentException("Betrieb with this email already exists");
         }
+        resolveLocation(betrieb);
         
         return betriebRepository.save(betrieb);
     }
@@ -42,6 +59,11 @@ public class BetriebService implements BetriebUseCase {
         return betriebRepository.findById(id)
                 .map(existingBetrieb -> {
                     betrieb.setId(id);
+                    if (betrieb.getVersion() != null && !betrieb.getVersion().equals(existingBetrieb.getVersion())) {
+                        throw new VersionConflictException("Betrieb", id);
+                    }
+                    // Saving fails if the row has been changed since it was read
+                    betrieb.setVersion(existingBetrieb.getVersion());
                     
                     // Check if email is being changed and if it's already taken
                     if (!existingBetrieb.getEmail().equals(betrieb.getEmail()) &&
@@ -51,18 +73,20 @@ public class BetriebService implements BetriebUseCase {
                     }
                     
                     validateBetrieb(betrieb);
+                    resolveLocation(betrieb);
                     return betriebRepository.save(betrieb);
                 });
     }
     
     @Override
-    public Optional<Betrieb> updateBetriebStatus(UUID id, BetriebStatus status) {
-        log.debug("Updating betrieb status to {} for id: {}", status, id);
-        return betriebRepository.findById(id)
-                .map(betrieb -> {
-                    betrieb.setStatus(status);
-                    return betriebRepository.save(betrieb);
-                });
+    public Optional<Betrieb> updateBetriebStatus(UUID id, BetriebStatus status, Long version) {
+        log.debug("Updating betrieb status to {} for id: {} at version: {}", status, id, version);
+        Optional<Betrieb> updated = betriebRepository.updateStatus(id, status, version);
+        // Only a failed update needs a second look, to tell a conflict from a missing betrieb
+        if (updated.isEmpty() && version != null && betriebRepository.existsById(id)) {
+            throw new VersionConflictException("Betrieb", id);
+        }
+        return updated;
     }
     
     @Override
@@ -77,6 +101,19 @@ public class BetriebService implements BetriebUseCase {
         return betriebRepository.findByEmail(email);
     }
     
+    @Override
+    public Map<UUID, Betrieb> getBetriebeByIds(Collection<UUID> ids) {
+        Set<UUID> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        log.debug("Retrieving {} betriebs by id", distinctIds.size());
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+        return betriebRepository.findAllById(distinctIds).stream()
+                .collect(Collectors.toMap(Betrieb::getId, Function.identity()));
+    }
+    
     @Override
     public List<Betrieb> getActiveBetriebs() {
         log.debug("Retrieving all active betriebs");
@@ -99,14 +136,47 @@ public class BetriebService implements BetriebUseCase {
         );
     }
     
+    @Override
+    public void exportBetriebs(BetriebStatus status, Consumer<Betrieb> consumer) {
+        log.debug("Exporting betriebs with status: {}", status);
+        betriebRepository.forEach(status, consumer);
+    }
+    
     @Override
     public boolean deleteBetrieb(UUID id) {
         log.debug("Deleting betrieb with id: {}", id);
-        if (!betriebRepository.existsById(id)) {
+        if (!betriebRepository.deleteById(id)) {
             log.warn("Attempted to delete non-existent betrieb with id: {}", id);
             return false;
         }
-        return betriebRepository.deleteById(id);
+        bedarfArchive.deleteByBetriebIds(List.of(id));
+        return true;
+    }
+    
+    @Override
+    public int deleteBetriebs(Collection<UUID> ids) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        log.debug("Deleting {} betriebs", distinctIds.size());
+        if (distinctIds.isEmpty()) {
+            return 0;
+        }
+        int deleted = betriebRepository.deleteAllById(distinctIds);
+        bedarfArchive.deleteByBetriebIds(distinctIds);
+        return deleted;
+    }
+    
+    /**
+     * Geocodes the address unless coordinates were provided explicitly.
+     * @param betrieb the betrieb to locate
+     */
+    private void resolveLocation(Betrieb betrieb) {
+        if (betrieb.getLocation().isPresent()) {
+            return;
+        }
+        geocoder.geocode(betrieb.getAdresse()).ifPresent(location -> {
+            betrieb.setLatitude(location.latitude());
+            betrieb.setLongitude(location.longitude());
+        });
     }
     
     /**
@@ -134,7 +204,7 @@ public class BetriebService implements BetriebUseCase {
      * @param email email to validate
      * @return true if email format is valid
      */
-    private boolean isValidEmail(String email) {
-        return email.matches("^[A-Za-z0-9+_.-]+@(.+)$");
+    static boolean isValidEmail(String email) {
+        return EMAIL_PATTERN.matcher(email).matches();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.bau.application.usecase;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.matching.BedarfMatch;
+import com.bau.application.domain.matching.CrewOffer;
+import com.bau.application.port.in.MatchingUseCase;
+import com.bau.application.port.out.BedarfRepository;
+import com.bau.application.port.out.Geocoder;
+import com.bau.application.usecase.matching.BedarfMatchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the matching use case.
+ * Scores crew offers against the in-memory {@link BedarfMatchIndex} instead of querying the database.
+ * The index of one instance misses writes made through other instances until it is reloaded, so
+ * the best matches are re-read by ID before they are returned. Matches that were deleted, closed,
+ * archived or changed meanwhile are corrected in the index and the search is repeated.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchingService implements MatchingUseCase {
+
+    static final double DEFAULT_MAX_DISTANCE_KM = 50;
+    private static final double MAX_DISTANCE_KM = 200;
+    private static final int MAX_LIMIT = 100;
+    /**
+     * Searches per request; each one after the first follows a correction of stale matches.
+     */
+    private static final int MAX_SEARCHES = 3;
+
+    private final BedarfMatchIndex matchIndex;
+    private final BedarfRepository bedarfRepository;
+    private final Geocoder geocoder;
+
+    @Override
+    public List<BedarfMatch> findMatches(CrewOffer offer, int limit) {
+        log.debug("Matching offer of {} workers from {} to {}",
+                offer.getTotalWorkers(), offer.getDatumVon(), offer.getDatumBis());
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        CrewOffer prepared = prepareOffer(offer);
+        List<BedarfMatch> matches = matchIndex.findTopMatches(prepared, limit);
+        List<BedarfMatch> current = keepCurrent(matches);
+        for (int search = 1; current.size() < matches.size() && search < MAX_SEARCHES; search++) {
+            matches = matchIndex.findTopMatches(prepared, limit);
+            current = keepCurrent(matches);
+        }
+        return current;
+    }
+    
+    /**
+     * Compares matches with the stored bedarfs and updates the index where they differ.
+     * @param matches the matches found in the index
+     * @return the matches whose bedarf is still stored, active and at the indexed version
+     */
+    private List<BedarfMatch> keepCurrent(List<BedarfMatch> matches) {
+        if (matches.isEmpty()) {
+            return matches;
+        }
+        Map<UUID, Bedarf> stored = bedarfRepository.findAllById(matches.stream()
+                        .map(match -> match.bedarf().getId())
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Bedarf::getId, Function.identity()));
+        List<BedarfMatch> current = new ArrayList<>(matches.size());
+        for (BedarfMatch match : matches) {
+            Bedarf indexed = match.bedarf();
+            Bedarf fresh = stored.get(indexed.getId());
+            if (fresh == null) {
+                matchIndex.remove(indexed.getId());
+            } else if (fresh.getStatus() != BedarfStatus.AKTIV
+                    || !Objects.equals(fresh.getVersion(), indexed.getVersion())) {
+                // Removes the bedarf if it is no longer active, re-scores it on the next search otherwise
+                matchIndex.upsert(fresh);
+            } else {
+                current.add(match);
+            }
+        }
+        if (current.size() < matches.size()) {
+            log.debug("Corrected {} stale bedarfs in the match index", matches.size() - current.size());
+        }
+        return current;
+    }
+
+    /**
+     * Validates the offer, applies the default search radius and geocodes the address
+     * unless coordinates were provided explicitly.
+     * @param offer the offer to prepare
+     * @return the offer ready for scoring
+     * @throws IllegalArgumentException if validation fails
+     */
+    private CrewOffer prepareOffer(CrewOffer offer) {
+        if (offer.getHolzbauAnzahl() < 0 || offer.getZimmermannAnzahl() < 0) {
+            throw new IllegalArgumentException("Worker counts must be non-negative");
+        }
+        if (offer.getTotalWorkers() == 0) {
+            throw new IllegalArgumentException("At least one worker type must be specified");
+        }
+        if (offer.getDatumVon() == null || offer.getDatumBis() == null) {
+            throw new IllegalArgumentException("Start and end date are required");
+        }
+        if (offer.getDatumBis().isBefore(offer.getDatumVon())) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (offer.getMaxDistanceKm() < 0 || offer.getMaxDistanceKm() > MAX_DISTANCE_KM) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_DISTANCE_KM + " km");
+        }
+
+        CrewOffer.CrewOfferBuilder prepared = offer.toBuilder();
+        if (offer.getMaxDistanceKm() == 0) {
+            prepared.maxDistanceKm(DEFAULT_MAX_DISTANCE_KM);
+        }
+        if (offer.getLocation().isEmpty() && offer.getAdresse() != null && !offer.getAdresse().isBlank()) {
+            geocoder.geocode(offer.getAdresse()).ifPresent(prepared::location);
+        }
+        return prepared.build();
+    }
+}
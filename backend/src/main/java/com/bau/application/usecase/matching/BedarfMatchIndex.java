@@ -0,0 +1,175 @@
+package com.bau.application.usecase.matching;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.matching.BedarfMatch;
+import com.bau.application.domain.matching.CrewOffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of active bedarfe used for matching crew offers.
+ * Entries are bucketed by start date so a search only visits bedarfe starting before the
+ * offer ends. Reads are lock-free and see one consistent snapshot; writes are serialized and kept
+ * current by {@link com.bau.application.usecase.BedarfService}. A rebuild fills a new snapshot and
+ * swaps it in, replaying the writes made since {@link #beginRebuild()}. Each application instance
+ * holds its own index. Changes made through another instance or by the expiry and archive jobs
+ * reach it when {@link com.bau.application.usecase.BedarfIndexService} reloads it; until then
+ * {@link com.bau.application.usecase.MatchingService} re-reads the matches it returns.
+ */
+@Component
+@Slf4j
+public class BedarfMatchIndex {
+
+    static final Comparator<BedarfMatch> RANKING = Comparator
+            .comparingDouble(BedarfMatch::score).reversed()
+            .thenComparing(match -> match.bedarf().getId());
+
+    /**
+     * Index content, replaced as a whole on rebuild.
+     */
+    private record Snapshot(Map<UUID, Bedarf> byId, ConcurrentNavigableMap<LocalDate, Map<UUID, Bedarf>> byStartDate) {
+
+        Snapshot() {
+            this(new ConcurrentHashMap<>(), new ConcurrentSkipListMap<>());
+        }
+
+        void put(Bedarf bedarf) {
+            remove(bedarf.getId());
+            byId.put(bedarf.getId(), bedarf);
+            byStartDate.computeIfAbsent(bedarf.getDatumVon(), date -> new ConcurrentHashMap<>())
+                    .put(bedarf.getId(), bedarf);
+        }
+
+        void remove(UUID id) {
+            Bedarf previous = byId.remove(id);
+            if (previous == null) {
+                return;
+            }
+            byStartDate.computeIfPresent(previous.getDatumVon(), (date, bucket) -> {
+                bucket.remove(id);
+                return bucket.isEmpty() ? null : bucket;
+            });
+        }
+    }
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    /**
+     * Writes made since {@link #beginRebuild()} by bedarf ID, null values for removals;
+     * null while no rebuild is running. Guarded by this.
+     */
+    private Map<UUID, Bedarf> pendingWrites;
+
+    /**
+     * Adds or replaces a bedarf. Bedarfe that are not active are removed instead.
+     * @param bedarf the saved bedarf
+     */
+    public synchronized void upsert(Bedarf bedarf) {
+        if (bedarf.getId() == null) {
+            return;
+        }
+        Bedarf indexed = indexable(bedarf) ? bedarf.toBuilder().build() : null;
+        if (pendingWrites != null) {
+            pendingWrites.put(bedarf.getId(), indexed);
+        }
+        apply(snapshot, bedarf.getId(), indexed);
+    }
+
+    /**
+     * Removes a bedarf from the index.
+     * @param id the bedarf ID
+     */
+    public synchronized void remove(UUID id) {
+        if (pendingWrites != null) {
+            pendingWrites.put(id, null);
+        }
+        snapshot.remove(id);
+    }
+
+    /**
+     * Starts recording writes so that {@link #rebuild(Collection)} can replay those made after
+     * its bedarfs were loaded. Call before loading them.
+     */
+    public synchronized void beginRebuild() {
+        pendingWrites = new LinkedHashMap<>();
+    }
+
+    /**
+     * Replaces the whole index content, keeping writes made since {@link #beginRebuild()}.
+     * @param bedarfs the bedarfs to index
+     */
+    public void rebuild(Collection<Bedarf> bedarfs) {
+        Snapshot rebuilt = new Snapshot();
+        bedarfs.stream()
+                .filter(bedarf -> bedarf.getId() != null && indexable(bedarf))
+                .forEach(bedarf -> rebuilt.put(bedarf.toBuilder().build()));
+        synchronized (this) {
+            if (pendingWrites != null) {
+                pendingWrites.forEach((id, bedarf) -> apply(rebuilt, id, bedarf));
+                pendingWrites = null;
+            }
+            snapshot = rebuilt;
+        }
+        log.debug("Indexed {} active bedarfs for matching", rebuilt.byId().size());
+    }
+
+    private static boolean indexable(Bedarf bedarf) {
+        return bedarf.getStatus() == BedarfStatus.AKTIV
+                && bedarf.getDatumVon() != null && bedarf.getDatumBis() != null;
+    }
+
+    private static void apply(Snapshot target, UUID id, Bedarf bedarf) {
+        if (bedarf == null) {
+            target.remove(id);
+        } else {
+            target.put(bedarf);
+        }
+    }
+
+    /**
+     * Gets the number of indexed bedarfs.
+     * @return the index size
+     */
+    public int size() {
+        return snapshot.byId().size();
+    }
+
+    /**
+     * Scores all bedarfs overlapping the offer's period and keeps the best ones.
+     * @param offer the crew offer
+     * @param limit maximum number of matches
+     * @return matches ordered by descending score
+     */
+    public List<BedarfMatch> findTopMatches(CrewOffer offer, int limit) {
+        PriorityQueue<BedarfMatch> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (Map<UUID, Bedarf> bucket : snapshot.byStartDate().headMap(offer.getDatumBis(), true).values()) {
+            for (Bedarf bedarf : bucket.values()) {
+                BedarfMatch match = MatchScorer.score(offer, bedarf);
+                if (match == null) {
+                    continue;
+                }
+                best.offer(match);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        List<BedarfMatch> result = new ArrayList<>(best);
+        result.sort(RANKING);
+        return result;
+    }
+}
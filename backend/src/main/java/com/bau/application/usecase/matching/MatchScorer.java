@@ -0,0 +1,95 @@
+package com.bau.application.usecase.matching;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.geo.GeoPoint;
+import com.bau.application.domain.matching.BedarfMatch;
+import com.bau.application.domain.matching.CrewOffer;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Scores how well a crew offer fits a bedarf.
+ * The score is a weighted sum of date coverage, headcount coverage, proximity and
+ * equipment fit, each between 0 and 1.
+ */
+final class MatchScorer {
+    
+    static final double DATE_WEIGHT = 0.35;
+    static final double HEADCOUNT_WEIGHT = 0.30;
+    static final double DISTANCE_WEIGHT = 0.20;
+    static final double EQUIPMENT_WEIGHT = 0.15;
+    
+    /** Proximity score used when the offer or the bedarf has no coordinates. */
+    static final double UNKNOWN_DISTANCE_SCORE = 0.5;
+    
+    private MatchScorer() {
+    }
+    
+    /**
+     * Scores a bedarf against an offer.
+     * @param offer the crew offer
+     * @param bedarf the candidate bedarf
+     * @return the match, or null if the periods do not overlap, no offered worker fits
+     *         or the bedarf is out of range
+     */
+    static BedarfMatch score(CrewOffer offer, Bedarf bedarf) {
+        if (!bedarf.overlaps(offer.getDatumVon(), offer.getDatumBis())) {
+            return null;
+        }
+        
+        int holzbau = bedarf.getHolzbauAnzahl() != null ? bedarf.getHolzbauAnzahl() : 0;
+        int zimmermann = bedarf.getZimmermannAnzahl() != null ? bedarf.getZimmermannAnzahl() : 0;
+        int covered = Math.min(offer.getHolzbauAnzahl(), holzbau) + Math.min(offer.getZimmermannAnzahl(), zimmermann);
+        if (covered == 0) {
+            return null;
+        }
+        double headcountScore = (double) covered / (holzbau + zimmermann);
+        
+        Double distanceKm = null;
+        double distanceScore = UNKNOWN_DISTANCE_SCORE;
+        GeoPoint offerLocation = offer.getLocation().orElse(null);
+        if (offerLocation != null && bedarf.getLatitude() != null && bedarf.getLongitude() != null) {
+            distanceKm = offerLocation.distanceKm(new GeoPoint(bedarf.getLatitude(), bedarf.getLongitude()));
+            if (distanceKm > offer.getMaxDistanceKm()) {
+                return null;
+            }
+            distanceScore = 1 - distanceKm / offer.getMaxDistanceKm();
+        }
+        
+        double dateScore = dateCoverage(offer, bedarf);
+        double equipmentScore = equipmentFit(offer, bedarf);
+        
+        double score = DATE_WEIGHT * dateScore
+                + HEADCOUNT_WEIGHT * headcountScore
+                + DISTANCE_WEIGHT * distanceScore
+                + EQUIPMENT_WEIGHT * equipmentScore;
+        return new BedarfMatch(bedarf, score, distanceKm);
+    }
+    
+    /**
+     * Share of the bedarf's days that fall within the offered period.
+     */
+    private static double dateCoverage(CrewOffer offer, Bedarf bedarf) {
+        long bedarfDays = ChronoUnit.DAYS.between(bedarf.getDatumVon(), bedarf.getDatumBis()) + 1;
+        long overlapDays = Math.min(bedarf.getDatumBis().toEpochDay(), offer.getDatumBis().toEpochDay())
+                - Math.max(bedarf.getDatumVon().toEpochDay(), offer.getDatumVon().toEpochDay()) + 1;
+        return (double) overlapDays / bedarfDays;
+    }
+    
+    /**
+     * Share of the bedarf's tool and vehicle requirements the offer satisfies.
+     */
+    private static double equipmentFit(CrewOffer offer, Bedarf bedarf) {
+        int required = 0;
+        int satisfied = 0;
+        if (bedarf.requiresTools()) {
+            required++;
+            satisfied += offer.isMitWerkzeug() ? 1 : 0;
+        }
+        if (bedarf.requiresVehicle()) {
+            required++;
+            satisfied += offer.isMitFahrzeug() ? 1 : 0;
+        }
+        return required == 0 ? 1 : (double) satisfied / required;
+    }
+}
@@ -0,0 +1,24 @@
+package com.bau.shared.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcast channel used by near-caches to tell other application instances
+ * that a cached entry changed.
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * Publishes an invalidation to all subscribers of the cache, including the publisher.
+     * @param cacheName the cache name
+     * @param key the changed key
+     */
+    void publish(String cacheName, String key);
+
+    /**
+     * Registers a listener for invalidations of a cache.
+     * @param cacheName the cache name
+     * @param listener receives the changed keys
+     */
+    void subscribe(String cacheName, Consumer<String> listener);
+}
@@ -0,0 +1,122 @@
+package com.bau.shared.cache;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small thread-safe cache with a fixed capacity and a per-entry expiry time.
+ * When full, the least recently used entry is evicted; expired entries are dropped on access.
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized}: on Java 21 a virtual thread
+ * waiting for a contended monitor pins its carrier thread, and this cache is hit on every request.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringCache<K, V> {
+
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+
+    private final Clock clock;
+    private final Map<K, Entry<V>> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Creates a cache.
+     * @param maxSize maximum number of entries
+     * @param clock clock used to check expiry
+     */
+    public ExpiringCache(int maxSize, Clock clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets a value unless it is missing or expired.
+     * @param key the key
+     * @return the cached value
+     */
+    public Optional<V> get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (!entry.expiresAt().isAfter(clock.instant())) {
+                entries.remove(key);
+                return Optional.empty();
+            }
+            return Optional.of(entry.value());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a value until the given time. Values that are already expired are not stored.
+     * @param key the key
+     * @param value the value
+     * @param expiresAt the time after which the value is no longer returned
+     */
+    public void put(K key, V value, Instant expiresAt) {
+        lock.lock();
+        try {
+            if (expiresAt.isAfter(clock.instant())) {
+                entries.put(key, new Entry<>(value, expiresAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a value.
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of stored entries, including expired ones not yet dropped.
+     * @return the number of entries
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.bau.shared.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a message broker topic. Delivers invalidations synchronously
+ * to every subscriber in this JVM, which is enough for local development and tests.
+ * Multi-instance deployments replace this bean with a broker-backed implementation.
+ */
+@Component
+@Slf4j
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String cacheName, String key) {
+        log.debug("Broadcasting invalidation of {} in cache {}", key, cacheName);
+        listeners.getOrDefault(cacheName, List.of()).forEach(listener -> listener.accept(key));
+    }
+
+    @Override
+    public void subscribe(String cacheName, Consumer<String> listener) {
+        listeners.computeIfAbsent(cacheName, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+}
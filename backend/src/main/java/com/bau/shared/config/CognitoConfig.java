@@ -0,0 +1,94 @@
+package com.bau.shared.config;
+
+import com.bau.shared.monitoring.CognitoObservationInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClientBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * AWS Cognito client configuration.
+ * Provides one shared client per application with a connection pool, so requests reuse
+ * connections instead of paying a TLS handshake per call. The client is closed on shutdown.
+ * Unless instrumentation is turned off, every call is observed by {@link CognitoObservationInterceptor}.
+ */
+@Configuration
+public class CognitoConfig {
+    
+    @Value("${aws.cognito.region:eu-central-1}")
+    private String region;
+    
+    @Value("${aws.cognito.access-key-id:}")
+    private String accessKeyId;
+    
+    @Value("${aws.cognito.secret-access-key:}")
+    private String secretAccessKey;
+    
+    @Value("${aws.cognito.endpoint:}")
+    private String endpoint;
+    
+    @Value("${aws.cognito.http.max-connections:50}")
+    private int maxConnections;
+    
+    @Value("${aws.cognito.http.connection-timeout:2s}")
+    private Duration connectionTimeout;
+    
+    @Value("${aws.cognito.http.connection-acquisition-timeout:2s}")
+    private Duration connectionAcquisitionTimeout;
+    
+    @Value("${aws.cognito.http.socket-timeout:5s}")
+    private Duration socketTimeout;
+    
+    @Value("${aws.cognito.http.api-call-timeout:10s}")
+    private Duration apiCallTimeout;
+    
+    /**
+     * Shared blocking Cognito client backed by a pooled Apache HTTP client.
+     * 
+     * @param observationInterceptor the call observation, if instrumentation is enabled
+     * @return the Cognito client
+     */
+    @Bean(destroyMethod = "close")
+    public CognitoIdentityProviderClient cognitoIdentityProviderClient(
+            ObjectProvider<CognitoObservationInterceptor> observationInterceptor) {
+        return configure(CognitoIdentityProviderClient.builder(), observationInterceptor)
+                .httpClientBuilder(ApacheHttpClient.builder()
+                        .maxConnections(maxConnections)
+                        .connectionTimeout(connectionTimeout)
+                        .connectionAcquisitionTimeout(connectionAcquisitionTimeout)
+                        .socketTimeout(socketTimeout))
+                .build();
+    }
+    
+    /**
+     * Applies region, credentials, timeouts, the optional endpoint override and the optional
+     * observation interceptor.
+     * Without explicit credentials the default chain (IAM role, environment variables, etc.) is used.
+     */
+    private CognitoIdentityProviderClientBuilder configure(CognitoIdentityProviderClientBuilder builder,
+            ObjectProvider<CognitoObservationInterceptor> observationInterceptor) {
+        ClientOverrideConfiguration.Builder overrides = ClientOverrideConfiguration.builder()
+                .apiCallTimeout(apiCallTimeout);
+        observationInterceptor.ifAvailable(overrides::addExecutionInterceptor);
+        builder.region(Region.of(region))
+                .overrideConfiguration(overrides.build());
+        if (!accessKeyId.isEmpty() && !secretAccessKey.isEmpty()) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(accessKeyId, secretAccessKey)));
+        }
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        return builder;
+    }
+}
@@ -1,13 +1,30 @@
 package com.bau.shared.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
 /**
  * JPA configuration.
  * Enables JPA auditing for automatic timestamp management.
  */
 @Configuration
-@EnableJpaAuditing
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
 public class JpaConfig {
-} 
\ No newline at end of file
+    
+    /**
+     * Audit timestamps truncated to the database precision (microseconds), so that
+     * keyset cursors built from in-memory entities match the persisted values.
+     * 
+     * @return the date time provider
+     */
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+}
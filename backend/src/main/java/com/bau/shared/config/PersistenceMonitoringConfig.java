@@ -0,0 +1,55 @@
+package com.bau.shared.config;
+
+import com.bau.adapter.out.persistence.StatementCountingListener;
+import com.bau.shared.monitoring.StatementBudgetFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Persistence monitoring configuration.
+ * Counts the SQL statements executed per HTTP request and flags requests over the
+ * statement budget or the slow request duration.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "bau.persistence.monitoring", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class PersistenceMonitoringConfig {
+
+    /**
+     * Feeds the per-request statement count from the DataSource proxy that also records the
+     * JDBC spans, so every execution is counted, whether it comes from Hibernate or not.
+     *
+     * @return the query execution listener
+     */
+    @Bean
+    public QueryExecutionListener statementCountingListener() {
+        return new StatementCountingListener();
+    }
+
+    /**
+     * Wraps every request, including the security filters, in a statement count.
+     *
+     * @param meterRegistry the registry for the per-endpoint statement counts
+     * @param statementBudget statements a request may run before it is flagged
+     * @param slowRequest duration after which a request is flagged
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${bau.persistence.monitoring.statement-budget:20}") int statementBudget,
+            @Value("${bau.persistence.monitoring.slow-request:1s}") Duration slowRequest) {
+        FilterRegistrationBean<StatementBudgetFilter> registration = new FilterRegistrationBean<>(
+                new StatementBudgetFilter(meterRegistry, statementBudget, slowRequest));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
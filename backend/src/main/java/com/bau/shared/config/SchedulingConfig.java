@@ -0,0 +1,13 @@
+package com.bau.shared.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling configuration.
+ * Enables {@code @Scheduled} methods such as the bedarf expiry job.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
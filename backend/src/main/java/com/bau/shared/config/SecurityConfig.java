@@ -1,5 +1,6 @@
 package com.bau.shared.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -9,6 +10,9 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Set;
 
 /**
  * Security configuration for production with AWS Cognito JWT authentication.
@@ -23,15 +27,20 @@ public class SecurityConfig {
      * Security filter chain for production with JWT authentication.
      * 
      * @param http the HTTP security configuration
+     * @param managementPort the port of the actuator endpoints
      * @return the security filter chain
      * @throws Exception if configuration fails
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           @Value("${management.server.port}") int managementPort) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                // Health checks and Prometheus scrapes reach the management port from inside the VPC only;
+                // the load balancer forwards the application port alone
+                .requestMatchers(unauthenticatedActuator(managementPort)).permitAll()
                 .anyRequest().authenticated()
             )
             .oauth2ResourceServer(oauth2 -> oauth2
@@ -43,6 +52,18 @@ public class SecurityConfig {
         return http.build();
     }
     
+    /**
+     * Matches the actuator endpoints that are open without a token, on the management port only.
+     * The same paths on any other port still need authentication.
+     * 
+     * @param managementPort the port of the actuator endpoints
+     * @return the request matcher
+     */
+    private static RequestMatcher unauthenticatedActuator(int managementPort) {
+        Set<String> paths = Set.of("/actuator/health", "/actuator/prometheus");
+        return request -> request.getLocalPort() == managementPort && paths.contains(request.getRequestURI());
+    }
+    
     /**
      * JWT authentication converter for AWS Cognito.
      * 
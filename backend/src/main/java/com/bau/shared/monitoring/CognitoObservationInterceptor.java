@@ -0,0 +1,67 @@
+package com.bau.shared.monitoring;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * Observes every call the Cognito client makes as {@code bau.cognito}, tagged with the operation
+ * (such as {@code InitiateAuth}), the outcome and the error type. With tracing enabled each call
+ * is a span below the {@code CognitoUserService} span that issued it.
+ * The observation spans the whole SDK execution including retries. It is taken at the client
+ * rather than only around CognitoUserService, which turns failures into null or false results
+ * and would report them as successes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bau.metrics.instrumentation", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class CognitoObservationInterceptor implements ExecutionInterceptor {
+
+    static final String OBSERVATION = "bau.cognito";
+
+    private static final ExecutionAttribute<Observation> OBSERVATION_ATTRIBUTE =
+            new ExecutionAttribute<>("bau.cognito.observation");
+
+    private final ObservationRegistry observationRegistry;
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        String operation = String.valueOf(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME));
+        Observation observation = Observation.createNotStarted(OBSERVATION, observationRegistry)
+                .contextualName("Cognito." + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+        executionAttributes.putAttribute(OBSERVATION_ATTRIBUTE, observation);
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        stop(executionAttributes, null);
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        stop(executionAttributes, context.exception());
+    }
+
+    private void stop(ExecutionAttributes executionAttributes, Throwable error) {
+        Observation observation = executionAttributes.getAttribute(OBSERVATION_ATTRIBUTE);
+        if (observation == null) {
+            return;
+        }
+        if (error != null) {
+            observation.error(error);
+        }
+        observation.lowCardinalityKeyValue("outcome",
+                        error == null ? LayerObservationAspect.SUCCESS : LayerObservationAspect.ERROR)
+                .stop();
+    }
+}
@@ -0,0 +1,102 @@
+package com.bau.shared.monitoring;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Observes every call across a layer boundary of the hexagon: REST controllers as {@code bau.web},
+ * inbound use cases as {@code bau.usecase}, outbound ports (repositories, search index, geocoder,
+ * archive, job lock) as {@code bau.port} and the Cognito user service as {@code bau.service}.
+ * Each observation is recorded as a timer tagged with the implementing class, the method, the
+ * outcome and the error type, and, with tracing enabled, as a span named {@code Class.method}
+ * in the lower hyphen case of span names, such as {@code bedarf-service.get-bedarf-by-id}.
+ * Nested calls become child spans, so a slow request shows how its time splits between
+ * controller, use case, repository and the JDBC statements below it.
+ * Calls that return a {@link CompletionStage} are observed until the stage completes.
+ * Decorators count separately, so a cached repository call shows up under the caching class and,
+ * on a miss, also under the class it delegates to. Calls within the same object are not observed.
+ * Percentile histograms for the timers are configured with the {@code bau} prefix in
+ * {@code management.metrics.distribution}.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "bau.metrics.instrumentation", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class LayerObservationAspect {
+
+    static final String WEB_OBSERVATION = "bau.web";
+    static final String USE_CASE_OBSERVATION = "bau.usecase";
+    static final String PORT_OBSERVATION = "bau.port";
+    static final String SERVICE_OBSERVATION = "bau.service";
+
+    static final String SUCCESS = "success";
+    static final String ERROR = "error";
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("within(com.bau.adapter.in.web..*) "
+            + "&& @within(org.springframework.web.bind.annotation.RestController) "
+            + "&& execution(public * *(..))")
+    public Object observeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(WEB_OBSERVATION, joinPoint);
+    }
+
+    @Around("execution(* com.bau.application.port.in.*UseCase.*(..))")
+    public Object observeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(USE_CASE_OBSERVATION, joinPoint);
+    }
+
+    @Around("execution(* com.bau.application.port.out.*.*(..))")
+    public Object observeOutboundPort(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(PORT_OBSERVATION, joinPoint);
+    }
+
+    @Around("execution(public * com.bau.shared.service.CognitoUserService.*(..))")
+    public Object observeCognitoService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return observe(SERVICE_OBSERVATION, joinPoint);
+    }
+
+    private Object observe(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getTarget().getClass().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .contextualName(className + "." + method)
+                .lowCardinalityKeyValue("class", className)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        Object result;
+        try (Observation.Scope scope = observation.openScope()) {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            stop(observation, e);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            return stage.whenComplete((value, e) -> stop(observation, unwrap(e)));
+        }
+        stop(observation, null);
+        return result;
+    }
+
+    private static void stop(Observation observation, Throwable error) {
+        if (error != null) {
+            observation.error(error);
+        }
+        observation.lowCardinalityKeyValue("outcome", error == null ? SUCCESS : ERROR)
+                .stop();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
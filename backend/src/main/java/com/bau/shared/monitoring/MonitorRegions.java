@@ -0,0 +1,165 @@
+package com.bau.shared.monitoring;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Tells whether a stack frame holds a monitor: anywhere in a {@code synchronized} method, or
+ * within the body of a {@code synchronized} block. javac guards the body of a block with a
+ * catch-any handler whose range starts right after the {@code monitorenter}, which is how the
+ * bodies are found in the bytecode. Frames are matched by source line, as JFR reports exact line
+ * numbers but not always exact bytecode indexes. Classes are read once, on first use.
+ */
+@Slf4j
+class MonitorRegions {
+
+    /**
+     * Bytecode range [start, end) of a synchronized block body.
+     */
+    private record Region(int start, int end) {}
+
+    /**
+     * Label that remembers its bytecode offset, which ASM only resolves when writing classes.
+     */
+    private static final class OffsetLabel extends Label {
+
+        private final int offset;
+
+        OffsetLabel(int offset) {
+            this.offset = offset;
+        }
+    }
+
+    private final Map<String, Map<String, Set<Integer>>> linesByClass = new ConcurrentHashMap<>();
+
+    /**
+     * Checks whether a frame holds a monitor at its current line.
+     * @param frame the frame of a recorded stack trace
+     * @return true if the method is synchronized or the frame is inside a synchronized block
+     */
+    boolean holdsMonitor(RecordedFrame frame) {
+        RecordedMethod method = frame.getMethod();
+        if (Modifier.isSynchronized(method.getModifiers())) {
+            return true;
+        }
+        return linesByClass.computeIfAbsent(method.getType().getName(), MonitorRegions::read)
+                .getOrDefault(method.getName() + method.getDescriptor(), Set.of())
+                .contains(frame.getLineNumber());
+    }
+
+    /**
+     * Reads the lines of the synchronized block bodies of all methods of a class, keyed by name and descriptor.
+     */
+    private static Map<String, Set<Integer>> read(String className) {
+        String resource = className.replace('.', '/') + ClassUtils.CLASS_FILE_SUFFIX;
+        try (InputStream in = ClassUtils.getDefaultClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                return Map.of();
+            }
+            Map<String, Set<Integer>> lines = new HashMap<>();
+            new ClassReader(in) {
+                @Override
+                protected Label readLabel(int bytecodeOffset, Label[] labels) {
+                    if (labels[bytecodeOffset] == null) {
+                        labels[bytecodeOffset] = new OffsetLabel(bytecodeOffset);
+                    }
+                    return labels[bytecodeOffset];
+                }
+            }.accept(new ClassVisitor(SpringAsmInfo.ASM_VERSION) {
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor,
+                                                 String signature, String[] exceptions) {
+                    return new SynchronizedBlockVisitor(methodLines -> lines.put(name + descriptor, methodLines));
+                }
+            }, ClassReader.SKIP_FRAMES);
+            return lines;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not read synchronized blocks of {}", className, e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Collects the lines of the catch-any ranges of a method that start right after a {@code monitorenter}.
+     */
+    private static final class SynchronizedBlockVisitor extends MethodVisitor {
+
+        private final Consumer<Set<Integer>> result;
+        private final List<Region> catchAnyRanges = new ArrayList<>();
+        private final TreeMap<Integer, Integer> lineStarts = new TreeMap<>();
+        private final Set<Integer> monitorEnterEnds = new HashSet<>();
+        private boolean afterMonitorEnter;
+
+        SynchronizedBlockVisitor(Consumer<Set<Integer>> result) {
+            super(SpringAsmInfo.ASM_VERSION);
+            this.result = result;
+        }
+
+        @Override
+        public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+            if (type == null && start instanceof OffsetLabel from && end instanceof OffsetLabel to) {
+                catchAnyRanges.add(new Region(from.offset, to.offset));
+            }
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            afterMonitorEnter = opcode == Opcodes.MONITORENTER;
+        }
+
+        @Override
+        public void visitLabel(Label label) {
+            if (afterMonitorEnter && label instanceof OffsetLabel at) {
+                monitorEnterEnds.add(at.offset);
+            }
+            afterMonitorEnter = false;
+        }
+
+        @Override
+        public void visitLineNumber(int line, Label start) {
+            if (start instanceof OffsetLabel at) {
+                lineStarts.put(at.offset, line);
+            }
+        }
+
+        @Override
+        public void visitEnd() {
+            Set<Integer> lines = new HashSet<>();
+            for (Region region : catchAnyRanges) {
+                if (!monitorEnterEnds.contains(region.start())) {
+                    continue;
+                }
+                // The line the body starts on, and every line starting within it
+                Map.Entry<Integer, Integer> first = lineStarts.floorEntry(region.start());
+                if (first != null) {
+                    lines.add(first.getValue());
+                }
+                lines.addAll(lineStarts.subMap(region.start(), region.end()).values());
+            }
+            if (!lines.isEmpty()) {
+                result.accept(lines);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.bau.shared.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Counts the SQL statements each HTTP request runs and flags requests that exceed the statement
+ * budget or the slow request duration, which is how N+1 lookups and chatty write paths show up.
+ * The count of every request is recorded as {@code bau.request.statements}, tagged with the method
+ * and the matched URI pattern, so endpoints can be compared. A request over budget is logged as a
+ * warning and counted in {@code bau.request.over.budget}, tagged with the reason.
+ * The count is also left in the request attribute {@link #STATEMENT_COUNT_ATTRIBUTE}.
+ * Only statements run on the request thread are counted, not those of a streamed response body.
+ */
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_ATTRIBUTE = StatementBudgetFilter.class.getName() + ".statements";
+
+    static final String STATEMENTS_METRIC = "bau.request.statements";
+    static final String OVER_BUDGET_METRIC = "bau.request.over.budget";
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final Duration slowRequest;
+
+    public StatementBudgetFilter(MeterRegistry meterRegistry, int statementBudget, Duration slowRequest) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.slowRequest = slowRequest;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        StatementCounter.Count count = StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            count.close();
+            record(request, count.statements(), Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private void record(HttpServletRequest request, int statements, Duration duration) {
+        request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, statements);
+        String method = request.getMethod();
+        String uri = uri(request);
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements run per HTTP request")
+                .baseUnit("statements")
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1000.0)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements);
+
+        boolean overStatements = statements > statementBudget;
+        boolean overDuration = duration.compareTo(slowRequest) > 0;
+        if (!overStatements && !overDuration) {
+            return;
+        }
+        log.warn("{} {} ran {} SQL statements in {} ms (budget {} statements, {} ms)",
+                method, uri, statements, duration.toMillis(), statementBudget, slowRequest.toMillis());
+        if (overStatements) {
+            countOverBudget(method, uri, "statements");
+        }
+        if (overDuration) {
+            countOverBudget(method, uri, "duration");
+        }
+    }
+
+    private void countOverBudget(String method, String uri, String reason) {
+        meterRegistry.counter(OVER_BUDGET_METRIC, "method", method, "uri", uri, "reason", reason).increment();
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_URI;
+    }
+}
@@ -0,0 +1,80 @@
+package com.bau.shared.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Counts the SQL statements the current thread runs while a {@link Count} is open.
+ * Counts can be nested; a statement is added to every count open on the thread, so a count
+ * taken around part of a request does not hide those statements from the request's count.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<Deque<Count>> OPEN_COUNTS = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Opens a count on the current thread. It must be closed on the same thread.
+     * @return the open count
+     */
+    public static Count start() {
+        Deque<Count> counts = OPEN_COUNTS.get();
+        if (counts == null) {
+            counts = new ArrayDeque<>();
+            OPEN_COUNTS.set(counts);
+        }
+        Count count = new Count();
+        counts.push(count);
+        return count;
+    }
+
+    /**
+     * Adds one statement to every count open on the current thread; does nothing if none is open.
+     */
+    public static void record() {
+        record(1);
+    }
+
+    /**
+     * Adds statements to every count open on the current thread; does nothing if none is open.
+     * @param statements the number of statements executed, e.g. the size of a batch
+     */
+    public static void record(int statements) {
+        Deque<Count> counts = OPEN_COUNTS.get();
+        if (counts != null) {
+            counts.forEach(count -> count.statements += statements);
+        }
+    }
+
+    /**
+     * The statements run on a thread between {@link #start()} and {@link #close()}.
+     */
+    public static final class Count implements AutoCloseable {
+
+        private int statements;
+
+        private Count() {
+        }
+
+        /**
+         * @return the number of statements recorded so far
+         */
+        public int statements() {
+            return statements;
+        }
+
+        @Override
+        public void close() {
+            Deque<Count> counts = OPEN_COUNTS.get();
+            if (counts == null) {
+                return;
+            }
+            counts.remove(this);
+            if (counts.isEmpty()) {
+                OPEN_COUNTS.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.bau.shared.monitoring;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records where virtual threads get pinned to their carrier thread.
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event, which Java 21 emits when a virtual
+ * thread blocks inside a {@code synchronized} block or a native frame for longer than the
+ * threshold. Each event is attributed to the innermost application frame holding a monitor, so
+ * the report points at the {@code synchronized} section in our call path rather than at the
+ * blocking call inside it or at the JDK. Without such a frame, as when a native frame pins, the
+ * innermost application frame is reported.
+ * The report is available at the {@code pinning} actuator endpoint.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(prefix = "bau.virtual-threads.pinning-monitor", name = "enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.bau.";
+    private static final String UNKNOWN_SITE = "(outside application code)";
+
+    /**
+     * Pinning observed at one code location.
+     * @param site the application frame holding the monitor, as class.method:line
+     * @param count number of pinned blocks
+     * @param totalMillis summed duration of all pinned blocks
+     * @param maxMillis longest pinned block
+     */
+    public record PinnedSite(String site, long count, long totalMillis, long maxMillis) {
+
+        PinnedSite add(long millis) {
+            return new PinnedSite(site, count + 1, totalMillis + millis, Math.max(maxMillis, millis));
+        }
+    }
+
+    private final Duration threshold;
+    private final Map<String, PinnedSite> sites = new ConcurrentHashMap<>();
+    private final MonitorRegions monitorRegions = new MonitorRegions();
+    private volatile RecordingStream stream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(
+            @Value("${bau.virtual-threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+        log.info("Recording virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Pinning observed since startup, most frequent site first.
+     * @return the pinned sites
+     */
+    @ReadOperation
+    public List<PinnedSite> report() {
+        return sites.values().stream()
+                .sorted(Comparator.comparingLong(PinnedSite::count).reversed()
+                        .thenComparing(PinnedSite::site))
+                .toList();
+    }
+
+    private void record(RecordedEvent event) {
+        String site = applicationFrame(event);
+        long millis = event.getDuration().toMillis();
+        sites.merge(site, new PinnedSite(site, 1, millis, millis),
+                (existing, added) -> existing.add(millis));
+        log.warn("Virtual thread {} pinned for {} ms at {}",
+                event.getThread() != null ? event.getThread().getJavaName() : "?", millis, site);
+    }
+
+    private String applicationFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return UNKNOWN_SITE;
+        }
+        RecordedFrame innermost = null;
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            if (!frame.isJavaFrame() || !frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                continue;
+            }
+            if (monitorRegions.holdsMonitor(frame)) {
+                return site(frame);
+            }
+            if (innermost == null) {
+                innermost = frame;
+            }
+        }
+        return innermost != null ? site(innermost) : UNKNOWN_SITE;
+    }
+
+    private static String site(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.time.Instant;
 import java.util.List;
@@ -19,11 +21,20 @@ import java.util.UUID;
 /**
  * Service for extracting authentication context from JWT tokens.
  * Handles AWS Cognito JWT token claims and converts them to application domain objects.
+ * The user built from a token is memoized for the current request, so claims are extracted
+ * once per request rather than once per call.
  */
 @Service
 @Slf4j
 public class AuthenticationContextService {
 
+    private static final String REQUEST_MEMO_ATTRIBUTE = AuthenticationContextService.class.getName() + ".user";
+
+    /**
+     * User extracted for the current request, bound to the token it came from.
+     */
+    private record RequestMemo(Jwt jwt, Optional<User> user) {}
+
     /**
      * Data structure to hold JWT claims extracted from different token types.
      */
@@ -54,7 +65,7 @@ public class AuthenticationContextService {
         
         // Check if we have a JWT token
         if (authentication.getPrincipal() instanceof Jwt jwt) {
-            return extractUserFromJwt(jwt);
+            return getUserForJwt(jwt).map(user -> user.toBuilder().build());
         }
         
         log.debug("Authentication principal is not a JWT token: {}", authentication.getPrincipal().getClass());
@@ -127,6 +138,27 @@ public class AuthenticationContextService {
                 .orElse(false);
     }
     
+    /**
+     * Resolve the user for a token from the request memo, or from the claims if not yet memoized.
+     * 
+     * @param jwt the JWT token
+     * @return Optional containing the user, or empty if extraction fails
+     */
+    private Optional<User> getUserForJwt(Jwt jwt) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(REQUEST_MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RequestMemo memo
+                && memo.jwt() == jwt) {
+            return memo.user();
+        }
+        
+        Optional<User> user = extractUserFromJwt(jwt);
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, new RequestMemo(jwt, user), RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
     /**
      * Extract user information from JWT token.
      * 
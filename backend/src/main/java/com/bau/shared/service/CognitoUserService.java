@@ -4,9 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
 import software.amazon.awssdk.services.cognitoidentityprovider.model.*;
 
@@ -18,20 +15,14 @@ import java.util.Map;
 /**
  * Service for AWS Cognito user management operations.
  * Handles operations like password changes, user updates, and other Cognito-specific functionality.
+ * Uses the shared client from {@link com.bau.shared.config.CognitoConfig}.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CognitoUserService {
     
-    @Value("${aws.cognito.region:eu-central-1}")
-    private String region;
-    
-    @Value("${aws.cognito.access-key-id:}")
-    private String accessKeyId;
-    
-    @Value("${aws.cognito.secret-access-key:}")
-    private String secretAccessKey;
+    private final CognitoIdentityProviderClient cognitoClient;
     
     @Value("${aws.cognito.user-pool-id}")
     private String userPoolId;
@@ -42,22 +33,6 @@ public class CognitoUserService {
     @Value("${aws.cognito.client-secret:}")
     private String clientSecret;
     
-    private CognitoIdentityProviderClient createCognitoClient() {
-        if (accessKeyId.isEmpty() || secretAccessKey.isEmpty()) {
-            // Use default credentials chain (IAM role, environment variables, etc.)
-            return CognitoIdentityProviderClient.builder()
-                .region(Region.of(region))
-                .build();
-        } else {
-            // Use explicit credentials
-            return CognitoIdentityProviderClient.builder()
-                .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(
-                    AwsBasicCredentials.create(accessKeyId, secretAccessKey)))
-                .build();
-        }
-    }
-    
     /**
      * Authenticate user with AWS Cognito using username/password.
      * 
@@ -68,32 +43,9 @@ public class CognitoUserService {
     public AuthenticationResultType authenticateUser(String username, String password) {
         log.info("Attempting to authenticate user: {}", username);
         
-        try (CognitoIdentityProviderClient cognitoClient = createCognitoClient()) {
-            
-            Map<String, String> authParams = new HashMap<>();
-            authParams.put("USERNAME", username);
-            authParams.put("PASSWORD", password);
-            
-            if (!clientSecret.isEmpty()) {
-                authParams.put("SECRET_HASH", calculateSecretHash(username));
-            }
-            
-            InitiateAuthRequest authRequest = InitiateAuthRequest.builder()
-                .authFlow(AuthFlowType.USER_PASSWORD_AUTH)
-                .clientId(clientId)
-                .authParameters(authParams)
-                .build();
-            
-            InitiateAuthResponse response = cognitoClient.initiateAuth(authRequest);
-            
-            if (response.authenticationResult() != null) {
-                log.info("User authenticated successfully: {}", username);
-                return response.authenticationResult();
-            } else {
-                log.warn("Authentication failed for user: {}", username);
-                return null;
-            }
-            
+        try {
+            InitiateAuthResponse response = cognitoClient.initiateAuth(buildAuthRequest(username, password));
+            return toAuthenticationResult(username, response);
         } catch (NotAuthorizedException e) {
             log.warn("Authentication failed for user: {} - {}", username, e.getMessage());
             return null;
@@ -103,6 +55,37 @@ public class CognitoUserService {
         }
     }
     
+    /**
+     * Build the USER_PASSWORD_AUTH request, including the secret hash if a client secret is configured.
+     */
+    private InitiateAuthRequest buildAuthRequest(String username, String password) {
+        Map<String, String> authParams = new HashMap<>();
+        authParams.put("USERNAME", username);
+        authParams.put("PASSWORD", password);
+        
+        if (!clientSecret.isEmpty()) {
+            authParams.put("SECRET_HASH", calculateSecretHash(username));
+        }
+        
+        return InitiateAuthRequest.builder()
+            .authFlow(AuthFlowType.USER_PASSWORD_AUTH)
+            .clientId(clientId)
+            .authParameters(authParams)
+            .build();
+    }
+    
+    /**
+     * Extract the tokens from the auth response, null if Cognito issued a challenge instead.
+     */
+    private AuthenticationResultType toAuthenticationResult(String username, InitiateAuthResponse response) {
+        if (response.authenticationResult() != null) {
+            log.info("User authenticated successfully: {}", username);
+            return response.authenticationResult();
+        }
+        log.warn("Authentication failed for user: {}", username);
+        return null;
+    }
+    
     /**
      * Change user password in AWS Cognito.
      * 
@@ -114,8 +97,7 @@ public class CognitoUserService {
     public boolean changePassword(String currentPassword, String newPassword, String accessToken) {
         log.info("Attempting to change password via AWS Cognito");
         
-        try (CognitoIdentityProviderClient cognitoClient = createCognitoClient()) {
-            
+        try {
             ChangePasswordRequest changePasswordRequest = ChangePasswordRequest.builder()
                 .accessToken(accessToken)
                 .previousPassword(currentPassword)
@@ -144,8 +126,7 @@ public class CognitoUserService {
     public boolean updateUserAttributes(String accessToken, String firstName, String lastName, String email) {
         log.info("Attempting to update user attributes via AWS Cognito");
         
-        try (CognitoIdentityProviderClient cognitoClient = createCognitoClient()) {
-            
+        try {
             List<AttributeType> attributes = new ArrayList<>();
             if (firstName != null) {
                 attributes.add(AttributeType.builder()
@@ -191,8 +172,7 @@ public class CognitoUserService {
     public boolean globalSignOut(String accessToken) {
         log.info("Attempting global sign out via AWS Cognito");
         
-        try (CognitoIdentityProviderClient cognitoClient = createCognitoClient()) {
-            
+        try {
             GlobalSignOutRequest signOutRequest = GlobalSignOutRequest.builder()
                 .accessToken(accessToken)
                 .build();
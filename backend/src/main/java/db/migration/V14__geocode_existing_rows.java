@@ -0,0 +1,80 @@
+package db.migration;
+
+import com.bau.adapter.out.geocoding.OfflineGeocoder;
+import com.bau.application.domain.geo.GeoHash;
+import com.bau.application.domain.geo.GeoPoint;
+import com.bau.application.port.out.Geocoder;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Geocodes the bedarfs and betriebe stored before V3 added coordinates, so they show up in
+ * proximity searches. Since then the services geocode on every save; rows written earlier have
+ * no coordinates and, for bedarfs, no geohash. Uses the offline geocoder, as the migration runs
+ * before the application context exists. Rows are read in batches in id order; addresses the
+ * geocoder cannot resolve stay without coordinates, as they would when saved today.
+ */
+@Slf4j
+public class V14__geocode_existing_rows extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final Geocoder geocoder = new OfflineGeocoder();
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        int bedarfs = backfill(jdbcTemplate, "bedarf",
+                "UPDATE bedarf SET latitude = ?, longitude = ?, geohash = ? WHERE id = ?",
+                (id, location) -> new Object[] {location.latitude(), location.longitude(),
+                        GeoHash.encode(location, GeoHash.STORED_PRECISION), id});
+        int betriebe = backfill(jdbcTemplate, "betrieb",
+                "UPDATE betrieb SET latitude = ?, longitude = ? WHERE id = ?",
+                (id, location) -> new Object[] {location.latitude(), location.longitude(), id});
+        log.info("Geocoded {} existing bedarfs and {} existing betriebe", bedarfs, betriebe);
+    }
+
+    /**
+     * Geocodes all rows of a table without coordinates.
+     * @return the number of rows that got coordinates
+     */
+    private int backfill(JdbcTemplate jdbcTemplate, String table, String update, UpdateArguments arguments) {
+        String select = "SELECT id, adresse FROM " + table
+                + " WHERE latitude IS NULL AND id > ? ORDER BY id LIMIT " + BATCH_SIZE;
+        UUID after = new UUID(0, 0);
+        int located = 0;
+        List<Row> batch;
+        do {
+            batch = jdbcTemplate.query(select,
+                    (rs, rowNum) -> new Row(rs.getObject("id", UUID.class), rs.getString("adresse")), after);
+            List<Object[]> updates = new ArrayList<>();
+            for (Row row : batch) {
+                Optional<GeoPoint> location = geocoder.geocode(row.adresse());
+                location.ifPresent(point -> updates.add(arguments.of(row.id(), point)));
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(update, updates);
+                located += updates.size();
+            }
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return located;
+    }
+
+    private record Row(UUID id, String adresse) {}
+
+    @FunctionalInterface
+    private interface UpdateArguments {
+        Object[] of(UUID id, GeoPoint location);
+    }
+}
@@ -0,0 +1,36 @@
+-- Cold storage for closed bedarfe. The archive job moves completed and cancelled bedarfe out of
+-- the hot bedarf table once their period is past the retention, so the heap and every index of
+-- bedarf only carry rows that list, match and search queries can still return.
+-- The archive is range-partitioned by end date, one partition per year. Old years can be
+-- detached or dropped as a whole; bedarfe beyond the listed years land in the default partition.
+-- The partition key has to be part of the primary key; lookups by ID use its leading column.
+CREATE TABLE bedarf_archive (
+    id UUID NOT NULL,
+    betrieb_id UUID NOT NULL,
+    holzbau_anzahl INTEGER NOT NULL,
+    zimmermann_anzahl INTEGER NOT NULL,
+    datum_von DATE NOT NULL,
+    datum_bis DATE NOT NULL,
+    adresse TEXT NOT NULL,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    geohash VARCHAR(12) COLLATE "C",
+    mit_werkzeug BOOLEAN,
+    mit_fahrzeug BOOLEAN,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, datum_bis)
+) PARTITION BY RANGE (datum_bis);
+
+CREATE TABLE bedarf_archive_2023 PARTITION OF bedarf_archive FOR VALUES FROM ('2023-01-01') TO ('2024-01-01');
+CREATE TABLE bedarf_archive_2024 PARTITION OF bedarf_archive FOR VALUES FROM ('2024-01-01') TO ('2025-01-01');
+CREATE TABLE bedarf_archive_2025 PARTITION OF bedarf_archive FOR VALUES FROM ('2025-01-01') TO ('2026-01-01');
+CREATE TABLE bedarf_archive_2026 PARTITION OF bedarf_archive FOR VALUES FROM ('2026-01-01') TO ('2027-01-01');
+CREATE TABLE bedarf_archive_2027 PARTITION OF bedarf_archive FOR VALUES FROM ('2027-01-01') TO ('2028-01-01');
+CREATE TABLE bedarf_archive_default PARTITION OF bedarf_archive DEFAULT;
+
+-- Closed bedarfe by end date, for the archive job to find the next batch to move
+CREATE INDEX idx_bedarf_closed_datum_bis ON bedarf(datum_bis) WHERE status IN ('ABGESCHLOSSEN', 'STORNIERT');
@@ -0,0 +1,8 @@
+-- Last progress of an import job. Running jobs are saved after every batch, so a running job
+-- that has not been updated for a while lost its worker (e.g. the instance was killed) and is
+-- failed by the next instance that starts.
+ALTER TABLE bedarf_import_job ADD COLUMN updated_at TIMESTAMP;
+UPDATE bedarf_import_job SET updated_at = COALESCE(finished_at, started_at);
+ALTER TABLE bedarf_import_job ALTER COLUMN updated_at SET NOT NULL;
+
+CREATE INDEX idx_bedarf_import_job_running ON bedarf_import_job(updated_at) WHERE status = 'RUNNING';
@@ -0,0 +1,10 @@
+-- The status checks of V1 predate the domain enums: betrieb only allowed 'INACTIV' while
+-- BetriebStatus stores INAKTIV and GESPERRT, and bedarf rejected IN_BEARBEITUNG and STORNIERT.
+ALTER TABLE betrieb DROP CONSTRAINT betrieb_status_check;
+UPDATE betrieb SET status = 'INAKTIV' WHERE status = 'INACTIV';
+ALTER TABLE betrieb ADD CONSTRAINT betrieb_status_check
+    CHECK (status IN ('AKTIV', 'INAKTIV', 'GESPERRT'));
+
+ALTER TABLE bedarf DROP CONSTRAINT bedarf_status_check;
+ALTER TABLE bedarf ADD CONSTRAINT bedarf_status_check
+    CHECK (status IN ('AKTIV', 'IN_BEARBEITUNG', 'ABGESCHLOSSEN', 'STORNIERT'));
@@ -0,0 +1,3 @@
+-- Archived bedarfe by betrieb, for listing a betrieb's bedarfe including the archive and for
+-- deleting them together with their betrieb. Created on the parent, so every partition gets one.
+CREATE INDEX idx_bedarf_archive_betrieb_id ON bedarf_archive(betrieb_id);
@@ -0,0 +1,3 @@
+-- Keyset pagination for the bedarf list seeks on (created_at, id), newest first.
+-- This index lets the list query stop after LIMIT rows instead of sorting the table.
+CREATE INDEX idx_bedarf_created_at_id ON bedarf(created_at DESC, id DESC);
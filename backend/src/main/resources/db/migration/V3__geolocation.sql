@@ -0,0 +1,11 @@
+-- Geocoded coordinates for proximity search
+ALTER TABLE bedarf ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE bedarf ADD COLUMN longitude DOUBLE PRECISION;
+
+-- Geohash of the coordinates; radius queries become a few prefix range scans on this index.
+-- Byte-wise collation keeps range comparisons consistent with geohash prefix semantics.
+ALTER TABLE bedarf ADD COLUMN geohash VARCHAR(12) COLLATE "C";
+CREATE INDEX idx_bedarf_geohash ON bedarf(geohash) WHERE geohash IS NOT NULL;
+
+ALTER TABLE betrieb ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE betrieb ADD COLUMN longitude DOUBLE PRECISION;
@@ -0,0 +1,4 @@
+-- Overlap queries ("which bedarfe share a day with my free window") use the inclusive
+-- daterange of each bedarf. A GiST index on that expression answers the && operator
+-- without scanning every row whose start date lies before the window end.
+CREATE INDEX idx_bedarf_datum_range ON bedarf USING gist (daterange(datum_von, datum_bis, '[]'));
@@ -0,0 +1,23 @@
+-- CSV imports run in the background; their progress is stored so that any instance
+-- behind the load balancer can answer a poll for it.
+CREATE TABLE bedarf_import_job (
+    id UUID PRIMARY KEY,
+    betrieb_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    imported_rows BIGINT NOT NULL DEFAULT 0,
+    failed_rows BIGINT NOT NULL DEFAULT 0,
+    failure_reason VARCHAR(1000),
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+-- Rejected rows, capped per job by bau.import.max-errors
+CREATE TABLE bedarf_import_error (
+    id UUID PRIMARY KEY,
+    job_id UUID NOT NULL REFERENCES bedarf_import_job(id) ON DELETE CASCADE,
+    csv_row BIGINT NOT NULL,
+    message VARCHAR(1000) NOT NULL
+);
+
+CREATE INDEX idx_bedarf_import_error_job ON bedarf_import_error(job_id, csv_row);
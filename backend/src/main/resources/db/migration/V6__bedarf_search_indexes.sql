@@ -0,0 +1,10 @@
+-- Full-text search over bedarf addresses and company names.
+-- The 'simple' configuration neither stems nor drops stop words, which suits place and
+-- street names; prefix queries (bahnhof:*) serve type-ahead. Trigram indexes answer the
+-- approximate word match (%>) used for misspelled Swiss and German place names.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_bedarf_adresse_fts ON bedarf USING gin (to_tsvector('simple', adresse));
+CREATE INDEX idx_bedarf_adresse_trgm ON bedarf USING gin (adresse gin_trgm_ops);
+CREATE INDEX idx_betrieb_name_fts ON betrieb USING gin (to_tsvector('simple', name));
+CREATE INDEX idx_betrieb_name_trgm ON betrieb USING gin (name gin_trgm_ops);
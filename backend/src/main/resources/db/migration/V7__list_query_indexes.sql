@@ -0,0 +1,17 @@
+-- Indexes for the list queries built from Specifications: the bedarf pages and keyset slices
+-- (BedarfSpecifications.matching and .after, newest first) and the betrieb pages with an
+-- optional status filter, ordered by name. Checked by QueryPlanTest.
+
+-- Active bedarfe, newest first: the hot list. The partial index only holds active rows, so it
+-- stays small as completed bedarfe accumulate, and a LIMIT query reads just the first entries.
+CREATE INDEX idx_bedarf_aktiv_created_at ON bedarf(created_at DESC, id DESC) WHERE status = 'AKTIV';
+
+-- Any status, newest first. Also serves the active list when the status is bound as a
+-- parameter of a generic prepared plan, which cannot use the partial index.
+-- Makes the single-column status index redundant.
+CREATE INDEX idx_bedarf_status_created_at ON bedarf(status, created_at DESC, id DESC);
+DROP INDEX idx_bedarf_status;
+
+-- Betriebe ordered by name, with and without a status filter
+CREATE INDEX idx_betrieb_name_id ON betrieb(name, id);
+CREATE INDEX idx_betrieb_status_name_id ON betrieb(status, name, id);
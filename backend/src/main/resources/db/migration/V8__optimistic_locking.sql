@@ -0,0 +1,5 @@
+-- Row versions for optimistic locking. Every update increments the version and is made
+-- conditional on the version it was based on, so concurrent edits conflict instead of the
+-- last writer silently overwriting the other.
+ALTER TABLE bedarf ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE betrieb ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Active bedarfe by end date, for the expiry job that closes bedarfe whose period has passed.
+-- Like the active list index it only holds active rows, so it shrinks as the job closes them.
+CREATE INDEX idx_bedarf_aktiv_datum_bis ON bedarf(datum_bis) WHERE status = 'AKTIV';
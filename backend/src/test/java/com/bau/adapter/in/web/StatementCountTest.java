@@ -0,0 +1,258 @@
+package com.bau.adapter.in.web;
+
+import com.bau.adapter.in.web.bedarf.BedarfApiController;
+import com.bau.adapter.in.web.bedarf.mapper.BedarfWebMapper;
+import com.bau.adapter.in.web.betrieb.BetriebApiController;
+import com.bau.adapter.in.web.betrieb.mapper.BetriebWebMapper;
+import com.bau.adapter.out.persistence.bedarf.BedarfArchiveImpl;
+import com.bau.adapter.out.persistence.bedarf.BedarfJpaRepository;
+import com.bau.adapter.out.persistence.bedarf.BedarfMapper;
+import com.bau.adapter.out.persistence.bedarf.BedarfRepositoryImpl;
+import com.bau.adapter.out.persistence.betrieb.BetriebJpaRepository;
+import com.bau.adapter.out.persistence.betrieb.BetriebMapper;
+import com.bau.adapter.out.persistence.betrieb.BetriebRepositoryImpl;
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.betrieb.Betrieb;
+import com.bau.application.domain.betrieb.BetriebStatus;
+import com.bau.application.port.in.MatchingUseCase;
+import com.bau.application.port.out.BedarfRepository;
+import com.bau.application.port.out.BedarfSearchIndex;
+import com.bau.application.port.out.BetriebRepository;
+import com.bau.application.port.out.Geocoder;
+import com.bau.application.usecase.BedarfService;
+import com.bau.application.usecase.BetriebService;
+import com.bau.application.usecase.matching.BedarfMatchIndex;
+import com.bau.config.TestSecurityConfig;
+import com.bau.shared.config.JpaConfig;
+import com.bau.shared.config.PersistenceMonitoringConfig;
+import com.bau.shared.service.AuthenticationContextService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.observation.boot.autoconfigure.DataSourceObservationAutoConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.bau.config.StatementCountMatchers.statementCount;
+import static com.bau.config.StatementCountMatchers.statementCountAtMost;
+import static com.bau.config.StatementCountMatchers.statementsOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the bedarf and betrieb endpoints against the real services and persistence adapters on H2
+ * and checks how many SQL statements each request executes on the DataSource, so a change that adds
+ * a lookup per row or a read before every write fails here rather than in production.
+ * Data is committed, as each request runs in transactions of its own.
+ */
+@WebMvcTest({BedarfApiController.class, BetriebApiController.class})
+@AutoConfigureDataJpa
+@AutoConfigureTestDatabase
+@ImportAutoConfiguration(DataSourceObservationAutoConfiguration.class)
+@Import({TestSecurityConfig.class, PersistenceMonitoringConfig.class, JpaConfig.class,
+        BedarfService.class, BetriebService.class, BedarfMatchIndex.class,
+        BedarfRepositoryImpl.class, BedarfArchiveImpl.class, BedarfMapper.class, BetriebRepositoryImpl.class, BetriebMapper.class,
+        BedarfWebMapper.class, BetriebWebMapper.class, StatementCountTest.MetricsConfig.class})
+@ActiveProfiles("test")
+@DisplayName("SQL Statement Count Tests")
+class StatementCountTest {
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObservationRegistry observationRegistry() {
+            return ObservationRegistry.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BedarfRepository bedarfRepository;
+
+    @Autowired
+    private BetriebRepository betriebRepository;
+
+    @Autowired
+    private BedarfJpaRepository bedarfJpaRepository;
+
+    @Autowired
+    private BetriebJpaRepository betriebJpaRepository;
+
+    @MockitoBean
+    private BedarfSearchIndex searchIndex;
+
+    @MockitoBean
+    private Geocoder geocoder;
+
+    @MockitoBean
+    private MatchingUseCase matchingUseCase;
+
+    @MockitoBean
+    private AuthenticationContextService authContextService;
+
+    @AfterEach
+    void tearDown() {
+        bedarfJpaRepository.deleteAll();
+        betriebJpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should load a betrieb with one statement and record it per endpoint")
+    void shouldGetBetriebWithOneStatement() throws Exception {
+        // Given
+        Betrieb betrieb = saveBetrieb(1);
+
+        // When & Then
+        mockMvc.perform(get("/betriebe/{id}", betrieb.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+
+        DistributionSummary statements = meterRegistry.find("bau.request.statements")
+                .tags("method", "GET", "uri", "/betriebe/{id}")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should delete a betrieb and its archived bedarfs with two statements")
+    void shouldDeleteBetriebWithTwoStatements() throws Exception {
+        // Given
+        Betrieb betrieb = saveBetrieb(1);
+
+        // When & Then
+        mockMvc.perform(delete("/betriebe/{id}", betrieb.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(statementCount(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should change the status of a betrieb with one statement")
+    void shouldUpdateBetriebStatusWithOneStatement() throws Exception {
+        // Given
+        Betrieb betrieb = saveBetrieb(1);
+
+        // When & Then
+        mockMvc.perform(patch("/betriebe/{id}/status", betrieb.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "status", "INAKTIV",
+                                "version", betrieb.getVersion()))))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should delete a bedarf with one statement")
+    void shouldDeleteBedarfWithOneStatement() throws Exception {
+        // Given
+        Bedarf bedarf = saveBedarf(saveBetrieb(1));
+
+        // When & Then
+        mockMvc.perform(delete("/api/v1/bedarfe/{id}", bedarf.getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should change the status of a bedarf with one statement")
+    void shouldUpdateBedarfStatusWithOneStatement() throws Exception {
+        // Given
+        Bedarf bedarf = saveBedarf(saveBetrieb(1));
+
+        // When & Then
+        mockMvc.perform(patch("/api/v1/bedarfe/{id}/status", bedarf.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "status", "ABGESCHLOSSEN",
+                                "version", bedarf.getVersion()))))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    @DisplayName("Should list bedarfs with their betriebs in a fixed number of statements")
+    void shouldListBedarfsWithBetriebsWithoutQueryPerRow() throws Exception {
+        // Given
+        saveBedarf(saveBetrieb(1));
+        int fewRows = statementsOf(mockMvc.perform(get("/api/v1/bedarfe").param("expand", "betrieb"))
+                .andExpect(status().isOk())
+                .andExpect(statementCountAtMost(3))
+                .andReturn());
+
+        for (int i = 2; i <= 5; i++) {
+            Betrieb betrieb = saveBetrieb(i);
+            saveBedarf(betrieb);
+            saveBedarf(betrieb);
+        }
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe").param("expand", "betrieb"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(fewRows));
+    }
+
+    private Betrieb saveBetrieb(int number) {
+        return betriebRepository.save(Betrieb.builder()
+                .name("Holzbau " + number + " AG")
+                .adresse("Bahnhofstrasse " + number + ", 7000 Chur")
+                .email("holzbau" + number + "@example.com")
+                .status(BetriebStatus.AKTIV)
+                .build());
+    }
+
+    private Bedarf saveBedarf(Betrieb betrieb) {
+        return bedarfRepository.save(Bedarf.builder()
+                .betriebId(betrieb.getId())
+                .holzbauAnzahl(2)
+                .zimmermannAnzahl(1)
+                .datumVon(LocalDate.now().plusDays(7))
+                .datumBis(LocalDate.now().plusDays(21))
+                .adresse("Bahnhofstrasse 1, 7000 Chur")
+                .mitWerkzeug(true)
+                .mitFahrzeug(false)
+                .status(BedarfStatus.AKTIV)
+                .build());
+    }
+}
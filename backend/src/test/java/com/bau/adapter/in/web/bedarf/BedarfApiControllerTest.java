@@ -1,9 +1,24 @@
 package com.bau.adapter.in.web.bedarf;
 
+import com.bau.application.domain.VersionConflictException;
 import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfCursor;
+import com.bau.application.domain.bedarf.BedarfFilter;
 import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.bedarf.DateRangeMatch;
+import com.bau.application.domain.bedarf.NearbyBedarf;
+import com.bau.application.domain.betrieb.Betrieb;
+import com.bau.application.domain.geo.GeoPoint;
+import com.bau.application.domain.matching.BedarfMatch;
 import com.bau.application.port.in.BedarfUseCase;
+import com.bau.application.port.in.BetriebUseCase;
+import com.bau.application.port.in.MatchingUseCase;
+import com.bau.adapter.in.web.ResourceVersion;
 import com.bau.adapter.in.web.bedarf.mapper.BedarfWebMapper;
+import com.bau.adapter.in.web.dto.BedarfResponse;
+import com.bau.adapter.in.web.dto.BetriebContact;
+import com.bau.adapter.in.web.dto.BulkBedarfResponse;
+import com.bau.adapter.in.web.dto.UpdateBedarfRequest;
 import com.bau.shared.service.AuthenticationContextService;
 import com.bau.config.TestSecurityConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,17 +27,30 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +61,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @DisplayName("BedarfApiController Web Layer Tests")
 class BedarfApiControllerTest {
 
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_000);
+    private static final long VERSION = 3L;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -42,6 +73,12 @@ class BedarfApiControllerTest {
     @MockitoBean
     private BedarfUseCase bedarfUseCase;
 
+    @MockitoBean
+    private MatchingUseCase matchingUseCase;
+
+    @MockitoBean
+    private BetriebUseCase betriebUseCase;
+
     @MockitoBean
     private BedarfWebMapper mapper;
 
@@ -53,7 +90,7 @@ class BedarfApiControllerTest {
     void shouldGetBedarfsListSuccessfully() throws Exception {
         // Given
         BedarfUseCase.BedarfPageResult pageResult = createMockPageResult();
-        when(bedarfUseCase.getBedarfs(0, 20, null, null, null)).thenReturn(pageResult);
+        when(bedarfUseCase.getBedarfs(0, 20, BedarfFilter.none())).thenReturn(pageResult);
 
         // When & Then
         mockMvc.perform(get("/api/v1/bedarfe")
@@ -74,7 +111,7 @@ class BedarfApiControllerTest {
         BedarfUseCase.BedarfPageResult emptyResult = new BedarfUseCase.BedarfPageResult(
                 Arrays.asList(), 0, 0, 0, 1
         );
-        when(bedarfUseCase.getBedarfs(anyInt(), anyInt(), any(), any(), any())).thenReturn(emptyResult);
+        when(bedarfUseCase.getBedarfs(anyInt(), anyInt(), any())).thenReturn(emptyResult);
 
         // When & Then - The controller should handle validation and return appropriate response
         mockMvc.perform(get("/api/v1/bedarfe")
@@ -86,6 +123,497 @@ class BedarfApiControllerTest {
                 .andExpect(jsonPath("$.totalElements").value(0));
     }
 
+    @Test
+    @DisplayName("Should get bedarfs overlapping a date window")
+    void shouldGetBedarfsOverlappingDateWindow() throws Exception {
+        // Given
+        LocalDate von = LocalDate.of(2024, 3, 1);
+        LocalDate bis = LocalDate.of(2024, 3, 31);
+        BedarfUseCase.BedarfPageResult pageResult = createMockPageResult();
+        BedarfFilter filter = BedarfFilter.builder()
+                .datumVon(von)
+                .datumBis(bis)
+                .dateRangeMatch(DateRangeMatch.OVERLAPPING)
+                .build();
+        when(bedarfUseCase.getBedarfs(0, 20, filter)).thenReturn(pageResult);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("page", "0")
+                        .param("size", "20")
+                        .param("datumVon", "2024-03-01")
+                        .param("datumBis", "2024-03-31")
+                        .param("dateMatch", "OVERLAPPING")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    @DisplayName("Should pass only the given filter criteria")
+    void shouldGetBedarfsWithFilterCriteria() throws Exception {
+        // Given
+        UUID betriebId = UUID.randomUUID();
+        BedarfFilter filter = BedarfFilter.builder()
+                .status(BedarfStatus.AKTIV)
+                .betriebId(betriebId)
+                .minHolzbauAnzahl(2)
+                .mitFahrzeug(true)
+                .build();
+        when(bedarfUseCase.getBedarfs(0, 20, filter)).thenReturn(createMockPageResult());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("status", "AKTIV")
+                        .param("betriebId", betriebId.toString())
+                        .param("minHolzbauAnzahl", "2")
+                        .param("mitFahrzeug", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2));
+    }
+
+    @Test
+    @DisplayName("Should reject a negative minimum worker count")
+    void shouldRejectNegativeMinimumWorkerCount() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("minZimmermannAnzahl", "-1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bedarfUseCase);
+    }
+
+    @Test
+    @DisplayName("Should reject overlap matching with cursor pagination")
+    void shouldRejectOverlapMatchingWithCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("cursor", "")
+                        .param("datumVon", "2024-03-01")
+                        .param("datumBis", "2024-03-31")
+                        .param("dateMatch", "OVERLAPPING")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should get bedarfs by cursor with next cursor")
+    void shouldGetBedarfsByCursor() throws Exception {
+        // Given
+        BedarfCursor cursor = new BedarfCursor(LocalDateTime.of(2024, 1, 15, 10, 30), UUID.randomUUID());
+        BedarfCursor nextCursor = new BedarfCursor(LocalDateTime.of(2024, 1, 14, 9, 0), UUID.randomUUID());
+        BedarfUseCase.BedarfSliceResult sliceResult = new BedarfUseCase.BedarfSliceResult(
+                Arrays.asList(createValidBedarf(), createValidBedarf()), nextCursor, null, 2
+        );
+        when(bedarfUseCase.getBedarfsByCursor(cursor, 2, BedarfFilter.none(), false)).thenReturn(sliceResult);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("cursor", cursor.encode())
+                        .param("size", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor.encode()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.hasPrevious").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should start keyset pagination with empty cursor")
+    void shouldStartKeysetPaginationWithEmptyCursor() throws Exception {
+        // Given
+        BedarfUseCase.BedarfSliceResult sliceResult = new BedarfUseCase.BedarfSliceResult(
+                Arrays.asList(createValidBedarf()), null, 1, 20
+        );
+        when(bedarfUseCase.getBedarfsByCursor(null, 20, BedarfFilter.none(), true)).thenReturn(sliceResult);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("cursor", "")
+                        .param("includeTotal", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        verify(bedarfUseCase, never()).getBedarfs(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursor")
+    void shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("cursor", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should find nearby bedarfs")
+    void shouldFindNearbyBedarfs() throws Exception {
+        // Given
+        GeoPoint center = new GeoPoint(47.3769, 8.5417);
+        when(bedarfUseCase.findNearbyBedarfs(center, 10.0, BedarfStatus.AKTIV, null, null))
+                .thenReturn(List.of(new NearbyBedarf(createValidBedarf(), 1.2)));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe/nearby")
+                        .param("latitude", "47.3769")
+                        .param("longitude", "8.5417")
+                        .param("radiusKm", "10")
+                        .param("status", "AKTIV")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("Should search bedarfs with the default limit")
+    void shouldSearchBedarfs() throws Exception {
+        // Given
+        when(bedarfUseCase.searchBedarfs("grabs", 10)).thenReturn(List.of(createValidBedarf()));
+        when(mapper.toResponse(any(Bedarf.class))).thenReturn(new BedarfResponse().adresse("Staatsstrasse 12, 9472 Grabs"));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe/search")
+                        .param("q", "grabs")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].adresse").value("Staatsstrasse 12, 9472 Grabs"));
+    }
+
+    @Test
+    @DisplayName("Should match crew offer with bedarfs")
+    void shouldMatchCrewOfferWithBedarfs() throws Exception {
+        // Given
+        when(matchingUseCase.findMatches(any(), eq(5)))
+                .thenReturn(List.of(new BedarfMatch(createValidBedarf(), 0.9, 3.4)));
+        String request = """
+                {
+                  "holzbauAnzahl": 2,
+                  "zimmermannAnzahl": 1,
+                  "datumVon": "2024-01-01",
+                  "datumBis": "2024-01-31",
+                  "latitude": 47.3769,
+                  "longitude": 8.5417,
+                  "mitWerkzeug": true,
+                  "limit": 5
+                }
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/bedarfe/matches")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("Should embed betrieb contact data with one lookup per page")
+    void shouldExpandBetriebForPage() throws Exception {
+        // Given
+        UUID betriebId = UUID.randomUUID();
+        Bedarf first = createValidBedarf().toBuilder().betriebId(betriebId).build();
+        Bedarf second = createValidBedarf().toBuilder().betriebId(betriebId).build();
+        Betrieb betrieb = Betrieb.builder().id(betriebId).name("Holzbau Muster AG").build();
+        when(bedarfUseCase.getBedarfs(0, 20, BedarfFilter.none()))
+                .thenReturn(new BedarfUseCase.BedarfPageResult(List.of(first, second), 2, 1, 0, 20));
+        when(betriebUseCase.getBetriebeByIds(Set.of(betriebId))).thenReturn(Map.of(betriebId, betrieb));
+        when(mapper.toResponse(any(Bedarf.class), eq(betrieb))).thenReturn(new BedarfResponse()
+                .betriebName("Holzbau Muster AG")
+                .betrieb(new BetriebContact().id(betriebId).name("Holzbau Muster AG")));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("expand", "betrieb")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[1].betrieb.name").value("Holzbau Muster AG"));
+        verify(betriebUseCase, times(1)).getBetriebeByIds(any());
+    }
+
+    @Test
+    @DisplayName("Should embed betrieb contact data in bedarfs of a betrieb")
+    void shouldExpandBetriebForBetriebBedarfs() throws Exception {
+        // Given
+        UUID betriebId = UUID.randomUUID();
+        Betrieb betrieb = Betrieb.builder().id(betriebId).name("Holzbau Muster AG").build();
+        when(bedarfUseCase.getBedarfsByBetriebId(betriebId, false))
+                .thenReturn(List.of(createValidBedarf().toBuilder().betriebId(betriebId).build()));
+        when(betriebUseCase.getBetriebeByIds(Set.of(betriebId))).thenReturn(Map.of(betriebId, betrieb));
+        when(mapper.toResponse(any(Bedarf.class), eq(betrieb))).thenReturn(new BedarfResponse()
+                .betrieb(new BetriebContact().id(betriebId).name("Holzbau Muster AG")));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe/betrieb/{betriebId}", betriebId)
+                        .param("expand", "betrieb")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].betrieb.name").value("Holzbau Muster AG"));
+    }
+
+    @Test
+    @DisplayName("Should list archived bedarfs of a betrieb when requested")
+    void shouldListArchivedBedarfsOfBetrieb() throws Exception {
+        // Given
+        UUID betriebId = UUID.randomUUID();
+        when(bedarfUseCase.getBedarfsByBetriebId(betriebId, true))
+                .thenReturn(List.of(createValidBedarf().toBuilder().betriebId(betriebId).build()));
+        when(mapper.toResponse(any(Bedarf.class))).thenReturn(new BedarfResponse());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe/betrieb/{betriebId}", betriebId)
+                        .param("includeArchived", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("Should not look up betriebs without expansion")
+    void shouldNotLookUpBetriebsWithoutExpansion() throws Exception {
+        // Given
+        when(bedarfUseCase.getBedarfs(0, 20, BedarfFilter.none()))
+                .thenReturn(createMockPageResult());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        verify(betriebUseCase, never()).getBetriebeByIds(any());
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported expansions")
+    void shouldRejectUnsupportedExpansion() throws Exception {
+        // Given
+        when(bedarfUseCase.getBedarfs(0, 20, BedarfFilter.none()))
+                .thenReturn(createMockPageResult());
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("expand", "user")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(betriebUseCase, never()).getBetriebeByIds(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should set status of several bedarfs in one call")
+    void shouldUpdateStatusInBulk() throws Exception {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(bedarfUseCase.updateBedarfStatuses(List.of(first, second), BedarfStatus.STORNIERT)).thenReturn(2);
+
+        // When & Then
+        mockMvc.perform(patch("/api/v1/bedarfe/bulk/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "ids", List.of(first, second),
+                                "status", "STORNIERT"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should delete several bedarfs in one call")
+    void shouldDeleteBedarfsInBulk() throws Exception {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(bedarfUseCase.deleteBedarfs(List.of(first, second))).thenReturn(1);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/bedarfe/bulk/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(first, second)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "BETRIEB")
+    @DisplayName("Should pass bulk updates to the use case in request order")
+    void shouldUpdateBedarfsInBulk() throws Exception {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(mapper.toDomain(any(UpdateBedarfRequest.class))).thenReturn(createValidBedarf());
+        when(bedarfUseCase.updateBedarfs(any())).thenReturn(List.of());
+        when(mapper.toBulkResponse(List.of())).thenReturn(new BulkBedarfResponse().succeeded(0).failed(0));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/bedarfe/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("items", List.of(
+                                Map.of("id", id, "bedarf", Map.of("holzbauAnzahl", 3)))))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(0));
+        verify(bedarfUseCase).updateBedarfs(argThat(updates -> updates.keySet().equals(Set.of(id))));
+    }
+
+    @Test
+    @WithMockUser(roles = "BETRIEB")
+    @DisplayName("Should reject bulk updates with duplicate IDs")
+    void shouldRejectDuplicateIdsInBulkUpdate() throws Exception {
+        // Given
+        UUID id = UUID.randomUUID();
+        Map<String, Object> item = Map.of("id", id, "bedarf", Map.of("holzbauAnzahl", 3));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/bedarfe/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("items", List.of(item, item)))))
+                .andExpect(status().isBadRequest());
+        verify(bedarfUseCase, never()).updateBedarfs(any());
+    }
+
+    @Test
+    @DisplayName("Should return not modified without mapping when the bedarf is unchanged")
+    void shouldReturnNotModifiedForUnchangedBedarf() throws Exception {
+        // Given
+        Bedarf bedarf = createValidBedarf().toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+        when(bedarfUseCase.getBedarfById(bedarf.getId())).thenReturn(Optional.of(bedarf));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe/{id}", bedarf.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, ResourceVersion.of(VERSION, UPDATED_AT).etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ResourceVersion.of(VERSION, UPDATED_AT).etag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    @DisplayName("Should return the bedarf when it changed since the given ETag")
+    void shouldReturnChangedBedarf() throws Exception {
+        // Given
+        Bedarf bedarf = createValidBedarf().toBuilder().version(VERSION + 1).updatedAt(UPDATED_AT.plusSeconds(1)).build();
+        when(bedarfUseCase.getBedarfById(bedarf.getId())).thenReturn(Optional.of(bedarf));
+        when(mapper.toResponse(bedarf)).thenReturn(new BedarfResponse().id(bedarf.getId()));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe/{id}", bedarf.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, ResourceVersion.of(VERSION, UPDATED_AT).etag()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ResourceVersion.of(VERSION + 1, UPDATED_AT.plusSeconds(1)).etag()))
+                .andExpect(jsonPath("$.id").value(bedarf.getId().toString()));
+    }
+
+    @Test
+    @DisplayName("Should return not modified for an unchanged page with embedded betriebs")
+    void shouldReturnNotModifiedForUnchangedPage() throws Exception {
+        // Given
+        UUID betriebId = UUID.randomUUID();
+        Bedarf bedarf = createValidBedarf().toBuilder().betriebId(betriebId).version(VERSION).updatedAt(UPDATED_AT).build();
+        Betrieb betrieb = Betrieb.builder().id(betriebId).name("Holzbau Muster AG").version(VERSION).updatedAt(UPDATED_AT).build();
+        when(bedarfUseCase.getBedarfs(0, 20, BedarfFilter.none()))
+                .thenReturn(new BedarfUseCase.BedarfPageResult(List.of(bedarf), 1, 1, 0, 20));
+        when(betriebUseCase.getBetriebeByIds(Set.of(betriebId))).thenReturn(Map.of(betriebId, betrieb));
+        when(mapper.toResponse(bedarf, betrieb)).thenReturn(new BedarfResponse().id(bedarf.getId()));
+        String etag = mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("expand", "betrieb"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("expand", "betrieb")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(mapper, times(1)).toResponse(bedarf, betrieb);
+    }
+
+    @Test
+    @DisplayName("Should return the page when an embedded betrieb changed")
+    void shouldReturnPageWhenEmbeddedBetriebChanged() throws Exception {
+        // Given
+        UUID betriebId = UUID.randomUUID();
+        Bedarf bedarf = createValidBedarf().toBuilder().betriebId(betriebId).version(VERSION).updatedAt(UPDATED_AT).build();
+        Betrieb betrieb = Betrieb.builder().id(betriebId).name("Holzbau Muster AG").version(VERSION).updatedAt(UPDATED_AT).build();
+        Betrieb renamed = betrieb.toBuilder().name("Holzbau Muster GmbH").version(VERSION + 1).updatedAt(UPDATED_AT.plusMinutes(1)).build();
+        when(bedarfUseCase.getBedarfs(0, 20, BedarfFilter.none()))
+                .thenReturn(new BedarfUseCase.BedarfPageResult(List.of(bedarf), 1, 1, 0, 20));
+        when(betriebUseCase.getBetriebeByIds(Set.of(betriebId)))
+                .thenReturn(Map.of(betriebId, betrieb), Map.of(betriebId, renamed));
+        when(mapper.toResponse(eq(bedarf), any(Betrieb.class))).thenReturn(new BedarfResponse().id(bedarf.getId()));
+        String etag = mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("expand", "betrieb"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe")
+                        .param("expand", "betrieb")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(mapper).toResponse(bedarf, renamed);
+    }
+
+    @Test
+    @WithMockUser(roles = "BETRIEB")
+    @DisplayName("Should reject update when If-Match names an outdated version")
+    void shouldRejectUpdateWithOutdatedIfMatch() throws Exception {
+        // Given
+        Bedarf bedarf = createValidBedarf().toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+        when(bedarfUseCase.getBedarfById(bedarf.getId())).thenReturn(Optional.of(bedarf));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/bedarfe/{id}", bedarf.getId())
+                        .header(HttpHeaders.IF_MATCH, ResourceVersion.of(VERSION - 1, UPDATED_AT.minusMinutes(5)).etag())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("holzbauAnzahl", 3))))
+                .andExpect(status().isPreconditionFailed());
+        verify(bedarfUseCase, never()).updateBedarf(any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "BETRIEB")
+    @DisplayName("Should update bedarf when If-Match names the current version")
+    void shouldUpdateWithCurrentIfMatch() throws Exception {
+        // Given
+        Bedarf bedarf = createValidBedarf().toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+        Bedarf changes = createValidBedarf().toBuilder().holzbauAnzahl(3).build();
+        Bedarf updated = bedarf.toBuilder().holzbauAnzahl(3).version(VERSION + 1).updatedAt(UPDATED_AT.plusMinutes(5)).build();
+        when(bedarfUseCase.getBedarfById(bedarf.getId())).thenReturn(Optional.of(bedarf));
+        when(mapper.toDomain(any(UpdateBedarfRequest.class))).thenReturn(changes);
+        when(bedarfUseCase.updateBedarf(eq(bedarf.getId()), argThat(b -> Long.valueOf(VERSION).equals(b.getVersion()))))
+                .thenReturn(Optional.of(updated));
+        when(mapper.toResponse(updated)).thenReturn(new BedarfResponse().id(bedarf.getId()));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/bedarfe/{id}", bedarf.getId())
+                        .header(HttpHeaders.IF_MATCH, ResourceVersion.of(VERSION, UPDATED_AT).etag())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("holzbauAnzahl", 3))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ResourceVersion.of(VERSION + 1, UPDATED_AT.plusMinutes(5)).etag()));
+    }
+
+    @Test
+    @WithMockUser(roles = "BETRIEB")
+    @DisplayName("Should return conflict when the bedarf changes between the If-Match check and the save")
+    void shouldReturnConflictWhenChangedAfterIfMatchCheck() throws Exception {
+        // Given
+        Bedarf bedarf = createValidBedarf().toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+        when(bedarfUseCase.getBedarfById(bedarf.getId())).thenReturn(Optional.of(bedarf));
+        when(mapper.toDomain(any(UpdateBedarfRequest.class))).thenReturn(createValidBedarf());
+        when(bedarfUseCase.updateBedarf(eq(bedarf.getId()), argThat(b -> Long.valueOf(VERSION).equals(b.getVersion()))))
+                .thenThrow(new VersionConflictException("Bedarf", bedarf.getId()));
+
+        // When & Then
+        mockMvc.perform(put("/api/v1/bedarfe/{id}", bedarf.getId())
+                        .header(HttpHeaders.IF_MATCH, ResourceVersion.of(VERSION, UPDATED_AT).etag())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("holzbauAnzahl", 3))))
+                .andExpect(status().isConflict());
+    }
+
     private BedarfUseCase.BedarfPageResult createMockPageResult() {
         Bedarf bedarf1 = createValidBedarf();
         Bedarf bedarf2 = createValidBedarf();
@@ -0,0 +1,88 @@
+package com.bau.adapter.in.web.bedarfimport;
+
+import com.bau.application.domain.bedarf.BedarfImportRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BedarfCsvReader Tests")
+class BedarfCsvReaderTest {
+
+    private static final String HEADER = "adresse,holzbauAnzahl,zimmermannAnzahl,datumVon,datumBis,mitWerkzeug,notiz\r\n";
+
+    @Test
+    @DisplayName("Should map columns by header name and ignore unknown columns")
+    void shouldMapColumnsByName() {
+        List<BedarfImportRow> rows = read(HEADER + "Bahnhofstrasse 1,2,1,2024-02-01,2024-02-15,ja,egal\r\n");
+
+        assertThat(rows).hasSize(1);
+        BedarfImportRow row = rows.get(0);
+        assertThat(row.rowNumber()).isEqualTo(2);
+        assertThat(row.error()).isNull();
+        assertThat(row.bedarf().getAdresse()).isEqualTo("Bahnhofstrasse 1");
+        assertThat(row.bedarf().getHolzbauAnzahl()).isEqualTo(2);
+        assertThat(row.bedarf().getZimmermannAnzahl()).isEqualTo(1);
+        assertThat(row.bedarf().getDatumVon()).isEqualTo(LocalDate.of(2024, 2, 1));
+        assertThat(row.bedarf().getDatumBis()).isEqualTo(LocalDate.of(2024, 2, 15));
+        assertThat(row.bedarf().getMitWerkzeug()).isTrue();
+        assertThat(row.bedarf().getMitFahrzeug()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read quoted fields spanning lines and report the line each row starts on")
+    void shouldReadQuotedFields() {
+        List<BedarfImportRow> rows = read(HEADER
+                + "\"Hof \"\"Süd\"\",\nBahnhofstrasse 1\",2,1,2024-02-01,2024-02-15,,\n"
+                + "\n"
+                + "Dorfstrasse 5,1,0,2024-03-01,2024-03-02,,\n");
+
+        assertThat(rows).extracting(BedarfImportRow::rowNumber).containsExactly(2L, 5L);
+        assertThat(rows.get(0).bedarf().getAdresse()).isEqualTo("Hof \"Süd\",\nBahnhofstrasse 1");
+        assertThat(rows.get(1).bedarf().getAdresse()).isEqualTo("Dorfstrasse 5");
+    }
+
+    @Test
+    @DisplayName("Should turn unparsable values into invalid rows and continue")
+    void shouldReportInvalidValues() {
+        List<BedarfImportRow> rows = read(HEADER
+                + "Bahnhofstrasse 1,zwei,1,2024-02-01,2024-02-15,,\n"
+                + "Bahnhofstrasse 2,2,1,01.02.2024,2024-02-15,,\n"
+                + "Bahnhofstrasse 3,2,1,2024-02-01,2024-02-15,,\n");
+
+        assertThat(rows).extracting(BedarfImportRow::error).containsExactly(
+                "holzbauAnzahl: invalid value 'zwei'",
+                "datumVon: invalid value '01.02.2024'",
+                null);
+    }
+
+    @Test
+    @DisplayName("Should reject a header without required columns")
+    void shouldRejectMissingColumns() {
+        assertThatThrownBy(() -> new BedarfCsvReader(new StringReader("adresse,datumVon\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("holzbauAnzahl, zimmermannAnzahl, datumBis");
+    }
+
+    @Test
+    @DisplayName("Should stop at an unclosed quote")
+    void shouldRejectUnclosedQuote() {
+        BedarfCsvReader reader = new BedarfCsvReader(new StringReader(HEADER
+                + "Bahnhofstrasse 1,2,1,2024-02-01,2024-02-15,,\n"
+                + "\"Bahnhofstrasse 2,2,1\n"));
+
+        assertThat(reader.next().error()).isNull();
+        assertThatThrownBy(reader::hasNext)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 3");
+    }
+
+    private static List<BedarfImportRow> read(String csv) {
+        return new BedarfCsvReader(new StringReader(csv)).stream(() -> {}).toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.bau.adapter.in.web.bedarfimport;
+
+import com.bau.adapter.in.web.bedarfimport.mapper.BedarfImportWebMapper;
+import com.bau.application.domain.bedarf.BedarfImportError;
+import com.bau.application.domain.bedarf.BedarfImportJob;
+import com.bau.application.domain.bedarf.BedarfImportRow;
+import com.bau.application.port.in.BedarfImportUseCase;
+import com.bau.config.TestSecurityConfig;
+import com.bau.shared.service.AuthenticationContextService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BedarfImportController.class)
+@Import({TestSecurityConfig.class, BedarfImportWebMapper.class})
+@ActiveProfiles("test")
+@WithMockUser(roles = "BETRIEB")
+@DisplayName("BedarfImportController Web Layer Tests")
+class BedarfImportControllerTest {
+
+    private static final UUID BETRIEB_ID = UUID.randomUUID();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BedarfImportUseCase bedarfImportUseCase;
+
+    @MockitoBean
+    private AuthenticationContextService authenticationContextService;
+
+    @Test
+    @DisplayName("Should start an import of the uploaded file")
+    void shouldStartImport() throws Exception {
+        // Given
+        when(authenticationContextService.getCurrentUserBetriebId()).thenReturn(Optional.of(BETRIEB_ID));
+        List<BedarfImportRow> rows = new ArrayList<>();
+        BedarfImportJob job = BedarfImportJob.start(BETRIEB_ID);
+        when(bedarfImportUseCase.startImport(eq(BETRIEB_ID), any())).thenAnswer(invocation -> {
+            try (Stream<BedarfImportRow> stream = invocation.getArgument(1)) {
+                stream.forEach(rows::add);
+            }
+            return job;
+        });
+        MockMultipartFile file = new MockMultipartFile("file", "bedarfe.csv", "text/csv",
+                ("holzbauAnzahl,zimmermannAnzahl,datumVon,datumBis,adresse\n"
+                        + "2,1,2024-02-01,2024-02-15,Bahnhofstrasse 1\n").getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        mockMvc.perform(multipart("/api/v1/bedarfe/imports").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(job.getId().toString()))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).bedarf().getAdresse()).isEqualTo("Bahnhofstrasse 1");
+    }
+
+    @Test
+    @DisplayName("Should reject a file without the required columns")
+    void shouldRejectInvalidHeader() throws Exception {
+        // Given
+        when(authenticationContextService.getCurrentUserBetriebId()).thenReturn(Optional.of(BETRIEB_ID));
+        MockMultipartFile file = new MockMultipartFile("file", "bedarfe.csv", "text/csv",
+                "adresse\nBahnhofstrasse 1\n".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        mockMvc.perform(multipart("/api/v1/bedarfe/imports").file(file))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bedarfImportUseCase);
+    }
+
+    @Test
+    @DisplayName("Should return the progress of an own import")
+    void shouldGetImport() throws Exception {
+        // Given
+        when(authenticationContextService.getCurrentUserBetriebId()).thenReturn(Optional.of(BETRIEB_ID));
+        BedarfImportJob job = BedarfImportJob.start(BETRIEB_ID)
+                .setProcessedRows(3)
+                .setImportedRows(2)
+                .setFailedRows(1)
+                .setErrors(List.of(new BedarfImportError(3, "Address is required")));
+        when(bedarfImportUseCase.getImportJob(job.getId())).thenReturn(Optional.of(job));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe/imports/{id}", job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processedRows").value(3))
+                .andExpect(jsonPath("$.failedRows").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Address is required"));
+    }
+
+    @Test
+    @DisplayName("Should not reveal imports of other betriebe")
+    void shouldHideForeignImport() throws Exception {
+        // Given
+        when(authenticationContextService.getCurrentUserBetriebId()).thenReturn(Optional.of(BETRIEB_ID));
+        BedarfImportJob job = BedarfImportJob.start(UUID.randomUUID());
+        when(bedarfImportUseCase.getImportJob(job.getId())).thenReturn(Optional.of(job));
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/bedarfe/imports/{id}", job.getId()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,7 +1,9 @@
 package com.bau.adapter.in.web.betrieb;
 
+import com.bau.adapter.in.web.ResourceVersion;
 import com.bau.adapter.in.web.dto.*;
 import com.bau.adapter.in.web.betrieb.mapper.BetriebWebMapper;
+import com.bau.application.domain.VersionConflictException;
 import com.bau.application.domain.betrieb.Betrieb;
 import com.bau.application.domain.betrieb.BetriebStatus;
 import com.bau.application.port.in.BetriebUseCase;
@@ -15,17 +17,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -35,6 +41,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @Import(TestSecurityConfig.class)
 class BetriebApiControllerTest {
 
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_000);
+    private static final long VERSION = 3L;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -229,6 +238,53 @@ class BetriebApiControllerTest {
             verify(betriebUseCase).getBetriebs(0, 20, null);
             verifyNoMoreInteractions(mapper);
         }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return not modified when the page is unchanged")
+        void shouldReturnNotModifiedWhenPageIsUnchanged() throws Exception {
+            // Given
+            Betrieb storedBetrieb = testBetrieb.toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+            BetriebUseCase.BetriebPageResult pageResult = new BetriebUseCase.BetriebPageResult(
+                    List.of(storedBetrieb), 1, 1, 0, 20
+            );
+            when(betriebUseCase.getBetriebs(0, 20, null)).thenReturn(pageResult);
+            when(mapper.toResponse(storedBetrieb)).thenReturn(testBetriebResponse);
+            String etag = mockMvc.perform(get("/betriebe"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            // When & Then
+            mockMvc.perform(get("/betriebe")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            verify(mapper, times(1)).toResponse(storedBetrieb);
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return the page when a betrieb changed")
+        void shouldReturnPageWhenBetriebChanged() throws Exception {
+            // Given
+            Betrieb storedBetrieb = testBetrieb.toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+            Betrieb changedBetrieb = storedBetrieb.toBuilder().version(VERSION + 1).updatedAt(UPDATED_AT.plusSeconds(1)).build();
+            when(betriebUseCase.getBetriebs(0, 20, null)).thenReturn(
+                    new BetriebUseCase.BetriebPageResult(List.of(storedBetrieb), 1, 1, 0, 20),
+                    new BetriebUseCase.BetriebPageResult(List.of(changedBetrieb), 1, 1, 0, 20));
+            when(mapper.toResponse(any(Betrieb.class))).thenReturn(testBetriebResponse);
+            String etag = mockMvc.perform(get("/betriebe"))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            // When & Then
+            mockMvc.perform(get("/betriebe")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                    .andExpect(jsonPath("$.content[0].name").value("Test Company"));
+        }
     }
 
     @Nested
@@ -273,6 +329,61 @@ class BetriebApiControllerTest {
             verify(betriebUseCase).getBetriebById(nonExistentId);
             verifyNoInteractions(mapper);
         }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should send validators derived from the modification time")
+        void shouldSendValidators() throws Exception {
+            // Given
+            UUID testId = testBetrieb.getId();
+            Betrieb storedBetrieb = testBetrieb.toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+            when(betriebUseCase.getBetriebById(testId)).thenReturn(Optional.of(storedBetrieb));
+            when(mapper.toResponse(storedBetrieb)).thenReturn(testBetriebResponse);
+
+            // When & Then
+            mockMvc.perform(get("/betriebe/{id}", testId))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, ResourceVersion.of(VERSION, UPDATED_AT).etag()))
+                    .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return not modified without mapping when the ETag matches")
+        void shouldReturnNotModifiedWhenEtagMatches() throws Exception {
+            // Given
+            UUID testId = testBetrieb.getId();
+            Betrieb storedBetrieb = testBetrieb.toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+            when(betriebUseCase.getBetriebById(testId)).thenReturn(Optional.of(storedBetrieb));
+
+            // When & Then
+            mockMvc.perform(get("/betriebe/{id}", testId)
+                            .header(HttpHeaders.IF_NONE_MATCH, ResourceVersion.of(VERSION, UPDATED_AT).etag()))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, ResourceVersion.of(VERSION, UPDATED_AT).etag()))
+                    .andExpect(content().string(""));
+
+            verifyNoInteractions(mapper);
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return not modified when unchanged since the given time")
+        void shouldReturnNotModifiedWhenUnchangedSince() throws Exception {
+            // Given
+            UUID testId = testBetrieb.getId();
+            Betrieb storedBetrieb = testBetrieb.toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+            when(betriebUseCase.getBetriebById(testId)).thenReturn(Optional.of(storedBetrieb));
+            HttpHeaders conditions = new HttpHeaders();
+            conditions.setIfModifiedSince(ResourceVersion.of(VERSION, UPDATED_AT).lastModified());
+
+            // When & Then
+            mockMvc.perform(get("/betriebe/{id}", testId)
+                            .headers(conditions))
+                    .andExpect(status().isNotModified());
+
+            verifyNoInteractions(mapper);
+        }
     }
 
     @Nested
@@ -332,6 +443,74 @@ class BetriebApiControllerTest {
             verifyNoMoreInteractions(mapper);
         }
 
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should update betrieb when If-Match names the current version")
+        void shouldUpdateBetriebWhenIfMatchIsCurrent() throws Exception {
+            // Given
+            UUID testId = testBetrieb.getId();
+            Betrieb storedBetrieb = testBetrieb.toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+            Betrieb updatedBetrieb = storedBetrieb.toBuilder()
+                    .name("Updated Company")
+                    .version(VERSION + 1).updatedAt(UPDATED_AT.plusMinutes(5))
+                    .build();
+            Betrieb changes = testBetrieb.toBuilder().name("Updated Company").build();
+            when(betriebUseCase.getBetriebById(testId)).thenReturn(Optional.of(storedBetrieb));
+            when(mapper.toDomain(updateRequest)).thenReturn(changes);
+            when(betriebUseCase.updateBetrieb(testId, changes)).thenReturn(Optional.of(updatedBetrieb));
+            when(mapper.toResponse(updatedBetrieb)).thenReturn(testBetriebResponse);
+
+            // When & Then
+            mockMvc.perform(put("/betriebe/{id}", testId)
+                            .header(HttpHeaders.IF_MATCH, ResourceVersion.of(VERSION, UPDATED_AT).etag())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, ResourceVersion.of(VERSION + 1, UPDATED_AT.plusMinutes(5)).etag()));
+
+            verify(betriebUseCase).updateBetrieb(eq(testId), argThat(betrieb -> Long.valueOf(VERSION).equals(betrieb.getVersion())));
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return conflict when the betrieb changes between the If-Match check and the save")
+        void shouldReturnConflictWhenChangedAfterIfMatchCheck() throws Exception {
+            // Given
+            UUID testId = testBetrieb.getId();
+            Betrieb storedBetrieb = testBetrieb.toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+            when(betriebUseCase.getBetriebById(testId)).thenReturn(Optional.of(storedBetrieb));
+            when(mapper.toDomain(updateRequest)).thenReturn(testBetrieb.toBuilder().build());
+            when(betriebUseCase.updateBetrieb(eq(testId), argThat(betrieb -> Long.valueOf(VERSION).equals(betrieb.getVersion()))))
+                    .thenThrow(new VersionConflictException("Betrieb", testId));
+
+            // When & Then
+            mockMvc.perform(put("/betriebe/{id}", testId)
+                            .header(HttpHeaders.IF_MATCH, ResourceVersion.of(VERSION, UPDATED_AT).etag())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateRequest)))
+                    .andExpect(status().isConflict());
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should reject update when If-Match names an outdated version")
+        void shouldRejectUpdateWhenIfMatchIsOutdated() throws Exception {
+            // Given
+            UUID testId = testBetrieb.getId();
+            Betrieb storedBetrieb = testBetrieb.toBuilder().version(VERSION).updatedAt(UPDATED_AT).build();
+            when(betriebUseCase.getBetriebById(testId)).thenReturn(Optional.of(storedBetrieb));
+
+            // When & Then
+            mockMvc.perform(put("/betriebe/{id}", testId)
+                            .header(HttpHeaders.IF_MATCH, ResourceVersion.of(VERSION - 1, UPDATED_AT.minusMinutes(5)).etag())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(updateRequest)))
+                    .andExpect(status().isPreconditionFailed());
+
+            verify(betriebUseCase, never()).updateBetrieb(any(), any());
+            verifyNoInteractions(mapper);
+        }
+
         @Test
         @WithMockUser(roles = "BETRIEB")
         @DisplayName("Should return forbidden for non-admin user")
@@ -398,6 +577,24 @@ class BetriebApiControllerTest {
             verify(betriebUseCase).deleteBetrieb(nonExistentId);
         }
 
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should delete several betriebe in one call")
+        void shouldDeleteBetriebeInBulk() throws Exception {
+            // Given
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            BulkDeleteBetriebRequest request = new BulkDeleteBetriebRequest().ids(List.of(first, second));
+            when(betriebUseCase.deleteBetriebs(List.of(first, second))).thenReturn(2);
+
+            // When & Then
+            mockMvc.perform(post("/betriebe/bulk/delete")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deleted").value(2));
+        }
+
         @Test
         @WithMockUser(roles = "BETRIEB")
         @DisplayName("Should return forbidden for non-admin user")
@@ -430,7 +627,7 @@ class BetriebApiControllerTest {
                     .name("Test Company")
                     .status(BetriebResponse.StatusEnum.INAKTIV);
 
-            when(betriebUseCase.updateBetriebStatus(testId, BetriebStatus.INAKTIV)).thenReturn(Optional.of(updatedBetrieb));
+            when(betriebUseCase.updateBetriebStatus(testId, BetriebStatus.INAKTIV, null)).thenReturn(Optional.of(updatedBetrieb));
             when(mapper.toResponse(updatedBetrieb)).thenReturn(updatedResponse);
 
             // When & Then
@@ -442,7 +639,7 @@ class BetriebApiControllerTest {
                     .andExpect(jsonPath("$.id").value(testId.toString()))
                     .andExpect(jsonPath("$.status").value("INAKTIV"));
 
-            verify(betriebUseCase).updateBetriebStatus(testId, BetriebStatus.INAKTIV);
+            verify(betriebUseCase).updateBetriebStatus(testId, BetriebStatus.INAKTIV, null);
             verify(mapper).toResponse(updatedBetrieb);
         }
 
@@ -455,7 +652,7 @@ class BetriebApiControllerTest {
             UpdateBetriebStatusRequest statusRequest = new UpdateBetriebStatusRequest()
                     .status(UpdateBetriebStatusRequest.StatusEnum.INAKTIV);
 
-            when(betriebUseCase.updateBetriebStatus(nonExistentId, BetriebStatus.INAKTIV)).thenReturn(Optional.empty());
+            when(betriebUseCase.updateBetriebStatus(nonExistentId, BetriebStatus.INAKTIV, null)).thenReturn(Optional.empty());
 
             // When & Then
             mockMvc.perform(patch("/betriebe/{id}/status", nonExistentId)
@@ -463,7 +660,29 @@ class BetriebApiControllerTest {
                             .content(objectMapper.writeValueAsString(statusRequest)))
                     .andExpect(status().isNotFound());
 
-            verify(betriebUseCase).updateBetriebStatus(nonExistentId, BetriebStatus.INAKTIV);
+            verify(betriebUseCase).updateBetriebStatus(nonExistentId, BetriebStatus.INAKTIV, null);
+            verifyNoInteractions(mapper);
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return conflict when the status update names an outdated version")
+        void shouldReturnConflictWhenStatusUpdateVersionIsOutdated() throws Exception {
+            // Given
+            UUID testId = testBetrieb.getId();
+            UpdateBetriebStatusRequest statusRequest = new UpdateBetriebStatusRequest()
+                    .status(UpdateBetriebStatusRequest.StatusEnum.INAKTIV)
+                    .version(VERSION - 1);
+
+            when(betriebUseCase.updateBetriebStatus(testId, BetriebStatus.INAKTIV, VERSION - 1))
+                    .thenThrow(new VersionConflictException("Betrieb", testId));
+
+            // When & Then
+            mockMvc.perform(patch("/betriebe/{id}/status", testId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(statusRequest)))
+                    .andExpect(status().isConflict());
+
             verifyNoInteractions(mapper);
         }
 
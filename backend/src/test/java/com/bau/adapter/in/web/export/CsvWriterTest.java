@@ -0,0 +1,32 @@
+package com.bau.adapter.in.web.export;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CsvWriter Tests")
+class CsvWriterTest {
+
+    @Test
+    @DisplayName("Should quote fields containing separators, quotes or line breaks")
+    void shouldQuoteSpecialCharacters() throws Exception {
+        StringWriter out = new StringWriter();
+
+        new CsvWriter(out).writeRow("a,b", "say \"hi\"", "line\nbreak", "plain", null, 42);
+
+        assertThat(out).hasToString("\"a,b\",\"say \"\"hi\"\"\",\"line\nbreak\",plain,,42\r\n");
+    }
+
+    @Test
+    @DisplayName("Should neutralise text that spreadsheets would evaluate as a formula")
+    void shouldNeutraliseFormulas() throws Exception {
+        StringWriter out = new StringWriter();
+
+        new CsvWriter(out).writeRow("=SUM(A1:A2)", "@cmd", -8.5);
+
+        assertThat(out).hasToString("'=SUM(A1:A2),'@cmd,-8.5\r\n");
+    }
+}
@@ -0,0 +1,167 @@
+package com.bau.adapter.in.web.export;
+
+import com.bau.adapter.in.web.bedarf.mapper.BedarfWebMapper;
+import com.bau.adapter.in.web.betrieb.mapper.BetriebWebMapper;
+import com.bau.adapter.in.web.dto.BedarfResponse;
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.betrieb.Betrieb;
+import com.bau.application.domain.betrieb.BetriebStatus;
+import com.bau.application.port.in.BedarfUseCase;
+import com.bau.application.port.in.BetriebUseCase;
+import com.bau.config.TestSecurityConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ExportController.class)
+@Import(TestSecurityConfig.class)
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+@DisplayName("ExportController Web Layer Tests")
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BedarfUseCase bedarfUseCase;
+
+    @MockitoBean
+    private BetriebUseCase betriebUseCase;
+
+    @MockitoBean
+    private BedarfWebMapper bedarfMapper;
+
+    @MockitoBean
+    private BetriebWebMapper betriebMapper;
+
+    @Test
+    @DisplayName("Should stream bedarfs as CSV")
+    void shouldExportBedarfsAsCsv() throws Exception {
+        // Given
+        Bedarf bedarf = createBedarf();
+        doAnswer(invocation -> {
+            invocation.<Consumer<Bedarf>>getArgument(1).accept(bedarf);
+            return null;
+        }).when(bedarfUseCase).exportBedarfs(eq(BedarfStatus.AKTIV), any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/export/bedarfe").param("status", "AKTIV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bedarfe.csv\""))
+                .andExpect(content().string(
+                        "id,betriebId,holzbauAnzahl,zimmermannAnzahl,datumVon,datumBis,adresse,"
+                                + "latitude,longitude,mitWerkzeug,mitFahrzeug,status\r\n"
+                                + bedarf.getId() + "," + bedarf.getBetriebId() + ",2,1,2024-03-01,2024-03-31,"
+                                + "\"Dorfstrasse 1, 9472 Grabs\",,,true,false,AKTIV\r\n"));
+    }
+
+    @Test
+    @DisplayName("Should stream bedarfs as NDJSON")
+    void shouldExportBedarfsAsNdjson() throws Exception {
+        // Given
+        Bedarf bedarf = createBedarf();
+        when(bedarfMapper.toResponse(bedarf)).thenReturn(new BedarfResponse().id(bedarf.getId()));
+        doAnswer(invocation -> {
+            Consumer<Bedarf> consumer = invocation.getArgument(1);
+            consumer.accept(bedarf);
+            consumer.accept(bedarf);
+            return null;
+        }).when(bedarfUseCase).exportBedarfs(isNull(), any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/export/bedarfe").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.split("\n"))
+                .hasSize(2)
+                .allSatisfy(line -> assertThat(line).startsWith("{\"id\":\"" + bedarf.getId() + "\""));
+    }
+
+    @Test
+    @DisplayName("Should stream betriebs as CSV")
+    void shouldExportBetriebsAsCsv() throws Exception {
+        // Given
+        Betrieb betrieb = Betrieb.builder()
+                .id(UUID.randomUUID())
+                .name("Holzbau Muster AG")
+                .email("info@muster.ch")
+                .status(BetriebStatus.AKTIV)
+                .build();
+        doAnswer(invocation -> {
+            invocation.<Consumer<Betrieb>>getArgument(1).accept(betrieb);
+            return null;
+        }).when(betriebUseCase).exportBetriebs(isNull(), any());
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/v1/export/betriebe"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("id,name,adresse,latitude,longitude,email,telefon,status\r\n"
+                        + betrieb.getId() + ",Holzbau Muster AG,,,,info@muster.ch,,AKTIV\r\n"));
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported formats")
+    void shouldRejectUnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/export/bedarfe").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bedarfUseCase);
+    }
+
+    private Bedarf createBedarf() {
+        return Bedarf.builder()
+                .id(UUID.randomUUID())
+                .betriebId(UUID.randomUUID())
+                .holzbauAnzahl(2)
+                .zimmermannAnzahl(1)
+                .datumVon(LocalDate.of(2024, 3, 1))
+                .datumBis(LocalDate.of(2024, 3, 31))
+                .adresse("Dorfstrasse 1, 9472 Grabs")
+                .mitWerkzeug(true)
+                .mitFahrzeug(false)
+                .status(BedarfStatus.AKTIV)
+                .build();
+    }
+}
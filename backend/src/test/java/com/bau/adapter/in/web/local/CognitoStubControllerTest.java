@@ -0,0 +1,81 @@
+package com.bau.adapter.in.web.local;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.bau.config.TestSecurityConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CognitoStubController.class)
+@Import(TestSecurityConfig.class)
+@ActiveProfiles({"test", "local"})
+@DisplayName("CognitoStubController Web Layer Tests")
+class CognitoStubControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should issue tokens for the stub password")
+    void shouldIssueTokensForStubPassword() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(post("/local/cognito/")
+                        .header("X-Amz-Target", "AWSCognitoIdentityProviderService.InitiateAuth")
+                        .contentType(CognitoStubController.AMZ_JSON)
+                        .content(initiateAuth("admin@holzbau.ch", "local")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.AuthenticationResult.ExpiresIn").value(3600))
+                .andReturn();
+
+        // Then
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        DecodedJWT idToken = JWT.decode(body.path("AuthenticationResult").path("IdToken").asText());
+        assertThat(idToken.getClaim("email").asString()).isEqualTo("admin@holzbau.ch");
+        assertThat(idToken.getClaim("cognito:groups").asList(String.class)).containsExactly("admin");
+    }
+
+    @Test
+    @DisplayName("Should reject a wrong password like Cognito")
+    void shouldRejectWrongPassword() throws Exception {
+        mockMvc.perform(post("/local/cognito/")
+                        .header("X-Amz-Target", "AWSCognitoIdentityProviderService.InitiateAuth")
+                        .contentType(CognitoStubController.AMZ_JSON)
+                        .content(initiateAuth("max", "wrong")))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string("x-amzn-ErrorType", "NotAuthorizedException"))
+                .andExpect(jsonPath("$.__type").value("NotAuthorizedException"));
+    }
+
+    @Test
+    @DisplayName("Should accept global sign out")
+    void shouldAcceptGlobalSignOut() throws Exception {
+        mockMvc.perform(post("/local/cognito/")
+                        .header("X-Amz-Target", "AWSCognitoIdentityProviderService.GlobalSignOut")
+                        .contentType(CognitoStubController.AMZ_JSON)
+                        .content("{\"AccessToken\":\"token\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{}"));
+    }
+
+    private String initiateAuth(String username, String password) {
+        return """
+                {"AuthFlow":"USER_PASSWORD_AUTH","ClientId":"local-client",
+                 "AuthParameters":{"USERNAME":"%s","PASSWORD":"%s"}}
+                """.formatted(username, password);
+    }
+}
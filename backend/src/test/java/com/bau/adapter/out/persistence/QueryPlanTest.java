@@ -0,0 +1,441 @@
+package com.bau.adapter.out.persistence;
+
+import com.bau.adapter.out.persistence.bedarf.BedarfMapper;
+import com.bau.adapter.out.persistence.bedarf.BedarfRepositoryImpl;
+import com.bau.adapter.out.persistence.bedarf.PostgresBedarfSearchIndex;
+import com.bau.adapter.out.persistence.betrieb.BetriebMapper;
+import com.bau.adapter.out.persistence.betrieb.BetriebRepositoryImpl;
+import com.bau.application.domain.bedarf.BedarfCursor;
+import com.bau.application.domain.bedarf.BedarfFilter;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.bedarf.DateRangeMatch;
+import com.bau.application.domain.betrieb.BetriebStatus;
+import com.bau.application.domain.geo.GeoHash;
+import com.bau.application.domain.geo.GeoPoint;
+import com.bau.application.port.out.BedarfRepository;
+import com.bau.application.port.out.BedarfSearchIndex;
+import com.bau.application.port.out.BetriebRepository;
+import com.bau.shared.config.JpaConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls the hot list, radius and search queries of the persistence adapters against an embedded
+ * PostgreSQL migrated by Flyway, captures the statements Hibernate actually sent through a
+ * datasource-proxy listener, and runs EXPLAIN for each of them with the parameters it was bound
+ * with. Fails when one of them scans a whole table, or when a query does not use the index that
+ * was added for it.
+ * The tables are seeded with enough rows that the planner prefers an index where one fits.
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=none"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BedarfRepositoryImpl.class, BedarfMapper.class, BetriebRepositoryImpl.class, BetriebMapper.class,
+        PostgresBedarfSearchIndex.class, JpaConfig.class, QueryPlanTest.EmbeddedDatabaseConfig.class})
+@DisplayName("Query Plan Tests")
+class QueryPlanTest {
+
+    private static final Set<String> CHECKED_TABLES = Set.of("bedarf", "betrieb");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TestConfiguration
+    static class EmbeddedDatabaseConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        CapturedStatements capturedStatements() {
+            return new CapturedStatements();
+        }
+
+        /**
+         * The migrated and seeded database, behind a proxy that captures every statement run on it.
+         */
+        @Bean
+        DataSource dataSource(EmbeddedPostgres postgres, CapturedStatements capturedStatements) throws SQLException {
+            DataSource database = postgres.getPostgresDatabase();
+            Flyway.configure()
+                    .dataSource(database)
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            seed(database);
+            return ProxyDataSourceBuilder.create(database)
+                    .listener(capturedStatements)
+                    .build();
+        }
+
+        private static void seed(DataSource database) throws SQLException {
+            try (Connection connection = database.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        INSERT INTO betrieb (id, name, adresse, email, status, created_at, updated_at)
+                        SELECT gen_random_uuid(), 'Betrieb ' || i, 'Strasse ' || i, 'betrieb' || i || '@example.com',
+                               CASE WHEN i % 10 = 0 THEN 'INAKTIV' ELSE 'AKTIV' END, now(), now()
+                        FROM generate_series(1, 20000) i
+                        """);
+
+                // Geocoded locations across Switzerland, each shared by a hundred bedarfe
+                statement.execute("CREATE TEMPORARY TABLE seed_point "
+                        + "(n INTEGER, latitude DOUBLE PRECISION, longitude DOUBLE PRECISION, geohash VARCHAR(12))");
+                Random random = new Random(42);
+                try (PreparedStatement insert = connection.prepareStatement("INSERT INTO seed_point VALUES (?, ?, ?, ?)")) {
+                    for (int n = 0; n < 2000; n++) {
+                        GeoPoint point = new GeoPoint(45.9 + random.nextDouble() * 1.8, 6.0 + random.nextDouble() * 4.4);
+                        insert.setInt(1, n);
+                        insert.setDouble(2, point.latitude());
+                        insert.setDouble(3, point.longitude());
+                        insert.setString(4, GeoHash.encode(point, GeoHash.STORED_PRECISION));
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+
+                // One bedarf in twenty is active, as most bedarfe are completed over time
+                statement.execute("""
+                        INSERT INTO bedarf (id, betrieb_id, holzbau_anzahl, zimmermann_anzahl, datum_von, datum_bis,
+                                            adresse, latitude, longitude, geohash, status, created_at, updated_at)
+                        SELECT gen_random_uuid(), betriebe.ids[1 + i % 20000], 1, 1,
+                               date '2024-01-01' + i % 700, date '2024-01-01' + i % 700 + 14,
+                               'Strasse ' || i, p.latitude, p.longitude, p.geohash,
+                               CASE WHEN i % 20 = 0 THEN 'AKTIV' ELSE 'ABGESCHLOSSEN' END,
+                               timestamp '2024-01-01' + i * interval '1 minute',
+                               timestamp '2024-01-01' + i * interval '1 minute'
+                        FROM generate_series(1, 200000) i
+                        JOIN seed_point p ON p.n = i % 2000,
+                             (SELECT array_agg(id) AS ids FROM betrieb) betriebe
+                        """);
+                statement.execute("DROP TABLE seed_point");
+                statement.execute("VACUUM ANALYZE");
+            }
+        }
+    }
+
+    /**
+     * A statement captured from the application data source, with the parameters it was bound with.
+     */
+    record CapturedStatement(String sql, List<ParameterSetOperation> parameters) {
+
+        boolean isSelect() {
+            return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+        }
+
+        boolean isCount() {
+            return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select count(");
+        }
+    }
+
+    /**
+     * Collects the statements executed since the last {@link #clear()}.
+     */
+    static class CapturedStatements implements QueryExecutionListener {
+
+        private final List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                        ? List.of()
+                        : List.copyOf(queryInfo.getParametersList().get(0));
+                statements.add(new CapturedStatement(queryInfo.getQuery(), parameters));
+            }
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        List<CapturedStatement> selects() {
+            return statements.stream()
+                    .filter(CapturedStatement::isSelect)
+                    .toList();
+        }
+    }
+
+    /**
+     * A captured statement and its plan.
+     */
+    record ExplainedStatement(CapturedStatement statement, JsonNode plan) {
+
+        @Override
+        public String toString() {
+            return statement.sql() + System.lineSeparator() + plan.toPrettyString();
+        }
+    }
+
+    @Autowired
+    private BedarfRepository bedarfRepository;
+
+    @Autowired
+    private BetriebRepository betriebRepository;
+
+    @Autowired
+    private BedarfSearchIndex searchIndex;
+
+    @Autowired
+    private CapturedStatements capturedStatements;
+
+    @Autowired
+    private EmbeddedPostgres postgres;
+
+    @Test
+    @DisplayName("Should page active bedarfe newest first and count them on indexes")
+    void shouldPageActiveBedarfe() throws Exception {
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() ->
+                bedarfRepository.findWithPagination(0, 20, BedarfFilter.of(BedarfStatus.AKTIV, null, null)));
+
+        // Then
+        assertThat(statements).hasSize(2);
+        assertNoSequentialScans(statements);
+    }
+
+    @Test
+    @DisplayName("Should page active bedarfe in a date window on indexes")
+    void shouldPageActiveBedarfeInDateWindow() throws Exception {
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() -> bedarfRepository.findWithPagination(0, 20,
+                BedarfFilter.of(BedarfStatus.AKTIV, LocalDate.of(2024, 6, 1), LocalDate.of(2024, 8, 31))));
+
+        // Then
+        assertNoSequentialScans(statements);
+    }
+
+    @Test
+    @DisplayName("Should match bedarfe overlapping a date window on the daterange index")
+    void shouldPageBedarfeOverlappingDateWindow() throws Exception {
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() -> bedarfRepository.findWithPagination(0, 20,
+                BedarfFilter.builder()
+                        .datumVon(LocalDate.of(2024, 6, 1))
+                        .datumBis(LocalDate.of(2024, 6, 7))
+                        .dateRangeMatch(DateRangeMatch.OVERLAPPING)
+                        .build()));
+
+        // Then
+        assertNoSequentialScans(statements);
+        assertUsesIndex(statements, "idx_bedarf_datum_range");
+    }
+
+    @Test
+    @DisplayName("Should slice completed bedarfe newest first on an index")
+    void shouldSliceCompletedBedarfe() throws Exception {
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() -> bedarfRepository.findWithCursor(null, 20,
+                BedarfFilter.of(BedarfStatus.ABGESCHLOSSEN, null, null), false));
+
+        // Then
+        assertNoSequentialScans(statements);
+    }
+
+    @Test
+    @DisplayName("Should slice all bedarfe newest first on an index")
+    void shouldSliceAllBedarfe() throws Exception {
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() ->
+                bedarfRepository.findWithCursor(null, 20, BedarfFilter.none(), false));
+
+        // Then
+        assertNoSequentialScans(statements);
+    }
+
+    @Test
+    @DisplayName("Should seek the slice after a cursor on an index")
+    void shouldSliceActiveBedarfeAfterCursor() throws Exception {
+        // Given
+        BedarfCursor cursor = new BedarfCursor(LocalDateTime.of(2024, 3, 1, 12, 0), UUID.randomUUID());
+
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() -> bedarfRepository.findWithCursor(cursor, 20,
+                BedarfFilter.of(BedarfStatus.AKTIV, null, null), false));
+
+        // Then
+        assertNoSequentialScans(statements);
+    }
+
+    @Test
+    @DisplayName("Should page the bedarfe of a betrieb with worker and vehicle criteria on an index")
+    void shouldPageBedarfeOfBetrieb() throws Exception {
+        // Given
+        UUID betriebId = betriebIdByName("Betrieb 42");
+
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() -> bedarfRepository.findWithPagination(0, 20,
+                BedarfFilter.builder()
+                        .betriebId(betriebId)
+                        .minHolzbauAnzahl(1)
+                        .mitFahrzeug(true)
+                        .build()));
+
+        // Then
+        assertNoSequentialScans(statements);
+    }
+
+    @Test
+    @DisplayName("Should find active bedarfe within a radius on the geohash index")
+    void shouldFindNearbyBedarfe() throws Exception {
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() -> bedarfRepository.findNearby(
+                new GeoPoint(46.85, 9.53), 2.0, BedarfStatus.AKTIV, null, null));
+
+        // Then
+        assertNoSequentialScans(statements);
+        assertUsesIndex(statements, "idx_bedarf_geohash");
+    }
+
+    @Test
+    @DisplayName("Should search active bedarfe on the text search and trigram indexes")
+    void shouldSearchActiveBedarfe() throws Exception {
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() -> searchIndex.search("Zeltner", 20));
+
+        // Then
+        assertNoSequentialScans(statements);
+        assertUsesIndex(statements, "idx_bedarf_adresse_fts");
+        assertUsesIndex(statements, "idx_bedarf_adresse_trgm");
+    }
+
+    @Test
+    @DisplayName("Should page active betriebe by name on an index")
+    void shouldPageActiveBetriebe() throws Exception {
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() ->
+                betriebRepository.findWithPagination(0, 20, BetriebStatus.AKTIV));
+
+        // Then - counting nine in ten betriebe reads the table either way
+        assertNoSequentialScans(withoutCounts(statements));
+    }
+
+    @Test
+    @DisplayName("Should page all betriebe by name on an index")
+    void shouldPageAllBetriebe() throws Exception {
+        // When
+        List<ExplainedStatement> statements = explainStatementsOf(() ->
+                betriebRepository.findWithPagination(0, 20, null));
+
+        // Then - the count of all betriebe reads the table either way
+        assertNoSequentialScans(withoutCounts(statements));
+    }
+
+    /**
+     * Runs a repository call and explains the SELECT statements it issued.
+     */
+    private List<ExplainedStatement> explainStatementsOf(Runnable call) throws Exception {
+        capturedStatements.clear();
+        call.run();
+        List<ExplainedStatement> explained = new ArrayList<>();
+        for (CapturedStatement statement : capturedStatements.selects()) {
+            explained.add(new ExplainedStatement(statement, explain(statement)));
+        }
+        assertThat(explained).as("captured SELECT statements").isNotEmpty();
+        return explained;
+    }
+
+    /**
+     * Runs EXPLAIN on the database itself, binding the parameters the same way Hibernate did.
+     */
+    private JsonNode explain(CapturedStatement captured) throws Exception {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + captured.sql())) {
+            for (ParameterSetOperation parameter : captured.parameters()) {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    private UUID betriebIdByName(String name) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT id FROM betrieb WHERE name = ?")) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getObject(1, UUID.class);
+            }
+        }
+    }
+
+    private static List<ExplainedStatement> withoutCounts(List<ExplainedStatement> statements) {
+        return statements.stream()
+                .filter(explained -> !explained.statement().isCount())
+                .toList();
+    }
+
+    private static void assertNoSequentialScans(List<ExplainedStatement> statements) {
+        assertThat(statements).isNotEmpty();
+        for (ExplainedStatement explained : statements) {
+            List<String> sequentialScans = new ArrayList<>();
+            collectPlanNodes(explained.plan(), "Seq Scan", "Relation Name", sequentialScans);
+            assertThat(sequentialScans.stream().filter(CHECKED_TABLES::contains))
+                    .as("Sequential scans in plan of %s", explained)
+                    .isEmpty();
+        }
+    }
+
+    private static void assertUsesIndex(List<ExplainedStatement> statements, String index) {
+        List<String> indexes = new ArrayList<>();
+        for (ExplainedStatement explained : statements) {
+            collectPlanNodes(explained.plan(), null, "Index Name", indexes);
+        }
+        assertThat(indexes)
+                .as("Indexes used by %s", statements)
+                .contains(index);
+    }
+
+    /**
+     * Collects an attribute of all plan nodes, or of the nodes of one type.
+     */
+    private static void collectPlanNodes(JsonNode node, String nodeType, String attribute, List<String> values) {
+        if ((nodeType == null || nodeType.equals(node.path("Node Type").asText())) && node.has(attribute)) {
+            values.add(node.path(attribute).asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectPlanNodes(child, nodeType, attribute, values);
+        }
+    }
+}
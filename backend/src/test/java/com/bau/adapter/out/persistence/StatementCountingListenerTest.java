@@ -0,0 +1,53 @@
+package com.bau.adapter.out.persistence;
+
+import com.bau.shared.monitoring.StatementCounter;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StatementCountingListener Tests")
+class StatementCountingListenerTest {
+
+    private final StatementCountingListener listener = new StatementCountingListener();
+
+    @Test
+    @DisplayName("Should count each execution as one statement")
+    void shouldCountEachExecution() {
+        // Given
+        ExecutionInfo execution = new ExecutionInfo();
+
+        // When
+        int statements;
+        try (StatementCounter.Count count = StatementCounter.start()) {
+            listener.afterQuery(execution, List.of());
+            listener.afterQuery(execution, List.of());
+            statements = count.statements();
+        }
+
+        // Then
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count every statement of a batch")
+    void shouldCountBatchSize() {
+        // Given
+        ExecutionInfo batch = new ExecutionInfo();
+        batch.setBatch(true);
+        batch.setBatchSize(50);
+
+        // When
+        int statements;
+        try (StatementCounter.Count count = StatementCounter.start()) {
+            listener.afterQuery(batch, List.of());
+            statements = count.statements();
+        }
+
+        // Then
+        assertThat(statements).isEqualTo(50);
+    }
+}
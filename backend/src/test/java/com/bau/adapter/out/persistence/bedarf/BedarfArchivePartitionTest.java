@@ -0,0 +1,90 @@
+package com.bau.adapter.out.persistence.bedarf;
+
+import com.bau.shared.config.JpaConfig;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Year;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the archive partition maintenance against PostgreSQL, as H2 has no partitioned tables.
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=none"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BedarfArchiveImpl.class, JpaConfig.class, BedarfArchivePartitionTest.EmbeddedDatabaseConfig.class})
+@DisplayName("Bedarf Archive Partition Tests")
+class BedarfArchivePartitionTest {
+
+    @TestConfiguration
+    static class EmbeddedDatabaseConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres postgres) {
+            DataSource database = postgres.getPostgresDatabase();
+            Flyway.configure()
+                    .dataSource(database)
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            return database;
+        }
+    }
+
+    @Autowired
+    private BedarfArchiveImpl bedarfArchive;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should create a missing year partition and move its rows out of the default partition")
+    void shouldCreatePartitionAndMoveRowsFromDefault() {
+        // Given
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO bedarf_archive (id, betrieb_id, holzbau_anzahl, zimmermann_anzahl, datum_von, datum_bis,
+                                            adresse, status, created_at, updated_at, version, archived_at)
+                VALUES (?, ?, 1, 0, '2031-05-01', '2031-06-30', 'Bahnhofstrasse 1, 7000 Chur', 'ABGESCHLOSSEN',
+                        now(), now(), 0, now())
+                """, id, UUID.randomUUID());
+
+        // When
+        boolean created = bedarfArchive.ensurePartition(Year.of(2031));
+
+        // Then
+        assertThat(created).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM bedarf_archive_2031 WHERE id = ?",
+                Integer.class, id)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM bedarf_archive_default",
+                Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM bedarf_archive WHERE id = ?",
+                Integer.class, id)).isEqualTo(1);
+        assertThat(bedarfArchive.ensurePartition(Year.of(2031))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should leave existing partitions alone")
+    void shouldKeepExistingPartition() {
+        // When & Then
+        assertThat(bedarfArchive.ensurePartition(Year.of(2025))).isFalse();
+    }
+}
@@ -1,7 +1,12 @@
 package com.bau.adapter.out.persistence.bedarf;
 
 import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfFilter;
 import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.bedarf.DateRangeMatch;
+import com.bau.application.domain.bedarf.NearbyBedarf;
+import com.bau.application.domain.geo.GeoPoint;
+import com.bau.application.port.out.BedarfRepository;
 import com.bau.shared.config.JpaConfig;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,21 +16,28 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @DataJpaTest
 @ActiveProfiles("test")
-@Import({BedarfRepositoryImpl.class, BedarfMapper.class, JpaConfig.class})
+@Import({BedarfRepositoryImpl.class, BedarfArchiveImpl.class, BedarfMapper.class, JpaConfig.class})
 @DisplayName("BedarfRepository Integration Tests")
 class BedarfRepositoryImplTest {
 
     @Autowired
     private BedarfRepositoryImpl bedarfRepository;
 
+    @Autowired
+    private BedarfArchiveImpl bedarfArchive;
+
     @Autowired
     private BedarfJpaRepository jpaRepository;
 
@@ -139,6 +151,29 @@ class BedarfRepositoryImplTest {
         assertThat(foundBedarf).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should report nothing deleted for an unknown bedarf")
+    void shouldNotDeleteUnknownBedarf() {
+        // When & Then
+        assertThat(bedarfRepository.deleteById(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should delete the given bedarfs only")
+    void shouldDeleteAllGivenBedarfs() {
+        // Given
+        Bedarf first = bedarfRepository.save(createValidBedarf());
+        Bedarf second = bedarfRepository.save(createValidBedarf());
+        Bedarf untouched = bedarfRepository.save(createValidBedarf());
+
+        // When
+        int deleted = bedarfRepository.deleteAllById(Set.of(first.getId(), second.getId(), UUID.randomUUID()));
+
+        // Then
+        assertThat(deleted).isEqualTo(2);
+        assertThat(jpaRepository.findAll()).extracting(BedarfEntity::getId).containsExactly(untouched.getId());
+    }
+
     @Test
     @DisplayName("Should check if bedarf exists")
     void shouldCheckIfBedarfExists() {
@@ -177,6 +212,294 @@ class BedarfRepositoryImplTest {
         assertThat(savedBedarf.getStatus()).isNull();
     }
 
+    @Test
+    @DisplayName("Should page through bedarfs by keyset cursor without gaps or duplicates")
+    void shouldPageThroughBedarfsByKeysetCursor() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            bedarfRepository.save(createValidBedarf());
+        }
+
+        // When
+        BedarfRepository.BedarfSliceResult first = bedarfRepository.findWithCursor(null, 2, BedarfFilter.none(), true);
+        BedarfRepository.BedarfSliceResult second = bedarfRepository.findWithCursor(
+                first.getNextCursor().orElseThrow(), 2, BedarfFilter.none(), false);
+        BedarfRepository.BedarfSliceResult third = bedarfRepository.findWithCursor(
+                second.getNextCursor().orElseThrow(), 2, BedarfFilter.none(), false);
+
+        // Then
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.getTotalElements()).contains(5);
+        assertThat(second.getContent()).hasSize(2);
+        assertThat(second.getTotalElements()).isEmpty();
+        assertThat(third.getContent()).hasSize(1);
+        assertThat(third.getNextCursor()).isEmpty();
+        assertThat(Stream.of(first, second, third)
+                .flatMap(slice -> slice.getContent().stream())
+                .map(Bedarf::getId)
+                .distinct())
+                .hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should find nearby bedarfs ordered by distance")
+    void shouldFindNearbyBedarfsOrderedByDistance() {
+        // Given
+        GeoPoint zuerich = new GeoPoint(47.3769, 8.5417);
+        Bedarf winterthur = bedarfRepository.save(createValidBedarf().toBuilder()
+                .latitude(47.4988).longitude(8.7237).build());
+        Bedarf zuerichCity = bedarfRepository.save(createValidBedarf().toBuilder()
+                .latitude(47.3717).longitude(8.5423).build());
+        bedarfRepository.save(createValidBedarf().toBuilder()
+                .latitude(46.9480).longitude(7.4474).build()); // Bern, outside radius
+        bedarfRepository.save(createValidBedarf()); // not geocoded
+
+        // When
+        List<NearbyBedarf> result = bedarfRepository.findNearby(zuerich, 25, BedarfStatus.AKTIV, null, null);
+
+        // Then
+        assertThat(result).extracting(nearby -> nearby.bedarf().getId())
+                .containsExactly(zuerichCity.getId(), winterthur.getId());
+        assertThat(result.get(0).distanceKm()).isLessThan(1);
+    }
+
+    @Test
+    @DisplayName("Should find bedarfs overlapping a date window")
+    void shouldFindBedarfsOverlappingDateWindow() {
+        // Given
+        Bedarf spanningStart = bedarfRepository.save(createValidBedarf().toBuilder()
+                .datumVon(LocalDate.of(2024, 2, 20)).datumBis(LocalDate.of(2024, 3, 5)).build());
+        Bedarf inside = bedarfRepository.save(createValidBedarf().toBuilder()
+                .datumVon(LocalDate.of(2024, 3, 10)).datumBis(LocalDate.of(2024, 3, 15)).build());
+        Bedarf touchingEnd = bedarfRepository.save(createValidBedarf().toBuilder()
+                .datumVon(LocalDate.of(2024, 3, 31)).datumBis(LocalDate.of(2024, 4, 10)).build());
+        bedarfRepository.save(createValidBedarf()); // January, before window
+        LocalDate von = LocalDate.of(2024, 3, 1);
+        LocalDate bis = LocalDate.of(2024, 3, 31);
+
+        // When
+        BedarfFilter contains = BedarfFilter.of(BedarfStatus.AKTIV, von, bis);
+        BedarfRepository.BedarfPageResult overlapping = bedarfRepository.findWithPagination(
+                0, 10, contains.toBuilder().dateRangeMatch(DateRangeMatch.OVERLAPPING).build());
+        BedarfRepository.BedarfPageResult contained = bedarfRepository.findWithPagination(0, 10, contains);
+
+        // Then
+        assertThat(overlapping.getContent()).extracting(Bedarf::getId)
+                .containsExactlyInAnyOrder(spanningStart.getId(), inside.getId(), touchingEnd.getId());
+        assertThat(contained.getContent()).extracting(Bedarf::getId)
+                .containsExactly(inside.getId());
+    }
+
+    @Test
+    @DisplayName("Should combine only the given filter criteria")
+    void shouldFindBedarfsMatchingFilterCriteria() {
+        // Given
+        UUID betriebId = UUID.randomUUID();
+        Bedarf match = bedarfRepository.save(createValidBedarf().toBuilder()
+                .betriebId(betriebId).holzbauAnzahl(4).mitFahrzeug(true).build());
+        bedarfRepository.save(createValidBedarf().toBuilder()
+                .betriebId(betriebId).holzbauAnzahl(1).mitFahrzeug(true).build()); // too few workers
+        bedarfRepository.save(createValidBedarf().toBuilder()
+                .betriebId(betriebId).holzbauAnzahl(4).build()); // without vehicle
+        bedarfRepository.save(createValidBedarf().toBuilder()
+                .holzbauAnzahl(4).mitFahrzeug(true).build()); // other betrieb
+        BedarfFilter filter = BedarfFilter.builder()
+                .betriebId(betriebId)
+                .minHolzbauAnzahl(3)
+                .mitFahrzeug(true)
+                .build();
+
+        // When
+        BedarfRepository.BedarfPageResult page = bedarfRepository.findWithPagination(0, 10, filter);
+        BedarfRepository.BedarfSliceResult slice = bedarfRepository.findWithCursor(null, 10, filter, true);
+
+        // Then
+        assertThat(page.getContent()).extracting(Bedarf::getId).containsExactly(match.getId());
+        assertThat(slice.getContent()).extracting(Bedarf::getId).containsExactly(match.getId());
+        assertThat(slice.getTotalElements()).contains(1);
+    }
+
+    @Test
+    @DisplayName("Should insert new bedarfs in one batch")
+    void shouldSaveAllNewBedarfs() {
+        // Given
+        List<Bedarf> bedarfs = Stream.generate(this::createValidBedarf).limit(3).toList();
+
+        // When
+        List<Bedarf> saved = bedarfRepository.saveAll(bedarfs);
+
+        // Then
+        assertThat(saved).hasSize(3).allSatisfy(bedarf -> assertThat(bedarf.getId()).isNotNull());
+        assertThat(jpaRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should update existing bedarfs when saving all")
+    void shouldSaveAllExistingBedarfs() {
+        // Given
+        Bedarf existing = bedarfRepository.save(createValidBedarf());
+
+        // When
+        bedarfRepository.saveAll(List.of(existing.toBuilder().holzbauAnzahl(7).build(), createValidBedarf()));
+
+        // Then
+        assertThat(jpaRepository.count()).isEqualTo(2);
+        assertThat(bedarfRepository.findById(existing.getId()))
+                .hasValueSatisfying(bedarf -> assertThat(bedarf.getHolzbauAnzahl()).isEqualTo(7));
+    }
+
+    @Test
+    @DisplayName("Should set status of the given bedarfs only")
+    void shouldUpdateStatusOfGivenBedarfs() {
+        // Given
+        Bedarf first = bedarfRepository.save(createValidBedarf());
+        Bedarf second = bedarfRepository.save(createValidBedarf());
+        Bedarf untouched = bedarfRepository.save(createValidBedarf());
+
+        // When
+        int updated = bedarfRepository.updateStatus(
+                Set.of(first.getId(), second.getId(), UUID.randomUUID()), BedarfStatus.ABGESCHLOSSEN);
+
+        // Then
+        assertThat(updated).isEqualTo(2);
+        assertThat(bedarfRepository.findAllById(Set.of(first.getId(), second.getId(), untouched.getId())))
+                .extracting(Bedarf::getId, Bedarf::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(first.getId(), BedarfStatus.ABGESCHLOSSEN),
+                        tuple(second.getId(), BedarfStatus.ABGESCHLOSSEN),
+                        tuple(untouched.getId(), BedarfStatus.AKTIV));
+    }
+
+    @Test
+    @DisplayName("Should set status only while the version is current")
+    void shouldUpdateStatusOfCurrentVersionOnly() {
+        // Given
+        Bedarf bedarf = bedarfRepository.save(createValidBedarf());
+        long version = bedarf.getVersion();
+
+        // When
+        Optional<Bedarf> current = bedarfRepository.updateStatus(bedarf.getId(), BedarfStatus.STORNIERT, version);
+        Optional<Bedarf> outdated = bedarfRepository.updateStatus(bedarf.getId(), BedarfStatus.ABGESCHLOSSEN, version);
+
+        // Then - the update returns the row as stored
+        assertThat(current).hasValueSatisfying(updated -> {
+            assertThat(updated.getStatus()).isEqualTo(BedarfStatus.STORNIERT);
+            assertThat(updated.getVersion()).isEqualTo(version + 1);
+            assertThat(updated.getAdresse()).isEqualTo(bedarf.getAdresse());
+        });
+        assertThat(outdated).isEmpty();
+        assertThat(bedarfRepository.findById(bedarf.getId()))
+                .hasValueSatisfying(stored -> assertThat(stored.getStatus()).isEqualTo(BedarfStatus.STORNIERT));
+    }
+
+    @Test
+    @DisplayName("Should close active bedarfs that ended before today, up to the limit")
+    void shouldCloseExpiredBedarfsInBatches() {
+        // Given
+        LocalDate today = LocalDate.of(2024, 2, 1);
+        Bedarf first = bedarfRepository.save(createValidBedarf());
+        Bedarf second = bedarfRepository.save(createValidBedarf());
+        Bedarf endsToday = bedarfRepository.save(createValidBedarf().setDatumBis(today));
+        Bedarf cancelled = bedarfRepository.save(createValidBedarf().setStatus(BedarfStatus.STORNIERT));
+
+        // When
+        List<UUID> firstBatch = bedarfRepository.closeExpired(today, 1);
+        List<UUID> secondBatch = bedarfRepository.closeExpired(today, 1);
+        List<UUID> lastBatch = bedarfRepository.closeExpired(today, 1);
+
+        // Then
+        assertThat(firstBatch).hasSize(1);
+        assertThat(secondBatch).hasSize(1);
+        assertThat(lastBatch).isEmpty();
+        assertThat(Stream.concat(firstBatch.stream(), secondBatch.stream()))
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(bedarfRepository.findAllById(
+                Set.of(first.getId(), second.getId(), endsToday.getId(), cancelled.getId())))
+                .extracting(Bedarf::getId, Bedarf::getStatus, Bedarf::getVersion)
+                .containsExactlyInAnyOrder(
+                        tuple(first.getId(), BedarfStatus.ABGESCHLOSSEN, first.getVersion() + 1),
+                        tuple(second.getId(), BedarfStatus.ABGESCHLOSSEN, second.getVersion() + 1),
+                        tuple(endsToday.getId(), BedarfStatus.AKTIV, endsToday.getVersion()),
+                        tuple(cancelled.getId(), BedarfStatus.STORNIERT, cancelled.getVersion()));
+    }
+
+    @Test
+    @DisplayName("Should move closed bedarfs that ended before the day to the archive")
+    void shouldArchiveClosedBedarfs() {
+        // Given
+        LocalDate endedBefore = LocalDate.of(2024, 2, 1);
+        Bedarf completed = bedarfRepository.save(createValidBedarf().setStatus(BedarfStatus.ABGESCHLOSSEN));
+        Bedarf cancelled = bedarfRepository.save(createValidBedarf().setStatus(BedarfStatus.STORNIERT));
+        Bedarf active = bedarfRepository.save(createValidBedarf());
+        Bedarf recent = bedarfRepository.save(createValidBedarf()
+                .setStatus(BedarfStatus.ABGESCHLOSSEN)
+                .setDatumBis(endedBefore));
+
+        // When
+        List<UUID> archived = bedarfArchive.archiveClosed(endedBefore, 10);
+
+        // Then
+        assertThat(archived).containsExactlyInAnyOrder(completed.getId(), cancelled.getId());
+        assertThat(bedarfRepository.findById(completed.getId())).isEmpty();
+        assertThat(bedarfRepository.findByIdIncludingArchive(completed.getId()))
+                .hasValueSatisfying(stored -> {
+                    assertThat(stored.getStatus()).isEqualTo(BedarfStatus.ABGESCHLOSSEN);
+                    assertThat(stored.getAdresse()).isEqualTo(completed.getAdresse());
+                    assertThat(stored.getVersion()).isEqualTo(completed.getVersion());
+                });
+        assertThat(bedarfRepository.findAllById(Set.of(completed.getId(), cancelled.getId(), active.getId(),
+                recent.getId())))
+                .extracting(Bedarf::getId)
+                .containsExactlyInAnyOrder(active.getId(), recent.getId());
+        assertThat(bedarfArchive.archiveClosed(endedBefore, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should list and delete the archived bedarfs of a betrieb")
+    void shouldListAndDeleteArchivedBedarfsOfBetrieb() {
+        // Given
+        UUID betriebId = UUID.randomUUID();
+        Bedarf archived = bedarfRepository.save(createValidBedarf().toBuilder()
+                .betriebId(betriebId)
+                .status(BedarfStatus.ABGESCHLOSSEN)
+                .build());
+        Bedarf current = bedarfRepository.save(createValidBedarf().toBuilder()
+                .betriebId(betriebId)
+                .build());
+        bedarfArchive.archiveClosed(LocalDate.of(2024, 2, 1), 10);
+
+        // When
+        List<Bedarf> hot = bedarfRepository.findByBetriebId(betriebId);
+        List<Bedarf> all = bedarfRepository.findByBetriebIdIncludingArchive(betriebId);
+
+        // Then
+        assertThat(hot).extracting(Bedarf::getId).containsExactly(current.getId());
+        assertThat(all).extracting(Bedarf::getId).containsExactly(current.getId(), archived.getId());
+        assertThat(bedarfRepository.isArchived(archived.getId())).isTrue();
+        assertThat(bedarfRepository.isArchived(current.getId())).isFalse();
+
+        assertThat(bedarfArchive.deleteByBetriebIds(Set.of(betriebId))).isEqualTo(1);
+        assertThat(bedarfRepository.isArchived(archived.getId())).isFalse();
+        assertThat(bedarfRepository.findByBetriebIdIncludingArchive(betriebId))
+                .extracting(Bedarf::getId)
+                .containsExactly(current.getId());
+    }
+
+    @Test
+    @DisplayName("Should pass all bedarfs with the given status to the consumer")
+    void shouldStreamBedarfsByStatus() {
+        // Given
+        Bedarf active = bedarfRepository.save(createValidBedarf());
+        bedarfRepository.save(createValidBedarf().setStatus(BedarfStatus.STORNIERT));
+        List<UUID> seen = new ArrayList<>();
+
+        // When
+        bedarfRepository.forEach(BedarfStatus.AKTIV, bedarf -> seen.add(bedarf.getId()));
+
+        // Then
+        assertThat(seen).containsExactly(active.getId());
+    }
+
     private Bedarf createValidBedarf() {
         return Bedarf.builder()
                 .betriebId(UUID.randomUUID())
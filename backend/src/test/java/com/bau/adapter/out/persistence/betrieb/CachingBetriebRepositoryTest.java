@@ -0,0 +1,227 @@
+package com.bau.adapter.out.persistence.betrieb;
+
+import com.bau.application.domain.VersionConflictException;
+import com.bau.application.domain.betrieb.Betrieb;
+import com.bau.application.domain.betrieb.BetriebStatus;
+import com.bau.application.port.out.BetriebRepository;
+import com.bau.shared.cache.LocalCacheInvalidationChannel;
+import com.bau.shared.cache.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingBetriebRepository Tests")
+class CachingBetriebRepositoryTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    @Mock
+    private BetriebRepository delegate;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-15T10:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalCacheInvalidationChannel channel = new LocalCacheInvalidationChannel();
+
+    private Betrieb betrieb;
+    private UUID id;
+
+    @BeforeEach
+    void setUp() {
+        id = UUID.randomUUID();
+        betrieb = Betrieb.builder()
+                .id(id)
+                .name("Test Bau GmbH")
+                .email("test@bau.ch")
+                .status(BetriebStatus.AKTIV)
+                .build();
+    }
+
+    private CachingBetriebRepository repository(boolean nearCache) {
+        return new CachingBetriebRepository(delegate, channel, meterRegistry, 100, TTL, nearCache, clock);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should load a betrieb once and serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        when(delegate.findById(id)).thenReturn(Optional.of(betrieb));
+        CachingBetriebRepository repository = repository(false);
+
+        // When
+        repository.findById(id);
+        Optional<Betrieb> result = repository.findById(id);
+
+        // Then
+        assertThat(result).map(Betrieb::getName).contains("Test Bau GmbH");
+        verify(delegate, times(1)).findById(id);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve email lookups from entries loaded by ID")
+    void shouldServeEmailLookupsFromCache() {
+        // Given
+        when(delegate.findByEmail("test@bau.ch")).thenReturn(Optional.of(betrieb));
+        CachingBetriebRepository repository = repository(false);
+        repository.findByEmail("test@bau.ch");
+
+        // When
+        Optional<Betrieb> byEmail = repository.findByEmail("test@bau.ch");
+        Optional<Betrieb> byId = repository.findById(id);
+
+        // Then
+        assertThat(byEmail).map(Betrieb::getId).contains(id);
+        assertThat(byId).map(Betrieb::getId).contains(id);
+        verify(delegate, times(1)).findByEmail("test@bau.ch");
+        verify(delegate, never()).findById(id);
+    }
+
+    @Test
+    @DisplayName("Should reload after the entry expired")
+    void shouldReloadAfterExpiry() {
+        // Given
+        when(delegate.findById(id)).thenReturn(Optional.of(betrieb));
+        CachingBetriebRepository repository = repository(false);
+        repository.findById(id);
+
+        // When
+        clock.advance(TTL);
+        repository.findById(id);
+
+        // Then
+        verify(delegate, times(2)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Should reload after save and delete")
+    void shouldInvalidateOnWrite() {
+        // Given
+        when(delegate.findById(id)).thenReturn(Optional.of(betrieb));
+        when(delegate.save(betrieb)).thenReturn(betrieb);
+        when(delegate.deleteById(id)).thenReturn(true);
+        CachingBetriebRepository repository = repository(false);
+
+        // When
+        repository.findById(id);
+        repository.save(betrieb);
+        repository.findById(id);
+        repository.deleteById(id);
+        repository.findById(id);
+
+        // Then
+        verify(delegate, times(3)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Should reload after a status update and after a version conflict")
+    void shouldInvalidateOnStatusUpdateAndConflict() {
+        // Given
+        when(delegate.findById(id)).thenReturn(Optional.of(betrieb));
+        when(delegate.updateStatus(id, BetriebStatus.INAKTIV, null)).thenReturn(Optional.of(betrieb));
+        when(delegate.save(betrieb)).thenThrow(new VersionConflictException("Betrieb", id));
+        CachingBetriebRepository repository = repository(false);
+
+        // When
+        repository.findById(id);
+        repository.updateStatus(id, BetriebStatus.INAKTIV, null);
+        repository.findById(id);
+        assertThatThrownBy(() -> repository.save(betrieb)).isInstanceOf(VersionConflictException.class);
+        repository.findById(id);
+
+        // Then
+        verify(delegate, times(3)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Should not return stale entries for an email that changed")
+    void shouldNotServeChangedEmail() {
+        // Given
+        Betrieb renamed = betrieb.toBuilder().email("neu@bau.ch").build();
+        when(delegate.findByEmail("test@bau.ch")).thenReturn(Optional.of(betrieb), Optional.empty());
+        when(delegate.save(renamed)).thenReturn(renamed);
+        when(delegate.findById(id)).thenReturn(Optional.of(renamed));
+        CachingBetriebRepository repository = repository(false);
+        repository.findByEmail("test@bau.ch");
+
+        // When
+        repository.save(renamed);
+        repository.findById(id);
+        Optional<Betrieb> result = repository.findByEmail("test@bau.ch");
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return copies so callers cannot change cached entries")
+    void shouldReturnCopies() {
+        // Given
+        when(delegate.findById(id)).thenReturn(Optional.of(betrieb));
+        CachingBetriebRepository repository = repository(false);
+        repository.findById(id).orElseThrow().setName("Geändert");
+
+        // When
+        Optional<Betrieb> result = repository.findById(id);
+
+        // Then
+        assertThat(result).map(Betrieb::getName).contains("Test Bau GmbH");
+    }
+
+    @Test
+    @DisplayName("Should invalidate other instances in near-cache mode")
+    void shouldInvalidateOtherInstances() {
+        // Given
+        when(delegate.findById(id)).thenReturn(Optional.of(betrieb));
+        when(delegate.save(betrieb)).thenReturn(betrieb);
+        CachingBetriebRepository writer = repository(true);
+        CachingBetriebRepository reader = repository(true);
+        reader.findById(id);
+
+        // When
+        writer.save(betrieb);
+        reader.findById(id);
+
+        // Then
+        verify(delegate, times(2)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Should keep other instances' entries without near-cache mode")
+    void shouldNotBroadcastWithoutNearCache() {
+        // Given
+        when(delegate.findById(id)).thenReturn(Optional.of(betrieb));
+        when(delegate.save(betrieb)).thenReturn(betrieb);
+        CachingBetriebRepository writer = repository(false);
+        CachingBetriebRepository reader = repository(false);
+        reader.findById(id);
+
+        // When
+        writer.save(betrieb);
+        reader.findById(id);
+
+        // Then
+        verify(delegate, times(1)).findById(id);
+    }
+}
@@ -0,0 +1,157 @@
+package com.bau.adapter.out.search;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.betrieb.Betrieb;
+import com.bau.application.port.out.BetriebRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryBedarfSearchIndex Tests")
+class InMemoryBedarfSearchIndexTest {
+
+    private static final UUID HOLZBAU_ID = UUID.randomUUID();
+    private static final UUID ZIMMEREI_ID = UUID.randomUUID();
+
+    @Mock
+    private BetriebRepository betriebRepository;
+
+    private InMemoryBedarfSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryBedarfSearchIndex(betriebRepository);
+        lenient().when(betriebRepository.findById(HOLZBAU_ID))
+                .thenReturn(Optional.of(Betrieb.builder().id(HOLZBAU_ID).name("Holzbau Rüegg AG").build()));
+        lenient().when(betriebRepository.findById(ZIMMEREI_ID))
+                .thenReturn(Optional.of(Betrieb.builder().id(ZIMMEREI_ID).name("Zimmerei Meier").build()));
+    }
+
+    @Test
+    @DisplayName("Should find bedarfs by address prefix, ignoring case and umlauts")
+    void shouldFindByAddressPrefix() {
+        // Given
+        Bedarf zuerich = bedarf(HOLZBAU_ID, "Bahnhofstrasse 1, 8001 Zürich");
+        Bedarf grabs = bedarf(ZIMMEREI_ID, "Staatsstrasse 12, 9472 Grabs");
+        index.upsert(zuerich);
+        index.upsert(grabs);
+
+        // When & Then
+        assertThat(index.search("zuri", 10)).extracting(Bedarf::getId).containsExactly(zuerich.getId());
+        assertThat(index.search("Strasse", 10)).isEmpty();
+        assertThat(index.search("9472", 10)).extracting(Bedarf::getId).containsExactly(grabs.getId());
+    }
+
+    @Test
+    @DisplayName("Should require every word to match the address or company name")
+    void shouldMatchAllWords() {
+        // Given
+        Bedarf zuerich = bedarf(HOLZBAU_ID, "Bahnhofstrasse 1, 8001 Zürich");
+        Bedarf grabs = bedarf(ZIMMEREI_ID, "Bahnhofstrasse 5, 9472 Grabs");
+        index.upsert(zuerich);
+        index.upsert(grabs);
+
+        // When & Then
+        assertThat(index.search("ruegg bahnhof", 10)).extracting(Bedarf::getId).containsExactly(zuerich.getId());
+        assertThat(index.search("bahnhofstrasse", 10)).hasSize(2);
+        assertThat(index.search("bahnhofstrasse", 1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should find misspelled place names")
+    void shouldFindMisspelledNames() {
+        // Given
+        Bedarf buchs = bedarf(ZIMMEREI_ID, "Churerstrasse 3, 9470 Buchs SG");
+        index.upsert(buchs);
+
+        // When & Then
+        assertThat(index.search("Churrerstrasse", 10)).extracting(Bedarf::getId).containsExactly(buchs.getId());
+        assertThat(index.search("Bux", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop bedarfs that are removed or no longer active")
+    void shouldDropInactiveBedarfs() {
+        // Given
+        Bedarf zuerich = bedarf(HOLZBAU_ID, "Bahnhofstrasse 1, 8001 Zürich");
+        Bedarf grabs = bedarf(ZIMMEREI_ID, "Staatsstrasse 12, 9472 Grabs");
+        index.upsert(zuerich);
+        index.upsert(grabs);
+
+        // When
+        index.upsert(zuerich.toBuilder().status(BedarfStatus.ABGESCHLOSSEN).build());
+        index.remove(grabs.getId());
+
+        // Then
+        assertThat(index.search("zurich", 10)).isEmpty();
+        assertThat(index.search("grabs", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replace the content with the given bedarfs and their company names on rebuild")
+    void shouldRebuildFromGivenBedarfs() {
+        // Given
+        Bedarf removedElsewhere = bedarf(ZIMMEREI_ID, "Staatsstrasse 12, 9472 Grabs");
+        index.upsert(removedElsewhere);
+        Bedarf zuerich = bedarf(HOLZBAU_ID, "Bahnhofstrasse 1, 8001 Zürich");
+        when(betriebRepository.findAllById(any()))
+                .thenReturn(List.of(Betrieb.builder().id(HOLZBAU_ID).name("Holzbau Rüegg AG").build()));
+
+        // When
+        index.rebuild(List.of(zuerich));
+
+        // Then
+        assertThat(index.search("holzbau", 10)).extracting(Bedarf::getId).containsExactly(zuerich.getId());
+        assertThat(index.search("grabs", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep writes made while a rebuild was loading its bedarfs")
+    void shouldKeepWritesMadeDuringRebuild() {
+        // Given
+        Bedarf loaded = bedarf(HOLZBAU_ID, "Bahnhofstrasse 1, 8001 Zürich");
+        Bedarf closedMeanwhile = bedarf(ZIMMEREI_ID, "Staatsstrasse 12, 9472 Grabs");
+        Bedarf createdMeanwhile = bedarf(ZIMMEREI_ID, "Hauptstrasse 5, 3000 Bern");
+        when(betriebRepository.findAllById(any()))
+                .thenReturn(List.of(Betrieb.builder().id(HOLZBAU_ID).name("Holzbau Rüegg AG").build()));
+
+        // When
+        index.beginRebuild();
+        index.upsert(createdMeanwhile);
+        index.remove(closedMeanwhile.getId());
+        index.rebuild(List.of(loaded, closedMeanwhile));
+
+        // Then
+        assertThat(index.search("zurich", 10)).extracting(Bedarf::getId).containsExactly(loaded.getId());
+        assertThat(index.search("bern", 10)).extracting(Bedarf::getId).containsExactly(createdMeanwhile.getId());
+        assertThat(index.search("grabs", 10)).isEmpty();
+    }
+
+    private static Bedarf bedarf(UUID betriebId, String adresse) {
+        return Bedarf.builder()
+                .id(UUID.randomUUID())
+                .betriebId(betriebId)
+                .holzbauAnzahl(2)
+                .zimmermannAnzahl(1)
+                .datumVon(LocalDate.of(2024, 2, 1))
+                .datumBis(LocalDate.of(2024, 2, 15))
+                .adresse(adresse)
+                .status(BedarfStatus.AKTIV)
+                .build();
+    }
+}
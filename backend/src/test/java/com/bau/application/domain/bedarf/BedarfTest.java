@@ -69,6 +69,35 @@ class BedarfTest {
         }
     }
 
+    @Nested
+    @DisplayName("Date Range Overlap")
+    class DateRangeOverlapTests {
+
+        @ParameterizedTest(name = "{0} - {1} overlaps: {2}")
+        @MethodSource("windows")
+        @DisplayName("Should detect overlap with inclusive bounds")
+        void shouldDetectOverlapWithInclusiveBounds(LocalDate von, LocalDate bis, boolean expected) {
+            // Given
+            Bedarf bedarf = Bedarf.builder()
+                    .datumVon(LocalDate.of(2024, 1, 10))
+                    .datumBis(LocalDate.of(2024, 1, 20))
+                    .build();
+
+            // When & Then
+            assertThat(bedarf.overlaps(von, bis)).isEqualTo(expected);
+        }
+
+        static Stream<Arguments> windows() {
+            return Stream.of(
+                    Arguments.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 9), false),
+                    Arguments.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 10), true),
+                    Arguments.of(LocalDate.of(2024, 1, 12), LocalDate.of(2024, 1, 15), true),
+                    Arguments.of(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 2, 1), true),
+                    Arguments.of(LocalDate.of(2024, 1, 21), LocalDate.of(2024, 2, 1), false)
+            );
+        }
+    }
+
     @Nested
     @DisplayName("Tool Requirements")
     class ToolRequirementsTests {
@@ -0,0 +1,91 @@
+package com.bau.application.domain.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GeoHash Tests")
+class GeoHashTest {
+
+    private static final GeoPoint ZUERICH = new GeoPoint(47.3769, 8.5417);
+
+    @Nested
+    @DisplayName("Encoding")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should encode reference point")
+        void shouldEncodeReferencePoint() {
+            assertThat(GeoHash.encode(new GeoPoint(57.64911, 10.40744), 9)).isEqualTo("u4pruydqq");
+        }
+
+        @Test
+        @DisplayName("Should share prefix for nearby points")
+        void shouldSharePrefixForNearbyPoints() {
+            String hash = GeoHash.encode(ZUERICH, GeoHash.STORED_PRECISION);
+            String nearbyHash = GeoHash.encode(new GeoPoint(47.3770, 8.5418), GeoHash.STORED_PRECISION);
+
+            assertThat(hash.substring(0, 6)).isEqualTo(nearbyHash.substring(0, 6));
+        }
+    }
+
+    @Nested
+    @DisplayName("Covering Cells")
+    class CoveringCellsTests {
+
+        @Test
+        @DisplayName("Should cover every point within the radius")
+        void shouldCoverEveryPointWithinRadius() {
+            double radiusKm = 10;
+            Set<String> cells = GeoHash.coveringCells(ZUERICH, radiusKm);
+
+            assertThat(cells).isNotEmpty().hasSizeLessThanOrEqualTo(9);
+            for (int bearing = 0; bearing < 360; bearing += 15) {
+                GeoPoint point = offset(ZUERICH, radiusKm * 0.99, bearing);
+                String hash = GeoHash.encode(point, GeoHash.STORED_PRECISION);
+                assertThat(cells).anyMatch(hash::startsWith);
+            }
+        }
+
+        @Test
+        @DisplayName("Should use finer cells for smaller radius")
+        void shouldUseFinerCellsForSmallerRadius() {
+            int coarse = GeoHash.coveringCells(ZUERICH, 50).iterator().next().length();
+            int fine = GeoHash.coveringCells(ZUERICH, 1).iterator().next().length();
+
+            assertThat(fine).isGreaterThan(coarse);
+        }
+    }
+
+    @Test
+    @DisplayName("Should calculate distance between Zürich and Bern")
+    void shouldCalculateDistance() {
+        GeoPoint bern = new GeoPoint(46.9480, 7.4474);
+
+        assertThat(ZUERICH.distanceKm(bern)).isBetween(94.0, 97.0);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid coordinates")
+    void shouldRejectInvalidCoordinates() {
+        assertThatThrownBy(() -> new GeoPoint(91, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GeoPoint(0, 181)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static GeoPoint offset(GeoPoint origin, double distanceKm, double bearingDegrees) {
+        double angular = distanceKm / 6371.0088;
+        double bearing = Math.toRadians(bearingDegrees);
+        double lat1 = Math.toRadians(origin.latitude());
+        double lon1 = Math.toRadians(origin.longitude());
+        double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angular)
+                + Math.cos(lat1) * Math.sin(angular) * Math.cos(bearing));
+        double lon2 = lon1 + Math.atan2(Math.sin(bearing) * Math.sin(angular) * Math.cos(lat1),
+                Math.cos(angular) - Math.sin(lat1) * Math.sin(lat2));
+        return new GeoPoint(Math.toDegrees(lat2), Math.toDegrees(lon2));
+    }
+}
@@ -0,0 +1,96 @@
+package com.bau.application.usecase;
+
+import com.bau.application.port.out.BedarfArchive;
+import com.bau.application.port.out.JobLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.Year;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BedarfArchiveService Use Case Tests")
+class BedarfArchiveServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 1);
+    private static final LocalDate ENDED_BEFORE = LocalDate.of(2024, 4, 1);
+
+    @Mock
+    private BedarfArchive bedarfArchive;
+
+    @Mock
+    private JobLock jobLock;
+
+    private BedarfArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() {
+        archiveService = new BedarfArchiveService(bedarfArchive, jobLock, Period.ofMonths(1), 2);
+    }
+
+    @Test
+    @DisplayName("Should archive bedarfs past the retention batch by batch until a batch is not full")
+    void shouldArchiveInBatches() {
+        // Given
+        runTaskWhenLocked();
+        when(bedarfArchive.archiveClosed(ENDED_BEFORE, 2))
+                .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()), List.of(UUID.randomUUID()));
+
+        // When
+        int archived = archiveService.archiveBedarfs(TODAY);
+
+        // Then
+        assertThat(archived).isEqualTo(3);
+        verify(bedarfArchive, times(2)).archiveClosed(ENDED_BEFORE, 2);
+    }
+
+    @Test
+    @DisplayName("Should make sure the archive has partitions up to the next year")
+    void shouldEnsurePartitionsUpToNextYear() {
+        // Given
+        runTaskWhenLocked();
+        archiveService = new BedarfArchiveService(bedarfArchive, jobLock, Period.ofMonths(6), 2);
+
+        // When
+        archiveService.archiveBedarfs(TODAY);
+
+        // Then
+        verify(bedarfArchive).ensurePartition(Year.of(2023));
+        verify(bedarfArchive).ensurePartition(Year.of(2024));
+        verify(bedarfArchive).ensurePartition(Year.of(2025));
+        verify(bedarfArchive, times(3)).ensurePartition(any());
+    }
+
+    @Test
+    @DisplayName("Should skip the run while another instance holds the lock")
+    void shouldSkipWhenLockHeldElsewhere() {
+        // Given
+        when(jobLock.runExclusively(eq(BedarfArchiveService.LOCK_NAME), any(Runnable.class))).thenReturn(false);
+
+        // When
+        int archived = archiveService.archiveBedarfs(TODAY);
+
+        // Then
+        assertThat(archived).isZero();
+        verifyNoInteractions(bedarfArchive);
+    }
+
+    private void runTaskWhenLocked() {
+        when(jobLock.runExclusively(eq(BedarfArchiveService.LOCK_NAME), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package com.bau.application.usecase;
+
+import com.bau.application.port.out.BedarfRepository;
+import com.bau.application.port.out.JobLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BedarfExpiryService Use Case Tests")
+class BedarfExpiryServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 2, 1);
+
+    @Mock
+    private BedarfRepository bedarfRepository;
+
+    @Mock
+    private JobLock jobLock;
+
+    private BedarfExpiryService expiryService;
+
+    @BeforeEach
+    void setUp() {
+        expiryService = new BedarfExpiryService(bedarfRepository, jobLock, 2);
+    }
+
+    @Test
+    @DisplayName("Should close expired bedarfs batch by batch until a batch is not full")
+    void shouldExpireInBatches() {
+        // Given
+        runTaskWhenLocked();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(bedarfRepository.closeExpired(TODAY, 2)).thenReturn(List.of(first, second), List.of(third));
+
+        // When
+        int expired = expiryService.expireBedarfs(TODAY);
+
+        // Then
+        assertThat(expired).isEqualTo(3);
+        verify(bedarfRepository, times(2)).closeExpired(TODAY, 2);
+    }
+
+    @Test
+    @DisplayName("Should stop after an empty batch")
+    void shouldStopWhenNothingExpired() {
+        // Given
+        runTaskWhenLocked();
+        when(bedarfRepository.closeExpired(TODAY, 2)).thenReturn(List.of());
+
+        // When
+        int expired = expiryService.expireBedarfs(TODAY);
+
+        // Then
+        assertThat(expired).isZero();
+        verify(bedarfRepository).closeExpired(TODAY, 2);
+    }
+
+    @Test
+    @DisplayName("Should skip the run while another instance holds the lock")
+    void shouldSkipWhenLockHeldElsewhere() {
+        // Given
+        when(jobLock.runExclusively(eq(BedarfExpiryService.LOCK_NAME), any(Runnable.class))).thenReturn(false);
+
+        // When
+        int expired = expiryService.expireBedarfs(TODAY);
+
+        // Then
+        assertThat(expired).isZero();
+        verifyNoInteractions(bedarfRepository);
+    }
+
+    private void runTaskWhenLocked() {
+        when(jobLock.runExclusively(eq(BedarfExpiryService.LOCK_NAME), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+    }
+}
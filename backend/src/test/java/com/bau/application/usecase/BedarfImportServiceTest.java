@@ -0,0 +1,218 @@
+package com.bau.application.usecase;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfBulkItemResult;
+import com.bau.application.domain.bedarf.BedarfImportError;
+import com.bau.application.domain.bedarf.BedarfImportJob;
+import com.bau.application.domain.bedarf.BedarfImportRow;
+import com.bau.application.domain.bedarf.BedarfImportStatus;
+import com.bau.application.port.in.BedarfUseCase;
+import com.bau.application.port.out.BedarfImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BedarfImportService Use Case Tests")
+class BedarfImportServiceTest {
+
+    private static final UUID BETRIEB_ID = UUID.randomUUID();
+
+    @Mock
+    private BedarfUseCase bedarfUseCase;
+
+    @Mock
+    private BedarfImportJobRepository jobRepository;
+
+    @Mock
+    private ExecutorService executor;
+
+    private BedarfImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new BedarfImportService(bedarfUseCase, jobRepository, executor, 2, 1, Duration.ofMinutes(10));
+        lenient().when(jobRepository.save(any(BedarfImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("Should import rows in batches and continue after rejected rows")
+    void shouldImportInBatchesAndContinueAfterRejectedRows() {
+        // Given
+        List<List<Bedarf>> batches = new ArrayList<>();
+        when(bedarfUseCase.createBedarfs(anyList())).thenAnswer(invocation -> {
+            List<Bedarf> batch = List.copyOf(invocation.getArgument(0));
+            batches.add(batch);
+            return IntStream.range(0, batch.size())
+                    .mapToObj(i -> batch.get(i).getAdresse().isEmpty()
+                            ? BedarfBulkItemResult.failure(i, "Address is required")
+                            : BedarfBulkItemResult.success(i, batch.get(i)))
+                    .toList();
+        });
+        Stream<BedarfImportRow> rows = Stream.of(
+                BedarfImportRow.parsed(2, createBedarf("Bahnhofstrasse 1")),
+                BedarfImportRow.invalid(3, "holzbauAnzahl: invalid value 'zwei'"),
+                BedarfImportRow.parsed(4, createBedarf("")),
+                BedarfImportRow.parsed(5, createBedarf("Bahnhofstrasse 3")),
+                BedarfImportRow.parsed(6, createBedarf("Bahnhofstrasse 4")));
+
+        // When
+        BedarfImportJob started = importService.startImport(BETRIEB_ID, rows);
+
+        // Then
+        assertThat(started.getStatus()).isEqualTo(BedarfImportStatus.RUNNING);
+        assertThat(batches).extracting(List::size).containsExactly(1, 2, 1);
+        assertThat(batches.stream().flatMap(List::stream).map(Bedarf::getBetriebId)).containsOnly(BETRIEB_ID);
+
+        ArgumentCaptor<BedarfImportJob> savedJobs = ArgumentCaptor.forClass(BedarfImportJob.class);
+        verify(jobRepository, atLeastOnce()).save(savedJobs.capture());
+        BedarfImportJob finished = savedJobs.getValue();
+        assertThat(finished.getStatus()).isEqualTo(BedarfImportStatus.COMPLETED);
+        assertThat(finished.getProcessedRows()).isEqualTo(5);
+        assertThat(finished.getImportedRows()).isEqualTo(3);
+        assertThat(finished.getFailedRows()).isEqualTo(2);
+
+        // Only the first rejected row is kept with max-errors of 1
+        verify(jobRepository).addErrors(started.getId(),
+                List.of(new BedarfImportError(3, "holzbauAnzahl: invalid value 'zwei'")));
+        verify(jobRepository, times(1)).addErrors(any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should fail the job and close the rows when reading aborts")
+    void shouldFailJobWhenReadingAborts() {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<BedarfImportRow> rows = Stream.<BedarfImportRow>generate(() -> {
+                    throw new IllegalArgumentException("Unclosed quote in record starting at line 2");
+                })
+                .onClose(() -> closed.set(true));
+
+        // When
+        importService.startImport(BETRIEB_ID, rows);
+
+        // Then
+        ArgumentCaptor<BedarfImportJob> savedJobs = ArgumentCaptor.forClass(BedarfImportJob.class);
+        verify(jobRepository, times(2)).save(savedJobs.capture());
+        assertThat(savedJobs.getValue().getStatus()).isEqualTo(BedarfImportStatus.FAILED);
+        assertThat(savedJobs.getValue().getFailureReason()).isEqualTo("Unclosed quote in record starting at line 2");
+        assertThat(closed).isTrue();
+        verifyNoInteractions(bedarfUseCase);
+    }
+
+    @Test
+    @DisplayName("Should fail the job when too many imports are queued")
+    void shouldFailJobWhenRejected() {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        doThrow(new RejectedExecutionException()).when(executor).execute(any(Runnable.class));
+
+        // When
+        BedarfImportJob job = importService.startImport(BETRIEB_ID, Stream.<BedarfImportRow>empty()
+                .onClose(() -> closed.set(true)));
+
+        // Then
+        assertThat(job.getStatus()).isEqualTo(BedarfImportStatus.FAILED);
+        assertThat(closed).isTrue();
+        verify(jobRepository, times(2)).save(eq(job));
+    }
+
+    @Test
+    @DisplayName("Should fail the job when the import aborts with an error")
+    void shouldFailJobWhenImportAbortsWithError() {
+        // Given
+        when(bedarfUseCase.createBedarfs(anyList())).thenThrow(new OutOfMemoryError("Java heap space"));
+        Stream<BedarfImportRow> rows = Stream.of(BedarfImportRow.parsed(2, createBedarf("Bahnhofstrasse 1")));
+
+        // When & Then
+        assertThatThrownBy(() -> importService.startImport(BETRIEB_ID, rows)).isInstanceOf(OutOfMemoryError.class);
+        ArgumentCaptor<BedarfImportJob> savedJobs = ArgumentCaptor.forClass(BedarfImportJob.class);
+        verify(jobRepository, times(2)).save(savedJobs.capture());
+        assertThat(savedJobs.getValue().getStatus()).isEqualTo(BedarfImportStatus.FAILED);
+        assertThat(savedJobs.getValue().getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should fail queued and running jobs on shutdown")
+    void shouldFailUnfinishedJobsOnShutdown() {
+        // Given
+        doNothing().when(executor).execute(any(Runnable.class));
+        BedarfImportJob queued = importService.startImport(BETRIEB_ID, Stream.empty());
+
+        // When
+        importService.shutdown();
+
+        // Then
+        verify(executor).shutdownNow();
+        verify(jobRepository).failRunningJobs(eq(Set.of(queued.getId())), anyString());
+    }
+
+    @Test
+    @DisplayName("Should not touch jobs on shutdown once all imports finished")
+    void shouldNotFailFinishedJobsOnShutdown() {
+        // Given
+        importService.startImport(BETRIEB_ID, Stream.empty());
+
+        // When
+        importService.shutdown();
+
+        // Then
+        verify(jobRepository, never()).failRunningJobs(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should fail running jobs without recent progress on startup")
+    void shouldFailStaleJobsOnStartup() {
+        // Given
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        importService.failStaleJobs();
+
+        // Then
+        verify(jobRepository).failRunningJobsUpdatedBefore(
+                argThat(updatedBefore -> !updatedBefore.isAfter(before.minusMinutes(10).plusSeconds(5))
+                        && !updatedBefore.isBefore(before.minusMinutes(10))),
+                anyString());
+    }
+
+    private Bedarf createBedarf(String adresse) {
+        return Bedarf.builder()
+                .holzbauAnzahl(2)
+                .zimmermannAnzahl(1)
+                .datumVon(LocalDate.now().plusDays(1))
+                .datumBis(LocalDate.now().plusDays(10))
+                .adresse(adresse)
+                .build();
+    }
+}
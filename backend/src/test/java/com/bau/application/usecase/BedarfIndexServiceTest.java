@@ -0,0 +1,102 @@
+package com.bau.application.usecase;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.matching.CrewOffer;
+import com.bau.application.port.out.BedarfRepository;
+import com.bau.application.port.out.BedarfSearchIndex;
+import com.bau.application.usecase.matching.BedarfMatchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BedarfIndexService Use Case Tests")
+class BedarfIndexServiceTest {
+
+    @Mock
+    private BedarfRepository bedarfRepository;
+
+    @Mock
+    private BedarfSearchIndex searchIndex;
+
+    private BedarfMatchIndex matchIndex;
+    private BedarfIndexService indexService;
+
+    @BeforeEach
+    void setUp() {
+        matchIndex = new BedarfMatchIndex();
+        indexService = new BedarfIndexService(bedarfRepository, matchIndex, searchIndex);
+    }
+
+    @Test
+    @DisplayName("Should load active bedarfs into the match and search index")
+    void shouldLoadActiveBedarfsIntoIndexes() {
+        // Given
+        List<Bedarf> active = List.of(createBedarf());
+        when(bedarfRepository.findByStatus(BedarfStatus.AKTIV)).thenReturn(active);
+
+        // When
+        indexService.loadIndexes();
+
+        // Then
+        assertThat(matchIndex.size()).isEqualTo(1);
+        InOrder inOrder = inOrder(searchIndex, bedarfRepository);
+        inOrder.verify(searchIndex).beginRebuild();
+        inOrder.verify(bedarfRepository).findByStatus(BedarfStatus.AKTIV);
+        inOrder.verify(searchIndex).rebuild(active);
+    }
+
+    @Test
+    @DisplayName("Should pick up bedarfs created and drop bedarfs closed through other instances")
+    void shouldPickUpChangesMadeElsewhere() {
+        // Given
+        Bedarf closedElsewhere = createBedarf();
+        matchIndex.upsert(closedElsewhere);
+        Bedarf createdElsewhere = createBedarf();
+        when(bedarfRepository.findByStatus(BedarfStatus.AKTIV)).thenReturn(List.of(createdElsewhere));
+
+        // When
+        int indexed = indexService.rebuildIndexes();
+
+        // Then
+        assertThat(indexed).isEqualTo(1);
+        assertThat(matchIndex.findTopMatches(createOffer(), 10))
+                .extracting(match -> match.bedarf().getId())
+                .containsExactly(createdElsewhere.getId());
+    }
+
+    private Bedarf createBedarf() {
+        return Bedarf.builder()
+                .id(UUID.randomUUID())
+                .betriebId(UUID.randomUUID())
+                .holzbauAnzahl(2)
+                .zimmermannAnzahl(1)
+                .datumVon(LocalDate.of(2024, 1, 10))
+                .datumBis(LocalDate.of(2024, 1, 20))
+                .status(BedarfStatus.AKTIV)
+                .build();
+    }
+
+    private CrewOffer createOffer() {
+        return CrewOffer.builder()
+                .holzbauAnzahl(2)
+                .zimmermannAnzahl(1)
+                .datumVon(LocalDate.of(2024, 1, 1))
+                .datumBis(LocalDate.of(2024, 1, 31))
+                .maxDistanceKm(50)
+                .build();
+    }
+}
@@ -1,9 +1,20 @@
 package com.bau.application.usecase;
 
+import com.bau.application.domain.ArchivedException;
+import com.bau.application.domain.VersionConflictException;
 import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfBulkItemResult;
+import com.bau.application.domain.bedarf.BedarfCursor;
+import com.bau.application.domain.bedarf.BedarfFilter;
 import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.bedarf.DateRangeMatch;
+import com.bau.application.domain.bedarf.NearbyBedarf;
+import com.bau.application.domain.geo.GeoPoint;
 import com.bau.application.port.in.BedarfUseCase;
 import com.bau.application.port.out.BedarfRepository;
+import com.bau.application.port.out.BedarfSearchIndex;
+import com.bau.application.port.out.Geocoder;
+import com.bau.application.usecase.matching.BedarfMatchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,12 +24,17 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -30,11 +46,20 @@ class BedarfServiceTest {
     @Mock
     private BedarfRepository bedarfRepository;
 
+    @Mock
+    private Geocoder geocoder;
+
+    @Mock
+    private BedarfMatchIndex matchIndex;
+
+    @Mock
+    private BedarfSearchIndex searchIndex;
+
     private BedarfService bedarfService;
 
     @BeforeEach
     void setUp() {
-        bedarfService = new BedarfService(bedarfRepository);
+        bedarfService = new BedarfService(bedarfRepository, geocoder, matchIndex, searchIndex);
     }
 
     @Nested
@@ -57,6 +82,7 @@ class BedarfServiceTest {
             assertThat(result).isNotNull();
             assertThat(result.getId()).isNotNull();
             verify(bedarfRepository).save(inputBedarf);
+            verify(matchIndex).upsert(savedBedarf);
         }
 
         @Test
@@ -77,6 +103,37 @@ class BedarfServiceTest {
             // Then
             assertThat(result.getStatus()).isEqualTo(BedarfStatus.AKTIV);
         }
+
+        @Test
+        @DisplayName("Should geocode address when creating bedarf")
+        void shouldGeocodeAddressWhenCreatingBedarf() {
+            // Given
+            Bedarf inputBedarf = createValidBedarf();
+            when(geocoder.geocode(inputBedarf.getAdresse())).thenReturn(Optional.of(new GeoPoint(47.3717, 8.5423)));
+            when(bedarfRepository.save(any(Bedarf.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            Bedarf result = bedarfService.createBedarf(inputBedarf);
+
+            // Then
+            assertThat(result.getLatitude()).isEqualTo(47.3717);
+            assertThat(result.getLongitude()).isEqualTo(8.5423);
+        }
+
+        @Test
+        @DisplayName("Should keep explicit coordinates when creating bedarf")
+        void shouldKeepExplicitCoordinatesWhenCreatingBedarf() {
+            // Given
+            Bedarf inputBedarf = createValidBedarf().toBuilder().latitude(46.0).longitude(7.0).build();
+            when(bedarfRepository.save(any(Bedarf.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            Bedarf result = bedarfService.createBedarf(inputBedarf);
+
+            // Then
+            assertThat(result.getLatitude()).isEqualTo(46.0);
+            verifyNoInteractions(geocoder);
+        }
     }
 
     @Nested
@@ -84,13 +141,13 @@ class BedarfServiceTest {
     class GetBedarfTests {
 
         @Test
-        @DisplayName("Should get bedarf by id successfully")
+        @DisplayName("Should get bedarf by id, including archived bedarfs")
         void shouldGetBedarfByIdSuccessfully() {
             // Given
             UUID bedarfId = UUID.randomUUID();
             Bedarf expectedBedarf = createValidBedarf().toBuilder().id(bedarfId).build();
             
-            when(bedarfRepository.findById(bedarfId)).thenReturn(Optional.of(expectedBedarf));
+            when(bedarfRepository.findByIdIncludingArchive(bedarfId)).thenReturn(Optional.of(expectedBedarf));
 
             // When
             Optional<Bedarf> result = bedarfService.getBedarfById(bedarfId);
@@ -98,7 +155,7 @@ class BedarfServiceTest {
             // Then
             assertThat(result).isPresent();
             assertThat(result.get().getId()).isEqualTo(bedarfId);
-            verify(bedarfRepository).findById(bedarfId);
+            verify(bedarfRepository).findByIdIncludingArchive(bedarfId);
         }
 
         @Test
@@ -106,14 +163,14 @@ class BedarfServiceTest {
         void shouldReturnEmptyWhenBedarfNotFound() {
             // Given
             UUID bedarfId = UUID.randomUUID();
-            when(bedarfRepository.findById(bedarfId)).thenReturn(Optional.empty());
+            when(bedarfRepository.findByIdIncludingArchive(bedarfId)).thenReturn(Optional.empty());
 
             // When
             Optional<Bedarf> result = bedarfService.getBedarfById(bedarfId);
 
             // Then
             assertThat(result).isEmpty();
-            verify(bedarfRepository).findById(bedarfId);
+            verify(bedarfRepository).findByIdIncludingArchive(bedarfId);
         }
     }
 
@@ -134,7 +191,7 @@ class BedarfServiceTest {
             when(bedarfRepository.findByBetriebId(betriebId)).thenReturn(expectedBedarfs);
 
             // When
-            List<Bedarf> result = bedarfService.getBedarfsByBetriebId(betriebId);
+            List<Bedarf> result = bedarfService.getBedarfsByBetriebId(betriebId, false);
 
             // Then
             assertThat(result).hasSize(2);
@@ -150,12 +207,32 @@ class BedarfServiceTest {
             when(bedarfRepository.findByBetriebId(betriebId)).thenReturn(Arrays.asList());
 
             // When
-            List<Bedarf> result = bedarfService.getBedarfsByBetriebId(betriebId);
+            List<Bedarf> result = bedarfService.getBedarfsByBetriebId(betriebId, false);
 
             // Then
             assertThat(result).isEmpty();
             verify(bedarfRepository).findByBetriebId(betriebId);
         }
+
+        @Test
+        @DisplayName("Should include archived bedarfs when requested")
+        void shouldIncludeArchivedBedarfsWhenRequested() {
+            // Given
+            UUID betriebId = UUID.randomUUID();
+            Bedarf current = createValidBedarf().toBuilder().betriebId(betriebId).build();
+            Bedarf archived = createValidBedarf().toBuilder()
+                    .betriebId(betriebId)
+                    .status(BedarfStatus.ABGESCHLOSSEN)
+                    .build();
+            when(bedarfRepository.findByBetriebIdIncludingArchive(betriebId)).thenReturn(List.of(current, archived));
+
+            // When
+            List<Bedarf> result = bedarfService.getBedarfsByBetriebId(betriebId, true);
+
+            // Then
+            assertThat(result).containsExactly(current, archived);
+            verify(bedarfRepository, never()).findByBetriebId(any());
+        }
     }
 
     @Nested
@@ -185,6 +262,7 @@ class BedarfServiceTest {
             assertThat(result.get().getZimmermannAnzahl()).isEqualTo(3);
             verify(bedarfRepository).findById(bedarfId);
             verify(bedarfRepository).save(any(Bedarf.class));
+            verify(matchIndex).upsert(updatedBedarf);
         }
 
         @Test
@@ -204,6 +282,93 @@ class BedarfServiceTest {
             verify(bedarfRepository).findById(bedarfId);
             verify(bedarfRepository, never()).save(any(Bedarf.class));
         }
+
+        @Test
+        @DisplayName("Should reject updating an archived bedarf")
+        void shouldRejectUpdatingArchivedBedarf() {
+            // Given
+            UUID bedarfId = UUID.randomUUID();
+            when(bedarfRepository.findById(bedarfId)).thenReturn(Optional.empty());
+            when(bedarfRepository.isArchived(bedarfId)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> bedarfService.updateBedarf(bedarfId, createValidBedarf()))
+                    .isInstanceOf(ArchivedException.class);
+            verify(bedarfRepository, never()).save(any(Bedarf.class));
+        }
+
+        @Test
+        @DisplayName("Should throw version conflict when updating an outdated version")
+        void shouldThrowVersionConflictWhenUpdatingOutdatedVersion() {
+            // Given
+            UUID bedarfId = UUID.randomUUID();
+            Bedarf existingBedarf = createValidBedarf().toBuilder().id(bedarfId).version(4L).build();
+            Bedarf updatedBedarf = existingBedarf.toBuilder().holzbauAnzahl(5).version(3L).build();
+
+            when(bedarfRepository.findById(bedarfId)).thenReturn(Optional.of(existingBedarf));
+
+            // When & Then
+            assertThatThrownBy(() -> bedarfService.updateBedarf(bedarfId, updatedBedarf))
+                    .isInstanceOf(VersionConflictException.class);
+            verify(bedarfRepository, never()).save(any(Bedarf.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Bedarf Status")
+    class UpdateBedarfStatusTests {
+
+        @Test
+        @DisplayName("Should update status with the row returned by the update")
+        void shouldUpdateStatusWithReturnedRow() {
+            // Given
+            UUID bedarfId = UUID.randomUUID();
+            Bedarf updatedBedarf = createValidBedarf().toBuilder()
+                    .id(bedarfId)
+                    .status(BedarfStatus.STORNIERT)
+                    .version(4L)
+                    .build();
+
+            when(bedarfRepository.updateStatus(bedarfId, BedarfStatus.STORNIERT, 3L))
+                    .thenReturn(Optional.of(updatedBedarf));
+
+            // When
+            Optional<Bedarf> result = bedarfService.updateBedarfStatus(bedarfId, BedarfStatus.STORNIERT, 3L);
+
+            // Then
+            assertThat(result).contains(updatedBedarf);
+            verify(bedarfRepository, never()).findById(any());
+            verify(bedarfRepository, never()).existsById(any());
+            verify(matchIndex).upsert(updatedBedarf);
+        }
+
+        @Test
+        @DisplayName("Should throw version conflict when the bedarf exists with another version")
+        void shouldThrowVersionConflictWhenStatusVersionIsOutdated() {
+            // Given
+            UUID bedarfId = UUID.randomUUID();
+            when(bedarfRepository.updateStatus(bedarfId, BedarfStatus.STORNIERT, 3L)).thenReturn(Optional.empty());
+            when(bedarfRepository.existsById(bedarfId)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> bedarfService.updateBedarfStatus(bedarfId, BedarfStatus.STORNIERT, 3L))
+                    .isInstanceOf(VersionConflictException.class);
+            verifyNoInteractions(matchIndex);
+        }
+
+        @Test
+        @DisplayName("Should reject changing the status of an archived bedarf")
+        void shouldRejectStatusChangeOfArchivedBedarf() {
+            // Given
+            UUID bedarfId = UUID.randomUUID();
+            when(bedarfRepository.updateStatus(bedarfId, BedarfStatus.AKTIV, null)).thenReturn(Optional.empty());
+            when(bedarfRepository.isArchived(bedarfId)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> bedarfService.updateBedarfStatus(bedarfId, BedarfStatus.AKTIV, null))
+                    .isInstanceOf(ArchivedException.class);
+            verifyNoInteractions(matchIndex);
+        }
     }
 
     @Nested
@@ -215,7 +380,6 @@ class BedarfServiceTest {
         void shouldDeleteBedarfSuccessfully() {
             // Given
             UUID bedarfId = UUID.randomUUID();
-            when(bedarfRepository.existsById(bedarfId)).thenReturn(true);
             when(bedarfRepository.deleteById(bedarfId)).thenReturn(true);
 
             // When
@@ -223,8 +387,10 @@ class BedarfServiceTest {
 
             // Then
             assertThat(result).isTrue();
-            verify(bedarfRepository).existsById(bedarfId);
+            verify(bedarfRepository, never()).existsById(any());
             verify(bedarfRepository).deleteById(bedarfId);
+            verify(matchIndex).remove(bedarfId);
+            verify(searchIndex).remove(bedarfId);
         }
 
         @Test
@@ -232,15 +398,46 @@ class BedarfServiceTest {
         void shouldReturnFalseWhenDeletingNonExistentBedarf() {
             // Given
             UUID bedarfId = UUID.randomUUID();
-            when(bedarfRepository.existsById(bedarfId)).thenReturn(false);
+            when(bedarfRepository.deleteById(bedarfId)).thenReturn(false);
 
             // When
             boolean result = bedarfService.deleteBedarf(bedarfId);
 
             // Then
             assertThat(result).isFalse();
-            verify(bedarfRepository).existsById(bedarfId);
-            verify(bedarfRepository, never()).deleteById(bedarfId);
+            verify(bedarfRepository, never()).existsById(any());
+            verify(matchIndex, never()).remove(bedarfId);
+        }
+
+        @Test
+        @DisplayName("Should reject deleting an archived bedarf")
+        void shouldRejectDeletingArchivedBedarf() {
+            // Given
+            UUID bedarfId = UUID.randomUUID();
+            when(bedarfRepository.deleteById(bedarfId)).thenReturn(false);
+            when(bedarfRepository.isArchived(bedarfId)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> bedarfService.deleteBedarf(bedarfId))
+                    .isInstanceOf(ArchivedException.class);
+            verify(matchIndex, never()).remove(bedarfId);
+        }
+
+        @Test
+        @DisplayName("Should delete several bedarfs in one call and drop them from the indexes")
+        void shouldDeleteBedarfsInBulk() {
+            // Given
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            when(bedarfRepository.deleteAllById(Set.of(first, second))).thenReturn(2);
+
+            // When
+            int deleted = bedarfService.deleteBedarfs(List.of(first, second, first));
+
+            // Then
+            assertThat(deleted).isEqualTo(2);
+            verify(matchIndex).remove(first);
+            verify(searchIndex).remove(second);
         }
     }
 
@@ -262,11 +459,11 @@ class BedarfServiceTest {
                     bedarfs, 3, 1, 0, 20
             );
             
-            when(bedarfRepository.findWithPagination(eq(0), eq(20), any(), any(), any()))
+            when(bedarfRepository.findWithPagination(eq(0), eq(20), any()))
                     .thenReturn(pageResult);
 
             // When
-            BedarfUseCase.BedarfPageResult result = bedarfService.getBedarfs(0, 20, null, null, null);
+            BedarfUseCase.BedarfPageResult result = bedarfService.getBedarfs(0, 20, BedarfFilter.none());
 
             // Then
             assertThat(result.getContent()).hasSize(3);
@@ -277,6 +474,266 @@ class BedarfServiceTest {
             assertThat(result.isHasNext()).isFalse();
             assertThat(result.isHasPrevious()).isFalse();
         }
+
+        @Test
+        @DisplayName("Should get bedarfs overlapping a date window")
+        void shouldGetBedarfsOverlappingDateWindow() {
+            // Given
+            LocalDate von = LocalDate.of(2024, 3, 1);
+            LocalDate bis = LocalDate.of(2024, 3, 31);
+            BedarfRepository.BedarfPageResult pageResult = new BedarfRepository.BedarfPageResult(
+                    List.of(createValidBedarf()), 1, 1, 0, 20
+            );
+            BedarfFilter filter = BedarfFilter.builder()
+                    .datumVon(von)
+                    .datumBis(bis)
+                    .dateRangeMatch(DateRangeMatch.OVERLAPPING)
+                    .build();
+            when(bedarfRepository.findWithPagination(0, 20, filter))
+                    .thenReturn(pageResult);
+
+            // When
+            BedarfUseCase.BedarfPageResult result = bedarfService.getBedarfs(0, 20, filter);
+
+            // Then
+            assertThat(result.getContent()).hasSize(1);
+            assertThat(result.getTotalElements()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject overlap matching without both window bounds")
+        void shouldRejectOverlapMatchingWithoutWindowBounds() {
+            BedarfFilter filter = BedarfFilter.builder()
+                    .datumVon(LocalDate.of(2024, 3, 1))
+                    .dateRangeMatch(DateRangeMatch.OVERLAPPING)
+                    .build();
+            assertThatThrownBy(() -> bedarfService.getBedarfs(0, 20, filter))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Overlap matching requires a start and end date");
+        }
+
+        @Test
+        @DisplayName("Should reject negative minimum worker counts")
+        void shouldRejectNegativeMinimumWorkerCounts() {
+            BedarfFilter filter = BedarfFilter.builder().minZimmermannAnzahl(-1).build();
+            assertThatThrownBy(() -> bedarfService.getBedarfs(0, 20, filter))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Minimum Zimmermann Anzahl must be non-negative");
+            verifyNoInteractions(bedarfRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Proximity Search Tests")
+    class ProximitySearchTests {
+
+        @Test
+        @DisplayName("Should find nearby bedarfs")
+        void shouldFindNearbyBedarfs() {
+            // Given
+            GeoPoint center = new GeoPoint(47.3769, 8.5417);
+            List<NearbyBedarf> hits = List.of(new NearbyBedarf(createValidBedarf(), 1.2));
+            when(bedarfRepository.findNearby(center, 10, BedarfStatus.AKTIV, null, null)).thenReturn(hits);
+
+            // When
+            List<NearbyBedarf> result = bedarfService.findNearbyBedarfs(center, 10, BedarfStatus.AKTIV, null, null);
+
+            // Then
+            assertThat(result).isEqualTo(hits);
+        }
+
+        @Test
+        @DisplayName("Should reject radius out of range")
+        void shouldRejectRadiusOutOfRange() {
+            GeoPoint center = new GeoPoint(47.3769, 8.5417);
+
+            assertThatThrownBy(() -> bedarfService.findNearbyBedarfs(center, 0, null, null, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> bedarfService.findNearbyBedarfs(center, 500, null, null, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(bedarfRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Full-Text Search Tests")
+    class FullTextSearchTests {
+
+        @Test
+        @DisplayName("Should search the index with the trimmed query")
+        void shouldSearchIndex() {
+            // Given
+            List<Bedarf> hits = List.of(createValidBedarf());
+            when(searchIndex.search("grabs", 10)).thenReturn(hits);
+
+            // When
+            List<Bedarf> result = bedarfService.searchBedarfs("  grabs ", 10);
+
+            // Then
+            assertThat(result).isEqualTo(hits);
+        }
+
+        @Test
+        @DisplayName("Should reject short queries and limits out of range")
+        void shouldRejectInvalidSearch() {
+            assertThatThrownBy(() -> bedarfService.searchBedarfs(" g ", 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> bedarfService.searchBedarfs("grabs", 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> bedarfService.searchBedarfs("grabs", 51))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(searchIndex);
+        }
+
+        @Test
+        @DisplayName("Should index saved bedarfs")
+        void shouldIndexSavedBedarfs() {
+            // Given
+            Bedarf saved = createValidBedarf().toBuilder().id(UUID.randomUUID()).build();
+            when(bedarfRepository.save(any(Bedarf.class))).thenReturn(saved);
+
+            // When
+            bedarfService.createBedarf(createValidBedarf());
+
+            // Then
+            verify(searchIndex).upsert(saved);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cursor Pagination Tests")
+    class CursorPaginationTests {
+
+        @Test
+        @DisplayName("Should get bedarfs by cursor")
+        void shouldGetBedarfsByCursor() {
+            // Given
+            BedarfCursor cursor = new BedarfCursor(LocalDateTime.of(2024, 1, 15, 10, 30), UUID.randomUUID());
+            BedarfCursor nextCursor = new BedarfCursor(LocalDateTime.of(2024, 1, 14, 9, 0), UUID.randomUUID());
+            BedarfRepository.BedarfSliceResult sliceResult = new BedarfRepository.BedarfSliceResult(
+                    Arrays.asList(createValidBedarf(), createValidBedarf()), nextCursor, null
+            );
+            
+            when(bedarfRepository.findWithCursor(cursor, 2, BedarfFilter.none(), false))
+                    .thenReturn(sliceResult);
+
+            // When
+            BedarfUseCase.BedarfSliceResult result = bedarfService.getBedarfsByCursor(
+                    cursor, 2, BedarfFilter.none(), false);
+
+            // Then
+            assertThat(result.getContent()).hasSize(2);
+            assertThat(result.getNextCursor()).contains(nextCursor);
+            assertThat(result.getTotalElements()).isEmpty();
+            assertThat(result.getPageSize()).isEqualTo(2);
+            assertThat(result.isHasNext()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject non-positive page size")
+        void shouldRejectNonPositivePageSize() {
+            assertThatThrownBy(() -> bedarfService.getBedarfsByCursor(null, 0, BedarfFilter.none(), false))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(bedarfRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Operations")
+    class BulkOperationTests {
+
+        @Test
+        @DisplayName("Should save valid bedarfs in one batch and report invalid ones")
+        void shouldCreateValidBedarfsAndReportInvalidOnes() {
+            // Given
+            Bedarf valid = createValidBedarf().setStatus(null);
+            Bedarf invalid = createValidBedarf().setAdresse(" ");
+            Bedarf saved = valid.toBuilder().id(UUID.randomUUID()).status(BedarfStatus.AKTIV).build();
+            when(bedarfRepository.saveAll(List.of(valid))).thenReturn(List.of(saved));
+
+            // When
+            List<BedarfBulkItemResult> results = bedarfService.createBedarfs(List.of(invalid, valid));
+
+            // Then
+            assertThat(results).extracting(BedarfBulkItemResult::index).containsExactly(0, 1);
+            assertThat(results.get(0).isSuccess()).isFalse();
+            assertThat(results.get(0).error()).isEqualTo("Address is required");
+            assertThat(results.get(1).bedarf()).isEqualTo(saved);
+            assertThat(valid.getStatus()).isEqualTo(BedarfStatus.AKTIV);
+            verify(bedarfRepository).saveAll(List.of(valid));
+            verify(matchIndex).upsert(saved);
+        }
+
+        @Test
+        @DisplayName("Should not save anything when all bedarfs are invalid")
+        void shouldNotSaveWhenAllBedarfsAreInvalid() {
+            // When
+            List<BedarfBulkItemResult> results = bedarfService.createBedarfs(
+                    List.of(createValidBedarf().toBuilder().betriebId(null).build()));
+
+            // Then
+            assertThat(results).singleElement().satisfies(result -> assertThat(result.isSuccess()).isFalse());
+            verify(bedarfRepository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("Should update existing bedarfs and report unknown IDs")
+        void shouldUpdateExistingBedarfsAndReportUnknownIds() {
+            // Given
+            UUID existingId = UUID.randomUUID();
+            UUID unknownId = UUID.randomUUID();
+            Bedarf existing = createValidBedarf().toBuilder().id(existingId).build();
+            Bedarf update = createValidBedarf().toBuilder().betriebId(null).holzbauAnzahl(5).build();
+            Map<UUID, Bedarf> updates = new LinkedHashMap<>();
+            updates.put(unknownId, createValidBedarf());
+            updates.put(existingId, update);
+            when(bedarfRepository.findAllById(updates.keySet())).thenReturn(List.of(existing));
+            when(bedarfRepository.saveAll(List.of(update))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            List<BedarfBulkItemResult> results = bedarfService.updateBedarfs(updates);
+
+            // Then
+            assertThat(results.get(0).error()).isEqualTo("Bedarf not found: " + unknownId);
+            assertThat(results.get(1).isSuccess()).isTrue();
+            assertThat(update.getId()).isEqualTo(existingId);
+            assertThat(update.getBetriebId()).isEqualTo(existing.getBetriebId());
+            verify(bedarfRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should set status of all bedarfs in one statement")
+        void shouldUpdateStatusesInOneStatement() {
+            // Given
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            when(bedarfRepository.updateStatus(Set.of(first, second), BedarfStatus.STORNIERT)).thenReturn(2);
+
+            // When
+            int updated = bedarfService.updateBedarfStatuses(List.of(first, second, first), BedarfStatus.STORNIERT);
+
+            // Then
+            assertThat(updated).isEqualTo(2);
+            verify(bedarfRepository, never()).save(any());
+            verify(matchIndex).remove(first);
+            verify(matchIndex).remove(second);
+        }
+
+        @Test
+        @DisplayName("Should re-index bedarfs that become active")
+        void shouldReindexBedarfsThatBecomeActive() {
+            // Given
+            Bedarf bedarf = createValidBedarf().toBuilder().id(UUID.randomUUID()).build();
+            Set<UUID> ids = Set.of(bedarf.getId());
+            when(bedarfRepository.updateStatus(ids, BedarfStatus.AKTIV)).thenReturn(1);
+            when(bedarfRepository.findAllById(ids)).thenReturn(List.of(bedarf));
+
+            // When
+            bedarfService.updateBedarfStatuses(ids, BedarfStatus.AKTIV);
+
+            // Then
+            verify(matchIndex).upsert(bedarf);
+        }
     }
 
     private Bedarf createValidBedarf() {
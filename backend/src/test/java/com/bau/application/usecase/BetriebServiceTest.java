@@ -1,9 +1,12 @@
 package com.bau.application.usecase;
 
+import com.bau.application.domain.VersionConflictException;
 import com.bau.application.domain.betrieb.Betrieb;
 import com.bau.application.domain.betrieb.BetriebStatus;
 import com.bau.application.port.in.BetriebUseCase;
+import com.bau.application.port.out.BedarfArchive;
 import com.bau.application.port.out.BetriebRepository;
+import com.bau.application.port.out.Geocoder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,6 +18,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -29,6 +33,12 @@ class BetriebServiceTest {
     @Mock
     private BetriebRepository betriebRepository;
 
+    @Mock
+    private Geocoder geocoder;
+
+    @Mock
+    private BedarfArchive bedarfArchive;
+
     @InjectMocks
     private BetriebService betriebService;
 
@@ -271,17 +281,17 @@ class BetriebServiceTest {
                     .status(newStatus)
                     .build();
 
-            when(betriebRepository.findById(testId)).thenReturn(Optional.of(testBetrieb));
-            when(betriebRepository.save(any(Betrieb.class))).thenReturn(updatedBetrieb);
+            when(betriebRepository.updateStatus(testId, newStatus, null)).thenReturn(Optional.of(updatedBetrieb));
 
             // When
-            Optional<Betrieb> result = betriebService.updateBetriebStatus(testId, newStatus);
+            Optional<Betrieb> result = betriebService.updateBetriebStatus(testId, newStatus, null);
 
             // Then
             assertThat(result).isPresent();
             assertThat(result.get().getStatus()).isEqualTo(BetriebStatus.GESPERRT);
-            verify(betriebRepository).findById(testId);
-            verify(betriebRepository).save(any(Betrieb.class));
+            verify(betriebRepository).updateStatus(testId, newStatus, null);
+            verify(betriebRepository, never()).findById(any());
+            verify(betriebRepository, never()).save(any());
         }
 
         @Test
@@ -289,15 +299,26 @@ class BetriebServiceTest {
         void shouldReturnEmptyWhenBetriebNotFoundForStatusUpdate() {
             // Given
             UUID nonExistentId = UUID.randomUUID();
-            when(betriebRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+            when(betriebRepository.updateStatus(nonExistentId, BetriebStatus.GESPERRT, null)).thenReturn(Optional.empty());
 
             // When
-            Optional<Betrieb> result = betriebService.updateBetriebStatus(nonExistentId, BetriebStatus.GESPERRT);
+            Optional<Betrieb> result = betriebService.updateBetriebStatus(nonExistentId, BetriebStatus.GESPERRT, null);
 
             // Then
             assertThat(result).isEmpty();
-            verify(betriebRepository).findById(nonExistentId);
-            verify(betriebRepository, never()).save(any());
+            verify(betriebRepository, never()).existsById(any());
+        }
+
+        @Test
+        @DisplayName("Should throw version conflict when status update names an outdated version")
+        void shouldThrowVersionConflictWhenStatusUpdateVersionIsOutdated() {
+            // Given
+            when(betriebRepository.updateStatus(testId, BetriebStatus.GESPERRT, 2L)).thenReturn(Optional.empty());
+            when(betriebRepository.existsById(testId)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> betriebService.updateBetriebStatus(testId, BetriebStatus.GESPERRT, 2L))
+                    .isInstanceOf(VersionConflictException.class);
         }
     }
 
@@ -309,7 +330,6 @@ class BetriebServiceTest {
         @DisplayName("Should delete betrieb successfully")
         void shouldDeleteBetriebSuccessfully() {
             // Given
-            when(betriebRepository.existsById(testId)).thenReturn(true);
             when(betriebRepository.deleteById(testId)).thenReturn(true);
 
             // When
@@ -317,8 +337,9 @@ class BetriebServiceTest {
 
             // Then
             assertThat(result).isTrue();
-            verify(betriebRepository).existsById(testId);
+            verify(betriebRepository, never()).existsById(any());
             verify(betriebRepository).deleteById(testId);
+            verify(bedarfArchive).deleteByBetriebIds(List.of(testId));
         }
 
         @Test
@@ -326,15 +347,41 @@ class BetriebServiceTest {
         void shouldReturnFalseWhenBetriebNotFoundForDeletion() {
             // Given
             UUID nonExistentId = UUID.randomUUID();
-            when(betriebRepository.existsById(nonExistentId)).thenReturn(false);
+            when(betriebRepository.deleteById(nonExistentId)).thenReturn(false);
 
             // When
             boolean result = betriebService.deleteBetrieb(nonExistentId);
 
             // Then
             assertThat(result).isFalse();
-            verify(betriebRepository).existsById(nonExistentId);
-            verify(betriebRepository, never()).deleteById(any());
+            verify(betriebRepository, never()).existsById(any());
+            verifyNoInteractions(bedarfArchive);
+        }
+
+        @Test
+        @DisplayName("Should delete the archived bedarfs of betriebs deleted in bulk")
+        void shouldDeleteArchivedBedarfsInBulk() {
+            // Given
+            UUID otherId = UUID.randomUUID();
+            when(betriebRepository.deleteAllById(any())).thenReturn(2);
+
+            // When
+            int deleted = betriebService.deleteBetriebs(List.of(testId, otherId, testId));
+
+            // Then
+            assertThat(deleted).isEqualTo(2);
+            verify(bedarfArchive).deleteByBetriebIds(Set.of(testId, otherId));
+        }
+
+        @Test
+        @DisplayName("Should not call the repository for an empty bulk delete")
+        void shouldSkipEmptyBulkDelete() {
+            // When
+            int deleted = betriebService.deleteBetriebs(List.of());
+
+            // Then
+            assertThat(deleted).isZero();
+            verifyNoInteractions(betriebRepository, bedarfArchive);
         }
     }
 
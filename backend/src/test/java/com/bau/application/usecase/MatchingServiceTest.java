@@ -0,0 +1,177 @@
+package com.bau.application.usecase;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.geo.GeoPoint;
+import com.bau.application.domain.matching.BedarfMatch;
+import com.bau.application.domain.matching.CrewOffer;
+import com.bau.application.port.out.BedarfRepository;
+import com.bau.application.port.out.Geocoder;
+import com.bau.application.usecase.matching.BedarfMatchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchingService Use Case Tests")
+class MatchingServiceTest {
+
+    @Mock
+    private BedarfMatchIndex matchIndex;
+
+    @Mock
+    private BedarfRepository bedarfRepository;
+
+    @Mock
+    private Geocoder geocoder;
+
+    private MatchingService matchingService;
+
+    @BeforeEach
+    void setUp() {
+        matchingService = new MatchingService(matchIndex, bedarfRepository, geocoder);
+    }
+
+    @Test
+    @DisplayName("Should geocode the offer address and apply the default radius")
+    void shouldGeocodeOfferAndApplyDefaultRadius() {
+        // Given
+        GeoPoint grabs = new GeoPoint(47.1803, 9.4439);
+        when(geocoder.geocode("Dorfstrasse 1, 9472 Grabs")).thenReturn(Optional.of(grabs));
+        when(matchIndex.findTopMatches(any(), eq(10))).thenReturn(List.of());
+
+        // When
+        matchingService.findMatches(createOffer().toBuilder().adresse("Dorfstrasse 1, 9472 Grabs").build(), 10);
+
+        // Then
+        ArgumentCaptor<CrewOffer> captor = ArgumentCaptor.forClass(CrewOffer.class);
+        verify(matchIndex).findTopMatches(captor.capture(), eq(10));
+        assertThat(captor.getValue().getLocation()).contains(grabs);
+        assertThat(captor.getValue().getMaxDistanceKm()).isEqualTo(MatchingService.DEFAULT_MAX_DISTANCE_KM);
+    }
+
+    @Test
+    @DisplayName("Should reject offers without workers")
+    void shouldRejectOfferWithoutWorkers() {
+        CrewOffer offer = createOffer().toBuilder().holzbauAnzahl(0).zimmermannAnzahl(0).build();
+
+        assertThatThrownBy(() -> matchingService.findMatches(offer, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At least one worker type must be specified");
+        verifyNoInteractions(matchIndex);
+    }
+
+    @Test
+    @DisplayName("Should reject limit out of range")
+    void shouldRejectLimitOutOfRange() {
+        assertThatThrownBy(() -> matchingService.findMatches(createOffer(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> matchingService.findMatches(createOffer(), 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Nested
+    @DisplayName("Changes Made Through Other Instances")
+    class ChangesElsewhere {
+
+        private BedarfMatchIndex index;
+        private MatchingService service;
+
+        @BeforeEach
+        void setUp() {
+            index = new BedarfMatchIndex();
+            service = new MatchingService(index, bedarfRepository, geocoder);
+        }
+
+        @Test
+        @DisplayName("Should drop and unindex bedarfs deleted, closed or archived elsewhere")
+        void shouldDropBedarfsRemovedElsewhere() {
+            // Given
+            Bedarf kept = createBedarf();
+            Bedarf deleted = createBedarf();
+            Bedarf closed = createBedarf();
+            List.of(kept, deleted, closed).forEach(index::upsert);
+            when(bedarfRepository.findAllById(anyCollection())).thenReturn(List.of(
+                    kept, closed.toBuilder().status(BedarfStatus.ABGESCHLOSSEN).version(1L).build()));
+
+            // When
+            List<BedarfMatch> matches = service.findMatches(createOffer(), 10);
+
+            // Then
+            assertThat(matches).extracting(match -> match.bedarf().getId()).containsExactly(kept.getId());
+            assertThat(index.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should re-score bedarfs changed elsewhere")
+        void shouldRescoreBedarfsChangedElsewhere() {
+            // Given
+            Bedarf indexed = createBedarf();
+            index.upsert(indexed);
+            Bedarf changed = indexed.toBuilder().holzbauAnzahl(6).version(1L).build();
+            when(bedarfRepository.findAllById(anyCollection())).thenReturn(List.of(changed));
+
+            // When
+            List<BedarfMatch> matches = service.findMatches(createOffer(), 10);
+
+            // Then
+            assertThat(matches).singleElement().satisfies(match -> {
+                assertThat(match.bedarf().getHolzbauAnzahl()).isEqualTo(6);
+                assertThat(match.bedarf().getVersion()).isEqualTo(1L);
+            });
+            verify(bedarfRepository, times(2)).findAllById(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should not query the database when nothing matches")
+        void shouldNotQueryWithoutMatches() {
+            // When
+            List<BedarfMatch> matches = service.findMatches(createOffer(), 10);
+
+            // Then
+            assertThat(matches).isEmpty();
+            verifyNoInteractions(bedarfRepository);
+        }
+
+        private Bedarf createBedarf() {
+            return Bedarf.builder()
+                    .id(UUID.randomUUID())
+                    .betriebId(UUID.randomUUID())
+                    .holzbauAnzahl(2)
+                    .zimmermannAnzahl(1)
+                    .datumVon(LocalDate.of(2024, 1, 10))
+                    .datumBis(LocalDate.of(2024, 1, 20))
+                    .mitWerkzeug(false)
+                    .mitFahrzeug(false)
+                    .status(BedarfStatus.AKTIV)
+                    .version(0L)
+                    .build();
+        }
+    }
+
+    private CrewOffer createOffer() {
+        return CrewOffer.builder()
+                .holzbauAnzahl(2)
+                .zimmermannAnzahl(1)
+                .datumVon(LocalDate.of(2024, 1, 1))
+                .datumBis(LocalDate.of(2024, 1, 31))
+                .build();
+    }
+}
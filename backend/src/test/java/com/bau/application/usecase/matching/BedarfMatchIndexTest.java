@@ -0,0 +1,179 @@
+package com.bau.application.usecase.matching;
+
+import com.bau.application.domain.bedarf.Bedarf;
+import com.bau.application.domain.bedarf.BedarfStatus;
+import com.bau.application.domain.geo.GeoPoint;
+import com.bau.application.domain.matching.BedarfMatch;
+import com.bau.application.domain.matching.CrewOffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("BedarfMatchIndex Tests")
+class BedarfMatchIndexTest {
+
+    private static final GeoPoint ZUERICH = new GeoPoint(47.3769, 8.5417);
+
+    private BedarfMatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BedarfMatchIndex();
+    }
+
+    @Test
+    @DisplayName("Should score a perfect fit with 1")
+    void shouldScorePerfectFit() {
+        // Given
+        Bedarf bedarf = createBedarf();
+        index.upsert(bedarf);
+
+        // When
+        List<BedarfMatch> matches = index.findTopMatches(createOffer(), 10);
+
+        // Then
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).bedarf().getId()).isEqualTo(bedarf.getId());
+        assertThat(matches.get(0).score()).isCloseTo(1.0, within(0.001));
+        assertThat(matches.get(0).distanceKm()).isCloseTo(0.0, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Should rank by date coverage, headcount, distance and equipment")
+    void shouldRankCandidates() {
+        // Given
+        Bedarf perfect = createBedarf();
+        Bedarf partialPeriod = createBedarf().toBuilder().id(UUID.randomUUID())
+                .datumVon(LocalDate.of(2024, 1, 20)).datumBis(LocalDate.of(2024, 2, 18)).build();
+        Bedarf tooManyWorkers = createBedarf().toBuilder().id(UUID.randomUUID())
+                .holzbauAnzahl(6).build();
+        Bedarf needsVehicle = createBedarf().toBuilder().id(UUID.randomUUID())
+                .mitFahrzeug(true).build();
+        List.of(perfect, partialPeriod, tooManyWorkers, needsVehicle).forEach(index::upsert);
+
+        // When
+        List<BedarfMatch> matches = index.findTopMatches(createOffer(), 10);
+
+        // Then
+        assertThat(matches).extracting(match -> match.bedarf().getId())
+                .containsExactly(perfect.getId(), needsVehicle.getId(), tooManyWorkers.getId(), partialPeriod.getId());
+    }
+
+    @Test
+    @DisplayName("Should exclude bedarfs without overlap, fitting workers or in range")
+    void shouldExcludeIneligibleBedarfs() {
+        // Given
+        index.upsert(createBedarf().toBuilder().id(UUID.randomUUID())
+                .datumVon(LocalDate.of(2024, 2, 1)).datumBis(LocalDate.of(2024, 2, 10)).build());
+        index.upsert(createBedarf().toBuilder().id(UUID.randomUUID())
+                .holzbauAnzahl(0).zimmermannAnzahl(2).build());
+        index.upsert(createBedarf().toBuilder().id(UUID.randomUUID())
+                .latitude(46.9480).longitude(7.4474).build()); // Bern
+
+        // When
+        List<BedarfMatch> matches = index.findTopMatches(createOffer().toBuilder().zimmermannAnzahl(0).build(), 10);
+
+        // Then
+        assertThat(matches).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should follow updates, status changes and removals")
+    void shouldFollowIncrementalUpdates() {
+        // Given
+        Bedarf bedarf = createBedarf();
+        index.upsert(bedarf);
+
+        // When
+        index.upsert(bedarf.toBuilder().datumVon(LocalDate.of(2024, 3, 1)).datumBis(LocalDate.of(2024, 3, 5)).build());
+
+        // Then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findTopMatches(createOffer(), 10)).isEmpty();
+
+        index.upsert(bedarf);
+        assertThat(index.findTopMatches(createOffer(), 10)).hasSize(1);
+
+        index.upsert(bedarf.toBuilder().status(BedarfStatus.ABGESCHLOSSEN).build());
+        assertThat(index.size()).isZero();
+
+        index.upsert(bedarf);
+        index.remove(bedarf.getId());
+        assertThat(index.findTopMatches(createOffer(), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep only the best matches up to the limit")
+    void shouldKeepBestMatchesUpToLimit() {
+        // Given
+        for (int i = 0; i < 50; i++) {
+            index.upsert(createBedarf().toBuilder().id(UUID.randomUUID())
+                    .latitude(47.3769 + i * 0.01).build());
+        }
+
+        // When
+        List<BedarfMatch> matches = index.findTopMatches(createOffer(), 3);
+
+        // Then
+        assertThat(matches).hasSize(3);
+        assertThat(matches).isSortedAccordingTo(BedarfMatchIndex.RANKING);
+        assertThat(matches.get(2).distanceKm()).isLessThan(3);
+    }
+
+    @Test
+    @DisplayName("Should keep writes made while a rebuild was loading its bedarfs")
+    void shouldKeepWritesMadeDuringRebuild() {
+        // Given
+        Bedarf loaded = createBedarf();
+        Bedarf closedMeanwhile = createBedarf().toBuilder().id(UUID.randomUUID()).build();
+        Bedarf createdMeanwhile = createBedarf().toBuilder().id(UUID.randomUUID()).build();
+
+        // When
+        index.beginRebuild();
+        index.upsert(createdMeanwhile);
+        index.upsert(closedMeanwhile.toBuilder().status(BedarfStatus.ABGESCHLOSSEN).build());
+        index.rebuild(List.of(loaded, closedMeanwhile));
+
+        // Then
+        assertThat(index.findTopMatches(createOffer(), 10))
+                .extracting(match -> match.bedarf().getId())
+                .containsExactlyInAnyOrder(loaded.getId(), createdMeanwhile.getId());
+    }
+
+    private CrewOffer createOffer() {
+        return CrewOffer.builder()
+                .holzbauAnzahl(2)
+                .zimmermannAnzahl(1)
+                .datumVon(LocalDate.of(2024, 1, 1))
+                .datumBis(LocalDate.of(2024, 1, 31))
+                .location(ZUERICH)
+                .maxDistanceKm(50)
+                .mitWerkzeug(true)
+                .mitFahrzeug(false)
+                .build();
+    }
+
+    private Bedarf createBedarf() {
+        return Bedarf.builder()
+                .id(UUID.randomUUID())
+                .betriebId(UUID.randomUUID())
+                .holzbauAnzahl(2)
+                .zimmermannAnzahl(1)
+                .datumVon(LocalDate.of(2024, 1, 10))
+                .datumBis(LocalDate.of(2024, 1, 20))
+                .adresse("Musterstrasse 123, 8001 Zürich")
+                .latitude(ZUERICH.latitude())
+                .longitude(ZUERICH.longitude())
+                .mitWerkzeug(true)
+                .mitFahrzeug(false)
+                .status(BedarfStatus.AKTIV)
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.bau.config;
+
+import com.bau.shared.monitoring.StatementBudgetFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc result matchers for the number of SQL statements a request ran, as counted by
+ * {@link StatementBudgetFilter}. The test context needs the filter and the statement counting
+ * listener on a proxied DataSource, e.g. by importing {@link com.bau.shared.config.PersistenceMonitoringConfig}
+ * together with the DataSource observation auto-configuration.
+ */
+public final class StatementCountMatchers {
+
+    private StatementCountMatchers() {
+    }
+
+    /**
+     * @param expected the exact number of statements
+     * @return a matcher failing unless the request ran exactly that many statements
+     */
+    public static ResultMatcher statementCount(int expected) {
+        return result -> assertThat(statementsOf(result))
+                .as("SQL statements run by %s", describe(result))
+                .isEqualTo(expected);
+    }
+
+    /**
+     * @param max the largest acceptable number of statements
+     * @return a matcher failing if the request ran more statements
+     */
+    public static ResultMatcher statementCountAtMost(int max) {
+        return result -> assertThat(statementsOf(result))
+                .as("SQL statements run by %s", describe(result))
+                .isLessThanOrEqualTo(max);
+    }
+
+    /**
+     * @param result the result of a performed request
+     * @return the number of statements the request ran
+     */
+    public static int statementsOf(MvcResult result) {
+        Object statements = result.getRequest().getAttribute(StatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE);
+        assertThat(statements)
+                .as("statement count of %s, is PersistenceMonitoringConfig imported?", describe(result))
+                .isInstanceOf(Integer.class);
+        return (Integer) statements;
+    }
+
+    private static String describe(MvcResult result) {
+        return result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+    }
+}
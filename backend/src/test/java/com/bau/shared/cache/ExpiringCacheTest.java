@@ -0,0 +1,73 @@
+package com.bau.shared.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExpiringCache Tests")
+class ExpiringCacheTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-15T10:00:00Z");
+
+    @Test
+    @DisplayName("Should return values until they expire")
+    void shouldReturnValuesUntilTheyExpire() {
+        // Given
+        MutableClock clock = new MutableClock(NOW);
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, clock);
+        cache.put("token", "user", NOW.plusSeconds(60));
+
+        // When & Then
+        assertThat(cache.get("token")).contains("user");
+        clock.advance(Duration.ofSeconds(60));
+        assertThat(cache.get("token")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not store already expired values")
+    void shouldNotStoreExpiredValues() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, new MutableClock(NOW));
+
+        cache.put("token", "user", NOW.minusSeconds(1));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void shouldEvictLeastRecentlyUsedEntry() {
+        // Given
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, new MutableClock(NOW));
+        cache.put("a", "1", NOW.plusSeconds(60));
+        cache.put("b", "2", NOW.plusSeconds(60));
+        cache.get("a");
+
+        // When
+        cache.put("c", "3", NOW.plusSeconds(60));
+
+        // Then
+        assertThat(cache.get("a")).contains("1");
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("c")).contains("3");
+    }
+
+    @Test
+    @DisplayName("Should invalidate single entries and everything")
+    void shouldInvalidate() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, new MutableClock(NOW));
+        cache.put("a", "1", NOW.plusSeconds(60));
+        cache.put("b", "2", NOW.plusSeconds(60));
+
+        cache.invalidate("a");
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.get("b")).contains("2");
+
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,107 @@
+package com.bau.shared.monitoring;
+
+import com.bau.application.port.in.BedarfExpiryUseCase;
+import com.bau.application.port.out.JobLock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LayerObservationAspect Tests")
+class LayerObservationAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    @BeforeEach
+    void setUp() {
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+    }
+
+    @Test
+    @DisplayName("Should time use case calls by class, method and outcome")
+    void shouldTimeUseCaseCalls() {
+        // Given
+        BedarfExpiryUseCase useCase = proxy(new FixedExpiry());
+
+        // When
+        useCase.expireBedarfs(LocalDate.of(2024, 2, 1));
+        useCase.expireBedarfs(LocalDate.of(2024, 2, 2));
+
+        // Then
+        Timer timer = meterRegistry.find(LayerObservationAspect.USE_CASE_OBSERVATION)
+                .tag("class", "FixedExpiry")
+                .tag("method", "expireBedarfs")
+                .tag("outcome", LayerObservationAspect.SUCCESS)
+                .tag("error", "none")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should time failing outbound port calls with the error type")
+    void shouldTimeFailingPortCalls() {
+        // Given
+        JobLock jobLock = proxy(new FailingJobLock());
+
+        // When
+        assertThatThrownBy(() -> jobLock.runExclusively("job", () -> { }))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Then
+        Timer timer = meterRegistry.find(LayerObservationAspect.PORT_OBSERVATION)
+                .tag("class", "FailingJobLock")
+                .tag("method", "runExclusively")
+                .tag("outcome", LayerObservationAspect.ERROR)
+                .tag("error", "IllegalStateException")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave classes outside the layer boundaries unobserved")
+    void shouldNotObserveOtherCalls() {
+        // Given
+        Runnable task = proxy(() -> { });
+
+        // When
+        task.run();
+
+        // Then
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new LayerObservationAspect(observationRegistry));
+        return (T) factory.getProxy();
+    }
+
+    private static class FixedExpiry implements BedarfExpiryUseCase {
+
+        @Override
+        public int expireBedarfs(LocalDate today) {
+            return 3;
+        }
+    }
+
+    private static class FailingJobLock implements JobLock {
+
+        @Override
+        public boolean runExclusively(String name, Runnable task) {
+            throw new IllegalStateException("Database unavailable");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.bau.shared.monitoring;
+
+import com.bau.application.port.in.BedarfExpiryUseCase;
+import com.bau.application.port.out.JobLock;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends the spans of observed layer calls through the OTLP/HTTP exporter to a collector stand-in,
+ * a local HTTP server that keeps the request bodies. OTLP encodes span names as plain UTF-8
+ * strings in protobuf, so they can be found in the raw payload. The ended spans are also kept
+ * in memory, to check how they nest.
+ */
+@DisplayName("OTLP Trace Export Tests")
+class OtlpTraceExportTest {
+
+    private final List<String> exportedPayloads = new CopyOnWriteArrayList<>();
+    private final List<SpanData> endedSpans = new CopyOnWriteArrayList<>();
+    private HttpServer collector;
+    private SdkTracerProvider tracerProvider;
+    private ObservationRegistry observationRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        collector = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        collector.createContext("/v1/traces", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                exportedPayloads.add(new String(body.readAllBytes(), StandardCharsets.ISO_8859_1));
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        collector.start();
+
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(OtlpHttpSpanExporter.builder()
+                        .setEndpoint("http://localhost:" + collector.getAddress().getPort() + "/v1/traces")
+                        .build()))
+                .addSpanProcessor(new SpanProcessor() {
+                    @Override
+                    public void onStart(Context parentContext, ReadWriteSpan span) {
+                    }
+
+                    @Override
+                    public boolean isStartRequired() {
+                        return false;
+                    }
+
+                    @Override
+                    public void onEnd(ReadableSpan span) {
+                        endedSpans.add(span.toSpanData());
+                    }
+
+                    @Override
+                    public boolean isEndRequired() {
+                        return true;
+                    }
+                })
+                .build();
+        OtelTracer tracer = new OtelTracer(tracerProvider.get("bau-test"), new OtelCurrentTraceContext(), event -> { });
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+        collector.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should export a span for each observed layer call")
+    void shouldExportLayerSpans() {
+        // Given
+        JobLock jobLock = proxy(new ImmediateJobLock());
+        BedarfExpiryUseCase useCase = proxy(new LockingExpiry(jobLock));
+
+        // When
+        useCase.expireBedarfs(LocalDate.of(2024, 2, 1));
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(String.join("", exportedPayloads))
+                .contains("locking-expiry.expire-bedarfs")
+                .contains("immediate-job-lock.run-exclusively");
+        SpanData useCaseSpan = endedSpan("locking-expiry.expire-bedarfs");
+        SpanData portSpan = endedSpan("immediate-job-lock.run-exclusively");
+        assertThat(portSpan.getTraceId()).isEqualTo(useCaseSpan.getTraceId());
+        assertThat(portSpan.getParentSpanId()).isEqualTo(useCaseSpan.getSpanId());
+    }
+
+    private SpanData endedSpan(String name) {
+        return endedSpans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span " + name + " in " + endedSpans));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new LayerObservationAspect(observationRegistry));
+        return (T) factory.getProxy();
+    }
+
+    private record LockingExpiry(JobLock jobLock) implements BedarfExpiryUseCase {
+
+        @Override
+        public int expireBedarfs(LocalDate today) {
+            jobLock.runExclusively("expiry", () -> { });
+            return 0;
+        }
+    }
+
+    private static class ImmediateJobLock implements JobLock {
+
+        @Override
+        public boolean runExclusively(String name, Runnable task) {
+            task.run();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.bau.shared.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StatementBudgetFilter Tests")
+class StatementBudgetFilterTest {
+
+    private static final String URI = "/api/v1/bedarfe/{id}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementBudgetFilter filter = new StatementBudgetFilter(meterRegistry, 3, Duration.ofSeconds(10));
+
+    @Test
+    @DisplayName("Should record the statements of a request per endpoint")
+    void shouldRecordStatementsPerEndpoint() throws Exception {
+        // Given
+        MockHttpServletRequest request = request();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), runningStatements(2));
+
+        // Then
+        assertThat(request.getAttribute(StatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE)).isEqualTo(2);
+        DistributionSummary statements = meterRegistry.find(StatementBudgetFilter.STATEMENTS_METRIC)
+                .tags("method", "DELETE", "uri", URI)
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.totalAmount()).isEqualTo(2.0);
+        assertThat(meterRegistry.find(StatementBudgetFilter.OVER_BUDGET_METRIC).counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should flag requests running more statements than the budget")
+    void shouldFlagRequestsOverStatementBudget() throws Exception {
+        // When
+        filter.doFilter(request(), new MockHttpServletResponse(), runningStatements(4));
+
+        // Then
+        Counter overBudget = meterRegistry.find(StatementBudgetFilter.OVER_BUDGET_METRIC)
+                .tags("method", "DELETE", "uri", URI, "reason", "statements")
+                .counter();
+        assertThat(overBudget).isNotNull();
+        assertThat(overBudget.count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should flag requests taking longer than the slow request duration")
+    void shouldFlagSlowRequests() throws Exception {
+        // Given
+        StatementBudgetFilter strictFilter = new StatementBudgetFilter(meterRegistry, 3, Duration.ZERO);
+
+        // When
+        strictFilter.doFilter(request(), new MockHttpServletResponse(),
+                (req, res) -> LockSupport.parkNanos(1_000_000));
+
+        // Then
+        assertThat(meterRegistry.find(StatementBudgetFilter.OVER_BUDGET_METRIC)
+                .tags("reason", "duration")
+                .counter()).isNotNull();
+        assertThat(meterRegistry.find(StatementBudgetFilter.OVER_BUDGET_METRIC)
+                .tags("reason", "statements")
+                .counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should count statements of nested counts towards the request")
+    void shouldCountNestedStatementsTowardsRequest() throws Exception {
+        // Given
+        MockHttpServletRequest request = request();
+        int[] nested = new int[1];
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            StatementCounter.record();
+            try (StatementCounter.Count count = StatementCounter.start()) {
+                StatementCounter.record();
+                nested[0] = count.statements();
+            }
+        });
+
+        // Then
+        assertThat(nested[0]).isEqualTo(1);
+        assertThat(request.getAttribute(StatementBudgetFilter.STATEMENT_COUNT_ATTRIBUTE)).isEqualTo(2);
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/v1/bedarfe/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI);
+        return request;
+    }
+
+    private static FilterChain runningStatements(int statements) {
+        return (request, response) -> {
+            for (int i = 0; i < statements; i++) {
+                StatementCounter.record();
+            }
+        };
+    }
+}
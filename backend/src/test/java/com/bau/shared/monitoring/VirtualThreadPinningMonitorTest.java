@@ -0,0 +1,114 @@
+package com.bau.shared.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// From Java 24 on, blocking inside synchronized no longer pins the carrier (JEP 491)
+@EnabledForJreRange(max = JRE.JAVA_23)
+@DisplayName("VirtualThreadPinningMonitor Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+
+    private final VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+    private final Object monitorLock = new Object();
+    private final ReentrantLock reentrantLock = new ReentrantLock();
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Should report synchronized blocks that block a virtual thread")
+    void shouldReportBlockingInSynchronizedBlock() throws Exception {
+        // Given
+        monitor.start();
+
+        // When
+        Thread.ofVirtual().start(this::sleepWhileSynchronized).join();
+
+        // Then
+        List<VirtualThreadPinningMonitor.PinnedSite> report = awaitReport();
+        assertThat(report).hasSize(1);
+        assertThat(report.get(0).site()).contains("VirtualThreadPinningMonitorTest.sleepWhileSynchronized");
+        assertThat(report.get(0).count()).isEqualTo(1);
+        assertThat(report.get(0).maxMillis()).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should report the synchronized method rather than the blocking call it makes")
+    void shouldReportSynchronizedMethod() throws Exception {
+        // Given
+        monitor.start();
+
+        // When
+        Thread.ofVirtual().start(this::sleepInSynchronizedMethod).join();
+
+        // Then
+        List<VirtualThreadPinningMonitor.PinnedSite> report = awaitReport();
+        assertThat(report).hasSize(1);
+        assertThat(report.get(0).site()).contains("VirtualThreadPinningMonitorTest.sleepInSynchronizedMethod");
+    }
+
+    @Test
+    @DisplayName("Should not report blocking under a ReentrantLock")
+    void shouldNotReportBlockingUnderReentrantLock() throws Exception {
+        // Given
+        monitor.start();
+
+        // When
+        Thread.ofVirtual().start(this::sleepWhileLocked).join();
+        Thread.ofVirtual().start(this::sleepWhileSynchronized).join();
+
+        // Then - only the synchronized section shows up once events are flushed
+        List<VirtualThreadPinningMonitor.PinnedSite> report = awaitReport();
+        assertThat(report).extracting(VirtualThreadPinningMonitor.PinnedSite::site)
+                .noneMatch(site -> site.contains("sleepWhileLocked"));
+    }
+
+    private void sleepWhileSynchronized() {
+        synchronized (monitorLock) {
+            sleep();
+        }
+    }
+
+    private synchronized void sleepInSynchronizedMethod() {
+        sleep();
+    }
+
+    private void sleepWhileLocked() {
+        reentrantLock.lock();
+        try {
+            sleep();
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<VirtualThreadPinningMonitor.PinnedSite> awaitReport() throws InterruptedException {
+        // JFR hands events to the stream about once per second
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (monitor.report().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        return monitor.report();
+    }
+}
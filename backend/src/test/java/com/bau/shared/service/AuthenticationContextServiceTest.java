@@ -0,0 +1,106 @@
+package com.bau.shared.service;
+
+import com.bau.application.domain.user.User;
+import com.bau.application.domain.user.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("AuthenticationContextService Tests")
+class AuthenticationContextServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-15T10:00:00Z");
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID betriebId = UUID.randomUUID();
+
+    private Jwt jwt;
+
+    @BeforeEach
+    void setUp() {
+        jwt = spy(Jwt.withTokenValue("token-" + userId)
+                .header("alg", "RS256")
+                .subject(userId.toString())
+                .claim("email", "max@holzbau-muster.ch")
+                .claim("cognito:groups", List.of("admin"))
+                .claim("custom:betrieb_id", betriebId.toString())
+                .issuedAt(NOW.minusSeconds(60))
+                .expiresAt(NOW.plusSeconds(3600))
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt, List.of()));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should extract claims once per request")
+    void shouldExtractClaimsOncePerRequest() {
+        // Given
+        AuthenticationContextService service = new AuthenticationContextService();
+
+        // When
+        Optional<User> user = service.getCurrentUser();
+        Optional<UUID> id = service.getCurrentUserId();
+        Optional<UUID> betrieb = service.getCurrentUserBetriebId();
+        boolean admin = service.hasRole(UserRole.ADMIN);
+
+        // Then
+        assertThat(user).map(User::getEmail).contains("max@holzbau-muster.ch");
+        assertThat(id).contains(userId);
+        assertThat(betrieb).contains(betriebId);
+        assertThat(admin).isTrue();
+        verify(jwt, times(1)).getClaimAsString("email");
+    }
+
+    @Test
+    @DisplayName("Should extract claims again for a new request")
+    void shouldExtractAgainForNewRequest() {
+        // Given
+        AuthenticationContextService service = new AuthenticationContextService();
+        service.getCurrentUser();
+
+        // When
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Optional<User> user = service.getCurrentUser();
+
+        // Then
+        assertThat(user).map(User::getId).contains(userId);
+        verify(jwt, times(2)).getClaimAsString("email");
+    }
+
+    @Test
+    @DisplayName("Should return copies so callers cannot change the memoized user")
+    void shouldReturnCopies() {
+        // Given
+        AuthenticationContextService service = new AuthenticationContextService();
+        service.getCurrentUser().orElseThrow().setEmail("changed@example.com");
+
+        // When
+        Optional<User> user = service.getCurrentUser();
+
+        // Then
+        assertThat(user).map(User::getEmail).contains("max@holzbau-muster.ch");
+    }
+}
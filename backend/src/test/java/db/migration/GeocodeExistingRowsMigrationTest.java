@@ -0,0 +1,93 @@
+package db.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the geocoding backfill against rows stored before it, on PostgreSQL as in production.
+ */
+@DisplayName("Geocode Existing Rows Migration Tests")
+class GeocodeExistingRowsMigrationTest {
+
+    private EmbeddedPostgres postgres;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @DisplayName("Should geocode bedarfs and betriebe stored without coordinates")
+    void shouldGeocodeExistingRows() {
+        // Given
+        migrate("13");
+        UUID betriebId = insertBetrieb("Bahnhofstrasse 1, 8001 Zürich");
+        UUID unknownBetriebId = insertBetrieb("Unbekannt");
+        UUID bedarfId = insertBedarf(betriebId, "Limmatquai 2, 8001 Zürich");
+        UUID unknownBedarfId = insertBedarf(betriebId, "Baustelle ohne Ort");
+
+        // When
+        migrate("latest");
+
+        // Then
+        Map<String, Object> bedarf = jdbcTemplate.queryForMap(
+                "SELECT latitude, longitude, geohash FROM bedarf WHERE id = ?", bedarfId);
+        assertThat(bedarf.get("latitude")).isEqualTo(47.3717);
+        assertThat(bedarf.get("longitude")).isEqualTo(8.5423);
+        assertThat((String) bedarf.get("geohash")).hasSize(9).startsWith("u0qj");
+        Map<String, Object> betrieb = jdbcTemplate.queryForMap(
+                "SELECT latitude, longitude FROM betrieb WHERE id = ?", betriebId);
+        assertThat(betrieb.get("latitude")).isEqualTo(47.3717);
+        assertThat(betrieb.get("longitude")).isEqualTo(8.5423);
+        assertThat(jdbcTemplate.queryForObject("SELECT latitude FROM bedarf WHERE id = ?",
+                Double.class, unknownBedarfId)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT latitude FROM betrieb WHERE id = ?",
+                Double.class, unknownBetriebId)).isNull();
+    }
+
+    private void migrate(String target) {
+        Flyway.configure()
+                .dataSource(postgres.getPostgresDatabase())
+                .locations("classpath:db/migration")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private UUID insertBetrieb(String adresse) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO betrieb (id, name, adresse, email, status, created_at, updated_at)
+                VALUES (?, 'Holzbau AG', ?, ?, 'AKTIV', now(), now())
+                """, id, adresse, id + "@example.com");
+        return id;
+    }
+
+    private UUID insertBedarf(UUID betriebId, String adresse) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO bedarf (id, betrieb_id, holzbau_anzahl, zimmermann_anzahl, datum_von, datum_bis,
+                                    adresse, mit_werkzeug, mit_fahrzeug, status, created_at, updated_at)
+                VALUES (?, ?, 1, 0, '2030-05-01', '2030-05-15', ?, false, false, 'AKTIV', now(), now())
+                """, id, betriebId, adresse);
+        return id;
+    }
+}
@@ -249,7 +249,6 @@ show_completion_info() {
     fi
     if [[ -n "$API_URL" ]]; then
         echo "   API: $API_URL"
-        echo "   Health: $API_URL/../actuator/health"
     fi
     
     echo
@@ -117,5 +117,4 @@ locals {
   
   # Full URLs for various services
   swagger_url = "${local.protocol}://${local.api_domain}/swagger-ui/index.html"
-  health_url  = "${local.protocol}://${local.api_domain}/actuator/health"
 } 
\ No newline at end of file
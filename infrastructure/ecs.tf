@@ -43,6 +43,11 @@ resource "aws_ecs_task_definition" "backend" {
         {
           containerPort = 8080
           protocol      = "tcp"
+        },
+        {
+          # Actuator (health, Prometheus); not part of the load balancer target group
+          containerPort = 8081
+          protocol      = "tcp"
         }
       ]
 
@@ -95,7 +100,7 @@ resource "aws_ecs_task_definition" "backend" {
       }
 
       healthCheck = {
-        command = ["CMD-SHELL", "curl -f http://localhost:8080/actuator/health || exit 1"]
+        command = ["CMD-SHELL", "curl -f http://localhost:8081/actuator/health || exit 1"]
         interval = 30
         timeout = 10
         retries = 3
@@ -63,7 +63,8 @@ resource "aws_lb_target_group" "backend" {
     path                = "/actuator/health"
     matcher             = "200"
     protocol            = "HTTP"
-    port                = "traffic-port"
+    # Actuator runs on the management port, which the target group does not forward
+    port                = "8081"
   }
 
   tags = {
@@ -187,27 +188,6 @@ resource "aws_lb_listener_rule" "swagger_http" {
   }
 }
 
-resource "aws_lb_listener_rule" "actuator_http" {
-  count        = var.domain_name != "" ? 0 : 1
-  listener_arn = aws_lb_listener.main.arn
-  priority     = 102
-
-  action {
-    type = "forward"
-    forward {
-      target_group {
-        arn = aws_lb_target_group.backend.arn
-      }
-    }
-  }
-
-  condition {
-    path_pattern {
-      values = ["/actuator/*"]
-    }
-  }
-}
-
 # ALB Listener Rules for HTTPS (only if custom domain)
 resource "aws_lb_listener_rule" "api_https" {
   count        = var.domain_name != "" ? 1 : 0
@@ -250,24 +230,3 @@ resource "aws_lb_listener_rule" "swagger_https" {
     }
   }
 }
-
-resource "aws_lb_listener_rule" "actuator_https" {
-  count        = var.domain_name != "" ? 1 : 0
-  listener_arn = aws_lb_listener.https[0].arn
-  priority     = 102
-
-  action {
-    type = "forward"
-    forward {
-      target_group {
-        arn = aws_lb_target_group.backend.arn
-      }
-    }
-  }
-
-  condition {
-    path_pattern {
-      values = ["/actuator/*"]
-    }
-  }
-} 
\ No newline at end of file
@@ -143,9 +143,4 @@ output "api_url" {
 output "swagger_url" {
   description = "Swagger UI URL"
   value       = local.swagger_url
-}
-
-output "health_check_url" {
-  description = "Health Check URL"
-  value       = local.health_url
 } 
\ No newline at end of file
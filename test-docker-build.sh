@@ -27,7 +27,7 @@ echo "🚀 Testing containers..."
 
 # Run backend
 echo "Starting backend container..."
-docker run -d --name bau-backend-test -p 8080:8080 bau-backend:test
+docker run -d --name bau-backend-test -p 8080:8080 -p 8081:8081 bau-backend:test
 sleep 10
 
 # Run frontend
@@ -37,7 +37,7 @@ sleep 5
 
 # Health checks
 echo "🔍 Health checks..."
-backend_health=$(curl -s http://localhost:8080/actuator/health | grep -o '"status":"UP"' || echo "")
+backend_health=$(curl -s http://localhost:8081/actuator/health | grep -o '"status":"UP"' || echo "")
 frontend_health=$(curl -s http://localhost:80/health | grep -o "healthy" || echo "")
 
 # Cleanup